@@ -0,0 +1,55 @@
+-- -------------------------------------------------------------------------------------------------
+-- Database Name: mosip_resident
+-- Release Version 	: 1.2.0.1
+-- Purpose    		: Upgrade scripts for Resident Service DB.
+-- Created Date		: Oct-2026
+--
+-- Modified Date        Modified By             Comments / Remarks
+-- --------------------------------------------------------------------------------------------------
+-- Oct-2026                                     Range partitioned resident_transaction on cr_dtimes and added access path indexes.
+-- Oct-2026                                     Added batch_lease_dtimes column to resident_transaction.
+-- Oct-2026                                     Added resident_data_key table.
+-- Oct-2026                                     Added resident_notification_outbox table.
+-----------------------------------------------------------------------------------------------------
+\c mosip_resident sysadmin
+
+ALTER TABLE resident.resident_transaction RENAME TO resident_transaction_old;
+ALTER TABLE resident.resident_transaction_old RENAME CONSTRAINT pk_restrn_event_id TO pk_restrn_event_id_old;
+
+-- Same columns as the 1.2.0 table, range partitioned on cr_dtimes. Postgres needs the partition key in
+-- the primary key, so event_id is no longer unique on its own. The service generates event ids as
+-- 16 digit random numbers and saves transactions through JPA keyed on event_id alone, so a repeated
+-- event id updates the existing row rather than adding a second one.
+CREATE TABLE resident.resident_transaction (
+    LIKE resident.resident_transaction_old INCLUDING DEFAULTS INCLUDING COMMENTS,
+    CONSTRAINT pk_restrn_event_id PRIMARY KEY (event_id, cr_dtimes)
+) PARTITION BY RANGE (cr_dtimes);
+
+CREATE TABLE resident.resident_transaction_default PARTITION OF resident.resident_transaction DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_restrn_token_pinned_crdtimes ON resident.resident_transaction USING btree (token_id, pinned_status DESC, cr_dtimes DESC, event_id);
+CREATE INDEX IF NOT EXISTS idx_restrn_token_unread_reqtype ON resident.resident_transaction USING btree (token_id, request_type_code) WHERE read_status = false;
+CREATE INDEX IF NOT EXISTS idx_restrn_status_reqtype_crdtimes ON resident.resident_transaction USING btree (status_code, request_type_code, cr_dtimes);
+CREATE INDEX IF NOT EXISTS idx_restrn_credential_request_id ON resident.resident_transaction USING btree (credential_request_id) WHERE credential_request_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_restrn_ref_id_status_crdtimes ON resident.resident_transaction USING btree (ref_id, status_code, cr_dtimes DESC);
+CREATE INDEX IF NOT EXISTS idx_restrn_aid_crdtimes ON resident.resident_transaction USING btree (aid, cr_dtimes DESC) WHERE aid IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_restrn_request_trn_id ON resident.resident_transaction USING btree (request_trn_id, cr_dtimes DESC);
+
+\ir ../ddl/resident_transaction_partition.sql
+
+-- Creates the monthly partitions covering the existing rows before they are copied, so that
+-- nothing lands in the default partition.
+SELECT resident.create_resident_transaction_partitions(COALESCE((SELECT min(cr_dtimes) FROM resident.resident_transaction_old)::date, now()::date), 3);
+
+INSERT INTO resident.resident_transaction SELECT * FROM resident.resident_transaction_old;
+
+DROP TABLE resident.resident_transaction_old;
+
+ALTER TABLE resident.resident_transaction ADD COLUMN batch_lease_dtimes timestamp;
+COMMENT ON COLUMN resident.resident_transaction.batch_lease_dtimes IS 'The time till which the credential status update job of one instance owns the record';
+
+\ir ../ddl/resident_data_key.sql
+
+\ir ../ddl/resident_notification_outbox.sql
+
+-----------------------------------------------------------------------------------------------------
@@ -0,0 +1,31 @@
+-- -------------------------------------------------------------------------------------------------
+-- Database Name: mosip_resident
+-- Release Version 	: 1.2.0.1
+-- Purpose    		: Revoke scripts for Resident Service DB.
+-- Created Date		: Oct-2026
+--
+-- Modified Date        Modified By             Comments / Remarks
+-- --------------------------------------------------------------------------------------------------
+-- Oct-2026                                     Reverted resident_transaction to a non partitioned table.
+-----------------------------------------------------------------------------------------------------
+\c mosip_resident sysadmin
+
+ALTER TABLE resident.resident_transaction RENAME TO resident_transaction_partitioned;
+
+CREATE TABLE resident.resident_transaction (LIKE resident.resident_transaction_partitioned INCLUDING DEFAULTS INCLUDING COMMENTS);
+ALTER TABLE resident.resident_transaction ADD CONSTRAINT pk_restrn_event_id_nopart PRIMARY KEY (event_id);
+
+INSERT INTO resident.resident_transaction SELECT * FROM resident.resident_transaction_partitioned;
+
+DROP TABLE resident.resident_transaction_partitioned;
+ALTER TABLE resident.resident_transaction DROP COLUMN batch_lease_dtimes;
+ALTER TABLE resident.resident_transaction RENAME CONSTRAINT pk_restrn_event_id_nopart TO pk_restrn_event_id;
+
+DROP FUNCTION IF EXISTS resident.create_resident_transaction_partitions(date, integer);
+DROP FUNCTION IF EXISTS resident.archive_resident_transaction_partitions(integer, boolean);
+
+DROP TABLE IF EXISTS resident.resident_data_key;
+
+DROP TABLE IF EXISTS resident.resident_notification_outbox;
+
+-----------------------------------------------------------------------------------------------------
@@ -15,7 +15,10 @@
 
 \ir ddl/otp_transaction.sql
 \ir ddl/resident_transaction.sql
+\ir ddl/resident_transaction_partition.sql
 \ir ddl/resident_grievance_ticket.sql
 \ir ddl/resident_user_actions.sql
+\ir ddl/resident_data_key.sql
+\ir ddl/resident_notification_outbox.sql
 \ir ddl/resident_session.sql
 -----------------------------------------------------------------------------------------------------
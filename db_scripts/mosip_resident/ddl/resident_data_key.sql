@@ -0,0 +1,24 @@
+-- -------------------------------------------------------------------------------------------------
+-- Database Name:    mosip_resident
+-- Release Version 	: 1.2.1
+-- Purpose    		: Database scripts for Resident Service DB.
+-- Created Date		: Oct-2026
+--
+-- Modified Date        Modified By         Comments / Remarks
+-- --------------------------------------------------------------------------------------------------
+--
+-----------------------------------------------------------------------------------------------------
+
+-- This Table is used to save the data encryption keys, wrapped by the keymanager.
+
+CREATE TABLE resident.resident_data_key(
+	key_id character varying(36) NOT NULL,
+	wrapped_key character varying(2048) NOT NULL,
+	cr_dtimes timestamp NOT NULL,
+	CONSTRAINT pk_resdk_key_id PRIMARY KEY (key_id)
+);
+
+COMMENT ON TABLE resident_data_key IS 'This Table is used to save the data encryption keys, wrapped by the keymanager.';
+COMMENT ON COLUMN resident_data_key.key_id IS 'The key version stored with the data encrypted by this key';
+COMMENT ON COLUMN resident_data_key.wrapped_key IS 'The data encryption key encrypted by the keymanager';
+COMMENT ON COLUMN resident_data_key.cr_dtimes IS 'The time when the key is created';
@@ -0,0 +1,36 @@
+-- -------------------------------------------------------------------------------------------------
+-- Database Name:    mosip_resident
+-- Release Version 	: 1.2.1
+-- Purpose    		: Database scripts for Resident Service DB.
+-- Created Date		: Oct-2026
+--
+-- Modified Date        Modified By         Comments / Remarks
+-- --------------------------------------------------------------------------------------------------
+--
+-----------------------------------------------------------------------------------------------------
+
+-- This Table is used to save the SMS and email notifications till they are delivered to the notifier.
+
+CREATE TABLE resident.resident_notification_outbox(
+	id character varying(36) NOT NULL,
+	channel character varying(16) NOT NULL,
+	payload character varying NOT NULL,
+	status character varying(16) NOT NULL,
+	attempts smallint NOT NULL DEFAULT 0,
+	next_attempt_dtimes timestamp NOT NULL,
+	last_error character varying(512),
+	cr_dtimes timestamp NOT NULL,
+	CONSTRAINT pk_resnob_id PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_resnob_status_next_attempt ON resident.resident_notification_outbox (status, next_attempt_dtimes);
+
+COMMENT ON TABLE resident_notification_outbox IS 'This Table is used to save the SMS and email notifications till they are delivered to the notifier.';
+COMMENT ON COLUMN resident_notification_outbox.id IS 'The id of the notification';
+COMMENT ON COLUMN resident_notification_outbox.channel IS 'The channel of the notification: SMS or EMAIL';
+COMMENT ON COLUMN resident_notification_outbox.payload IS 'The rendered notification as JSON, encrypted with a data encryption key';
+COMMENT ON COLUMN resident_notification_outbox.status IS 'PENDING till it is claimed by a worker, SENDING while it is delivered, and FAILED once the attempts are exhausted';
+COMMENT ON COLUMN resident_notification_outbox.attempts IS 'The number of failed delivery attempts';
+COMMENT ON COLUMN resident_notification_outbox.next_attempt_dtimes IS 'The time of the next delivery attempt, or the end of the claim of the worker while it is sending';
+COMMENT ON COLUMN resident_notification_outbox.last_error IS 'The error of the last failed delivery attempt';
+COMMENT ON COLUMN resident_notification_outbox.cr_dtimes IS 'The time when the notification is created';
@@ -7,7 +7,7 @@
 --
 -- Modified Date        Modified By         Comments / Remarks
 -- --------------------------------------------------------------------------------------------------
---
+-- Oct-2026                                 Range partitioned on cr_dtimes and added access path indexes.
 -----------------------------------------------------------------------------------------------------
 
 -- This Table is used to save the  transaction related to residents.
@@ -48,8 +48,31 @@ CREATE TABLE resident.resident_transaction(
     individual_id character varying(1024),
     consent character varying(50),
     tracking_id character varying(50),
-    CONSTRAINT pk_restrn_event_id PRIMARY KEY (event_id)
-);
+    batch_lease_dtimes timestamp,
+    -- Postgres needs the partition key in the primary key, so event_id is not unique on its own here. Event
+    -- ids are 16 digit random numbers, and the service saves transactions through JPA keyed on event_id
+    -- alone, so a repeated event id updates the existing row rather than adding a second one.
+    CONSTRAINT pk_restrn_event_id PRIMARY KEY (event_id, cr_dtimes)
+) PARTITION BY RANGE (cr_dtimes);
+
+-- Rows that do not fall in any monthly partition. Monthly partitions are created ahead of time by
+-- resident.create_resident_transaction_partitions(), see resident_transaction_partition.sql.
+CREATE TABLE resident.resident_transaction_default PARTITION OF resident.resident_transaction DEFAULT;
+
+-- Service history, notification list and findByTokenId / countByTokenId.
+CREATE INDEX IF NOT EXISTS idx_restrn_token_pinned_crdtimes ON resident.resident_transaction USING btree (token_id, pinned_status DESC, cr_dtimes DESC, event_id);
+-- Unread notification count and list for a token.
+CREATE INDEX IF NOT EXISTS idx_restrn_token_unread_reqtype ON resident.resident_transaction USING btree (token_id, request_type_code) WHERE read_status = false;
+-- Credential status update batch job.
+CREATE INDEX IF NOT EXISTS idx_restrn_status_reqtype_crdtimes ON resident.resident_transaction USING btree (status_code, request_type_code, cr_dtimes);
+-- Credential status websub callback.
+CREATE INDEX IF NOT EXISTS idx_restrn_credential_request_id ON resident.resident_transaction USING btree (credential_request_id) WHERE credential_request_id IS NOT NULL;
+-- VID transaction count and latest transaction for a reference id.
+CREATE INDEX IF NOT EXISTS idx_restrn_ref_id_status_crdtimes ON resident.resident_transaction USING btree (ref_id, status_code, cr_dtimes DESC);
+-- Latest transaction for an AID.
+CREATE INDEX IF NOT EXISTS idx_restrn_aid_crdtimes ON resident.resident_transaction USING btree (aid, cr_dtimes DESC) WHERE aid IS NOT NULL;
+-- Transactions for a request transaction id.
+CREATE INDEX IF NOT EXISTS idx_restrn_request_trn_id ON resident.resident_transaction USING btree (request_trn_id, cr_dtimes DESC);
 
 COMMENT ON TABLE resident_transaction IS 'This Table is used to save the  transaction related to residents.';
 COMMENT ON COLUMN resident_transaction.event_id IS 'Unique Id of the transaction.';
@@ -84,5 +107,6 @@ COMMENT ON COLUMN resident.resident_transaction.read_status IS 'The flag to iden
 COMMENT ON COLUMN resident.resident_transaction.pinned_status IS 'The flag to identify if the request is pinned or not';
 COMMENT ON COLUMN resident.resident_transaction.purpose IS 'The purpose of the request';
 COMMENT ON COLUMN resident.resident_transaction.credential_request_id IS 'The credential request id';
+COMMENT ON COLUMN resident.resident_transaction.batch_lease_dtimes IS 'The time till which the credential status update job of one instance owns the record';
 
 --------------------------------------------------------------------------------------------------------------------------------------------------------------------------------------
@@ -0,0 +1,75 @@
+-- -------------------------------------------------------------------------------------------------
+-- Database Name: mosip_resident
+-- Release Version 	: 1.2.1
+-- Purpose    		: Partition maintenance for resident_transaction table.
+-- Created Date		: Oct-2026
+--
+-- Modified Date        Modified By         Comments / Remarks
+-- --------------------------------------------------------------------------------------------------
+--
+-----------------------------------------------------------------------------------------------------
+
+-- Creates the monthly partitions of resident_transaction from the month of start_date up to
+-- months_ahead months after the current month. Existing partitions are left untouched.
+CREATE OR REPLACE FUNCTION resident.create_resident_transaction_partitions(start_date date, months_ahead integer)
+RETURNS integer
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    partition_start date := date_trunc('month', start_date)::date;
+    last_partition_start date := (date_trunc('month', now()) + make_interval(months => months_ahead))::date;
+    partition_name text;
+    created_count integer := 0;
+BEGIN
+    WHILE partition_start <= last_partition_start LOOP
+        partition_name := 'resident_transaction_' || to_char(partition_start, 'YYYY_MM');
+        IF to_regclass('resident.' || partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE resident.%I PARTITION OF resident.resident_transaction FOR VALUES FROM (%L) TO (%L)',
+                partition_name, partition_start, (partition_start + interval '1 month')::date);
+            created_count := created_count + 1;
+        END IF;
+        partition_start := (partition_start + interval '1 month')::date;
+    END LOOP;
+    RETURN created_count;
+END;
+$$;
+
+COMMENT ON FUNCTION resident.create_resident_transaction_partitions(date, integer) IS 'Creates the monthly partitions of resident_transaction up to the given number of months ahead.';
+
+-- Detaches the monthly partitions whose whole range is older than retention_months and moves them
+-- to the resident_archive schema. When drop_archived is true the detached partitions are dropped.
+CREATE OR REPLACE FUNCTION resident.archive_resident_transaction_partitions(retention_months integer, drop_archived boolean)
+RETURNS integer
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    retention_start date := (date_trunc('month', now()) - make_interval(months => retention_months))::date;
+    partition_record record;
+    archived_count integer := 0;
+BEGIN
+    FOR partition_record IN
+        SELECT child.relname AS partition_name
+        FROM pg_inherits
+        JOIN pg_class parent ON pg_inherits.inhparent = parent.oid
+        JOIN pg_class child ON pg_inherits.inhrelid = child.oid
+        JOIN pg_namespace nsp ON parent.relnamespace = nsp.oid
+        WHERE nsp.nspname = 'resident' AND parent.relname = 'resident_transaction'
+            AND child.relname ~ '^resident_transaction_[0-9]{4}_[0-9]{2}$'
+            AND to_date(substring(child.relname from '[0-9]{4}_[0-9]{2}$'), 'YYYY_MM') < retention_start
+    LOOP
+        EXECUTE format('ALTER TABLE resident.resident_transaction DETACH PARTITION resident.%I', partition_record.partition_name);
+        IF drop_archived THEN
+            EXECUTE format('DROP TABLE resident.%I', partition_record.partition_name);
+        ELSE
+            EXECUTE 'CREATE SCHEMA IF NOT EXISTS resident_archive';
+            EXECUTE format('ALTER TABLE resident.%I SET SCHEMA resident_archive', partition_record.partition_name);
+        END IF;
+        archived_count := archived_count + 1;
+    END LOOP;
+    RETURN archived_count;
+END;
+$$;
+
+COMMENT ON FUNCTION resident.archive_resident_transaction_partitions(integer, boolean) IS 'Detaches the resident_transaction partitions older than the retention period and archives or drops them.';
+
+SELECT resident.create_resident_transaction_partitions(now()::date, 3);
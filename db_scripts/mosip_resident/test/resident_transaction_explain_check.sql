@@ -0,0 +1,62 @@
+-- -------------------------------------------------------------------------------------------------
+-- Database Name: mosip_resident
+-- Release Version 	: 1.2.1
+-- Purpose    		: Checks that the ResidentTransactionRepository queries use the resident_transaction indexes.
+-- Created Date		: Oct-2026
+--
+-- Modified Date        Modified By         Comments / Remarks
+-- --------------------------------------------------------------------------------------------------
+--
+-----------------------------------------------------------------------------------------------------
+-- Run with: psql --dbname=mosip_resident -v ON_ERROR_STOP=1 -f test/resident_transaction_explain_check.sql
+-- Sequential scans are disabled for the session, so a query is only planned with a Seq Scan when no
+-- index can serve it. The script raises an exception naming the first such query.
+\c mosip_resident sysadmin
+
+SET enable_seqscan = off;
+
+DO $$
+DECLARE
+    access_path record;
+    query_plan text;
+BEGIN
+    FOR access_path IN
+        SELECT * FROM (VALUES
+            ('findByTokenId',
+             'SELECT * FROM resident.resident_transaction WHERE token_id = ''token'''),
+            ('countByTokenId',
+             'SELECT count(*) FROM resident.resident_transaction WHERE token_id = ''token'''),
+            ('serviceHistory',
+             'SELECT * FROM resident.resident_transaction WHERE token_id = ''token'' AND (olv_partner_id IS NULL OR olv_partner_id = ''partner'') ORDER BY pinned_status DESC, cr_dtimes DESC, event_id DESC LIMIT 10 OFFSET 0'),
+            ('serviceHistoryCount',
+             'SELECT count(*) FROM resident.resident_transaction WHERE token_id = ''token'' AND request_type_code IN (''AUTHENTICATION_REQUEST'') AND cr_dtimes BETWEEN now() - interval ''1 month'' AND now()'),
+            ('countByIdAndUnreadStatusForRequestTypes',
+             'SELECT count(*) FROM resident.resident_transaction WHERE token_id = ''token'' AND read_status = false AND request_type_code IN (''AUTHENTICATION_REQUEST'')'),
+            ('findByIdAndUnreadStatusForRequestTypes',
+             'SELECT event_id, request_summary, status_code, request_dtimes, request_type_code FROM resident.resident_transaction WHERE token_id = ''token'' AND read_status = false AND request_type_code IN (''AUTHENTICATION_REQUEST'')'),
+            ('findByStatusCodeInAndRequestTypeCodeInOrderByCrDtimesAsc',
+             'SELECT * FROM resident.resident_transaction WHERE status_code IN (''NEW'', ''ISSUED'') AND request_type_code IN (''VID_CARD_DOWNLOAD'', ''ORDER_PHYSICAL_CARD'') ORDER BY cr_dtimes ASC'),
+            ('findByCredentialRequestId',
+             'SELECT * FROM resident.resident_transaction WHERE credential_request_id = ''request'''),
+            ('findByrefIdandauthtype',
+             'SELECT count(*) FROM resident.resident_transaction WHERE ref_id = ''ref'' AND auth_type_code <> ''OTP_REQUESTED'''),
+            ('findTopByRefIdAndStatusCodeOrderByCrDtimesDesc',
+             'SELECT * FROM resident.resident_transaction WHERE ref_id = ''ref'' AND status_code = ''NEW'' ORDER BY cr_dtimes DESC LIMIT 1'),
+            ('findTopByAidOrderByCrDtimesDesc',
+             'SELECT * FROM resident.resident_transaction WHERE aid = ''aid'' ORDER BY cr_dtimes DESC LIMIT 1'),
+            ('findByRequestTrnIdAndRefIdOrderByCrDtimesDesc',
+             'SELECT * FROM resident.resident_transaction WHERE request_trn_id = ''trn'' AND ref_id = ''ref'' ORDER BY cr_dtimes DESC'),
+            ('updateReadStatus',
+             'UPDATE resident.resident_transaction SET read_status = true WHERE event_id = ''event''')
+        ) AS paths(query_name, query_text)
+    LOOP
+        EXECUTE 'EXPLAIN (FORMAT JSON) ' || access_path.query_text INTO query_plan;
+        IF query_plan LIKE '%"Seq Scan"%' THEN
+            RAISE EXCEPTION 'resident_transaction query % uses a sequential scan: %', access_path.query_name, query_plan;
+        END IF;
+        RAISE NOTICE 'resident_transaction query % uses an index', access_path.query_name;
+    END LOOP;
+END;
+$$;
+
+RESET enable_seqscan;
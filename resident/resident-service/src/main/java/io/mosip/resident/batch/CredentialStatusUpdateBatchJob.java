@@ -17,6 +17,12 @@ import static io.mosip.resident.constant.ResidentConstants.CREDENTIAL_UPDATE_STA
 import static io.mosip.resident.constant.ResidentConstants.CREDENTIAL_UPDATE_STATUS_UPDATE_INITIAL_DELAY_DEFAULT;
 import static io.mosip.resident.constant.ResidentConstants.CREDENTIAL_UPDATE_STATUS_UPDATE_INTERVAL;
 import static io.mosip.resident.constant.ResidentConstants.CREDENTIAL_UPDATE_STATUS_UPDATE_INTERVAL_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.CREDENTIAL_UPDATE_STATUS_UPDATE_LEASE;
+import static io.mosip.resident.constant.ResidentConstants.CREDENTIAL_UPDATE_STATUS_UPDATE_LEASE_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.CREDENTIAL_UPDATE_STATUS_UPDATE_PAGE_SIZE;
+import static io.mosip.resident.constant.ResidentConstants.CREDENTIAL_UPDATE_STATUS_UPDATE_PAGE_SIZE_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.CREDENTIAL_UPDATE_STATUS_UPDATE_THREAD_COUNT;
+import static io.mosip.resident.constant.ResidentConstants.CREDENTIAL_UPDATE_STATUS_UPDATE_THREAD_COUNT_DEFAULT;
 import static io.mosip.resident.constant.ResidentConstants.IS_CREDENTIAL_STATUS_UPDATE_JOB_ENABLED;
 import static io.mosip.resident.constant.ResidentConstants.NOTIFICATION_DATE_PATTERN;
 import static io.mosip.resident.constant.ResidentConstants.NOTIFICATION_TIME_PATTERN;
@@ -30,10 +36,21 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -41,12 +58,17 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.kernel.core.util.DateUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.mosip.resident.config.LoggerConfiguration;
 import io.mosip.resident.constant.ApiName;
 import io.mosip.resident.constant.RequestType;
@@ -82,6 +104,10 @@ public class CredentialStatusUpdateBatchJob {
 
 	private static final String DEFAULT_NOTIF_DATE_PATTERN = "dd-MM-yyyy";
 
+	private static final LocalDateTime PAGE_CURSOR_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+	private static final String METRIC_PREFIX = "resident.credential.status.job";
+
 	@Value("${" + PUBLIC_URL + "}")
 	private String publicUrl;
 
@@ -118,6 +144,44 @@ public class CredentialStatusUpdateBatchJob {
 	@Value("${resident.async.request.types}")
 	private String requestTypeCodes;
 
+	@Value("${" + CREDENTIAL_UPDATE_STATUS_UPDATE_PAGE_SIZE + ":" + CREDENTIAL_UPDATE_STATUS_UPDATE_PAGE_SIZE_DEFAULT + "}")
+	private int pageSize;
+
+	@Value("${" + CREDENTIAL_UPDATE_STATUS_UPDATE_THREAD_COUNT + ":" + CREDENTIAL_UPDATE_STATUS_UPDATE_THREAD_COUNT_DEFAULT
+			+ "}")
+	private int threadCount;
+
+	/** Time after which the rows claimed by a stopped instance are tracked again. */
+	@Value("${" + CREDENTIAL_UPDATE_STATUS_UPDATE_LEASE + ":" + CREDENTIAL_UPDATE_STATUS_UPDATE_LEASE_DEFAULT + "}")
+	private long leaseMillis;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private TransactionTemplate transactionTemplate;
+
+	private ExecutorService executorService;
+
+	private final AtomicLong backlogSize = new AtomicLong();
+
+	private Counter processedRowsCounter;
+
+	@PostConstruct
+	public void init() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		executorService = Executors.newFixedThreadPool(threadCount);
+		meterRegistry.gauge(METRIC_PREFIX + ".backlog", backlogSize);
+		processedRowsCounter = meterRegistry.counter(METRIC_PREFIX + ".rows");
+	}
+
+	@PreDestroy
+	public void destroy() {
+		executorService.shutdown();
+	}
+
 	private void handleWithTryCatch(RunnableWithException runnableWithException) {
 		try {
 			runnableWithException.run();
@@ -142,60 +206,175 @@ public class CredentialStatusUpdateBatchJob {
 					+ CREDENTIAL_UPDATE_STATUS_UPDATE_INTERVAL + ":" + CREDENTIAL_UPDATE_STATUS_UPDATE_INTERVAL_DEFAULT
 					+ "}")
 	public void scheduleCredentialStatusUpdateJob() throws ResidentServiceCheckedException {
-		List<ResidentTransactionEntity> residentTxnList = repo.findByStatusCodeInAndRequestTypeCodeInOrderByCrDtimesAsc(
-				List.of(statusCodes.split(",")), List.of(requestTypeCodes.split(",")));
-		logger.info("Total records picked from resident_transaction table for processing is " + residentTxnList.size());
-		for (ResidentTransactionEntity txn : residentTxnList) {
+		List<String> statusCodeList = List.of(statusCodes.split(","));
+		List<String> requestTypeCodeList = List.of(requestTypeCodes.split(","));
+		backlogSize.set(repo.countByStatusCodeInAndRequestTypeCodeIn(statusCodeList, requestTypeCodeList));
+		logger.info("Total records pending in resident_transaction table for processing is " + backlogSize.get());
+		long startTime = System.currentTimeMillis();
+		long processedCount = 0;
+		LocalDateTime lastCrDtimes = PAGE_CURSOR_START;
+		String lastEventId = "";
+		List<ResidentTransactionEntity> residentTxnList;
+		do {
+			Tuple2<List<ResidentTransactionEntity>, List<NotificationRequestDtoV2>> pageResult = processPage(
+					statusCodeList, requestTypeCodeList, lastCrDtimes, lastEventId);
+			residentTxnList = pageResult.getT1();
+			sendNotifications(pageResult.getT2());
+			if (!residentTxnList.isEmpty()) {
+				ResidentTransactionEntity lastTxn = residentTxnList.get(residentTxnList.size() - 1);
+				lastCrDtimes = lastTxn.getCrDtimes();
+				lastEventId = lastTxn.getEventId();
+			}
+			processedCount += residentTxnList.size();
+			processedRowsCounter.increment(residentTxnList.size());
+		} while (residentTxnList.size() == pageSize);
+		long elapsedMillis = Math.max(System.currentTimeMillis() - startTime, 1);
+		logger.info(String.format("Processed %d records from resident_transaction table in %d ms (%.2f records/sec)",
+				processedCount, elapsedMillis, processedCount * 1000.0 / elapsedMillis));
+	}
+
+	/**
+	 * Claims one page of transactions, tracks their status on the executor and
+	 * saves the rows. The rows are locked and leased in a short transaction, so
+	 * that no lock or connection is held during the status calls, and saved in a
+	 * second one. A row changed by another writer in the meantime is not saved
+	 * and is tracked again in the next run. The notifications are returned to be
+	 * sent after the save, since the notification templates read the updated
+	 * transaction from the database.
+	 */
+	private Tuple2<List<ResidentTransactionEntity>, List<NotificationRequestDtoV2>> processPage(
+			List<String> statusCodeList, List<String> requestTypeCodeList, LocalDateTime lastCrDtimes,
+			String lastEventId) {
+		List<ResidentTransactionEntity> residentTxnList = recordStage("claim",
+				() -> transactionTemplate.execute(status -> {
+					List<ResidentTransactionEntity> claimedTxnList = repo.lockNextPageByStatusCodeInAndRequestTypeCodeIn(
+							statusCodeList, requestTypeCodeList, lastCrDtimes, lastEventId, pageSize);
+					if (!claimedTxnList.isEmpty()) {
+						repo.leaseByEventIdIn(getEventIds(claimedTxnList), leaseMillis);
+					}
+					return claimedTxnList;
+				}));
+		logger.info("Total records picked from resident_transaction table for processing is "
+				+ residentTxnList.size());
+		if (residentTxnList.isEmpty()) {
+			return Tuples.of(residentTxnList, List.of());
+		}
+		Map<String, String> claimedVersions = residentTxnList.stream()
+				.collect(Collectors.toMap(ResidentTransactionEntity::getEventId, this::getRowVersion));
+		List<CompletableFuture<List<NotificationRequestDtoV2>>> futures = residentTxnList.stream()
+				.map(txn -> CompletableFuture.supplyAsync(() -> processTransaction(txn), executorService))
+				.collect(Collectors.toList());
+		Map<String, List<NotificationRequestDtoV2>> notificationsByEventId = new HashMap<>();
+		for (int i = 0; i < residentTxnList.size(); i++) {
+			notificationsByEventId.put(residentTxnList.get(i).getEventId(), futures.get(i).join());
+		}
+		List<NotificationRequestDtoV2> notifications = recordStage("save",
+				() -> transactionTemplate.execute(status -> {
+					List<String> eventIds = getEventIds(residentTxnList);
+					Map<String, String> currentVersions = repo.lockByEventIdIn(eventIds).stream()
+							.collect(Collectors.toMap(ResidentTransactionEntity::getEventId, this::getRowVersion));
+					List<ResidentTransactionEntity> unchangedTxnList = residentTxnList.stream()
+							.filter(txn -> claimedVersions.get(txn.getEventId())
+									.equals(currentVersions.get(txn.getEventId())))
+							.collect(Collectors.toList());
+					if (unchangedTxnList.size() < residentTxnList.size()) {
+						logger.info(String.format("%d records changed while tracking their status, left for the next run",
+								residentTxnList.size() - unchangedTxnList.size()));
+					}
+					repo.saveAll(unchangedTxnList);
+					repo.releaseLeaseByEventIdIn(eventIds);
+					return unchangedTxnList.stream().map(txn -> notificationsByEventId.get(txn.getEventId()))
+							.flatMap(List::stream).collect(Collectors.toList());
+				}));
+		return Tuples.of(residentTxnList, notifications);
+	}
+
+	private List<String> getEventIds(List<ResidentTransactionEntity> residentTxnList) {
+		return residentTxnList.stream().map(ResidentTransactionEntity::getEventId).collect(Collectors.toList());
+	}
+
+	/** Status and update time of a row, to find the rows changed by another writer. */
+	private String getRowVersion(ResidentTransactionEntity txn) {
+		return txn.getStatusCode() + "@" + txn.getUpdDtimes();
+	}
+
+	private List<NotificationRequestDtoV2> processTransaction(ResidentTransactionEntity txn) {
+		List<NotificationRequestDtoV2> notifications = new ArrayList<>();
+		try {
 			logger.info("Processing event:" + txn.getEventId());
 			if (txn.getIndividualId() == null) {
 				txn.setStatusCode(FAILED.name());
 				txn.setStatusComment("individualId is null");
-				repo.save(txn);
 			}
-			handleWithTryCatch(() -> updateVidCardDownloadTxnStatus(txn));
-			handleWithTryCatch(() -> updateOrderPhysicalCardTxnStatus(txn));
-			handleWithTryCatch(() -> updateShareCredentialWithPartnerTxnStatus(txn));
-			handleWithTryCatch(() -> updateUinDemoDataUpdateTxnStatus(txn));
+			handleWithTryCatch(() -> updateVidCardDownloadTxnStatus(txn, notifications));
+			handleWithTryCatch(() -> updateOrderPhysicalCardTxnStatus(txn, notifications));
+			handleWithTryCatch(() -> updateShareCredentialWithPartnerTxnStatus(txn, notifications));
+			handleWithTryCatch(() -> updateUinDemoDataUpdateTxnStatus(txn, notifications));
+		} catch (RuntimeException e) {
+			logErrorForBatchJob(e);
 		}
-		repo.saveAll(residentTxnList);
+		return notifications;
+	}
+
+	private void sendNotifications(List<NotificationRequestDtoV2> notifications) {
+		notifications.stream()
+				.map(notification -> CompletableFuture.runAsync(
+						() -> handleWithTryCatch(() -> sendNotification(notification)), executorService))
+				.collect(Collectors.toList())
+				.forEach(CompletableFuture::join);
 	}
 
-	private void updateVidCardDownloadTxnStatus(ResidentTransactionEntity txn)
+	private <T> T recordStage(String stage, Supplier<T> supplier) {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		try {
+			return supplier.get();
+		} finally {
+			sample.stop(meterRegistry.timer(METRIC_PREFIX + ".stage", "stage", stage));
+		}
+	}
+
+	private void updateVidCardDownloadTxnStatus(ResidentTransactionEntity txn,
+			List<NotificationRequestDtoV2> notifications)
 			throws ResidentServiceCheckedException, ApisResourceAccessException {
 		if (txn.getRequestTypeCode().contentEquals(VID_CARD_DOWNLOAD.name())) {
 			Map<String, String> eventDetails = trackAndUpdateNewOrIssuedStatus(txn);
 			trackAnddownloadPrintingOrStoredStatus(txn, TemplateType.SUCCESS, RequestType.VID_CARD_DOWNLOAD,
-					eventDetails);// mentioned in sheet and in story also
-			trackAndUpdateFailedStatus(txn, TemplateType.FAILURE, RequestType.VID_CARD_DOWNLOAD);
+					eventDetails, notifications);// mentioned in sheet and in story also
+			trackAndUpdateFailedStatus(txn, TemplateType.FAILURE, RequestType.VID_CARD_DOWNLOAD, notifications);
 		}
 	}
 
-	private void updateOrderPhysicalCardTxnStatus(ResidentTransactionEntity txn)
+	private void updateOrderPhysicalCardTxnStatus(ResidentTransactionEntity txn,
+			List<NotificationRequestDtoV2> notifications)
 			throws ResidentServiceCheckedException, ApisResourceAccessException {
 		if (txn.getRequestTypeCode().contentEquals(ORDER_PHYSICAL_CARD.name())) {
 			Map<String, String> eventDetails = trackAndUpdateNewOrIssuedStatus(txn);
 			trackAndUpdatePaymentConfirmedStatus(txn);
 			trackAnddownloadPrintingOrIntransitStatus(txn, TemplateType.SUCCESS, RequestType.ORDER_PHYSICAL_CARD,
-					eventDetails);
-			trackAndUpdateFailedStatus(txn, TemplateType.FAILURE, RequestType.ORDER_PHYSICAL_CARD);
+					eventDetails, notifications);
+			trackAndUpdateFailedStatus(txn, TemplateType.FAILURE, RequestType.ORDER_PHYSICAL_CARD, notifications);
 		}
 	}
 
-	private void updateShareCredentialWithPartnerTxnStatus(ResidentTransactionEntity txn)
+	private void updateShareCredentialWithPartnerTxnStatus(ResidentTransactionEntity txn,
+			List<NotificationRequestDtoV2> notifications)
 			throws ResidentServiceCheckedException, ApisResourceAccessException {
 		if (txn.getRequestTypeCode().contentEquals(SHARE_CRED_WITH_PARTNER.name())) {
 			Map<String, String> eventDetails = trackAndUpdateNewOrIssuedStatus(txn);
-			trackAndUpdatePrintingOrStoredStatus(txn, TemplateType.SUCCESS, RequestType.SHARE_CRED_WITH_PARTNER);
-			trackAndUpdateFailedStatus(txn, TemplateType.FAILURE, RequestType.SHARE_CRED_WITH_PARTNER);
+			trackAndUpdatePrintingOrStoredStatus(txn, TemplateType.SUCCESS, RequestType.SHARE_CRED_WITH_PARTNER,
+					notifications);
+			trackAndUpdateFailedStatus(txn, TemplateType.FAILURE, RequestType.SHARE_CRED_WITH_PARTNER, notifications);
 		}
 	}
 
-	private void updateUinDemoDataUpdateTxnStatus(ResidentTransactionEntity txn)
+	private void updateUinDemoDataUpdateTxnStatus(ResidentTransactionEntity txn,
+			List<NotificationRequestDtoV2> notifications)
 			throws ResidentServiceCheckedException, ApisResourceAccessException {
 		if (txn.getRequestTypeCode().contentEquals(UPDATE_MY_UIN.name())) {
 			Map<String, String> eventDetails = trackAndUpdateNewOrIssuedStatus(txn);
-			trackAndUpdatePrintingOrReceivedOrStoredStatus(txn, TemplateType.SUCCESS, RequestType.UPDATE_MY_UIN, eventDetails);
-			trackAndUpdateFailedStatus(txn, TemplateType.FAILURE, RequestType.UPDATE_MY_UIN);
+			trackAndUpdatePrintingOrReceivedOrStoredStatus(txn, TemplateType.SUCCESS, RequestType.UPDATE_MY_UIN, eventDetails,
+					notifications);
+			trackAndUpdateFailedStatus(txn, TemplateType.FAILURE, RequestType.UPDATE_MY_UIN, notifications);
 		}
 	}
 
@@ -208,7 +387,6 @@ public class CredentialStatusUpdateBatchJob {
 				txn.setReadStatus(false);
 				txn.setUpdBy(RESIDENT);
 				txn.setUpdDtimes(DateUtils.getUTCCurrentDateTime());
-				repo.save(txn);
 				return eventDetails;
 			}
 		}
@@ -216,42 +394,42 @@ public class CredentialStatusUpdateBatchJob {
 	}
 
 	private void trackAndUpdatePrintingOrReceivedOrStoredStatus(ResidentTransactionEntity txn, TemplateType templateType,
-			RequestType requestType, Map<String, String> eventDetails) throws ResidentServiceCheckedException {
+			RequestType requestType, Map<String, String> eventDetails, List<NotificationRequestDtoV2> notifications) {
 		if (txn.getStatusCode().contentEquals(PRINTING.name()) || txn.getStatusCode().contentEquals(RECEIVED.name())
 				|| txn.getStatusCode().contentEquals(STORED.name())) {
 			txn.setStatusCode(CARD_READY_TO_DOWNLOAD.name());
 			txn.setReadStatus(false);
-			createResidentDwldUrl(txn, templateType, requestType, eventDetails);
-			sendNotification(txn, templateType, requestType);
+			createResidentDwldUrl(txn, eventDetails);
+			addNotification(txn, templateType, requestType, notifications);
 		}
 	}
 
 	private void trackAnddownloadPrintingOrStoredStatus(ResidentTransactionEntity txn, TemplateType templateType,
-			RequestType requestType, Map<String, String> eventDetails) throws ResidentServiceCheckedException {
+			RequestType requestType, Map<String, String> eventDetails, List<NotificationRequestDtoV2> notifications) {
 		if (txn.getStatusCode().contentEquals(PRINTING.name()) || txn.getStatusCode().contentEquals(STORED.name())) {
 			txn.setStatusCode(CARD_READY_TO_DOWNLOAD.name());
 			txn.setReadStatus(false);
-			createResidentDwldUrl(txn, templateType, requestType, eventDetails);
-			sendNotification(txn, templateType, requestType);
+			createResidentDwldUrl(txn, eventDetails);
+			addNotification(txn, templateType, requestType, notifications);
 		}
 	}
 
 	private void trackAnddownloadPrintingOrIntransitStatus(ResidentTransactionEntity txn, TemplateType templateType,
-			RequestType requestType, Map<String, String> eventDetails)
+			RequestType requestType, Map<String, String> eventDetails, List<NotificationRequestDtoV2> notifications)
 			throws ResidentServiceCheckedException, ApisResourceAccessException {
 		if (txn.getStatusCode().contentEquals(PRINTING.name()) || txn.getStatusCode().contentEquals(IN_TRANSIT.name())
 				|| txn.getStatusCode().contentEquals(STORED.name())) {
 			String trackingId = getTrackingId(txn.getRequestTrnId(), txn.getIndividualId());
 			txn.setTrackingId(trackingId);
-			createResidentDwldUrl(txn, templateType, requestType, eventDetails);
-			sendNotification(txn, templateType, requestType);
+			createResidentDwldUrl(txn, eventDetails);
+			addNotification(txn, templateType, requestType, notifications);
 		}
 	}
 
 	private void trackAndUpdatePrintingOrStoredStatus(ResidentTransactionEntity txn, TemplateType templateType,
-			RequestType requestType) throws ResidentServiceCheckedException {
+			RequestType requestType, List<NotificationRequestDtoV2> notifications) {
 		if (txn.getStatusCode().contentEquals(PRINTING.name()) || txn.getStatusCode().contentEquals(STORED.name())) {
-			sendNotification(txn, templateType, requestType);
+			addNotification(txn, templateType, requestType, notifications);
 		}
 	}
 
@@ -266,35 +444,49 @@ public class CredentialStatusUpdateBatchJob {
 		}
 	}
 
-	private void createResidentDwldUrl(ResidentTransactionEntity txn, TemplateType templateType,
-			RequestType requestType, Map<String, String> eventDetails) throws ResidentServiceCheckedException {
+	private void createResidentDwldUrl(ResidentTransactionEntity txn, Map<String, String> eventDetails) {
 		txn.setReferenceLink(eventDetails.get(URL));
 		txn.setUpdBy(RESIDENT);
 		txn.setUpdDtimes(DateUtils.getUTCCurrentDateTime());
-		repo.save(txn);
 	}
 
-	private void sendNotification(ResidentTransactionEntity txn, TemplateType templateType, RequestType requestType)
-			throws ResidentServiceCheckedException {
+	private void addNotification(ResidentTransactionEntity txn, TemplateType templateType, RequestType requestType,
+			List<NotificationRequestDtoV2> notifications) {
 		NotificationRequestDtoV2 notificationRequestDtoV2 = new NotificationRequestDtoV2();
 		notificationRequestDtoV2.setTemplateType(templateType);
 		notificationRequestDtoV2.setRequestType(requestType);
 		notificationRequestDtoV2.setEventId(txn.getEventId());
 		notificationRequestDtoV2.setId(txn.getIndividualId());
-		notificationService.sendNotification(notificationRequestDtoV2);
+		notifications.add(notificationRequestDtoV2);
+	}
+
+	private void sendNotification(NotificationRequestDtoV2 notificationRequestDtoV2)
+			throws ResidentServiceCheckedException {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		try {
+			notificationService.sendNotification(notificationRequestDtoV2);
+		} finally {
+			sample.stop(meterRegistry.timer(METRIC_PREFIX + ".stage", "stage", "notification"));
+		}
 	}
 
 	private void trackAndUpdateFailedStatus(ResidentTransactionEntity txn, TemplateType templateType,
-			RequestType requestType) throws ResidentServiceCheckedException, ApisResourceAccessException {
+			RequestType requestType, List<NotificationRequestDtoV2> notifications) {
 		if (txn.getStatusCode().contentEquals(FAILED.name())) {
-			sendNotification(txn, templateType, requestType);
+			addNotification(txn, templateType, requestType, notifications);
 		}
 	}
 
 	private Map<String, String> getCredentialEventDetails(String credentialRequestId)
 			throws ResidentServiceCheckedException, ApisResourceAccessException {
-		Object object = residentServiceRestClient.getApi(ApiName.CREDENTIAL_STATUS_URL, List.of(credentialRequestId),
-				Collections.emptyList(), Collections.emptyList(), ResponseWrapper.class);
+		Timer.Sample sample = Timer.start(meterRegistry);
+		Object object;
+		try {
+			object = residentServiceRestClient.getApi(ApiName.CREDENTIAL_STATUS_URL, List.of(credentialRequestId),
+					Collections.emptyList(), Collections.emptyList(), ResponseWrapper.class);
+		} finally {
+			sample.stop(meterRegistry.timer(METRIC_PREFIX + ".stage", "stage", "credential_status"));
+		}
 		ResponseWrapper<Map<String, String>> responseWrapper = JsonUtil.convertValue(object,
 				new TypeReference<ResponseWrapper<Map<String, String>>>() {
 				});
@@ -337,9 +529,15 @@ public class CredentialStatusUpdateBatchJob {
 
 	private String getTrackingId(String transactionId, String individualId)
 			throws ResidentServiceCheckedException, ApisResourceAccessException {
-		Object object = residentServiceRestClient.getApi(ApiName.GET_ORDER_STATUS_URL, List.of(),
-				List.of(TemplateVariablesConstants.TRANSACTION_ID, TemplateVariablesConstants.INDIVIDUAL_ID),
-				List.of(transactionId, individualId), ResponseWrapper.class);
+		Timer.Sample sample = Timer.start(meterRegistry);
+		Object object;
+		try {
+			object = residentServiceRestClient.getApi(ApiName.GET_ORDER_STATUS_URL, List.of(),
+					List.of(TemplateVariablesConstants.TRANSACTION_ID, TemplateVariablesConstants.INDIVIDUAL_ID),
+					List.of(transactionId, individualId), ResponseWrapper.class);
+		} finally {
+			sample.stop(meterRegistry.timer(METRIC_PREFIX + ".stage", "stage", "order_status"));
+		}
 		ResponseWrapper<Map<String, String>> responseWrapper = JsonUtil.convertValue(object,
 				new TypeReference<ResponseWrapper<Map<String, String>>>() {
 				});
@@ -0,0 +1,269 @@
+package io.mosip.resident.batch;
+
+import static io.mosip.resident.constant.ResidentConstants.NOTIFICATION_OUTBOX_BATCH_SIZE;
+import static io.mosip.resident.constant.ResidentConstants.NOTIFICATION_OUTBOX_BATCH_SIZE_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.NOTIFICATION_OUTBOX_CLAIM_TIMEOUT;
+import static io.mosip.resident.constant.ResidentConstants.NOTIFICATION_OUTBOX_CLAIM_TIMEOUT_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.NOTIFICATION_OUTBOX_ENABLED;
+import static io.mosip.resident.constant.ResidentConstants.NOTIFICATION_OUTBOX_FAILED_RETENTION;
+import static io.mosip.resident.constant.ResidentConstants.NOTIFICATION_OUTBOX_FAILED_RETENTION_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.NOTIFICATION_OUTBOX_JOB_INTERVAL;
+import static io.mosip.resident.constant.ResidentConstants.NOTIFICATION_OUTBOX_JOB_INTERVAL_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.NOTIFICATION_OUTBOX_MAX_ATTEMPTS;
+import static io.mosip.resident.constant.ResidentConstants.NOTIFICATION_OUTBOX_MAX_ATTEMPTS_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.NOTIFICATION_OUTBOX_PURGE_INTERVAL;
+import static io.mosip.resident.constant.ResidentConstants.NOTIFICATION_OUTBOX_PURGE_INTERVAL_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.NOTIFICATION_OUTBOX_RETRY_DELAY;
+import static io.mosip.resident.constant.ResidentConstants.NOTIFICATION_OUTBOX_RETRY_DELAY_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.NOTIFICATION_OUTBOX_RETRY_MAX_DELAY;
+import static io.mosip.resident.constant.ResidentConstants.NOTIFICATION_OUTBOX_RETRY_MAX_DELAY_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.NOTIFICATION_OUTBOX_THREAD_COUNT;
+import static io.mosip.resident.constant.ResidentConstants.NOTIFICATION_OUTBOX_THREAD_COUNT_DEFAULT;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.LinkedMultiValueMap;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.constant.LoggerFileConstant;
+import io.mosip.resident.constant.NotificationOutboxStatus;
+import io.mosip.resident.dto.SMSRequestDTO;
+import io.mosip.resident.entity.ResidentNotificationOutboxEntity;
+import io.mosip.resident.exception.ResidentServiceCheckedException;
+import io.mosip.resident.helper.DataEncryptionKeyHelper;
+import io.mosip.resident.repository.ResidentNotificationOutboxRepository;
+import io.mosip.resident.service.NotificationService;
+import io.mosip.resident.util.JsonUtil;
+
+/**
+ * Sends the notifications saved in resident_notification_outbox by the
+ * {@link NotificationService}. A notification is handed to the workers as soon
+ * as the transaction saving it commits, and the outbox is polled for the
+ * notifications due for a retry, or left behind by a stopped instance. A worker
+ * claims the notification before sending it, so that only one instance sends
+ * it. Sent notifications are deleted; the others are retried with exponential
+ * backoff till the attempts run out, and are then kept as FAILED till the
+ * retention time has passed.
+ */
+@Component
+@ConditionalOnProperty(name = NOTIFICATION_OUTBOX_ENABLED, havingValue = "true", matchIfMissing = true)
+public class NotificationOutboxJob {
+
+	public static final String SMS_CHANNEL = "SMS";
+
+	public static final String EMAIL_CHANNEL = "EMAIL";
+
+	private static final String METRIC_PREFIX = "resident.notification";
+
+	private static final List<String> WAITING_STATUSES = List.of(NotificationOutboxStatus.PENDING.name(),
+			NotificationOutboxStatus.SENDING.name());
+
+	private static final int LAST_ERROR_MAX_LENGTH = 512;
+
+	private static final Logger logger = LoggerConfiguration.logConfig(NotificationOutboxJob.class);
+
+	@Autowired
+	private ResidentNotificationOutboxRepository outboxRepository;
+
+	@Autowired
+	private NotificationService notificationService;
+
+	@Autowired
+	private DataEncryptionKeyHelper dataEncryptionKeyHelper;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${" + NOTIFICATION_OUTBOX_THREAD_COUNT + ":" + NOTIFICATION_OUTBOX_THREAD_COUNT_DEFAULT + "}")
+	private int threadCount;
+
+	@Value("${" + NOTIFICATION_OUTBOX_BATCH_SIZE + ":" + NOTIFICATION_OUTBOX_BATCH_SIZE_DEFAULT + "}")
+	private int batchSize;
+
+	@Value("${" + NOTIFICATION_OUTBOX_MAX_ATTEMPTS + ":" + NOTIFICATION_OUTBOX_MAX_ATTEMPTS_DEFAULT + "}")
+	private int maxAttempts;
+
+	/** Delay before the first retry, doubled for each further retry. */
+	@Value("${" + NOTIFICATION_OUTBOX_RETRY_DELAY + ":" + NOTIFICATION_OUTBOX_RETRY_DELAY_DEFAULT + "}")
+	private long retryDelayMillis;
+
+	@Value("${" + NOTIFICATION_OUTBOX_RETRY_MAX_DELAY + ":" + NOTIFICATION_OUTBOX_RETRY_MAX_DELAY_DEFAULT + "}")
+	private long retryMaxDelayMillis;
+
+	/** Time after which a notification claimed by a stopped worker is sent again. */
+	@Value("${" + NOTIFICATION_OUTBOX_CLAIM_TIMEOUT + ":" + NOTIFICATION_OUTBOX_CLAIM_TIMEOUT_DEFAULT + "}")
+	private long claimTimeoutMillis;
+
+	/** Time for which a failed notification is kept before it is deleted. */
+	@Value("${" + NOTIFICATION_OUTBOX_FAILED_RETENTION + ":" + NOTIFICATION_OUTBOX_FAILED_RETENTION_DEFAULT + "}")
+	private long failedRetentionMillis;
+
+	private ExecutorService executorService;
+
+	/** Ids handed to the workers, so that the poll does not hand them again. */
+	private final Set<String> submittedIds = ConcurrentHashMap.newKeySet();
+
+	private final AtomicLong outboxDepth = new AtomicLong();
+
+	@PostConstruct
+	public void init() {
+		executorService = Executors.newFixedThreadPool(Math.max(threadCount, 1));
+		meterRegistry.gauge(METRIC_PREFIX + ".outbox.depth", outboxDepth);
+	}
+
+	@PreDestroy
+	public void destroy() {
+		executorService.shutdown();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onNotificationQueued(NotificationQueuedEvent event) {
+		outboxDepth.incrementAndGet();
+		submit(event.getId());
+	}
+
+	@Scheduled(initialDelayString = "${" + NOTIFICATION_OUTBOX_JOB_INTERVAL + ":"
+			+ NOTIFICATION_OUTBOX_JOB_INTERVAL_DEFAULT + "}", fixedDelayString = "${"
+					+ NOTIFICATION_OUTBOX_JOB_INTERVAL + ":" + NOTIFICATION_OUTBOX_JOB_INTERVAL_DEFAULT + "}")
+	public void scheduleNotificationOutboxJob() {
+		try {
+			outboxDepth.set(outboxRepository.countByStatusIn(WAITING_STATUSES));
+			outboxRepository.findDueIds(WAITING_STATUSES, DateUtils.getUTCCurrentDateTime(),
+					PageRequest.of(0, Math.max(batchSize, 1))).forEach(this::submit);
+		} catch (RuntimeException e) {
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(),
+					"Error in notification outbox job: " + e.getClass().getSimpleName() + " : " + e.getMessage());
+		}
+	}
+
+	@Scheduled(initialDelayString = "${" + NOTIFICATION_OUTBOX_PURGE_INTERVAL + ":"
+			+ NOTIFICATION_OUTBOX_PURGE_INTERVAL_DEFAULT + "}", fixedDelayString = "${"
+					+ NOTIFICATION_OUTBOX_PURGE_INTERVAL + ":" + NOTIFICATION_OUTBOX_PURGE_INTERVAL_DEFAULT + "}")
+	public void purgeFailedNotifications() {
+		try {
+			int purged = outboxRepository.deleteByStatusAttemptedBefore(NotificationOutboxStatus.FAILED.name(),
+					DateUtils.getUTCCurrentDateTime().minus(failedRetentionMillis, ChronoUnit.MILLIS));
+			if (purged > 0) {
+				logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+						LoggerFileConstant.APPLICATIONID.toString(), "Deleted " + purged + " failed notifications");
+			}
+		} catch (RuntimeException e) {
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(),
+					"Error in purging failed notifications: " + e.getClass().getSimpleName() + " : " + e.getMessage());
+		}
+	}
+
+	private void submit(String id) {
+		if (!submittedIds.add(id)) {
+			return;
+		}
+		try {
+			executorService.execute(() -> {
+				try {
+					send(id);
+				} catch (RuntimeException e) {
+					logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+							LoggerFileConstant.APPLICATIONID.toString(), "Error in sending notification " + id + ": "
+									+ e.getClass().getSimpleName() + " : " + e.getMessage());
+				} finally {
+					submittedIds.remove(id);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			// Shutting down; the notification is sent after the restart.
+			submittedIds.remove(id);
+		}
+	}
+
+	void send(String id) {
+		LocalDateTime now = DateUtils.getUTCCurrentDateTime();
+		if (outboxRepository.claim(id, WAITING_STATUSES, now, NotificationOutboxStatus.SENDING.name(),
+				now.plus(claimTimeoutMillis, ChronoUnit.MILLIS)) == 0) {
+			return;
+		}
+		Optional<ResidentNotificationOutboxEntity> notification = outboxRepository.findById(id);
+		if (notification.isEmpty()) {
+			return;
+		}
+		ResidentNotificationOutboxEntity outboxEntity = notification.get();
+		String error;
+		try {
+			if (deliver(outboxEntity)) {
+				outboxRepository.deleteById(id);
+				outboxDepth.decrementAndGet();
+				recordDelivery(outboxEntity, "sent");
+				return;
+			}
+			error = "Notification not accepted by the notifier";
+		} catch (ResidentServiceCheckedException | IOException | RuntimeException e) {
+			error = e.getClass().getSimpleName() + ": " + e.getMessage();
+		}
+		retry(outboxEntity, error);
+	}
+
+	private boolean deliver(ResidentNotificationOutboxEntity outboxEntity)
+			throws ResidentServiceCheckedException, IOException {
+		String payload = dataEncryptionKeyHelper.decrypt(outboxEntity.getPayload());
+		if (SMS_CHANNEL.equals(outboxEntity.getChannel())) {
+			return notificationService.sendSms(JsonUtil.readValue(payload, SMSRequestDTO.class));
+		}
+		LinkedMultiValueMap<String, Object> params = JsonUtil.readValue(payload, LinkedMultiValueMap.class);
+		return notificationService.sendEmail(params);
+	}
+
+	private void retry(ResidentNotificationOutboxEntity outboxEntity, String error) {
+		int attempts = outboxEntity.getAttempts() + 1;
+		outboxEntity.setAttempts(attempts);
+		outboxEntity.setLastError(StringUtils.abbreviate(error, LAST_ERROR_MAX_LENGTH));
+		if (attempts >= maxAttempts) {
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(),
+					"Notification " + outboxEntity.getId() + " not sent in " + attempts + " attempts: " + error);
+			outboxEntity.setStatus(NotificationOutboxStatus.FAILED.name());
+			outboxEntity.setNextAttemptDtimes(DateUtils.getUTCCurrentDateTime());
+			outboxDepth.decrementAndGet();
+			recordDelivery(outboxEntity, "failed");
+		} else {
+			long retryDelay = Math.min(retryDelayMillis << Math.min(attempts - 1, 30), retryMaxDelayMillis);
+			outboxEntity.setStatus(NotificationOutboxStatus.PENDING.name());
+			outboxEntity.setNextAttemptDtimes(DateUtils.getUTCCurrentDateTime().plus(retryDelay, ChronoUnit.MILLIS));
+		}
+		outboxRepository.save(outboxEntity);
+	}
+
+	/** Records the time from saving the notification in the outbox. */
+	private void recordDelivery(ResidentNotificationOutboxEntity outboxEntity, String result) {
+		Timer.builder(METRIC_PREFIX + ".delivery").tag("channel", outboxEntity.getChannel()).tag("result", result)
+				.register(meterRegistry)
+				.record(Duration.between(outboxEntity.getCrDtimes(), DateUtils.getUTCCurrentDateTime()));
+	}
+
+}
@@ -0,0 +1,19 @@
+package io.mosip.resident.batch;
+
+/**
+ * Published when a notification is saved in the outbox, so that it is sent as
+ * soon as the transaction saving it commits.
+ */
+public class NotificationQueuedEvent {
+
+	private final String id;
+
+	public NotificationQueuedEvent(String id) {
+		this.id = id;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+}
@@ -0,0 +1,65 @@
+package io.mosip.resident.batch;
+
+import static io.mosip.resident.constant.ResidentConstants.IS_TRANSACTION_PARTITION_JOB_ENABLED;
+import static io.mosip.resident.constant.ResidentConstants.TRANSACTION_PARTITION_DROP_ARCHIVED;
+import static io.mosip.resident.constant.ResidentConstants.TRANSACTION_PARTITION_JOB_INITIAL_DELAY;
+import static io.mosip.resident.constant.ResidentConstants.TRANSACTION_PARTITION_JOB_INITIAL_DELAY_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.TRANSACTION_PARTITION_JOB_INTERVAL;
+import static io.mosip.resident.constant.ResidentConstants.TRANSACTION_PARTITION_JOB_INTERVAL_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.TRANSACTION_PARTITION_MONTHS_AHEAD;
+import static io.mosip.resident.constant.ResidentConstants.TRANSACTION_PARTITION_RETENTION_MONTHS;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.repository.ResidentTransactionRepository;
+
+/**
+ * Maintains the monthly range partitions of resident_transaction. Creates the
+ * partitions ahead of time so that new rows never land in the default
+ * partition, and archives (or drops) the partitions older than the retention
+ * period. Enabled by default, as the migration creates only the first months.
+ */
+@Component
+@ConditionalOnProperty(name = IS_TRANSACTION_PARTITION_JOB_ENABLED, havingValue = "true", matchIfMissing = true)
+public class ResidentTransactionPartitionJob {
+
+	private static final Logger logger = LoggerConfiguration.logConfig(ResidentTransactionPartitionJob.class);
+
+	@Autowired
+	private ResidentTransactionRepository repo;
+
+	@Value("${" + TRANSACTION_PARTITION_MONTHS_AHEAD + ":3}")
+	private int monthsAhead;
+
+	/** Zero or less keeps every partition. */
+	@Value("${" + TRANSACTION_PARTITION_RETENTION_MONTHS + ":0}")
+	private int retentionMonths;
+
+	@Value("${" + TRANSACTION_PARTITION_DROP_ARCHIVED + ":false}")
+	private boolean dropArchived;
+
+	@Scheduled(initialDelayString = "${" + TRANSACTION_PARTITION_JOB_INITIAL_DELAY + ":"
+			+ TRANSACTION_PARTITION_JOB_INITIAL_DELAY_DEFAULT + "}", fixedDelayString = "${"
+					+ TRANSACTION_PARTITION_JOB_INTERVAL + ":" + TRANSACTION_PARTITION_JOB_INTERVAL_DEFAULT + "}")
+	public void scheduleTransactionPartitionJob() {
+		try {
+			Integer createdCount = repo.createMonthlyPartitions(monthsAhead);
+			logger.info("resident_transaction partitions created: " + createdCount);
+			if (retentionMonths > 0) {
+				Integer archivedCount = repo.archiveMonthlyPartitions(retentionMonths, dropArchived);
+				logger.info("resident_transaction partitions " + (dropArchived ? "dropped" : "archived") + ": "
+						+ archivedCount);
+			}
+		} catch (RuntimeException e) {
+			logger.error(String.format("Error in resident_transaction partition job: %s : %s",
+					e.getClass().getSimpleName(), e.getMessage()));
+		}
+	}
+
+}
@@ -1,12 +1,13 @@
 package io.mosip.resident.config;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
-import javax.servlet.Filter;
-
 import org.apache.velocity.app.VelocityEngine;
 import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.RuntimeInstance;
 import org.apache.velocity.runtime.log.NullLogChute;
 import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
 import org.apache.velocity.runtime.resource.loader.FileResourceLoader;
@@ -15,20 +16,23 @@ import org.mvel2.integration.VariableResolverFactory;
 import org.mvel2.integration.impl.MapVariableResolverFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
 import org.springframework.core.io.Resource;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.mosip.kernel.core.templatemanager.spi.TemplateManager;
 import io.mosip.kernel.keygenerator.bouncycastle.KeyGenerator;
-import io.mosip.kernel.templatemanager.velocity.impl.TemplateManagerImpl;
+import io.mosip.resident.constant.ResidentConstants;
+import io.mosip.resident.util.CachedTemplateManager;
 import io.mosip.resident.util.ResidentServiceRestClient;
 import io.mosip.resident.util.Utility;
 
@@ -48,6 +52,10 @@ public class Config {
 
 	@Value("${resident-data-format-mvel-file-source}")
 	private Resource mvelFile;
+
+	/** The maximum number of parsed templates kept by the template manager. */
+	@Value("${" + ResidentConstants.TEMPLATE_CACHE_SIZE + ":" + ResidentConstants.TEMPLATE_CACHE_SIZE_DEFAULT + "}")
+	private int templateCacheSize;
 	
 
 	@Bean("varres")
@@ -58,19 +66,6 @@ public class Config {
 		return functionFactory;
 	}
 
-	@Bean
-	public FilterRegistrationBean<Filter> registerReqResFilter() {
-		FilterRegistrationBean<Filter> corsBean = new FilterRegistrationBean<>();
-		corsBean.setFilter(getReqResFilter());
-		corsBean.setOrder(1);
-		return corsBean;
-	}
-
-	@Bean
-	public Filter getReqResFilter() {
-		return new ReqResFilter();
-	}
-
 	@Bean
 	public KeyGenerator keyGenerator() {
 		return new KeyGenerator();
@@ -90,7 +85,10 @@ public class Config {
 		properties.put("file.resource.loader.class", FileResourceLoader.class.getName());
 		VelocityEngine engine = new VelocityEngine(properties);
 		engine.init();
-		return new TemplateManagerImpl(engine);
+		RuntimeInstance runtimeInstance = new RuntimeInstance();
+		runtimeInstance.setProperties(properties);
+		runtimeInstance.init();
+		return new CachedTemplateManager(engine, runtimeInstance, templateCacheSize);
 	}
 	
 	@Bean
@@ -98,17 +96,69 @@ public class Config {
 	  return new AfterburnerModule();
 	}
 	
+	@Bean
+	public ResidentHttpRequestFactory residentHttpRequestFactory(Environment environment) {
+		return ResidentHttpRequestFactory.create(environment);
+	}
+
+	@Bean
+	public HttpClientMetricsInterceptor httpClientMetricsInterceptor(MeterRegistry meterRegistry,
+			ResidentHttpRequestFactory residentHttpRequestFactory) {
+		return new HttpClientMetricsInterceptor(meterRegistry, residentHttpRequestFactory);
+	}
+
+	@Bean
+	public HttpClientResilienceInterceptor httpClientResilienceInterceptor(MeterRegistry meterRegistry,
+			ResidentHttpRequestFactory residentHttpRequestFactory, Environment environment) {
+		return new HttpClientResilienceInterceptor(meterRegistry, residentHttpRequestFactory, environment);
+	}
+
+	@Bean("pooledSelfTokenRestTemplate")
+	public RestTemplate pooledSelfTokenRestTemplate(@Qualifier("selfTokenRestTemplate")RestTemplate selfTokenRestTemplate,
+			ResidentHttpRequestFactory residentHttpRequestFactory, HttpClientMetricsInterceptor httpClientMetricsInterceptor,
+			HttpClientResilienceInterceptor httpClientResilienceInterceptor) {
+		return createPooledRestTemplate(selfTokenRestTemplate, residentHttpRequestFactory,
+				httpClientMetricsInterceptor, httpClientResilienceInterceptor);
+	}
+
+	@Bean("pooledRestTemplate")
+	public RestTemplate pooledRestTemplate(@Qualifier("restTemplate")RestTemplate restTemplate,
+			ResidentHttpRequestFactory residentHttpRequestFactory, HttpClientMetricsInterceptor httpClientMetricsInterceptor,
+			HttpClientResilienceInterceptor httpClientResilienceInterceptor) {
+		return createPooledRestTemplate(restTemplate, residentHttpRequestFactory,
+				httpClientMetricsInterceptor, httpClientResilienceInterceptor);
+	}
+
 	@Bean("restClientWithSelfTOkenRestTemplate")
 	@Primary
-	public ResidentServiceRestClient selfTokenRestClient(@Qualifier("selfTokenRestTemplate")RestTemplate residentRestTemplate) {
+	public ResidentServiceRestClient selfTokenRestClient(@Qualifier("pooledSelfTokenRestTemplate")RestTemplate residentRestTemplate) {
 		return new ResidentServiceRestClient(residentRestTemplate);
 	}
 	
 	@Bean("restClientWithPlainRestTemplate")
-	public ResidentServiceRestClient plainRestClient(@Qualifier("restTemplate")RestTemplate restTemplate) {
+	public ResidentServiceRestClient plainRestClient(@Qualifier("pooledRestTemplate")RestTemplate restTemplate) {
 		return new ResidentServiceRestClient(restTemplate);
 	}
 
+	/**
+	 * Creates a rest template that sends its requests through the pooled http
+	 * client, times them and guards them with the circuit breakers, bulkheads and
+	 * retries. It reuses the interceptors of the given kernel rest template, which
+	 * add the auth token, and leaves that template, shared with other beans,
+	 * unchanged. The resilience interceptor is added last, since its retries skip
+	 * the interceptors that come after it.
+	 */
+	private RestTemplate createPooledRestTemplate(RestTemplate restTemplate,
+			ResidentHttpRequestFactory residentHttpRequestFactory, HttpClientMetricsInterceptor httpClientMetricsInterceptor,
+			HttpClientResilienceInterceptor httpClientResilienceInterceptor) {
+		RestTemplate pooledRestTemplate = new RestTemplate(residentHttpRequestFactory);
+		List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>(restTemplate.getInterceptors());
+		interceptors.add(httpClientMetricsInterceptor);
+		interceptors.add(httpClientResilienceInterceptor);
+		pooledRestTemplate.setInterceptors(interceptors);
+		return pooledRestTemplate;
+	}
+
 	@Bean
 	public ThreadPoolTaskScheduler threadPoolTaskScheduler() {
 		ThreadPoolTaskScheduler threadPoolTaskScheduler = new ThreadPoolTaskScheduler();
@@ -0,0 +1,56 @@
+package io.mosip.resident.config;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.mosip.resident.constant.ApiName;
+
+/**
+ * Records the time taken by every outbound call in the
+ * resident.http.client.requests timer, tagged by the api, the http method and
+ * the response status, to size the connection pool and find the slow
+ * dependency. Calls to urls that do not belong to any configured
+ * {@link ApiName} are tagged with the host.
+ */
+public class HttpClientMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+	private static final String HTTP_CLIENT_METRIC = "resident.http.client.requests";
+	private static final String IO_ERROR_STATUS = "IO_ERROR";
+
+	private final MeterRegistry meterRegistry;
+
+	private final ResidentHttpRequestFactory requestFactory;
+
+	public HttpClientMetricsInterceptor(MeterRegistry meterRegistry, ResidentHttpRequestFactory requestFactory) {
+		this.meterRegistry = meterRegistry;
+		this.requestFactory = requestFactory;
+	}
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+			throws IOException {
+		long startTime = System.nanoTime();
+		String status = IO_ERROR_STATUS;
+		try {
+			ClientHttpResponse response = execution.execute(request, body);
+			status = String.valueOf(response.getRawStatusCode());
+			return response;
+		} finally {
+			Timer.builder(HTTP_CLIENT_METRIC)
+					.tag("api", requestFactory.getDependencyName(request.getURI()))
+					.tag("method", String.valueOf(request.getMethod()))
+					.tag("status", status)
+					.publishPercentileHistogram()
+					.register(meterRegistry)
+					.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+		}
+	}
+
+}
@@ -0,0 +1,299 @@
+package io.mosip.resident.config;
+
+import static io.mosip.resident.constant.ResidentConstants.HTTP_CLIENT_BULKHEAD_MAX_CONCURRENT_CALLS;
+import static io.mosip.resident.constant.ResidentConstants.HTTP_CLIENT_BULKHEAD_MAX_CONCURRENT_CALLS_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.HTTP_CLIENT_BULKHEAD_MAX_WAIT;
+import static io.mosip.resident.constant.ResidentConstants.HTTP_CLIENT_BULKHEAD_MAX_WAIT_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.HTTP_CLIENT_CIRCUIT_BREAKER_FAILURE_THRESHOLD;
+import static io.mosip.resident.constant.ResidentConstants.HTTP_CLIENT_CIRCUIT_BREAKER_FAILURE_THRESHOLD_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.HTTP_CLIENT_CIRCUIT_BREAKER_OPEN_DURATION;
+import static io.mosip.resident.constant.ResidentConstants.HTTP_CLIENT_CIRCUIT_BREAKER_OPEN_DURATION_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.HTTP_CLIENT_RESILIENCE_ENABLED;
+import static io.mosip.resident.constant.ResidentConstants.HTTP_CLIENT_RETRY_BACKOFF;
+import static io.mosip.resident.constant.ResidentConstants.HTTP_CLIENT_RETRY_BACKOFF_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.HTTP_CLIENT_RETRY_MAX_ATTEMPTS;
+import static io.mosip.resident.constant.ResidentConstants.HTTP_CLIENT_RETRY_MAX_ATTEMPTS_DEFAULT;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.resident.constant.LoggerFileConstant;
+
+/**
+ * Protects the resident service from a slow or failing dependency, so that it
+ * can not hold all the request threads. For every api (or host, see
+ * {@link ResidentHttpRequestFactory#getDependencyName}) it keeps:
+ * <ul>
+ * <li>a bulkhead, which limits the concurrent calls to the api and fails the
+ * calls that do not get a permit within the max wait. A call holds its permit
+ * until its response is closed, so a response body being read still counts;</li>
+ * <li>a circuit breaker, which fails the calls fast for the open duration once
+ * the consecutive failures (errors and 5xx responses) reach the threshold,
+ * and then lets a single trial call through to close it again;</li>
+ * <li>retries with jittered exponential backoff, only for idempotent methods,
+ * on io errors and 502, 503 and 504 responses.</li>
+ * </ul>
+ * The rejected calls fail with an IOException, which the rest template raises
+ * as a ResourceAccessException like any other io error. This interceptor must
+ * be the last interceptor of the rest template, since a retry executes the
+ * request without the interceptors that come after it.
+ */
+public class HttpClientResilienceInterceptor implements ClientHttpRequestInterceptor {
+
+	private static final Logger logger = LoggerConfiguration.logConfig(HttpClientResilienceInterceptor.class);
+
+	private static final String REJECTED_METRIC = "resident.http.client.rejected";
+	private static final String RETRY_METRIC = "resident.http.client.retries";
+
+	private static final Set<HttpMethod> IDEMPOTENT_METHODS = EnumSet.of(HttpMethod.GET, HttpMethod.HEAD,
+			HttpMethod.OPTIONS);
+
+	private final MeterRegistry meterRegistry;
+
+	private final ResidentHttpRequestFactory requestFactory;
+
+	private final Environment environment;
+
+	private final boolean enabled;
+
+	private final int failureThreshold;
+
+	private final long openDurationMillis;
+
+	private final int defaultMaxConcurrentCalls;
+
+	private final long maxWaitMillis;
+
+	private final int maxAttempts;
+
+	private final long retryBackoffMillis;
+
+	private final Map<String, DependencyState> dependencyStates = new ConcurrentHashMap<>();
+
+	public HttpClientResilienceInterceptor(MeterRegistry meterRegistry, ResidentHttpRequestFactory requestFactory,
+			Environment environment) {
+		this.meterRegistry = meterRegistry;
+		this.requestFactory = requestFactory;
+		this.environment = environment;
+		this.enabled = environment.getProperty(HTTP_CLIENT_RESILIENCE_ENABLED, Boolean.class, Boolean.TRUE);
+		this.failureThreshold = environment.getProperty(HTTP_CLIENT_CIRCUIT_BREAKER_FAILURE_THRESHOLD, Integer.class,
+				Integer.valueOf(HTTP_CLIENT_CIRCUIT_BREAKER_FAILURE_THRESHOLD_DEFAULT));
+		this.openDurationMillis = environment.getProperty(HTTP_CLIENT_CIRCUIT_BREAKER_OPEN_DURATION, Long.class,
+				Long.valueOf(HTTP_CLIENT_CIRCUIT_BREAKER_OPEN_DURATION_DEFAULT));
+		this.defaultMaxConcurrentCalls = environment.getProperty(HTTP_CLIENT_BULKHEAD_MAX_CONCURRENT_CALLS,
+				Integer.class, Integer.valueOf(HTTP_CLIENT_BULKHEAD_MAX_CONCURRENT_CALLS_DEFAULT));
+		this.maxWaitMillis = environment.getProperty(HTTP_CLIENT_BULKHEAD_MAX_WAIT, Long.class,
+				Long.valueOf(HTTP_CLIENT_BULKHEAD_MAX_WAIT_DEFAULT));
+		this.maxAttempts = environment.getProperty(HTTP_CLIENT_RETRY_MAX_ATTEMPTS, Integer.class,
+				Integer.valueOf(HTTP_CLIENT_RETRY_MAX_ATTEMPTS_DEFAULT));
+		this.retryBackoffMillis = environment.getProperty(HTTP_CLIENT_RETRY_BACKOFF, Long.class,
+				Long.valueOf(HTTP_CLIENT_RETRY_BACKOFF_DEFAULT));
+	}
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+			throws IOException {
+		if (!enabled) {
+			return execution.execute(request, body);
+		}
+		String dependencyName = requestFactory.getDependencyName(request.getURI());
+		DependencyState dependencyState = dependencyStates.computeIfAbsent(dependencyName,
+				this::createDependencyState);
+		int requestMaxAttempts = IDEMPOTENT_METHODS.contains(request.getMethod()) ? maxAttempts : 1;
+		for (int attempt = 1;; attempt++) {
+			boolean lastAttempt = attempt >= requestMaxAttempts;
+			acquirePermit(dependencyName, dependencyState);
+			ClientHttpResponse response;
+			int status;
+			try {
+				response = new PermitReleasingResponse(execution.execute(request, body), dependencyState.bulkhead);
+			} catch (IOException | RuntimeException | Error e) {
+				dependencyState.bulkhead.release();
+				dependencyState.onFailure();
+				if (lastAttempt || !(e instanceof IOException)) {
+					throw e;
+				}
+				logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+						LoggerFileConstant.APPLICATIONID.toString(),
+						"Retrying " + request.getMethod() + " " + dependencyName + " after error: " + e.getMessage());
+				backoff(dependencyName, attempt);
+				continue;
+			}
+			try {
+				status = response.getRawStatusCode();
+			} catch (IOException | RuntimeException e) {
+				response.close();
+				dependencyState.onFailure();
+				throw e;
+			}
+			if (status >= 500) {
+				dependencyState.onFailure();
+			} else {
+				dependencyState.onSuccess();
+			}
+			if (lastAttempt || !isRetryableStatus(status)) {
+				return response;
+			}
+			response.close();
+			logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(),
+					"Retrying " + request.getMethod() + " " + dependencyName + " after status: " + status);
+			backoff(dependencyName, attempt);
+		}
+	}
+
+	private DependencyState createDependencyState(String dependencyName) {
+		Integer maxConcurrentCalls = environment
+				.getProperty(HTTP_CLIENT_BULKHEAD_MAX_CONCURRENT_CALLS + "." + dependencyName, Integer.class);
+		return new DependencyState(maxConcurrentCalls == null ? defaultMaxConcurrentCalls : maxConcurrentCalls);
+	}
+
+	private void acquirePermit(String dependencyName, DependencyState dependencyState) throws IOException {
+		boolean acquired;
+		try {
+			acquired = dependencyState.bulkhead.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting to call " + dependencyName);
+		}
+		if (!acquired) {
+			meterRegistry.counter(REJECTED_METRIC, "api", dependencyName, "reason", "bulkhead_full").increment();
+			throw new IOException("Too many concurrent calls to " + dependencyName);
+		}
+		if (!dependencyState.allowRequest()) {
+			dependencyState.bulkhead.release();
+			meterRegistry.counter(REJECTED_METRIC, "api", dependencyName, "reason", "circuit_open").increment();
+			throw new IOException("Circuit breaker is open for " + dependencyName);
+		}
+	}
+
+	private void backoff(String dependencyName, int attempt) throws IOException {
+		meterRegistry.counter(RETRY_METRIC, "api", dependencyName).increment();
+		long maxBackoffMillis = retryBackoffMillis << Math.min(attempt - 1, 10);
+		try {
+			Thread.sleep(ThreadLocalRandom.current().nextLong(maxBackoffMillis + 1));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while retrying " + dependencyName);
+		}
+	}
+
+	private boolean isRetryableStatus(int status) {
+		return status == 502 || status == 503 || status == 504;
+	}
+
+	private class DependencyState {
+
+		private final Semaphore bulkhead;
+
+		private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+		/** The time till which the circuit is open, or 0 when it is closed. */
+		private volatile long openUntilMillis;
+
+		private final AtomicBoolean trialCallInProgress = new AtomicBoolean();
+
+		DependencyState(int maxConcurrentCalls) {
+			this.bulkhead = new Semaphore(maxConcurrentCalls);
+		}
+
+		boolean allowRequest() {
+			long openUntil = openUntilMillis;
+			if (openUntil == 0) {
+				return true;
+			}
+			if (System.currentTimeMillis() < openUntil) {
+				return false;
+			}
+			return trialCallInProgress.compareAndSet(false, true);
+		}
+
+		void onSuccess() {
+			consecutiveFailures.set(0);
+			openUntilMillis = 0;
+			trialCallInProgress.set(false);
+		}
+
+		void onFailure() {
+			if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+				openUntilMillis = System.currentTimeMillis() + openDurationMillis;
+				trialCallInProgress.set(false);
+			}
+		}
+	}
+
+	/**
+	 * Response that releases the bulkhead permit of its call when it is closed.
+	 */
+	private static class PermitReleasingResponse implements ClientHttpResponse {
+
+		private final ClientHttpResponse response;
+
+		private final Semaphore bulkhead;
+
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		PermitReleasingResponse(ClientHttpResponse response, Semaphore bulkhead) {
+			this.response = response;
+			this.bulkhead = bulkhead;
+		}
+
+		@Override
+		public HttpStatus getStatusCode() throws IOException {
+			return response.getStatusCode();
+		}
+
+		@Override
+		public int getRawStatusCode() throws IOException {
+			return response.getRawStatusCode();
+		}
+
+		@Override
+		public String getStatusText() throws IOException {
+			return response.getStatusText();
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return response.getHeaders();
+		}
+
+		@Override
+		public InputStream getBody() throws IOException {
+			return response.getBody();
+		}
+
+		@Override
+		public void close() {
+			try {
+				response.close();
+			} finally {
+				if (released.compareAndSet(false, true)) {
+					bulkhead.release();
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,28 @@
+package io.mosip.resident.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.stereotype.Component;
+
+import io.mosip.resident.service.ProxyMasterdataService;
+
+/**
+ * Actuator endpoint for the administrators to evict the cached masterdata
+ * responses and templates once the masterdata is changed. It is available over
+ * JMX, and over HTTP as DELETE /actuator/masterdatacache when it is added to
+ * management.endpoints.web.exposure.include.
+ */
+@Component
+@Endpoint(id = "masterdatacache")
+public class MasterdataCacheEndpoint {
+
+	@Autowired
+	private ProxyMasterdataService proxyMasterdataService;
+
+	@DeleteOperation
+	public void evictCaches() {
+		proxyMasterdataService.evictCaches();
+	}
+
+}
@@ -0,0 +1,203 @@
+package io.mosip.resident.config;
+
+import static io.mosip.resident.constant.ResidentConstants.HTTP_CLIENT_CONNECTION_REQUEST_TIMEOUT;
+import static io.mosip.resident.constant.ResidentConstants.HTTP_CLIENT_CONNECTION_REQUEST_TIMEOUT_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.HTTP_CLIENT_CONNECT_TIMEOUT;
+import static io.mosip.resident.constant.ResidentConstants.HTTP_CLIENT_CONNECT_TIMEOUT_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.HTTP_CLIENT_KEEP_ALIVE;
+import static io.mosip.resident.constant.ResidentConstants.HTTP_CLIENT_KEEP_ALIVE_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.HTTP_CLIENT_MAX_PER_ROUTE;
+import static io.mosip.resident.constant.ResidentConstants.HTTP_CLIENT_MAX_PER_ROUTE_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.HTTP_CLIENT_MAX_TOTAL;
+import static io.mosip.resident.constant.ResidentConstants.HTTP_CLIENT_MAX_TOTAL_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.HTTP_CLIENT_READ_TIMEOUT;
+import static io.mosip.resident.constant.ResidentConstants.HTTP_CLIENT_READ_TIMEOUT_DEFAULT;
+
+import java.net.URI;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.client.utils.URIUtils;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.DefaultSchemePortResolver;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.resident.constant.ApiName;
+import io.mosip.resident.constant.LoggerFileConstant;
+
+/**
+ * Request factory over a pooled Apache HttpClient, shared by the resident rest
+ * clients. The pool size, timeouts and keep-alive are read from the
+ * mosip.resident.http.client.* properties, and responses are gzip decompressed
+ * by the client. The read timeout, and the connections to the host of an api,
+ * can be overridden for an {@link ApiName} by suffixing the property with the
+ * api name, e.g. mosip.resident.http.client.read-timeout.millisecs.IDREPOGETIDBYUIN.
+ * The api of a request is found by matching its url with the configured api
+ * urls.
+ */
+public class ResidentHttpRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+	private static final Logger logger = LoggerConfiguration.logConfig(ResidentHttpRequestFactory.class);
+
+	/** Configured api urls with their api name, longest url first. */
+	private final List<Map.Entry<String, ApiName>> apiUrls;
+
+	private final Map<ApiName, RequestConfig> apiRequestConfigs;
+
+	private ResidentHttpRequestFactory(PoolingHttpClientConnectionManager connectionManager,
+			RequestConfig defaultRequestConfig, long keepAliveMillis, List<Map.Entry<String, ApiName>> apiUrls,
+			Map<ApiName, RequestConfig> apiRequestConfigs) {
+		super(HttpClients.custom().setConnectionManager(connectionManager)
+				.setDefaultRequestConfig(defaultRequestConfig)
+				.setKeepAliveStrategy((response, context) -> {
+					long serverKeepAliveMillis = DefaultConnectionKeepAliveStrategy.INSTANCE
+							.getKeepAliveDuration(response, context);
+					return serverKeepAliveMillis > 0 ? Math.min(serverKeepAliveMillis, keepAliveMillis)
+							: keepAliveMillis;
+				})
+				.evictExpiredConnections()
+				.evictIdleConnections(keepAliveMillis, TimeUnit.MILLISECONDS)
+				.build());
+		this.apiUrls = apiUrls;
+		this.apiRequestConfigs = apiRequestConfigs;
+	}
+
+	public static ResidentHttpRequestFactory create(Environment environment) {
+		int defaultMaxPerRoute = environment.getProperty(HTTP_CLIENT_MAX_PER_ROUTE, Integer.class,
+				Integer.valueOf(HTTP_CLIENT_MAX_PER_ROUTE_DEFAULT));
+		int readTimeout = environment.getProperty(HTTP_CLIENT_READ_TIMEOUT, Integer.class,
+				Integer.valueOf(HTTP_CLIENT_READ_TIMEOUT_DEFAULT));
+		long keepAliveMillis = environment.getProperty(HTTP_CLIENT_KEEP_ALIVE, Long.class,
+				Long.valueOf(HTTP_CLIENT_KEEP_ALIVE_DEFAULT));
+
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(environment.getProperty(HTTP_CLIENT_MAX_TOTAL, Integer.class,
+				Integer.valueOf(HTTP_CLIENT_MAX_TOTAL_DEFAULT)));
+		connectionManager.setDefaultMaxPerRoute(defaultMaxPerRoute);
+
+		RequestConfig defaultRequestConfig = RequestConfig.custom()
+				.setConnectTimeout(environment.getProperty(HTTP_CLIENT_CONNECT_TIMEOUT, Integer.class,
+						Integer.valueOf(HTTP_CLIENT_CONNECT_TIMEOUT_DEFAULT)))
+				.setConnectionRequestTimeout(environment.getProperty(HTTP_CLIENT_CONNECTION_REQUEST_TIMEOUT,
+						Integer.class, Integer.valueOf(HTTP_CLIENT_CONNECTION_REQUEST_TIMEOUT_DEFAULT)))
+				.setSocketTimeout(readTimeout).build();
+
+		List<Map.Entry<String, ApiName>> apiUrls = new ArrayList<>();
+		Map<ApiName, RequestConfig> apiRequestConfigs = new EnumMap<>(ApiName.class);
+		for (ApiName apiName : ApiName.values()) {
+			String apiUrl = getApiUrl(environment, apiName);
+			if (apiUrl == null) {
+				continue;
+			}
+			apiUrls.add(new SimpleImmutableEntry<>(apiUrl, apiName));
+			Integer apiReadTimeout = environment.getProperty(HTTP_CLIENT_READ_TIMEOUT + "." + apiName.name(),
+					Integer.class);
+			if (apiReadTimeout != null) {
+				apiRequestConfigs.put(apiName,
+						RequestConfig.copy(defaultRequestConfig).setSocketTimeout(apiReadTimeout).build());
+			}
+			Integer apiMaxPerRoute = environment.getProperty(HTTP_CLIENT_MAX_PER_ROUTE + "." + apiName.name(),
+					Integer.class);
+			if (apiMaxPerRoute != null) {
+				setMaxPerRoute(connectionManager, apiUrl, apiMaxPerRoute);
+			}
+		}
+		apiUrls.sort(Comparator.comparingInt((Map.Entry<String, ApiName> apiUrl) -> apiUrl.getKey().length())
+				.reversed());
+		return new ResidentHttpRequestFactory(connectionManager, defaultRequestConfig, keepAliveMillis, apiUrls,
+				apiRequestConfigs);
+	}
+
+	/**
+	 * Returns the api whose configured url is the longest prefix of the uri, or
+	 * null if the uri does not belong to any configured api.
+	 */
+	public ApiName getApiName(URI uri) {
+		String uriString = uri.toString();
+		for (Map.Entry<String, ApiName> apiUrl : apiUrls) {
+			if (uriString.startsWith(apiUrl.getKey())) {
+				return apiUrl.getValue();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the name of the api the uri belongs to, or the host of the uri if it
+	 * does not belong to any configured api.
+	 */
+	public String getDependencyName(URI uri) {
+		ApiName apiName = getApiName(uri);
+		if (apiName != null) {
+			return apiName.name();
+		}
+		return uri.getHost() == null ? "unknown" : uri.getHost();
+	}
+
+	@Override
+	protected HttpContext createHttpContext(HttpMethod httpMethod, URI uri) {
+		ApiName apiName = getApiName(uri);
+		RequestConfig apiRequestConfig = apiName == null ? null : apiRequestConfigs.get(apiName);
+		if (apiRequestConfig == null) {
+			return null;
+		}
+		HttpClientContext context = HttpClientContext.create();
+		context.setRequestConfig(apiRequestConfig);
+		return context;
+	}
+
+	/**
+	 * Returns the configured url of the api up to its first path variable, or
+	 * null if the api is not configured with an absolute url.
+	 */
+	private static String getApiUrl(Environment environment, ApiName apiName) {
+		String apiUrl;
+		try {
+			apiUrl = environment.getProperty(apiName.name());
+		} catch (IllegalArgumentException e) {
+			logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(),
+					"Unable to resolve the url of " + apiName + ": " + e.getMessage());
+			return null;
+		}
+		if (apiUrl == null) {
+			return null;
+		}
+		int pathVariableIndex = apiUrl.indexOf('{');
+		if (pathVariableIndex >= 0) {
+			apiUrl = apiUrl.substring(0, pathVariableIndex);
+		}
+		return apiUrl.startsWith("http://") || apiUrl.startsWith("https://") ? apiUrl : null;
+	}
+
+	private static void setMaxPerRoute(PoolingHttpClientConnectionManager connectionManager, String apiUrl,
+			int maxPerRoute) {
+		try {
+			HttpHost host = URIUtils.extractHost(URI.create(apiUrl));
+			HttpHost target = new HttpHost(host.getHostName(), DefaultSchemePortResolver.INSTANCE.resolve(host),
+					host.getSchemeName());
+			connectionManager.setMaxPerRoute(new HttpRoute(target, null, "https".equalsIgnoreCase(host.getSchemeName())),
+					maxPerRoute);
+		} catch (Exception e) {
+			logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(),
+					"Unable to set the connections per route for " + apiUrl + ": " + e.getMessage());
+		}
+	}
+
+}
@@ -0,0 +1,70 @@
+package io.mosip.resident.config;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+/**
+ * Keeps the id and version of the request body in request attributes as the
+ * body is deserialized, so that the response advice and the exception handler
+ * can copy them to the response without buffering and parsing the request body
+ * again.
+ */
+@RestControllerAdvice
+public class ResidentRequestBodyAdviceConfig extends RequestBodyAdviceAdapter {
+
+	/** Set when the request has a body, even if the body could not be read. */
+	public static final String REQUEST_BODY_PRESENT = ResidentRequestBodyAdviceConfig.class.getName() + ".bodyPresent";
+
+	public static final String REQUEST_ID = ResidentRequestBodyAdviceConfig.class.getName() + ".id";
+
+	public static final String REQUEST_VERSION = ResidentRequestBodyAdviceConfig.class.getName() + ".version";
+
+	@Override
+	public boolean supports(MethodParameter methodParameter, Type targetType,
+			Class<? extends HttpMessageConverter<?>> converterType) {
+		return true;
+	}
+
+	@Override
+	public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+			Class<? extends HttpMessageConverter<?>> converterType) throws IOException {
+		RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		if (requestAttributes != null) {
+			requestAttributes.setAttribute(REQUEST_BODY_PRESENT, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+		}
+		return inputMessage;
+	}
+
+	@Override
+	public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+			Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+		RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		if (requestAttributes != null) {
+			BeanWrapper bodyWrapper = PropertyAccessorFactory.forBeanPropertyAccess(body);
+			setAttribute(requestAttributes, REQUEST_ID, bodyWrapper, "id");
+			setAttribute(requestAttributes, REQUEST_VERSION, bodyWrapper, "version");
+		}
+		return body;
+	}
+
+	private void setAttribute(RequestAttributes requestAttributes, String attributeName, BeanWrapper bodyWrapper,
+			String propertyName) {
+		if (bodyWrapper.isReadableProperty(propertyName)) {
+			Object value = bodyWrapper.getPropertyValue(propertyName);
+			if (value instanceof String) {
+				requestAttributes.setAttribute(attributeName, value, RequestAttributes.SCOPE_REQUEST);
+			}
+		}
+	}
+
+}
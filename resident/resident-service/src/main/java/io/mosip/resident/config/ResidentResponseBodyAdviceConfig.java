@@ -1,9 +1,7 @@
 package io.mosip.resident.config;
 
 import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletRequestWrapper;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.MethodParameter;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
@@ -12,24 +10,15 @@ import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
-import org.springframework.web.util.ContentCachingRequestWrapper;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-
-import io.mosip.kernel.core.http.RequestWrapper;
 import io.mosip.kernel.core.http.ResponseFilter;
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.kernel.core.logger.spi.Logger;
-import io.mosip.kernel.core.util.EmptyCheckUtils;
 
 
 @RestControllerAdvice
 public class ResidentResponseBodyAdviceConfig implements ResponseBodyAdvice<ResponseWrapper<?>> {
 
-	@Autowired
-	private ObjectMapper objectMapper;
-
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -57,27 +46,12 @@ public class ResidentResponseBodyAdviceConfig implements ResponseBodyAdvice<Resp
 			MediaType selectedContentType, Class<? extends HttpMessageConverter<?>> selectedConverterType,
 			ServerHttpRequest request, ServerHttpResponse response) {
 
-		RequestWrapper<?> requestWrapper = null;
-		String requestBody = null;
-
 		try {
 			HttpServletRequest httpServletRequest = ((ServletServerHttpRequest) request).getServletRequest();
-
-			if (httpServletRequest instanceof ContentCachingRequestWrapper) {
-				requestBody = new String(((ContentCachingRequestWrapper) httpServletRequest).getContentAsByteArray());
-			} else if (httpServletRequest instanceof HttpServletRequestWrapper
-					&& ((HttpServletRequestWrapper) httpServletRequest)
-							.getRequest() instanceof ContentCachingRequestWrapper) {
-				requestBody = new String(
-						((ContentCachingRequestWrapper) ((HttpServletRequestWrapper) httpServletRequest).getRequest())
-								.getContentAsByteArray());
-			}
-
-			objectMapper.registerModule(new JavaTimeModule());
-			if (!EmptyCheckUtils.isNullEmpty(requestBody)) {
-				requestWrapper = objectMapper.readValue(requestBody, RequestWrapper.class);
-				body.setId(requestWrapper.getId());
-				body.setVersion(requestWrapper.getVersion());
+			if (httpServletRequest.getAttribute(ResidentRequestBodyAdviceConfig.REQUEST_BODY_PRESENT) != null) {
+				body.setId((String) httpServletRequest.getAttribute(ResidentRequestBodyAdviceConfig.REQUEST_ID));
+				body.setVersion(
+						(String) httpServletRequest.getAttribute(ResidentRequestBodyAdviceConfig.REQUEST_VERSION));
 			}
 			body.setErrors(null);
 			return body;
@@ -0,0 +1,26 @@
+package io.mosip.resident.constant;
+
+/**
+ * Virus scan status of an uploaded document, stored in the scanstatus metadata
+ * of the document object.
+ */
+public enum DocumentScanStatus {
+	/** Waiting in the quarantine for the virus scan. */
+	PENDING,
+	CLEAN,
+	INFECTED,
+	/** The virus scanner could not scan the document. */
+	FAILED,
+	/** Uploaded while the virus scanner was disabled. */
+	SKIPPED;
+
+	/**
+	 * Checks whether a document with the scan status can be used in a request.
+	 * Documents uploaded before the scan status was stored have none, and were
+	 * scanned before they were stored.
+	 */
+	public static boolean isCleared(String scanStatus) {
+		return scanStatus == null || CLEAN.name().equals(scanStatus) || SKIPPED.name().equals(scanStatus);
+	}
+
+}
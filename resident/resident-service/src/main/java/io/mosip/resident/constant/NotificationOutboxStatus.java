@@ -0,0 +1,14 @@
+package io.mosip.resident.constant;
+
+/**
+ * Status of a notification in resident_notification_outbox. Delivered
+ * notifications are deleted from the outbox.
+ */
+public enum NotificationOutboxStatus {
+	/** Waiting to be sent, or to be retried. */
+	PENDING,
+	/** Claimed by a worker till the next attempt time. */
+	SENDING,
+	/** Not delivered in the maximum number of attempts. */
+	FAILED;
+}
@@ -38,6 +38,34 @@ public class ResidentConstants {
     
     public static final String IS_CREDENTIAL_STATUS_UPDATE_JOB_ENABLED = "mosip.resident.update.service.status.job.enabled";
 
+    public static final String CREDENTIAL_UPDATE_STATUS_UPDATE_PAGE_SIZE = "mosip.resident.update.service.status.job.page-size";
+
+    public static final String CREDENTIAL_UPDATE_STATUS_UPDATE_PAGE_SIZE_DEFAULT = "100";
+
+    public static final String CREDENTIAL_UPDATE_STATUS_UPDATE_THREAD_COUNT = "mosip.resident.update.service.status.job.thread-count";
+
+    public static final String CREDENTIAL_UPDATE_STATUS_UPDATE_THREAD_COUNT_DEFAULT = "10";
+
+    public static final String CREDENTIAL_UPDATE_STATUS_UPDATE_LEASE = "mosip.resident.update.service.status.job.lease.millisecs";
+
+    public static final String CREDENTIAL_UPDATE_STATUS_UPDATE_LEASE_DEFAULT = "300000";
+
+    public static final String IS_TRANSACTION_PARTITION_JOB_ENABLED = "mosip.resident.transaction.partition.job.enabled";
+
+    public static final String TRANSACTION_PARTITION_JOB_INITIAL_DELAY = "mosip.resident.transaction.partition.job.initial-delay";
+
+    public static final String TRANSACTION_PARTITION_JOB_INITIAL_DELAY_DEFAULT = "60000";
+
+    public static final String TRANSACTION_PARTITION_JOB_INTERVAL = "mosip.resident.transaction.partition.job.interval.millisecs";
+
+    public static final String TRANSACTION_PARTITION_JOB_INTERVAL_DEFAULT = "86400000";
+
+    public static final String TRANSACTION_PARTITION_MONTHS_AHEAD = "mosip.resident.transaction.partition.months-ahead";
+
+    public static final String TRANSACTION_PARTITION_RETENTION_MONTHS = "mosip.resident.transaction.partition.retention-months";
+
+    public static final String TRANSACTION_PARTITION_DROP_ARCHIVED = "mosip.resident.transaction.partition.drop-archived";
+
     public static final String PUBLIC_URL = "mosipbox.public.url";
     
     public static final String NOTIFICATION_ZONE = "mosip.notification.timezone";
@@ -61,6 +89,127 @@ public class ResidentConstants {
     public static final String MOSIP_OIDC_JWT_SIGNED = "mosip.resident.oidc.userinfo.jwt.signed";
     public static final String MOSIP_OIDC_JWT_VERIFY_ENABLED = "mosip.resident.oidc.userinfo.jwt.verify.enabled";
     public static final String MOSIP_OIDC_ENCRYPTION_ENABLED = "mosip.resident.oidc.userinfo.encryption.enabled";
+    public static final String USER_INFO_CACHE_TTL_MILLISECS = "mosip.resident.oidc.userinfo.cache.ttl.millisecs";
+    public static final String USER_INFO_CACHE_MAX_SIZE = "mosip.resident.oidc.userinfo.cache.max-size";
+    public static final String USER_INFO_CACHE_MAX_SIZE_DEFAULT = "10000";
+    public static final String DATA_KEY_ENCRYPTION_ENABLED = "mosip.resident.data-key.encryption.enabled";
+    public static final String DATA_KEY_ROTATION_INTERVAL = "mosip.resident.data-key.rotation.interval.millisecs";
+    public static final String DATA_KEY_ROTATION_INTERVAL_DEFAULT = "2592000000";
+    public static final String TEMPLATE_CACHE_SIZE = "mosip.resident.template.cache.size";
+    public static final String TEMPLATE_CACHE_SIZE_DEFAULT = "200";
+    public static final String MASTERDATA_TEMPLATE_CACHE_TTL = "mosip.resident.masterdata.template.cache.ttl.millisecs";
+    public static final String MASTERDATA_TEMPLATE_CACHE_TTL_DEFAULT = "3600000";
+    public static final String MASTERDATA_TEMPLATE_LOAD_RETRY_DELAY = "mosip.resident.masterdata.template.load.retry.delay.millisecs";
+    public static final String MASTERDATA_TEMPLATE_LOAD_RETRY_DELAY_DEFAULT = "60000";
+    public static final String MASTERDATA_RESPONSE_CACHE_TTL = "mosip.resident.masterdata.response.cache.ttl.millisecs";
+    public static final String MASTERDATA_RESPONSE_CACHE_TTL_DEFAULT = "300000";
+    public static final String MASTERDATA_RESPONSE_CACHE_MAX_SIZE = "mosip.resident.masterdata.response.cache.max.size";
+    public static final String MASTERDATA_RESPONSE_CACHE_MAX_SIZE_DEFAULT = "1000";
+    public static final String WORKING_DAYS_FETCH_THREAD_COUNT = "mosip.resident.registration-center.working-days.fetch.thread-count";
+    public static final String WORKING_DAYS_FETCH_THREAD_COUNT_DEFAULT = "8";
+    public static final String NOTIFICATION_OUTBOX_ENABLED = "mosip.resident.notification.outbox.enabled";
+    public static final String NOTIFICATION_OUTBOX_ENABLED_DEFAULT = "true";
+    public static final String NOTIFICATION_OUTBOX_THREAD_COUNT = "mosip.resident.notification.outbox.thread-count";
+    public static final String NOTIFICATION_OUTBOX_THREAD_COUNT_DEFAULT = "4";
+    public static final String NOTIFICATION_OUTBOX_BATCH_SIZE = "mosip.resident.notification.outbox.batch-size";
+    public static final String NOTIFICATION_OUTBOX_BATCH_SIZE_DEFAULT = "100";
+    public static final String NOTIFICATION_OUTBOX_MAX_ATTEMPTS = "mosip.resident.notification.outbox.max-attempts";
+    public static final String NOTIFICATION_OUTBOX_MAX_ATTEMPTS_DEFAULT = "5";
+    public static final String NOTIFICATION_OUTBOX_RETRY_DELAY = "mosip.resident.notification.outbox.retry.delay.millisecs";
+    public static final String NOTIFICATION_OUTBOX_RETRY_DELAY_DEFAULT = "30000";
+    public static final String NOTIFICATION_OUTBOX_RETRY_MAX_DELAY = "mosip.resident.notification.outbox.retry.max-delay.millisecs";
+    public static final String NOTIFICATION_OUTBOX_RETRY_MAX_DELAY_DEFAULT = "3600000";
+    public static final String NOTIFICATION_OUTBOX_CLAIM_TIMEOUT = "mosip.resident.notification.outbox.claim.timeout.millisecs";
+    public static final String NOTIFICATION_OUTBOX_CLAIM_TIMEOUT_DEFAULT = "300000";
+    public static final String NOTIFICATION_OUTBOX_JOB_INTERVAL = "mosip.resident.notification.outbox.job.interval.millisecs";
+    public static final String NOTIFICATION_OUTBOX_JOB_INTERVAL_DEFAULT = "10000";
+    public static final String NOTIFICATION_OUTBOX_FAILED_RETENTION = "mosip.resident.notification.outbox.failed.retention.millisecs";
+    public static final String NOTIFICATION_OUTBOX_FAILED_RETENTION_DEFAULT = "604800000";
+    public static final String NOTIFICATION_OUTBOX_PURGE_INTERVAL = "mosip.resident.notification.outbox.purge.interval.millisecs";
+    public static final String NOTIFICATION_OUTBOX_PURGE_INTERVAL_DEFAULT = "3600000";
+    public static final String INDIVIDUAL_ID_CACHE_TTL = "mosip.resident.individual-id.cache.ttl.millisecs";
+    public static final String INDIVIDUAL_ID_CACHE_TTL_DEFAULT = "60000";
+    public static final String INDIVIDUAL_ID_CACHE_MAX_SIZE = "mosip.resident.individual-id.cache.max.size";
+    public static final String INDIVIDUAL_ID_CACHE_MAX_SIZE_DEFAULT = "10000";
+    public static final String PHONE_REGEX = "mosip.id.validation.identity.phone";
+    public static final String EMAIL_REGEX = "mosip.id.validation.identity.email";
+    public static final String MESSAGE_ALLOWED_SPECIAL_CHAR_REGEX = "resident.message.allowed.special.char.regex";
+    public static final String PURPOSE_ALLOWED_SPECIAL_CHAR_REGEX = "resident.purpose.allowed.special.char.regex";
+    public static final String ID_ALLOWED_SPECIAL_CHAR_REGEX = "resident.id.allowed.special.char.regex";
+    public static final String NUMERIC_DATA_REGEX = "resident.validation.is-numeric.regex";
+    public static final String TRANSACTION_ID_REGEX = "resident.otp.validation.transaction-id.regex";
+    public static final String EVENT_ID_REGEX = "resident.validation.event-id.regex";
+    public static final String AUDIT_ASYNC_ENABLED = "mosip.resident.audit.async.enabled";
+    public static final String AUDIT_QUEUE_CAPACITY = "mosip.resident.audit.queue.capacity";
+    public static final String AUDIT_QUEUE_CAPACITY_DEFAULT = "10000";
+    public static final String AUDIT_BATCH_SIZE = "mosip.resident.audit.batch.size";
+    public static final String AUDIT_BATCH_SIZE_DEFAULT = "50";
+    public static final String AUDIT_QUEUE_FULL_POLICY = "mosip.resident.audit.queue.full.policy";
+    public static final String AUDIT_QUEUE_BLOCK_TIMEOUT = "mosip.resident.audit.queue.block.timeout.millisecs";
+    public static final String AUDIT_QUEUE_BLOCK_TIMEOUT_DEFAULT = "1000";
+    public static final String AUDIT_SPILL_FILE = "mosip.resident.audit.spill.file";
+    public static final String AUDIT_SHUTDOWN_TIMEOUT = "mosip.resident.audit.shutdown.timeout.millisecs";
+    public static final String AUDIT_SHUTDOWN_TIMEOUT_DEFAULT = "10000";
+    public static final String VID_LIST_CACHE_TTL_MILLISECS = "mosip.resident.vid.list.cache.ttl.millisecs";
+    public static final String VID_LIST_CACHE_TTL_MILLISECS_DEFAULT = "60000";
+    public static final String VID_LIST_CACHE_MAX_SIZE = "mosip.resident.vid.list.cache.max-size";
+    public static final String VID_LIST_CACHE_MAX_SIZE_DEFAULT = "10000";
+    public static final String IDA_CERTIFICATE_CACHE_TTL = "mosip.resident.ida.certificate.cache.ttl.millisecs";
+    public static final String IDA_CERTIFICATE_CACHE_TTL_DEFAULT = "86400000";
+    public static final String IDA_KEY_MISMATCH_ERROR_CODES = "mosip.resident.ida.key-mismatch.error-codes";
+    public static final String IDA_KEY_MISMATCH_ERROR_CODES_DEFAULT = "IDA-MPA-001";
+    public static final String RESIDENT_MACHINE_CACHE_TTL = "mosip.resident.machine.cache.ttl.millisecs";
+    public static final String RESIDENT_MACHINE_CACHE_TTL_DEFAULT = "600000";
+    public static final String DOCUMENT_FETCH_THREAD_COUNT = "mosip.resident.document.fetch.thread-count";
+    public static final String DOCUMENT_FETCH_THREAD_COUNT_DEFAULT = "4";
+    public static final String DOCUMENT_METADATA_CACHE_TTL = "mosip.resident.document.metadata.cache.ttl.millisecs";
+    public static final String DOCUMENT_METADATA_CACHE_TTL_DEFAULT = "600000";
+    public static final String DOCUMENT_METADATA_CACHE_MAX_SIZE = "mosip.resident.document.metadata.cache.max-size";
+    public static final String DOCUMENT_METADATA_CACHE_MAX_SIZE_DEFAULT = "1000";
+    public static final String DOCUMENT_MAX_COUNT = "mosip.resident.document.max-count-per-transaction";
+    public static final String DOCUMENT_MAX_COUNT_DEFAULT = "20";
+    public static final String DOCUMENT_MAX_TOTAL_SIZE = "mosip.resident.document.max-total-size-per-transaction.bytes";
+    public static final String DOCUMENT_MAX_TOTAL_SIZE_DEFAULT = "41943040";
+    public static final String DOCUMENT_CHUNKED_ENCRYPTION_ENABLED = "mosip.resident.document.chunked-encryption.enabled";
+    public static final String DOCUMENT_CHUNKED_ENCRYPTION_ENABLED_DEFAULT = "true";
+    public static final String DOCUMENT_ENCRYPTION_CHUNK_SIZE = "mosip.resident.document.encryption.chunk-size.bytes";
+    public static final String DOCUMENT_ENCRYPTION_CHUNK_SIZE_DEFAULT = "65536";
+    public static final String DOCUMENT_ASYNC_VIRUS_SCAN_ENABLED = "mosip.resident.document.async-virus-scan.enabled";
+    public static final String DOCUMENT_ASYNC_VIRUS_SCAN_ENABLED_DEFAULT = "true";
+    public static final String DOCUMENT_VIRUS_SCAN_THREAD_COUNT = "mosip.resident.document.virus-scan.thread-count";
+    public static final String DOCUMENT_VIRUS_SCAN_THREAD_COUNT_DEFAULT = "2";
+    public static final String DOCUMENT_VIRUS_SCAN_QUEUE_CAPACITY = "mosip.resident.document.virus-scan.queue.capacity";
+    public static final String DOCUMENT_VIRUS_SCAN_QUEUE_CAPACITY_DEFAULT = "100";
+    public static final String DOCUMENT_QUARANTINE_DIR = "mosip.resident.document.quarantine.dir";
+    public static final String DOCUMENT_VIRUS_SCAN_RESUME_INITIAL_DELAY = "mosip.resident.document.virus-scan.resume.initial-delay";
+    public static final String DOCUMENT_VIRUS_SCAN_RESUME_INITIAL_DELAY_DEFAULT = "60000";
+    public static final String DOCUMENT_VIRUS_SCAN_RESUME_INTERVAL = "mosip.resident.document.virus-scan.resume.interval.millisecs";
+    public static final String DOCUMENT_VIRUS_SCAN_RESUME_INTERVAL_DEFAULT = "300000";
+    public static final String HTTP_CLIENT_MAX_TOTAL = "mosip.resident.http.client.max-total";
+    public static final String HTTP_CLIENT_MAX_TOTAL_DEFAULT = "200";
+    public static final String HTTP_CLIENT_MAX_PER_ROUTE = "mosip.resident.http.client.max-per-route";
+    public static final String HTTP_CLIENT_MAX_PER_ROUTE_DEFAULT = "50";
+    public static final String HTTP_CLIENT_CONNECT_TIMEOUT = "mosip.resident.http.client.connect-timeout.millisecs";
+    public static final String HTTP_CLIENT_CONNECT_TIMEOUT_DEFAULT = "5000";
+    public static final String HTTP_CLIENT_READ_TIMEOUT = "mosip.resident.http.client.read-timeout.millisecs";
+    public static final String HTTP_CLIENT_READ_TIMEOUT_DEFAULT = "60000";
+    public static final String HTTP_CLIENT_CONNECTION_REQUEST_TIMEOUT = "mosip.resident.http.client.connection-request-timeout.millisecs";
+    public static final String HTTP_CLIENT_CONNECTION_REQUEST_TIMEOUT_DEFAULT = "5000";
+    public static final String HTTP_CLIENT_KEEP_ALIVE = "mosip.resident.http.client.keep-alive.millisecs";
+    public static final String HTTP_CLIENT_KEEP_ALIVE_DEFAULT = "30000";
+    public static final String HTTP_CLIENT_RESILIENCE_ENABLED = "mosip.resident.http.client.resilience.enabled";
+    public static final String HTTP_CLIENT_CIRCUIT_BREAKER_FAILURE_THRESHOLD = "mosip.resident.http.client.circuit-breaker.failure-threshold";
+    public static final String HTTP_CLIENT_CIRCUIT_BREAKER_FAILURE_THRESHOLD_DEFAULT = "10";
+    public static final String HTTP_CLIENT_CIRCUIT_BREAKER_OPEN_DURATION = "mosip.resident.http.client.circuit-breaker.open-duration.millisecs";
+    public static final String HTTP_CLIENT_CIRCUIT_BREAKER_OPEN_DURATION_DEFAULT = "30000";
+    public static final String HTTP_CLIENT_BULKHEAD_MAX_CONCURRENT_CALLS = "mosip.resident.http.client.bulkhead.max-concurrent-calls";
+    public static final String HTTP_CLIENT_BULKHEAD_MAX_CONCURRENT_CALLS_DEFAULT = "40";
+    public static final String HTTP_CLIENT_BULKHEAD_MAX_WAIT = "mosip.resident.http.client.bulkhead.max-wait.millisecs";
+    public static final String HTTP_CLIENT_BULKHEAD_MAX_WAIT_DEFAULT = "100";
+    public static final String HTTP_CLIENT_RETRY_MAX_ATTEMPTS = "mosip.resident.http.client.retry.max-attempts";
+    public static final String HTTP_CLIENT_RETRY_MAX_ATTEMPTS_DEFAULT = "2";
+    public static final String HTTP_CLIENT_RETRY_BACKOFF = "mosip.resident.http.client.retry.backoff.millisecs";
+    public static final String HTTP_CLIENT_RETRY_BACKOFF_DEFAULT = "200";
 
     public static final String IDP_REFERENCE_ID = "mosip.resident.oidc.keymanager.reference.id";
     public static final String RESIDENT_APP_ID = "resident.appid";
@@ -127,7 +127,10 @@ public enum ResidentErrorCode {
 	CONTAINS_SPECIAL_CHAR("RES-SER-515","Input text contains special characters;inputType=%s"),
 	UN_SUPPORTED_FILE_TYPE("RES-SER-516", "Unsupported file type. Supported file extensions: jpg, jpeg, png, pdf"),
 	UNABLE_TO_FETCH_SERVICE_HISTORY_FROM_DB("RES-SER-517", "Unable to fetch service history from database."),
-	INVALID_REG_CENTER_NAME("RES-SER-518", "Name cannot be empty as it is a mandatory field.");
+	INVALID_REG_CENTER_NAME("RES-SER-518", "Name cannot be empty as it is a mandatory field."),
+	DOCUMENT_LIMIT_EXCEEDED("RES-SER-519", "Documents of the transaction exceed the limit; count=%d, size=%d bytes"),
+	DOCUMENT_NOT_SCANNED("RES-SER-520", "Document has not cleared the virus scan; docId=%s, scanStatus=%s"),
+	VIRUS_SCAN_QUEUE_FULL("RES-SER-521", "Too many documents are waiting for the virus scan, please try again later");
 	
 
 
@@ -28,6 +28,7 @@ import io.mosip.resident.dto.ResponseDTO;
 import io.mosip.resident.exception.InvalidInputException;
 import io.mosip.resident.exception.ResidentServiceCheckedException;
 import io.mosip.resident.exception.ResidentServiceException;
+import io.mosip.resident.helper.VirusScanHelper;
 import io.mosip.resident.service.DocumentService;
 import io.mosip.resident.service.impl.ResidentServiceImpl;
 import io.mosip.resident.util.AuditUtil;
@@ -53,6 +54,9 @@ public class DocumentController {
 	
 	@Autowired
 	private AuditUtil audit;
+
+	@Autowired
+	private VirusScanHelper virusScanHelper;
 	
 	@Value("${resident.document.upload.id}")
 	private String residentUploadDocumentId;
@@ -99,7 +103,9 @@ public class DocumentController {
 			responseWrapper.setVersion(residentDocumentResponseVersion);
 			validator.validateRequest(transactionId,docCatCode,docTypCode,langCode);
 			validator.validateFileName(file);
-			validator.scanForViruses(file);
+			if (!virusScanHelper.isAsyncScanEnabled()) {
+				validator.scanForViruses(file);
+			}
 			DocumentRequestDTO docRequest = new DocumentRequestDTO();
 			docRequest.setDocCatCode(docCatCode.toLowerCase());
 			docRequest.setDocTypCode(docTypCode);
@@ -4,16 +4,20 @@ import java.io.IOException;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import io.mosip.kernel.core.http.ResponseFilter;
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.resident.config.LoggerConfiguration;
 import io.mosip.resident.constant.OrderEnum;
+import io.mosip.resident.dto.CachedResponseWrapper;
 import io.mosip.resident.exception.ResidentServiceCheckedException;
 import io.mosip.resident.service.ProxyMasterdataService;
 import io.mosip.resident.util.AuditUtil;
@@ -59,14 +63,15 @@ public class ProxyMasterdataController {
 			@ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(hidden = true))),
 			@ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(hidden = true))),
 			@ApiResponse(responseCode = "404", description = "Not Found", content = @Content(schema = @Schema(hidden = true))) })
-	public ResponseWrapper<?> getValidDocumentByLangCode(@PathVariable("langCode") String langCode)
+	public ResponseWrapper<?> getValidDocumentByLangCode(@PathVariable("langCode") String langCode,
+			ServletWebRequest webRequest)
 			throws ResidentServiceCheckedException {
 		logger.debug("ProxyMasterdataController::getValidDocumentByLangCode():: entry");
 		auditUtil.setAuditRequestDto(EventEnum.GET_VALID_DOCUMENT);
 		ResponseWrapper<?> responseWrapper = proxyMasterdataService.getValidDocumentByLangCode(langCode);
 		auditUtil.setAuditRequestDto(EventEnum.GET_VALID_DOCUMENT_SUCCESS);
 		logger.debug("ProxyMasterdataController::getValidDocumentByLangCode():: exit");
-		return responseWrapper;
+		return checkNotModified(responseWrapper, webRequest);
 	}
 
 	/**
@@ -85,14 +90,15 @@ public class ProxyMasterdataController {
 			@ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(hidden = true))),
 			@ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(hidden = true))),
 			@ApiResponse(responseCode = "404", description = "Not Found", content = @Content(schema = @Schema(hidden = true))) })
-	public ResponseWrapper<?> getLocationHierarchyLevelByLangCode(@PathVariable("langcode") String langCode)
+	public ResponseWrapper<?> getLocationHierarchyLevelByLangCode(@PathVariable("langcode") String langCode,
+			ServletWebRequest webRequest)
 			throws ResidentServiceCheckedException {
 		logger.debug("ProxyMasterdataController::getLocationHierarchyLevelByLangCode()::entry");
 		auditUtil.setAuditRequestDto(EventEnum.GET_LOCATION_HIERARCHY_LEVEL);
 		ResponseWrapper<?> responseWrapper = proxyMasterdataService.getLocationHierarchyLevelByLangCode(langCode);
 		auditUtil.setAuditRequestDto(EventEnum.GET_LOCATION_HIERARCHY_LEVEL_SUCCESS);
 		logger.debug("ProxyMasterdataController::getLocationHierarchyLevelByLangCode()::exit");
-		return responseWrapper;
+		return checkNotModified(responseWrapper, webRequest);
 	}
 
 	/**
@@ -113,7 +119,8 @@ public class ProxyMasterdataController {
 			@ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(hidden = true))),
 			@ApiResponse(responseCode = "404", description = "Not Found", content = @Content(schema = @Schema(hidden = true))) })
 	public ResponseWrapper<?> getImmediateChildrenByLocCodeAndLangCode(
-			@PathVariable("locationcode") String locationCode, @PathVariable("langcode") String langCode)
+			@PathVariable("locationcode") String locationCode, @PathVariable("langcode") String langCode,
+			ServletWebRequest webRequest)
 			throws ResidentServiceCheckedException {
 		logger.debug("ProxyMasterdataController::getImmediateChildrenByLocCodeAndLangCode()::entry");
 		auditUtil.setAuditRequestDto(EventEnum.GET_IMMEDIATE_CHILDREN);
@@ -121,7 +128,7 @@ public class ProxyMasterdataController {
 				.getImmediateChildrenByLocCodeAndLangCode(locationCode, langCode);
 		auditUtil.setAuditRequestDto(EventEnum.GET_IMMEDIATE_CHILDREN_SUCCESS);
 		logger.debug("ProxyMasterdataController::getImmediateChildrenByLocCodeAndLangCode()::exit");
-		return responseWrapper;
+		return checkNotModified(responseWrapper, webRequest);
 	}
 
 	/**
@@ -142,14 +149,15 @@ public class ProxyMasterdataController {
 			@ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(hidden = true))),
 			@ApiResponse(responseCode = "404", description = "Not Found", content = @Content(schema = @Schema(hidden = true))) })
 	public ResponseWrapper<?> getLocationDetailsByLocCodeAndLangCode(@PathVariable("locationcode") String locationCode,
-			@PathVariable("langcode") String langCode) throws ResidentServiceCheckedException {
+			@PathVariable("langcode") String langCode,
+			ServletWebRequest webRequest) throws ResidentServiceCheckedException {
 		logger.debug("ProxyMasterdataController::getLocationDetailsByLocCodeAndLangCode()::entry");
 		auditUtil.setAuditRequestDto(EventEnum.GET_LOCATION_DETAILS);
 		ResponseWrapper<?> responseWrapper = proxyMasterdataService.getLocationDetailsByLocCodeAndLangCode(locationCode,
 				langCode);
 		auditUtil.setAuditRequestDto(EventEnum.GET_LOCATION_DETAILS_SUCCESS);
 		logger.debug("ProxyMasterdataController::getLocationDetailsByLocCodeAndLangCode()::exit");
-		return responseWrapper;
+		return checkNotModified(responseWrapper, webRequest);
 	}
 
 	/**
@@ -173,14 +181,15 @@ public class ProxyMasterdataController {
 			@ApiResponse(responseCode = "404", description = "Not Found", content = @Content(schema = @Schema(hidden = true))) })
 	public ResponseWrapper<?> getCoordinateSpecificRegistrationCenters(@PathVariable("langcode") String langCode,
 			@PathVariable("longitude") double longitude, @PathVariable("latitude") double latitude,
-			@PathVariable("proximitydistance") int proximityDistance) throws ResidentServiceCheckedException {
+			@PathVariable("proximitydistance") int proximityDistance,
+			ServletWebRequest webRequest) throws ResidentServiceCheckedException {
 		logger.debug("ProxyMasterdataController::getCoordinateSpecificRegistrationCenters()::entry");
 		auditUtil.setAuditRequestDto(EventEnum.GET_COORDINATE_SPECIFIC_REG_CENTERS);
 		ResponseWrapper<?> responseWrapper = proxyMasterdataService.getCoordinateSpecificRegistrationCenters(langCode,
 				longitude, latitude, proximityDistance);
 		auditUtil.setAuditRequestDto(EventEnum.GET_COORDINATE_SPECIFIC_REG_CENTERS_SUCCESS);
 		logger.debug("ProxyMasterdataController::getCoordinateSpecificRegistrationCenters()::exit");
-		return responseWrapper;
+		return checkNotModified(responseWrapper, webRequest);
 	}
 
 	/**
@@ -201,13 +210,14 @@ public class ProxyMasterdataController {
 			@ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(hidden = true))),
 			@ApiResponse(responseCode = "404", description = "Not Found", content = @Content(schema = @Schema(hidden = true))) })
 	public ResponseWrapper<?> getApplicantValidDocument(@PathVariable("applicantId") String applicantId,
-			@RequestParam("languages") List<String> languages) throws ResidentServiceCheckedException {
+			@RequestParam("languages") List<String> languages,
+			ServletWebRequest webRequest) throws ResidentServiceCheckedException {
 		logger.debug("ProxyMasterdataController::getApplicantValidDocument()::entry");
 		auditUtil.setAuditRequestDto(EventEnum.GET_APPLICANT_VALID_DOCUMENT);
 		ResponseWrapper<?> responseWrapper = proxyMasterdataService.getApplicantValidDocument(applicantId, languages);
 		auditUtil.setAuditRequestDto(EventEnum.GET_APPLICANT_VALID_DOCUMENT_SUCCESS);
 		logger.debug("ProxyMasterdataController::getApplicantValidDocument()::exit");
-		return responseWrapper;
+		return checkNotModified(responseWrapper, webRequest);
 	}
 
 	/**
@@ -229,7 +239,8 @@ public class ProxyMasterdataController {
 			@ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(hidden = true))),
 			@ApiResponse(responseCode = "404", description = "Not Found", content = @Content(schema = @Schema(hidden = true))) })
 	public ResponseWrapper<?> getRegistrationCentersByHierarchyLevel(@PathVariable("langcode") String langCode,
-			@PathVariable("hierarchylevel") Short hierarchyLevel, @RequestParam("name") List<String> name)
+			@PathVariable("hierarchylevel") Short hierarchyLevel, @RequestParam("name") List<String> name,
+			ServletWebRequest webRequest)
 			throws ResidentServiceCheckedException {
 		logger.debug("ProxyMasterdataController::getRegistrationCentersByHierarchyLevel()::entry");
 		auditUtil.setAuditRequestDto(EventEnum.GET_REG_CENTERS_FOR_LOCATION_CODE);
@@ -237,7 +248,7 @@ public class ProxyMasterdataController {
 				hierarchyLevel, name);
 		auditUtil.setAuditRequestDto(EventEnum.GET_REG_CENTERS_FOR_LOCATION_CODE_SUCCESS);
 		logger.debug("ProxyMasterdataController::getRegistrationCentersByHierarchyLevel()::exit");
-		return responseWrapper;
+		return checkNotModified(responseWrapper, webRequest);
 	}
 
 	/**
@@ -268,7 +279,7 @@ public class ProxyMasterdataController {
 			@RequestParam(name = "pageNumber", defaultValue = "0") @ApiParam(value = "page no for the requested data", defaultValue = "0") int pageNumber,
 			@RequestParam(name = "pageSize", defaultValue = "10") @ApiParam(value = "page size for the requested data", defaultValue = "10") int pageSize,
 			@RequestParam(name = "sortBy", defaultValue = "createdDateTime") @ApiParam(value = "sort the requested data based on param value", defaultValue = "createdDateTime") String sortBy,
-			@RequestParam(name = "orderBy", defaultValue = "desc") @ApiParam(value = "order the requested data based on param", defaultValue = "desc") OrderEnum orderBy)
+			@RequestParam(name = "orderBy", defaultValue = "desc") @ApiParam(value = "order the requested data based on param", defaultValue = "desc") OrderEnum orderBy, ServletWebRequest webRequest)
 			throws ResidentServiceCheckedException {
 		logger.debug("ProxyMasterdataController::getRegistrationCenterByHierarchyLevelAndTextPaginated()::entry");
 		auditUtil.setAuditRequestDto(EventEnum.GET_REG_CENTERS_PAGINATED);
@@ -277,7 +288,7 @@ public class ProxyMasterdataController {
 						pageSize, orderBy, sortBy);
 		auditUtil.setAuditRequestDto(EventEnum.GET_REG_CENTERS_PAGINATED_SUCCESS);
 		logger.debug("ProxyMasterdataController::getRegistrationCenterByHierarchyLevelAndTextPaginated()::exit");
-		return responseWrapper;
+		return checkNotModified(responseWrapper, webRequest);
 	}
 
 	/**
@@ -299,14 +310,15 @@ public class ProxyMasterdataController {
 			@ApiResponse(responseCode = "404", description = "Not Found", content = @Content(schema = @Schema(hidden = true))) })
 	public ResponseWrapper<?> getRegistrationCenterWorkingDays(
 			@PathVariable("registrationCenterID") String registrationCenterID,
-			@PathVariable("langCode") String langCode) throws ResidentServiceCheckedException {
+			@PathVariable("langCode") String langCode,
+			ServletWebRequest webRequest) throws ResidentServiceCheckedException {
 		logger.debug("ProxyMasterdataController::getRegistrationCenterWorkingDays()::entry");
 		auditUtil.setAuditRequestDto(EventEnum.GET_REG_CENTER_WORKING_DAYS);
 		ResponseWrapper<?> responseWrapper = proxyMasterdataService
 				.getRegistrationCenterWorkingDays(registrationCenterID, langCode);
 		auditUtil.setAuditRequestDto(EventEnum.GET_REG_CENTER_WORKING_DAYS_SUCCESS);
 		logger.debug("ProxyMasterdataController::getRegistrationCenterWorkingDays()::exit");
-		return responseWrapper;
+		return checkNotModified(responseWrapper, webRequest);
 	}
 
 	/**
@@ -330,14 +342,14 @@ public class ProxyMasterdataController {
 	public ResponseWrapper<?> getLatestIdSchema(
 			@RequestParam(name = "schemaVersion", defaultValue = "0", required = false) @ApiParam(value = "schema version", defaultValue = "0") double schemaVersion,
 			@RequestParam(name = "domain", required = false) @ApiParam(value = "domain of the ui spec") String domain,
-			@RequestParam(name = "type", required = false) @ApiParam(value = "type of the ui spec. Supported comma separted values") String type)
+			@RequestParam(name = "type", required = false) @ApiParam(value = "type of the ui spec. Supported comma separted values") String type, ServletWebRequest webRequest)
 			throws ResidentServiceCheckedException {
 		logger.debug("ProxyMasterdataController::getLatestIdSchema()::entry");
 		auditUtil.setAuditRequestDto(EventEnum.GET_LATEST_ID_SCHEMA);
 		ResponseWrapper<?> responseWrapper = proxyMasterdataService.getLatestIdSchema(schemaVersion, domain, type);
 		auditUtil.setAuditRequestDto(EventEnum.GET_LATEST_ID_SCHEMA_SUCCESS);
 		logger.debug("ProxyMasterdataController::getLatestIdSchema()::exit");
-		return responseWrapper;
+		return checkNotModified(responseWrapper, webRequest);
 	}
 	
 	/**
@@ -358,14 +370,15 @@ public class ProxyMasterdataController {
 			@ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(hidden = true))),
 			@ApiResponse(responseCode = "404", description = "Not Found", content = @Content(schema = @Schema(hidden = true))) })
 	public ResponseWrapper<?> getAllTemplateBylangCodeAndTemplateTypeCode(@PathVariable("langcode") String langCode,
-			@PathVariable("templatetypecode") String templateTypeCode) throws ResidentServiceCheckedException {
+			@PathVariable("templatetypecode") String templateTypeCode,
+			ServletWebRequest webRequest) throws ResidentServiceCheckedException {
 		logger.debug("ProxyMasterdataController::getAllTemplateBylangCodeAndTemplateTypeCode()::entry");
 		auditUtil.setAuditRequestDto(EventEnum.GET_TEMPLATES);
 		ResponseWrapper<?> responseWrapper = proxyMasterdataService
 				.getAllTemplateBylangCodeAndTemplateTypeCode(langCode, templateTypeCode);
 		auditUtil.setAuditRequestDto(EventEnum.GET_TEMPLATES_SUCCESS);
 		logger.debug("ProxyMasterdataController::getAllTemplateBylangCodeAndTemplateTypeCode()::exit");
-		return responseWrapper;
+		return checkNotModified(responseWrapper, webRequest);
 	}
 	
 	/**
@@ -384,14 +397,15 @@ public class ProxyMasterdataController {
 			@ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(hidden = true))),
 			@ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(hidden = true))),
 			@ApiResponse(responseCode = "404", description = "Not Found", content = @Content(schema = @Schema(hidden = true))) })
-	public ResponseWrapper<?> getGenderTypesByLangCode(@PathVariable("langcode") String langCode)
+	public ResponseWrapper<?> getGenderTypesByLangCode(@PathVariable("langcode") String langCode,
+			ServletWebRequest webRequest)
 			throws ResidentServiceCheckedException {
 		logger.debug("ProxyMasterdataController::getGenderTypesByLangCode()::entry");
 		auditUtil.setAuditRequestDto(EventEnum.GET_GENDER_TYPES);
 		ResponseWrapper<?> responseWrapper = proxyMasterdataService.getGenderTypesByLangCode(langCode);
 		auditUtil.setAuditRequestDto(EventEnum.GET_GENDER_TYPES_SUCCESS);
 		logger.debug("ProxyMasterdataController::getGenderTypesByLangCode()::exit");
-		return responseWrapper;
+		return checkNotModified(responseWrapper, webRequest);
 	}
 	
 	/**
@@ -411,14 +425,14 @@ public class ProxyMasterdataController {
 			@ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(hidden = true))),
 			@ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(hidden = true))),
 			@ApiResponse(responseCode = "404", description = "Not Found", content = @Content(schema = @Schema(hidden = true))) })
-	public ResponseWrapper<?> getDocumentTypesByDocumentCategoryAndLangCode(@PathVariable("documentcategorycode") String documentcategorycode,@PathVariable("langcode") String langCode)
+	public ResponseWrapper<?> getDocumentTypesByDocumentCategoryAndLangCode(@PathVariable("documentcategorycode") String documentcategorycode,@PathVariable("langcode") String langCode, ServletWebRequest webRequest)
 			throws ResidentServiceCheckedException {
 		logger.debug("ProxyMasterdataController::getDocumentTypesByDocumentCategoryLangCode::entry");
 		auditUtil.setAuditRequestDto(EventEnum.GET_DOCUMENT_TYPES);
 		ResponseWrapper<?> responseWrapper = proxyMasterdataService.getDocumentTypesByDocumentCategoryAndLangCode(documentcategorycode,langCode);
 		auditUtil.setAuditRequestDto(EventEnum.GET_DOCUMENT_TYPES_SUCCESS);
 		logger.debug("ProxyMasterdataController::getDocumentTypesByDocumentCategoryLangCode::exit");
-		return responseWrapper;
+		return checkNotModified(responseWrapper, webRequest);
 	}
 	
 	/**
@@ -438,14 +452,44 @@ public class ProxyMasterdataController {
 			@ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(hidden = true))),
 			@ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(hidden = true))),
 			@ApiResponse(responseCode = "404", description = "Not Found", content = @Content(schema = @Schema(hidden = true))) })
-	public ResponseWrapper<?> getGenderCodeByGenderTypeAndLangCode(@PathVariable("gendertype") String gendertype,@PathVariable("langcode") String langCode)
+	public ResponseWrapper<?> getGenderCodeByGenderTypeAndLangCode(@PathVariable("gendertype") String gendertype,@PathVariable("langcode") String langCode, ServletWebRequest webRequest)
 			throws ResidentServiceCheckedException, IOException {
 		logger.debug("ProxyMasterdataController::getGenderCodeByGenderTypeAndLangCode::entry");
 		auditUtil.setAuditRequestDto(EventEnum.GET_GENDER_CODE);
 		ResponseWrapper<?> responseWrapper = proxyMasterdataService.getGenderCodeByGenderTypeAndLangCode(gendertype,langCode);
 		auditUtil.setAuditRequestDto(EventEnum.GET_GENDER_CODE_SUCCESS);
 		logger.debug("ProxyMasterdataController::getGenderCodeByGenderTypeAndLangCode::exit");
-		return responseWrapper;
+		return checkNotModified(responseWrapper, webRequest);
+	}
+
+	/**
+	 * Tags the response with an ETag of its payload, so that the browser can keep
+	 * the response and revalidate it with If-None-Match. A cached response comes
+	 * with the ETag computed when it was cached; it is computed here only for the
+	 * other responses. Returns null when the ETag matches, which sends 304 Not
+	 * Modified without the body.
+	 */
+	private ResponseWrapper<?> checkNotModified(ResponseWrapper<?> responseWrapper, ServletWebRequest webRequest) {
+		if (responseWrapper == null || responseWrapper.getResponse() == null || webRequest.getResponse() == null) {
+			return responseWrapper;
+		}
+		String eTag;
+		if (responseWrapper instanceof CachedResponseWrapper) {
+			eTag = ((CachedResponseWrapper<?>) responseWrapper).getETag();
+		} else {
+			try {
+				eTag = CachedResponseWrapper.computeETag(responseWrapper.getResponse());
+			} catch (IOException e) {
+				logger.debug("Unable to compute the ETag of the response - " + e.getMessage());
+				return responseWrapper;
+			}
+		}
+		if (eTag == null) {
+			return responseWrapper;
+		}
+		webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL,
+				CacheControl.noCache().cachePrivate().getHeaderValue());
+		return webRequest.checkNotModified(eTag) ? null : responseWrapper;
 	}
 
 }
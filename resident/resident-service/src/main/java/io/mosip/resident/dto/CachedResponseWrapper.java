@@ -0,0 +1,38 @@
+package io.mosip.resident.dto;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.util.DigestUtils;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import io.mosip.kernel.core.http.ResponseWrapper;
+import io.mosip.resident.util.JsonUtil;
+
+/**
+ * A cached masterdata response with the ETag of its payload, computed once when
+ * the response was cached.
+ */
+public class CachedResponseWrapper<T> extends ResponseWrapper<T> {
+
+	private final String eTag;
+
+	public CachedResponseWrapper(String eTag) {
+		this.eTag = eTag;
+	}
+
+	/**
+	 * @return the ETag of the response payload, or null if it could not be
+	 *         computed.
+	 */
+	@JsonIgnore
+	public String getETag() {
+		return eTag;
+	}
+
+	public static String computeETag(Object response) throws IOException {
+		return DigestUtils.md5DigestAsHex(JsonUtil.writeValueAsString(response).getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -7,7 +7,8 @@ import lombok.NoArgsConstructor;
 /**
  * DocumentResponseDTO is a class that has a String transactionId, a String
  * docId, a String docName, a
- * String docCatCode, a String docTypCode, and a String docFileFormat.
+ * String docCatCode, a String docTypCode, a String docFileFormat, and a String
+ * scanStatus.
  * 
  * @author Manoj SP
  */
@@ -28,4 +29,7 @@ public class DocumentResponseDTO {
 
     private String docFileFormat;
 
+    /** The virus scan status, see {@link io.mosip.resident.constant.DocumentScanStatus}. */
+    private String scanStatus;
+
 }
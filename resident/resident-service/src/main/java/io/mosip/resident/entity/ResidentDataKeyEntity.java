@@ -0,0 +1,36 @@
+package io.mosip.resident.entity;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * This entity class defines the database table details for resident_data_key
+ * table.
+ *
+ */
+@Data
+@Table(name = "resident_data_key", schema = "resident")
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResidentDataKeyEntity {
+
+	@Id
+	@Column(name = "key_id")
+	private String keyId;
+
+	@Column(name = "wrapped_key")
+	private String wrappedKey;
+
+	@Column(name = "cr_dtimes")
+	private LocalDateTime crDtimes;
+
+}
@@ -0,0 +1,51 @@
+package io.mosip.resident.entity;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * This entity class defines the database table details for
+ * resident_notification_outbox table.
+ *
+ */
+@Data
+@Table(name = "resident_notification_outbox", schema = "resident")
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResidentNotificationOutboxEntity {
+
+	@Id
+	@Column(name = "id")
+	private String id;
+
+	@Column(name = "channel")
+	private String channel;
+
+	@Column(name = "payload")
+	private String payload;
+
+	@Column(name = "status")
+	private String status;
+
+	@Column(name = "attempts")
+	private int attempts;
+
+	@Column(name = "next_attempt_dtimes")
+	private LocalDateTime nextAttemptDtimes;
+
+	@Column(name = "last_error")
+	private String lastError;
+
+	@Column(name = "cr_dtimes")
+	private LocalDateTime crDtimes;
+
+}
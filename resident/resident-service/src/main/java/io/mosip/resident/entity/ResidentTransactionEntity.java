@@ -1,17 +1,24 @@
 package io.mosip.resident.entity;
 
 import java.time.LocalDateTime;
+import java.util.function.UnaryOperator;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.Transient;
 import javax.validation.constraints.NotNull;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 /**
  * This entity class defines the database table details for resident_transaction
@@ -142,8 +149,28 @@ public class ResidentTransactionEntity {
 	private String attributeList;
 
 	@Column(name = "individual_id")
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
 	private String individualId;
 
+	/**
+	 * Decrypts the individual_id column value. Set when the row is loaded, so the
+	 * value is only decrypted when {@link #getIndividualId()} is called.
+	 */
+	@Transient
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private UnaryOperator<String> individualIdDecryptor;
+
+	@Transient
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private String decryptedIndividualId;
+
 	@Column(name = "consent")
 	private String consent;
 	
@@ -214,4 +241,28 @@ public class ResidentTransactionEntity {
 	public boolean getPinnedStatus() {
 		return this.pinnedStatus;
 	}
+
+	public String getIndividualId() {
+		if (individualIdDecryptor != null) {
+			decryptedIndividualId = individualIdDecryptor.apply(individualId);
+			individualIdDecryptor = null;
+		}
+		return decryptedIndividualId != null ? decryptedIndividualId : individualId;
+	}
+
+	public void setIndividualId(String individualId) {
+		this.individualId = individualId;
+		this.individualIdDecryptor = null;
+		this.decryptedIndividualId = null;
+	}
+
+	/**
+	 * Sets the stored (encrypted) individual id, which is decrypted with the given
+	 * decryptor on the first {@link #getIndividualId()} call.
+	 */
+	public void setEncryptedIndividualId(String encryptedIndividualId, UnaryOperator<String> individualIdDecryptor) {
+		this.individualId = encryptedIndividualId;
+		this.individualIdDecryptor = individualIdDecryptor;
+		this.decryptedIndividualId = null;
+	}
 }
\ No newline at end of file
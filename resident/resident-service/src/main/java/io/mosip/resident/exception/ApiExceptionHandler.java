@@ -25,10 +25,6 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import io.mosip.kernel.core.exception.BaseCheckedException;
 import io.mosip.kernel.core.exception.BaseUncheckedException;
@@ -37,11 +33,11 @@ import io.mosip.kernel.core.exception.ServiceError;
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.kernel.core.util.DateUtils;
-import io.mosip.kernel.core.util.EmptyCheckUtils;
 import io.mosip.kernel.openid.bridge.api.constants.AuthErrorCode;
 import io.mosip.kernel.openid.bridge.api.exception.AuthRestException;
 import io.mosip.kernel.openid.bridge.api.exception.ClientException;
 import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.config.ResidentRequestBodyAdviceConfig;
 import io.mosip.resident.constant.ResidentConstants;
 import io.mosip.resident.constant.ResidentErrorCode;
 import io.mosip.resident.mock.exception.CantPlaceOrderException;
@@ -53,9 +49,6 @@ import io.mosip.resident.util.ObjectWithMetadata;
 @RestControllerAdvice
 @Order(Ordered.HIGHEST_PRECEDENCE)
 public class ApiExceptionHandler {
-	@Autowired
-	private ObjectMapper objectMapper;
-
 	@Autowired
 	Environment env;
 
@@ -324,14 +317,9 @@ public class ApiExceptionHandler {
 	private ResponseWrapper<ServiceError> setErrors(HttpServletRequest httpServletRequest) throws IOException {
 		ResponseWrapper<ServiceError> responseWrapper = new ResponseWrapper<>();
 		responseWrapper.setResponsetime(LocalDateTime.now(ZoneId.of("UTC")));
-		String requestBody = null;
-		if (httpServletRequest instanceof ContentCachingRequestWrapper) {
-			requestBody = new String(((ContentCachingRequestWrapper) httpServletRequest).getContentAsByteArray());
-		}
-		if (EmptyCheckUtils.isNullEmpty(requestBody)) {
+		if (httpServletRequest.getAttribute(ResidentRequestBodyAdviceConfig.REQUEST_BODY_PRESENT) == null) {
 			return responseWrapper;
 		}
-		objectMapper.registerModule(new JavaTimeModule());
 		responseWrapper.setId(setId(httpServletRequest.getRequestURI()));
 		responseWrapper.setVersion(env.getProperty(RESIDENT_VERSION));
 		return responseWrapper;
@@ -1,7 +1,6 @@
 package io.mosip.resident.handler.service;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -9,7 +8,6 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.io.IOUtils;
 import org.json.simple.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -106,7 +104,6 @@ public class ResidentUpdateService {
 	public PacketGeneratorResDto createPacket(ResidentUpdateDto request) throws BaseCheckedException, IOException {
 		logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.UIN.toString(),
 				request.getIdValue(), "ResidentUpdateServiceImpl::createPacket()");
-		byte[] packetZipBytes = null;
 		audit.setAuditRequestDto(EventEnum.CREATE_PACKET);
 		PackerGeneratorFailureDto dto = new PackerGeneratorFailureDto();
 		if (validator.isValidCenter(request.getCenterId())
@@ -161,7 +158,9 @@ public class ResidentUpdateService {
 				packetDto.setAudits(utilities.generateAudit(packetDto.getId()));
 				packetDto.setOfflineMode(false);
 				packetDto.setRefId(request.getCenterId() + "_" + request.getMachineId());
+				long startTime = System.nanoTime();
 				List<PacketInfo> packetInfos = packetWriter.createPacket(packetDto);
+				syncUploadEncryptionService.recordPacketStage("create", startTime);
 
 				if (CollectionUtils.isEmpty(packetInfos) || packetInfos.iterator().next().getId() == null)
 					throw new PacketCreatorException(ResidentErrorCode.PACKET_CREATION_EXCEPTION.getErrorCode(), ResidentErrorCode.PACKET_CREATION_EXCEPTION.getErrorMessage());
@@ -170,10 +169,6 @@ public class ResidentUpdateService {
 						+ File.separator + env.getProperty("packet.manager.account.name")
 						+ File.separator + packetInfos.iterator().next().getId() + ".zip");
 
-				FileInputStream fis = new FileInputStream(file);
-
-				packetZipBytes = IOUtils.toByteArray(fis);
-
 				String creationTime = DateUtils.formatToISOString(DateUtils.getUTCCurrentDateTime());
 
 				logger.debug(LoggerFileConstant.SESSIONID.toString(),
@@ -182,7 +177,7 @@ public class ResidentUpdateService {
 
 				PacketGeneratorResDto packerGeneratorResDto = syncUploadEncryptionService.uploadUinPacket(
 						packetDto.getId(), creationTime, request.getRequestType().toString(),
-						packetZipBytes);
+						file);
 
 				logger.debug(LoggerFileConstant.SESSIONID.toString(),
 						LoggerFileConstant.REGISTRATIONID.toString(), packetDto.getId(),
@@ -2,15 +2,23 @@ package io.mosip.resident.handler.service;
 
 import static io.mosip.kernel.core.util.JsonUtils.javaObjectToJsonString;
 
+import java.io.File;
+import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -20,6 +28,7 @@ import org.springframework.util.LinkedMultiValueMap;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.mosip.kernel.core.exception.BaseCheckedException;
 import io.mosip.kernel.core.exception.ExceptionUtils;
 import io.mosip.kernel.core.logger.spi.Logger;
@@ -59,6 +68,12 @@ public class SyncAndUploadService {
 
 	private static final String FAILURE = "FAILURE";
 
+	private static final String PACKET_STAGE_METRIC = "resident.packet.stage";
+
+	private static final String HASH_ALGORITHM = "SHA-256";
+
+	private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
 	/** The reg proc logger. */
 	private static final Logger logger = LoggerConfiguration.logConfig(SyncAndUploadService.class);
 
@@ -85,15 +100,17 @@ public class SyncAndUploadService {
 
 	@Autowired
 	AuditUtil audit;
-	/*
-	 * (non-Javadoc)
-	 * 
-	 * @see io.mosip.registration.processor.packet.upload.service.
-	 * SyncUploadEncryptionService#uploadUinPacket(java.io.File, java.lang.String,
-	 * java.lang.String)
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	/**
+	 * Syncs and uploads the packet zip written by the packet writer. The packet is
+	 * hashed and uploaded from the file, without reading it into memory; the
+	 * caller deletes the file.
 	 */
 	public PacketGeneratorResDto uploadUinPacket(String registartionId, String creationTime, String regType,
-												 byte[] packetZipBytes) throws BaseCheckedException {
+												 File packetZipFile) throws BaseCheckedException {
 		PacketGeneratorResDto packerGeneratorResDto = new PacketGeneratorResDto();
 
 		String syncStatus = "";
@@ -102,14 +119,16 @@ public class SyncAndUploadService {
 			logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.REGISTRATIONID.toString(),
 					"", "SyncUploadEncryptionServiceImpl ::uploadUinPacket()::entry");
 
-			ByteArrayResource contentsAsResource = new ByteArrayResource(packetZipBytes) {
+			FileSystemResource contentsAsResource = new FileSystemResource(packetZipFile) {
 				@Override
 				public String getFilename() {
 					return registartionId + RegistrationConstants.EXTENSION_OF_FILE;
 				}
 			};
             audit.setAuditRequestDto(EventEnum.getEventEnumWithValue(EventEnum.PACKET_SYNC,registartionId));
-			RegSyncResponseDTO regSyncResponseDTO = packetSync(registartionId, regType, packetZipBytes, creationTime);
+			long startTime = System.nanoTime();
+			RegSyncResponseDTO regSyncResponseDTO = packetSync(registartionId, regType, packetZipFile, creationTime);
+			recordPacketStage("sync", startTime);
 
 			if (regSyncResponseDTO != null) {
 				List<SyncResponseDto> synList = regSyncResponseDTO.getResponse();
@@ -131,8 +150,10 @@ public class SyncAndUploadService {
 				HttpEntity<LinkedMultiValueMap<String, Object>> requestEntity = new HttpEntity<LinkedMultiValueMap<String, Object>>(
 						map, headers);
 
+				startTime = System.nanoTime();
 				String result = restClientService.postApi(env.getProperty(ApiName.PACKETRECEIVER.name()), MediaType.MULTIPART_FORM_DATA, requestEntity,
 						String.class);
+				recordPacketStage("upload", startTime);
 				if (result != null) {
 					packetReceiverResponseDTO = gson.fromJson(result, PacketReceiverResponseDTO.class);
 					logger.debug(LoggerFileConstant.SESSIONID.toString(),
@@ -199,7 +220,7 @@ public class SyncAndUploadService {
 	 * @return the reg sync response DTO
 	 * @throws ApisResourceAccessException
 	 */
-	private RegSyncResponseDTO packetSync(String regId, String regType, byte[] enryptedUinZipFile, String creationTime)
+	private RegSyncResponseDTO packetSync(String regId, String regType, File enryptedUinZipFile, String creationTime)
 			throws BaseCheckedException {
 		RegSyncResponseDTO regSyncResponseDTO = null;
 		try {
@@ -208,8 +229,9 @@ public class SyncAndUploadService {
 			SyncRegistrationDto syncDto = new SyncRegistrationDto();
 
 			// Calculate HashSequense for the enryptedUinZipFile file
-			// HMACUtils2.update(enryptedUinZipFile);
-			String hashSequence = HMACUtils2.digestAsPlainText(enryptedUinZipFile);
+			long startTime = System.nanoTime();
+			String hashSequence = digestAsPlainText(enryptedUinZipFile);
+			recordPacketStage("hash", startTime);
 
 			// Prepare RegistrationSyncRequestDTO
 			registrationSyncRequestDTO.setId(env.getProperty(RegistrationConstants.REG_SYNC_SERVICE_ID));
@@ -221,7 +243,7 @@ public class SyncAndUploadService {
 			syncDto.setRegistrationId(regId);
 			syncDto.setSyncType(regType);
 			syncDto.setPacketHashValue(hashSequence);
-			syncDto.setPacketSize(BigInteger.valueOf(enryptedUinZipFile.length));
+			syncDto.setPacketSize(BigInteger.valueOf(enryptedUinZipFile.length()));
 			syncDto.setSupervisorStatus(SupervisorStatus.APPROVED.toString());
 			syncDto.setSupervisorComment(RegistrationConstants.SYNCSTATUSCOMMENT);
 
@@ -255,11 +277,37 @@ public class SyncAndUploadService {
 
 		} catch (JsonProcessingException e) {
 			throw new BaseCheckedException(ResidentErrorCode.INVLAID_KEY_EXCEPTION.getErrorCode(), ResidentErrorCode.INVLAID_KEY_EXCEPTION.getErrorMessage(), e);
-		} catch (NoSuchAlgorithmException e) {
+		} catch (NoSuchAlgorithmException | IOException e) {
 			throw new BaseCheckedException(ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorCode(),
 					ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorMessage(), e);
 		}
 		return regSyncResponseDTO;
 	}
 
+	/**
+	 * Records the time taken by a stage of the packet creation and upload in the
+	 * resident.packet.stage timer.
+	 */
+	public void recordPacketStage(String stage, long startNanos) {
+		meterRegistry.timer(PACKET_STAGE_METRIC, "stage", stage).record(System.nanoTime() - startNanos,
+				TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Same hash as {@link HMACUtils2#digestAsPlainText(byte[])}, computed by
+	 * reading the file in chunks.
+	 */
+	private String digestAsPlainText(File file) throws IOException, NoSuchAlgorithmException {
+		MessageDigest messageDigest = MessageDigest.getInstance(HASH_ALGORITHM);
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			ByteBuffer buffer = ByteBuffer.allocateDirect(HASH_BUFFER_SIZE);
+			while (channel.read(buffer) != -1) {
+				buffer.flip();
+				messageDigest.update(buffer);
+				buffer.clear();
+			}
+		}
+		return HMACUtils2.encodeBytesToHex(messageDigest.digest(), true, ByteOrder.BIG_ENDIAN);
+	}
+
 }
@@ -1,14 +1,12 @@
 package io.mosip.resident.handler.service;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.io.IOUtils;
 import org.json.JSONException;
 import org.json.simple.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -132,7 +130,6 @@ public class UinCardRePrintService {
             throws BaseCheckedException, IOException {
         String uin = null;
         String vid = null;
-        byte[] packetZipBytes = null;
         PacketGeneratorResDto packetGeneratorResDto = new PacketGeneratorResDto();
         File file = null;
         try {
@@ -200,7 +197,9 @@ public class UinCardRePrintService {
                 packetDto.setAudits(utilities.generateAudit(packetDto.getId()));
 				packetDto.setOfflineMode(false);
                 packetDto.setRefId(requestDto.getCenterId() + "_" + requestDto.getMachineId());
+                long startTime = System.nanoTime();
 				List<PacketInfo> packetInfos = packetWriter.createPacket(packetDto);
+                syncUploadEncryptionService.recordPacketStage("create", startTime);
 
                 if (CollectionUtils.isEmpty(packetInfos) || packetInfos.iterator().next().getId() == null) {
                 	audit.setAuditRequestDto(EventEnum.PACKET_CREATED_EXCEPTION);
@@ -210,13 +209,10 @@ public class UinCardRePrintService {
                         + File.separator + env.getProperty("packet.manager.account.name")
                         + File.separator + packetInfos.iterator().next().getId() + ".zip");
 
-                FileInputStream fis = new FileInputStream(file);
-
-                packetZipBytes = IOUtils.toByteArray(fis);
 				String creationTime = DateUtils.formatToISOString(DateUtils.getUTCCurrentDateTime());
 
                 packetGeneratorResDto = syncUploadEncryptionService.uploadUinPacket(
-                        packetDto.getId(), creationTime, regType, packetZipBytes);
+                        packetDto.getId(), creationTime, regType, file);
 
             }
             return packetGeneratorResDto;
@@ -0,0 +1,296 @@
+package io.mosip.resident.helper;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Encrypts and decrypts the objects stored by {@link ObjectStoreHelper} as a
+ * stream of AES-GCM chunks, so that a document is never held in memory as a
+ * whole. Every object is encrypted with its own random data key, which is
+ * stored in the object header wrapped by the keymanager. The object is laid
+ * out as:
+ * <ul>
+ * <li>the magic bytes, which can not start the keymanager encrypted text of the
+ * objects stored before;</li>
+ * <li>the length and the text of the wrapped data key;</li>
+ * <li>the chunks, each with a last chunk flag, the cipher text length and the
+ * cipher text with its tag.</li>
+ * </ul>
+ * The nonce of a chunk is its index, and the index and the last chunk flag are
+ * authenticated with the chunk, so that reordered, dropped or truncated chunks
+ * fail the decryption.
+ */
+public final class ChunkedObjectCipher {
+
+	private static final byte[] MAGIC = { 0, 'R', 'C', '1' };
+
+	private static final String KEY_ALGORITHM = "AES";
+
+	private static final String CIPHER_ALGORITHM = "AES/GCM/NoPadding";
+
+	private static final int KEY_SIZE = 256;
+
+	private static final int NONCE_LENGTH = 12;
+
+	private static final int TAG_LENGTH = 128;
+
+	/** Bounds the lengths read from an object, which may be corrupted. */
+	private static final int MAX_FIELD_LENGTH = 16 * 1024 * 1024;
+
+	private ChunkedObjectCipher() {
+	}
+
+	public static SecretKey generateDataKey() throws NoSuchAlgorithmException {
+		KeyGenerator keyGenerator = KeyGenerator.getInstance(KEY_ALGORITHM);
+		keyGenerator.init(KEY_SIZE);
+		return keyGenerator.generateKey();
+	}
+
+	public static SecretKey toDataKey(byte[] encodedKey) {
+		return new SecretKeySpec(encodedKey, KEY_ALGORITHM);
+	}
+
+	/**
+	 * Returns the stream of the encrypted object, which encrypts the data one
+	 * chunk at a time as it is read.
+	 */
+	public static InputStream encrypt(InputStream data, SecretKey dataKey, String wrappedDataKey, int chunkSize)
+			throws IOException {
+		byte[] wrappedKeyBytes = wrappedDataKey.getBytes(StandardCharsets.UTF_8);
+		ByteArrayOutputStream header = new ByteArrayOutputStream(MAGIC.length + 4 + wrappedKeyBytes.length);
+		DataOutputStream headerOutput = new DataOutputStream(header);
+		headerOutput.write(MAGIC);
+		headerOutput.writeInt(wrappedKeyBytes.length);
+		headerOutput.write(wrappedKeyBytes);
+		return new EncryptingInputStream(data, dataKey, chunkSize, header.toByteArray());
+	}
+
+	/**
+	 * Returns a stream that can be passed to {@link #isChunked} and
+	 * {@link #readWrappedDataKey}.
+	 */
+	public static InputStream markable(InputStream data) {
+		return data.markSupported() ? data : new BufferedInputStream(data);
+	}
+
+	/**
+	 * Checks, without consuming them, whether the object starts with the magic
+	 * bytes of a chunked object.
+	 */
+	public static boolean isChunked(InputStream object) throws IOException {
+		object.mark(MAGIC.length);
+		byte[] magic = object.readNBytes(MAGIC.length);
+		object.reset();
+		return Arrays.equals(MAGIC, magic);
+	}
+
+	/**
+	 * Reads the header of a chunked object and returns the wrapped data key. The
+	 * stream is then positioned at the first chunk.
+	 */
+	public static String readWrappedDataKey(InputStream object) throws IOException {
+		DataInputStream objectInput = new DataInputStream(object);
+		objectInput.skipBytes(MAGIC.length);
+		byte[] wrappedKeyBytes = new byte[readLength(objectInput)];
+		objectInput.readFully(wrappedKeyBytes);
+		return new String(wrappedKeyBytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns the stream of the decrypted object, which decrypts one chunk at a
+	 * time as it is read. The stream must be positioned at the first chunk.
+	 */
+	public static InputStream decrypt(InputStream object, SecretKey dataKey) {
+		return new DecryptingInputStream(object, dataKey);
+	}
+
+	private static int readLength(DataInputStream input) throws IOException {
+		int length = input.readInt();
+		if (length < 0 || length > MAX_FIELD_LENGTH) {
+			throw new IOException("Invalid length in the encrypted object: " + length);
+		}
+		return length;
+	}
+
+	private static Cipher initCipher(int mode, SecretKey dataKey, long chunkIndex, boolean lastChunk)
+			throws GeneralSecurityException {
+		byte[] nonce = ByteBuffer.allocate(NONCE_LENGTH).putLong(NONCE_LENGTH - Long.BYTES, chunkIndex).array();
+		Cipher cipher = Cipher.getInstance(CIPHER_ALGORITHM);
+		cipher.init(mode, dataKey, new GCMParameterSpec(TAG_LENGTH, nonce));
+		cipher.updateAAD(ByteBuffer.allocate(Long.BYTES + 1).putLong(chunkIndex).put((byte) (lastChunk ? 1 : 0))
+				.array());
+		return cipher;
+	}
+
+	/**
+	 * Input stream that serves the data of the chunks produced by
+	 * {@link #nextChunk()}.
+	 */
+	private abstract static class ChunkInputStream extends InputStream {
+
+		private final InputStream source;
+
+		private byte[] chunk;
+
+		private int position;
+
+		private boolean finished;
+
+		ChunkInputStream(InputStream source, byte[] firstChunk) {
+			this.source = source;
+			this.chunk = firstChunk;
+		}
+
+		/** Returns the next chunk, or null after the last chunk. */
+		abstract byte[] nextChunk() throws IOException;
+
+		@Override
+		public int read() throws IOException {
+			return hasData() ? chunk[position++] & 0xff : -1;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			if (length == 0) {
+				return 0;
+			}
+			if (!hasData()) {
+				return -1;
+			}
+			int count = Math.min(length, chunk.length - position);
+			System.arraycopy(chunk, position, buffer, offset, count);
+			position += count;
+			return count;
+		}
+
+		@Override
+		public void close() throws IOException {
+			source.close();
+		}
+
+		private boolean hasData() throws IOException {
+			while (chunk == null || position == chunk.length) {
+				if (finished) {
+					return false;
+				}
+				chunk = nextChunk();
+				position = 0;
+				if (chunk == null) {
+					finished = true;
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	private static final class EncryptingInputStream extends ChunkInputStream {
+
+		private final PushbackInputStream data;
+
+		private final SecretKey dataKey;
+
+		private final byte[] plainChunk;
+
+		private long chunkIndex;
+
+		private boolean lastChunkWritten;
+
+		EncryptingInputStream(InputStream data, SecretKey dataKey, int chunkSize, byte[] header) {
+			this(new PushbackInputStream(data, 1), dataKey, chunkSize, header);
+		}
+
+		private EncryptingInputStream(PushbackInputStream data, SecretKey dataKey, int chunkSize, byte[] header) {
+			super(data, header);
+			this.data = data;
+			this.dataKey = dataKey;
+			this.plainChunk = new byte[chunkSize];
+		}
+
+		@Override
+		byte[] nextChunk() throws IOException {
+			if (lastChunkWritten) {
+				return null;
+			}
+			int length = data.readNBytes(plainChunk, 0, plainChunk.length);
+			boolean lastChunk = length < plainChunk.length;
+			if (!lastChunk) {
+				int next = data.read();
+				if (next == -1) {
+					lastChunk = true;
+				} else {
+					data.unread(next);
+				}
+			}
+			try {
+				byte[] cipherText = initCipher(Cipher.ENCRYPT_MODE, dataKey, chunkIndex++, lastChunk)
+						.doFinal(plainChunk, 0, length);
+				ByteBuffer encryptedChunk = ByteBuffer.allocate(1 + Integer.BYTES + cipherText.length);
+				encryptedChunk.put((byte) (lastChunk ? 1 : 0)).putInt(cipherText.length).put(cipherText);
+				lastChunkWritten = lastChunk;
+				return encryptedChunk.array();
+			} catch (GeneralSecurityException e) {
+				throw new IOException("Unable to encrypt the object chunk", e);
+			}
+		}
+	}
+
+	private static final class DecryptingInputStream extends ChunkInputStream {
+
+		private final DataInputStream object;
+
+		private final SecretKey dataKey;
+
+		private long chunkIndex;
+
+		private boolean lastChunkRead;
+
+		DecryptingInputStream(InputStream object, SecretKey dataKey) {
+			super(object, null);
+			this.object = new DataInputStream(object);
+			this.dataKey = dataKey;
+		}
+
+		@Override
+		byte[] nextChunk() throws IOException {
+			if (lastChunkRead) {
+				return null;
+			}
+			boolean lastChunk;
+			byte[] cipherText;
+			try {
+				lastChunk = object.readByte() == 1;
+				cipherText = new byte[readLength(object)];
+				object.readFully(cipherText);
+			} catch (EOFException e) {
+				throw new IOException("The encrypted object is truncated", e);
+			}
+			try {
+				byte[] plainChunk = initCipher(Cipher.DECRYPT_MODE, dataKey, chunkIndex++, lastChunk)
+						.doFinal(cipherText);
+				lastChunkRead = lastChunk;
+				return plainChunk;
+			} catch (GeneralSecurityException e) {
+				throw new IOException("Unable to decrypt the object chunk", e);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,200 @@
+package io.mosip.resident.helper;
+
+import static io.mosip.resident.constant.ResidentConstants.DATA_KEY_ENCRYPTION_ENABLED;
+import static io.mosip.resident.constant.ResidentConstants.DATA_KEY_ROTATION_INTERVAL;
+import static io.mosip.resident.constant.ResidentConstants.DATA_KEY_ROTATION_INTERVAL_DEFAULT;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.commons.codec.binary.Base64;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.util.CryptoUtil;
+import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.constant.ResidentErrorCode;
+import io.mosip.resident.entity.ResidentDataKeyEntity;
+import io.mosip.resident.exception.ResidentServiceException;
+import io.mosip.resident.repository.ResidentDataKeyRepository;
+
+/**
+ * Encrypts and decrypts data locally with AES-GCM using data encryption keys
+ * (DEK). Each DEK is wrapped by the keymanager and saved in resident_data_key,
+ * so the keymanager is called only once per key instead of once per value. The
+ * active key is rotated after the configured interval, and the key id is kept
+ * in every ciphertext so data encrypted with older keys still decrypts.
+ */
+@Component
+public class DataEncryptionKeyHelper {
+
+	private static final Logger logger = LoggerConfiguration.logConfig(DataEncryptionKeyHelper.class);
+
+	/** Marks the ciphertext encrypted with a DEK: DEK#keyId#base64(iv + ciphertext). */
+	private static final String CIPHERTEXT_PREFIX = "DEK#";
+	private static final String SEPARATOR = "#";
+	private static final String KEY_ALGORITHM = "AES";
+	private static final String CIPHER_ALGORITHM = "AES/GCM/NoPadding";
+	private static final int KEY_SIZE = 256;
+	private static final int IV_SIZE = 12;
+	private static final int TAG_LENGTH = 128;
+
+	@Value("${" + DATA_KEY_ENCRYPTION_ENABLED + ":false}")
+	private boolean enabled;
+
+	@Value("${" + DATA_KEY_ROTATION_INTERVAL + ":" + DATA_KEY_ROTATION_INTERVAL_DEFAULT + "}")
+	private long rotationIntervalMillis;
+
+	@Value("${mosip.resident.keymanager.application-name}")
+	private String appId;
+
+	@Value("${mosip.resident.keymanager.reference-id}")
+	private String refId;
+
+	@Autowired
+	private ObjectStoreHelper objectStoreHelper;
+
+	@Autowired
+	private ResidentDataKeyRepository dataKeyRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	/**
+	 * The keys are read and saved in their own transaction, since they are needed
+	 * while hibernate is saving or flushing a resident_transaction row.
+	 */
+	private TransactionTemplate keyTransactionTemplate;
+
+	private final SecureRandom secureRandom = new SecureRandom();
+
+	/** Unwrapped keys by key id. */
+	private final Map<String, SecretKey> dataKeys = new ConcurrentHashMap<>();
+
+	private volatile String activeKeyId;
+
+	private volatile long activeKeyExpiryMillis;
+
+	@PostConstruct
+	public void init() {
+		keyTransactionTemplate = new TransactionTemplate(transactionManager);
+		keyTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public boolean isEncryptedWithDataKey(String data) {
+		return data != null && data.startsWith(CIPHERTEXT_PREFIX);
+	}
+
+	public String encrypt(String data) {
+		try {
+			String keyId = getActiveKeyId();
+			byte[] iv = new byte[IV_SIZE];
+			secureRandom.nextBytes(iv);
+			Cipher cipher = Cipher.getInstance(CIPHER_ALGORITHM);
+			cipher.init(Cipher.ENCRYPT_MODE, getDataKey(keyId), new GCMParameterSpec(TAG_LENGTH, iv));
+			cipher.updateAAD(keyId.getBytes(StandardCharsets.UTF_8));
+			byte[] encryptedData = cipher.doFinal(data.getBytes(StandardCharsets.UTF_8));
+			byte[] ivAndEncryptedData = ByteBuffer.allocate(iv.length + encryptedData.length).put(iv)
+					.put(encryptedData).array();
+			return CIPHERTEXT_PREFIX + keyId + SEPARATOR + CryptoUtil.encodeToURLSafeBase64(ivAndEncryptedData);
+		} catch (GeneralSecurityException e) {
+			throw new ResidentServiceException(ResidentErrorCode.ENCRYPT_DECRYPT_ERROR.getErrorCode(),
+					ResidentErrorCode.ENCRYPT_DECRYPT_ERROR.getErrorMessage(), e);
+		}
+	}
+
+	public String decrypt(String data) {
+		try {
+			int separatorIndex = data.indexOf(SEPARATOR, CIPHERTEXT_PREFIX.length());
+			String keyId = data.substring(CIPHERTEXT_PREFIX.length(), separatorIndex);
+			byte[] ivAndEncryptedData = CryptoUtil.decodeURLSafeBase64(data.substring(separatorIndex + 1));
+			Cipher cipher = Cipher.getInstance(CIPHER_ALGORITHM);
+			cipher.init(Cipher.DECRYPT_MODE, getDataKey(keyId),
+					new GCMParameterSpec(TAG_LENGTH, ivAndEncryptedData, 0, IV_SIZE));
+			cipher.updateAAD(keyId.getBytes(StandardCharsets.UTF_8));
+			byte[] decryptedData = cipher.doFinal(ivAndEncryptedData, IV_SIZE, ivAndEncryptedData.length - IV_SIZE);
+			return new String(decryptedData, StandardCharsets.UTF_8);
+		} catch (GeneralSecurityException | IndexOutOfBoundsException | IllegalArgumentException e) {
+			throw new ResidentServiceException(ResidentErrorCode.ENCRYPT_DECRYPT_ERROR.getErrorCode(),
+					ResidentErrorCode.ENCRYPT_DECRYPT_ERROR.getErrorMessage(), e);
+		}
+	}
+
+	/**
+	 * Returns the key to encrypt new data with. Reuses the latest saved key, which
+	 * may have been created by another instance, till the rotation interval is
+	 * over and then creates a new one.
+	 */
+	private synchronized String getActiveKeyId() throws GeneralSecurityException {
+		long currentTime = System.currentTimeMillis();
+		if (activeKeyId == null || activeKeyExpiryMillis < currentTime) {
+			Optional<ResidentDataKeyEntity> latestKey = keyTransactionTemplate
+					.execute(status -> dataKeyRepository.findFirstByOrderByCrDtimesDesc());
+			long latestKeyExpiry = latestKey
+					.map(key -> key.getCrDtimes().toInstant(ZoneOffset.UTC).toEpochMilli() + rotationIntervalMillis)
+					.orElse(0L);
+			if (latestKeyExpiry > currentTime) {
+				activeKeyId = latestKey.get().getKeyId();
+				activeKeyExpiryMillis = latestKeyExpiry;
+			} else {
+				activeKeyId = createDataKey();
+				activeKeyExpiryMillis = currentTime + rotationIntervalMillis;
+			}
+		}
+		return activeKeyId;
+	}
+
+	private String createDataKey() throws GeneralSecurityException {
+		KeyGenerator keyGenerator = KeyGenerator.getInstance(KEY_ALGORITHM);
+		keyGenerator.init(KEY_SIZE, secureRandom);
+		SecretKey dataKey = keyGenerator.generateKey();
+		String keyId = UUID.randomUUID().toString();
+		String wrappedKey = objectStoreHelper.encryptDecryptData(CryptoUtil.encodeToURLSafeBase64(dataKey.getEncoded()),
+				true, appId, refId);
+		LocalDateTime createdDateTime = DateUtils.getUTCCurrentDateTime();
+		keyTransactionTemplate.execute(
+				status -> dataKeyRepository.save(new ResidentDataKeyEntity(keyId, wrappedKey, createdDateTime)));
+		dataKeys.put(keyId, dataKey);
+		logger.info("Created data encryption key: " + keyId);
+		return keyId;
+	}
+
+	private SecretKey getDataKey(String keyId) {
+		return dataKeys.computeIfAbsent(keyId, this::unwrapDataKey);
+	}
+
+	private SecretKey unwrapDataKey(String keyId) {
+		ResidentDataKeyEntity dataKeyEntity = keyTransactionTemplate.execute(status -> dataKeyRepository.findById(keyId))
+				.orElseThrow(() -> new ResidentServiceException(ResidentErrorCode.ENCRYPT_DECRYPT_ERROR.getErrorCode(),
+						ResidentErrorCode.ENCRYPT_DECRYPT_ERROR.getErrorMessage()));
+		String dataKey = objectStoreHelper.encryptDecryptData(dataKeyEntity.getWrappedKey(), false, appId, refId);
+		return new SecretKeySpec(Base64.decodeBase64(dataKey), KEY_ALGORITHM);
+	}
+
+}
@@ -4,6 +4,10 @@ import static io.mosip.resident.constant.ResidentConstants.CRYPTO_APPLICATION_NA
 import static io.mosip.resident.constant.ResidentConstants.CRYPTO_DECRYPT_URI;
 import static io.mosip.resident.constant.ResidentConstants.CRYPTO_ENCRYPT_URI;
 import static io.mosip.resident.constant.ResidentConstants.CRYPTO_REFERENCE_ID;
+import static io.mosip.resident.constant.ResidentConstants.DOCUMENT_CHUNKED_ENCRYPTION_ENABLED;
+import static io.mosip.resident.constant.ResidentConstants.DOCUMENT_CHUNKED_ENCRYPTION_ENABLED_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.DOCUMENT_ENCRYPTION_CHUNK_SIZE;
+import static io.mosip.resident.constant.ResidentConstants.DOCUMENT_ENCRYPTION_CHUNK_SIZE_DEFAULT;
 import static io.mosip.resident.constant.ResidentConstants.OBJECT_STORE_ACCOUNT_NAME;
 import static io.mosip.resident.constant.ResidentConstants.OBJECT_STORE_ADAPTER_NAME;
 import static io.mosip.resident.constant.ResidentConstants.OBJECT_STORE_BUCKET_NAME;
@@ -12,10 +16,13 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.security.NoSuchAlgorithmException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+import javax.crypto.SecretKey;
+
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -74,6 +81,12 @@ public class ObjectStoreHelper {
 	@Value("${" + CRYPTO_DECRYPT_URI + "}")
 	private String decryptUri;
 
+	@Value("${" + DOCUMENT_CHUNKED_ENCRYPTION_ENABLED + ":" + DOCUMENT_CHUNKED_ENCRYPTION_ENABLED_DEFAULT + "}")
+	private boolean chunkedEncryptionEnabled;
+
+	@Value("${" + DOCUMENT_ENCRYPTION_CHUNK_SIZE + ":" + DOCUMENT_ENCRYPTION_CHUNK_SIZE_DEFAULT + "}")
+	private int encryptionChunkSize;
+
 	private ObjectStoreAdapter adapter;
 
 	@Autowired
@@ -119,16 +132,22 @@ public class ObjectStoreHelper {
 	}
 
 	/**
-	 * This function returns an InputStream object that contains the contents of the
-	 * object stored in the object store
+	 * This function returns the contents of the object stored in the object store,
+	 * URL safe base64 encoded
 	 * 
 	 * @param objectName The name of the object to be retrieved.
-	 * @return The object is being returned as an InputStream.
+	 * @return The base64 encoded contents of the object.
 	 */
 	public String getObject(String objectName) {
 		try {
-			return decryptData(
-					adapter.getObject(objectStoreAccountName, null, null, null, objectName));
+			InputStream object = ChunkedObjectCipher
+					.markable(adapter.getObject(objectStoreAccountName, null, null, null, objectName));
+			if (ChunkedObjectCipher.isChunked(object)) {
+				try (InputStream data = decryptChunkedData(object)) {
+					return CryptoUtil.encodeToURLSafeBase64(IOUtils.toByteArray(data));
+				}
+			}
+			return decryptData(object);
 		} catch (ResidentServiceException | ObjectStoreAdapterException | IOException e) {
 			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
 					LoggerFileConstant.APPLICATIONID.toString(), ExceptionUtils.getStackTrace(e));
@@ -171,6 +190,23 @@ public class ObjectStoreHelper {
 		}
 	}
 
+	/**
+	 * This function replaces the metadata of an object already in the object store
+	 * 
+	 * @param objectName The name of the object to update the metadata of.
+	 * @param metadata   The new metadata of the object.
+	 */
+	public void updateMetadata(String objectName, Map<String, Object> metadata) {
+		try {
+			adapter.addObjectMetaData(objectStoreAccountName, null, null, null, objectName, metadata);
+		} catch (ObjectStoreAdapterException e) {
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), ExceptionUtils.getStackTrace(e));
+			throw new ResidentServiceException(ResidentErrorCode.FAILED_TO_UPLOAD_DOC.getErrorCode(),
+					ResidentErrorCode.FAILED_TO_UPLOAD_DOC.getErrorMessage(), e);
+		}
+	}
+
 	/**
 	 * It takes an input stream, converts it to a string, and then decrypts it
 	 * 
@@ -178,8 +214,10 @@ public class ObjectStoreHelper {
 	 * @return The decrypted data.
 	 */
 	private String decryptData(InputStream data) throws IOException {
-    return encryptDecryptData(IOUtils.toString(data, Charset.defaultCharset()), false, applicationId, referenceId);
-
+		try (InputStream encryptedData = data) {
+			return encryptDecryptData(IOUtils.toString(encryptedData, Charset.defaultCharset()), false, applicationId,
+					referenceId);
+		}
 	}
 
 	/**
@@ -192,12 +230,48 @@ public class ObjectStoreHelper {
 	 * @return A ByteArrayInputStream
 	 */
 	private InputStream encryptData(InputStream data) throws IOException {
+		if (chunkedEncryptionEnabled) {
+			return encryptChunkedData(data);
+		}
 		return new ByteArrayInputStream(
 
 				(encryptDecryptData(CryptoUtil.encodeToURLSafeBase64(IOUtils.toByteArray(data)), true, applicationId, referenceId).getBytes()));
 	}
 
 
+	/**
+	 * Encrypts the data locally in chunks under a new data key, which is wrapped by
+	 * the keymanager and stored in the object header. Only the data key is sent to
+	 * the keymanager.
+	 * 
+	 * @param data The data to be encrypted.
+	 * @return The encrypted object, encrypted as it is read.
+	 */
+	private InputStream encryptChunkedData(InputStream data) throws IOException {
+		try {
+			SecretKey dataKey = ChunkedObjectCipher.generateDataKey();
+			String wrappedDataKey = encryptDecryptData(CryptoUtil.encodeToURLSafeBase64(dataKey.getEncoded()), true,
+					applicationId, referenceId);
+			return ChunkedObjectCipher.encrypt(data, dataKey, wrappedDataKey, encryptionChunkSize);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Unwraps the data key in the header of a chunk encrypted object with the
+	 * keymanager and returns the stream of the decrypted data.
+	 * 
+	 * @param object The chunk encrypted object.
+	 * @return The decrypted data, decrypted as it is read.
+	 */
+	private InputStream decryptChunkedData(InputStream object) throws IOException {
+		String wrappedDataKey = ChunkedObjectCipher.readWrappedDataKey(object);
+		byte[] dataKey = CryptoUtil.decodeURLSafeBase64(
+				encryptDecryptData(wrappedDataKey, false, applicationId, referenceId));
+		return ChunkedObjectCipher.decrypt(object, ChunkedObjectCipher.toDataKey(dataKey));
+	}
+
 	public String decryptData(String data, String applicationId, String referenceId){
 		return encryptDecryptData(data, false, applicationId, referenceId);
 	}
@@ -0,0 +1,296 @@
+package io.mosip.resident.helper;
+
+import static io.mosip.resident.constant.ResidentConstants.DOCUMENT_ASYNC_VIRUS_SCAN_ENABLED;
+import static io.mosip.resident.constant.ResidentConstants.DOCUMENT_ASYNC_VIRUS_SCAN_ENABLED_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.DOCUMENT_QUARANTINE_DIR;
+import static io.mosip.resident.constant.ResidentConstants.DOCUMENT_VIRUS_SCAN_QUEUE_CAPACITY;
+import static io.mosip.resident.constant.ResidentConstants.DOCUMENT_VIRUS_SCAN_QUEUE_CAPACITY_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.DOCUMENT_VIRUS_SCAN_THREAD_COUNT;
+import static io.mosip.resident.constant.ResidentConstants.DOCUMENT_VIRUS_SCAN_THREAD_COUNT_DEFAULT;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.virusscanner.spi.VirusScanner;
+import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.constant.DocumentScanStatus;
+import io.mosip.resident.constant.LoggerFileConstant;
+import io.mosip.resident.constant.ResidentConstants;
+import io.mosip.resident.constant.ResidentErrorCode;
+import io.mosip.resident.exception.ResidentServiceException;
+
+/**
+ * Scans the uploaded documents for viruses on a bounded worker pool, so that
+ * the upload request does not wait for the virus scanner. The upload is moved
+ * to a quarantine file, which is scanned and deleted by a worker, and the scan
+ * status is handed to the caller to store with the document. The quarantine
+ * directory also keeps the queue across restarts: a quarantine file is only
+ * deleted once it is scanned, with the reference of its document, so that the
+ * scans not done before a restart are resumed by {@link #resumePendingScans}.
+ * The depth of the
+ * scan queue is published in the resident.document.scan.queue.depth gauge and
+ * the scan time in the resident.document.scan timer, tagged by the status.
+ */
+@Component
+public class VirusScanHelper {
+
+	private static final Logger logger = LoggerConfiguration.logConfig(VirusScanHelper.class);
+
+	private static final String SCAN_METRIC = "resident.document.scan";
+
+	private static final String QUARANTINE_FILE_SUFFIX = ".quarantine";
+
+	private static final String DOCUMENT_REF_FILE_SUFFIX = ".ref";
+
+	@Autowired(required = false)
+	private VirusScanner<Boolean, InputStream> virusScanner;
+
+	@Autowired
+	private Environment env;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${" + DOCUMENT_ASYNC_VIRUS_SCAN_ENABLED + ":" + DOCUMENT_ASYNC_VIRUS_SCAN_ENABLED_DEFAULT + "}")
+	private boolean asyncScanEnabled;
+
+	@Value("${" + DOCUMENT_VIRUS_SCAN_THREAD_COUNT + ":" + DOCUMENT_VIRUS_SCAN_THREAD_COUNT_DEFAULT + "}")
+	private int scanThreadCount;
+
+	@Value("${" + DOCUMENT_VIRUS_SCAN_QUEUE_CAPACITY + ":" + DOCUMENT_VIRUS_SCAN_QUEUE_CAPACITY_DEFAULT + "}")
+	private int scanQueueCapacity;
+
+	/** Directory of the quarantine files, a directory under the temp directory by default. */
+	@Value("${" + DOCUMENT_QUARANTINE_DIR + ":}")
+	private String quarantineDir;
+
+	private Path quarantinePath;
+
+	private ThreadPoolExecutor scanExecutor;
+
+	/**
+	 * The quarantine files of this run that are being written or are queued for
+	 * the scan, which {@link #resumePendingScans} must leave alone.
+	 */
+	private final Set<File> claimedFiles = ConcurrentHashMap.newKeySet();
+
+	@PostConstruct
+	public void init() throws IOException {
+		if (!asyncScanEnabled) {
+			return;
+		}
+		quarantinePath = Files.createDirectories(StringUtils.isBlank(quarantineDir)
+				? Paths.get(System.getProperty("java.io.tmpdir"), "resident-quarantine")
+				: Paths.get(quarantineDir));
+		int threadCount = Math.max(scanThreadCount, 1);
+		BlockingQueue<Runnable> scanQueue = new ArrayBlockingQueue<>(Math.max(scanQueueCapacity, 1));
+		scanExecutor = new ThreadPoolExecutor(threadCount, threadCount, 0, TimeUnit.MILLISECONDS, scanQueue);
+		meterRegistry.gauge(SCAN_METRIC + ".queue.depth", scanQueue, BlockingQueue::size);
+	}
+
+	/**
+	 * Stops the workers. The quarantine files of the documents still waiting for
+	 * the scan are kept, so that their scan is resumed after the restart.
+	 */
+	@PreDestroy
+	public void destroy() {
+		if (scanExecutor == null) {
+			return;
+		}
+		scanExecutor.shutdownNow();
+	}
+
+	public boolean isAsyncScanEnabled() {
+		return asyncScanEnabled;
+	}
+
+	/**
+	 * Returns the scan status of a document that was scanned on the request
+	 * thread before it was stored.
+	 */
+	public DocumentScanStatus getSynchronousScanStatus() {
+		return isScannerEnabled() ? DocumentScanStatus.CLEAN : DocumentScanStatus.SKIPPED;
+	}
+
+	/**
+	 * Moves the upload to a new quarantine file. The upload is moved without
+	 * copying it when the multipart upload is already stored on disk.
+	 *
+	 * @param file        The upload.
+	 * @param documentRef The reference of the document, which is stored with the
+	 *                    quarantine file and handed back when its scan is resumed.
+	 */
+	public File quarantine(MultipartFile file, String documentRef) throws IOException {
+		File quarantineFile = quarantinePath.resolve("document-" + UUID.randomUUID() + QUARANTINE_FILE_SUFFIX)
+				.toFile();
+		claimedFiles.add(quarantineFile);
+		try {
+			Files.createFile(quarantineFile.toPath());
+			Files.writeString(getDocumentRefPath(quarantineFile), documentRef);
+			file.transferTo(quarantineFile);
+		} catch (IOException | RuntimeException e) {
+			deleteQuarantineFile(quarantineFile);
+			throw e;
+		}
+		return quarantineFile;
+	}
+
+	/**
+	 * Queues the quarantine file for the virus scan. The file is deleted once the
+	 * scan status is stored, or when it can not be queued since the scan queue is
+	 * full. When the scan status can not be stored, the file is kept for
+	 * {@link #resumePendingScans}.
+	 *
+	 * @param quarantineFile The file returned by {@link #quarantine}.
+	 * @param onScanned      Receives the scan status on the worker thread.
+	 */
+	public void scanAsync(File quarantineFile, Consumer<DocumentScanStatus> onScanned) {
+		try {
+			scanExecutor.execute(new ScanTask(quarantineFile, onScanned));
+		} catch (RejectedExecutionException e) {
+			deleteQuarantineFile(quarantineFile);
+			throw new ResidentServiceException(ResidentErrorCode.VIRUS_SCAN_QUEUE_FULL.getErrorCode(),
+					ResidentErrorCode.VIRUS_SCAN_QUEUE_FULL.getErrorMessage(), e);
+		}
+	}
+
+	/**
+	 * Queues the quarantine files left by an earlier run for the virus scan. A
+	 * quarantine file without its document reference is deleted, since its upload
+	 * did not complete. The files that do not fit in the scan queue are left for
+	 * the next call.
+	 *
+	 * @param onScannedByDocumentRef Returns the receiver of the scan status of a
+	 *                               document, given its reference.
+	 */
+	public void resumePendingScans(Function<String, Consumer<DocumentScanStatus>> onScannedByDocumentRef) {
+		if (scanExecutor == null) {
+			return;
+		}
+		File[] quarantineFiles = quarantinePath.toFile()
+				.listFiles((dir, name) -> name.endsWith(QUARANTINE_FILE_SUFFIX));
+		if (quarantineFiles == null) {
+			return;
+		}
+		for (File quarantineFile : quarantineFiles) {
+			if (!claimedFiles.add(quarantineFile)) {
+				continue;
+			}
+			String documentRef;
+			try {
+				documentRef = Files.readString(getDocumentRefPath(quarantineFile));
+			} catch (IOException e) {
+				deleteQuarantineFile(quarantineFile);
+				continue;
+			}
+			try {
+				scanExecutor.execute(new ScanTask(quarantineFile, onScannedByDocumentRef.apply(documentRef)));
+			} catch (RejectedExecutionException e) {
+				claimedFiles.remove(quarantineFile);
+				return;
+			}
+		}
+	}
+
+	private Path getDocumentRefPath(File quarantineFile) {
+		return Paths.get(quarantineFile.getPath() + DOCUMENT_REF_FILE_SUFFIX);
+	}
+
+	private DocumentScanStatus scan(File quarantineFile) {
+		if (!isScannerEnabled()) {
+			return DocumentScanStatus.SKIPPED;
+		}
+		long startTime = System.nanoTime();
+		DocumentScanStatus scanStatus;
+		try (InputStream data = new BufferedInputStream(Files.newInputStream(quarantineFile.toPath()))) {
+			scanStatus = Boolean.TRUE.equals(virusScanner.scanFile(data)) ? DocumentScanStatus.CLEAN
+					: DocumentScanStatus.INFECTED;
+		} catch (IOException | RuntimeException e) {
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(),
+					"Virus scan failed - " + ExceptionUtils.getStackTrace(e));
+			scanStatus = DocumentScanStatus.FAILED;
+		}
+		Timer.builder(SCAN_METRIC).tag("status", scanStatus.name()).register(meterRegistry)
+				.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+		return scanStatus;
+	}
+
+	private boolean isScannerEnabled() {
+		return env.getProperty(ResidentConstants.VIRUS_SCANNER_ENABLED, Boolean.class, true);
+	}
+
+	/**
+	 * Deletes a quarantine file that is not queued for the scan.
+	 */
+	public void deleteQuarantineFile(File quarantineFile) {
+		try {
+			Files.deleteIfExists(getDocumentRefPath(quarantineFile));
+			Files.deleteIfExists(quarantineFile.toPath());
+		} catch (IOException e) {
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(),
+					"Unable to delete the quarantine file " + quarantineFile + " - " + e.getMessage());
+		} finally {
+			claimedFiles.remove(quarantineFile);
+		}
+	}
+
+	private class ScanTask implements Runnable {
+
+		private final File quarantineFile;
+
+		private final Consumer<DocumentScanStatus> onScanned;
+
+		ScanTask(File quarantineFile, Consumer<DocumentScanStatus> onScanned) {
+			this.quarantineFile = quarantineFile;
+			this.onScanned = onScanned;
+		}
+
+		@Override
+		public void run() {
+			try {
+				onScanned.accept(scan(quarantineFile));
+			} catch (RuntimeException e) {
+				logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+						LoggerFileConstant.APPLICATIONID.toString(),
+						"Unable to store the virus scan status, the scan is resumed later - "
+								+ ExceptionUtils.getStackTrace(e));
+				// Kept with its document reference for resumePendingScans
+				claimedFiles.remove(quarantineFile);
+				return;
+			}
+			deleteQuarantineFile(quarantineFile);
+		}
+	}
+
+}
@@ -17,6 +17,7 @@ import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.resident.constant.ResidentErrorCode;
 import io.mosip.resident.entity.ResidentTransactionEntity;
 import io.mosip.resident.exception.ResidentServiceException;
+import io.mosip.resident.helper.DataEncryptionKeyHelper;
 import io.mosip.resident.helper.ObjectStoreHelper;
 
 /**
@@ -34,6 +35,9 @@ public class ResidentEntityInterceptor extends EmptyInterceptor {
 
 	@Autowired
 	private transient ObjectStoreHelper objectStoreHelper;
+
+	@Autowired
+	private transient DataEncryptionKeyHelper dataEncryptionKeyHelper;
 	
 	@Value("${mosip.resident.keymanager.application-name}")
 	private String appId;
@@ -62,14 +66,21 @@ public class ResidentEntityInterceptor extends EmptyInterceptor {
 
 	private <T extends ResidentTransactionEntity> void encryptDataOnSave(Serializable id, Object[] state,
 			List<String> propertyNamesList, Type[] types, T uinEntity) throws ResidentServiceException {
-		if (Objects.nonNull(uinEntity.getIndividualId())) {
-			String idividualId = Base64.encodeBase64String(uinEntity.getIndividualId().getBytes());
-			String encryptedData = objectStoreHelper.encryptDecryptData(idividualId, true, appId, refId);
-			uinEntity.setIndividualId(encryptedData);
-			int indexOfData = propertyNamesList.indexOf(INDIVIDUAL_ID);
+		int indexOfData = propertyNamesList.indexOf(INDIVIDUAL_ID);
+		String individualId = uinEntity.getIndividualId();
+		if (Objects.nonNull(individualId)) {
+			String encryptedData = encrypt(individualId);
+			uinEntity.setEncryptedIndividualId(encryptedData, data -> individualId);
 			state[indexOfData] = encryptedData;
 		}
 	}
+
+	private String encrypt(String data) {
+		if (dataEncryptionKeyHelper.isEnabled()) {
+			return dataEncryptionKeyHelper.encrypt(data);
+		}
+		return objectStoreHelper.encryptDecryptData(Base64.encodeBase64String(data.getBytes()), true, appId, refId);
+	}
 	
 	@Override
 	public boolean onLoad(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
@@ -95,7 +106,11 @@ public class ResidentEntityInterceptor extends EmptyInterceptor {
 			String[] propertyNames, Type[] types) {
 		if(entity instanceof ResidentTransactionEntity) {
 			List<String> propertyNamesList = Arrays.asList(propertyNames);
-			encryptDataOnSave(id, state, propertyNamesList, types, (ResidentTransactionEntity) entity);
+			int indexOfData = propertyNamesList.indexOf(INDIVIDUAL_ID);
+			// The stored value is still encrypted unless the individual id was set after loading.
+			if (previousState == null || !Objects.equals(state[indexOfData], previousState[indexOfData])) {
+				encryptDataOnSave(id, state, propertyNamesList, types, (ResidentTransactionEntity) entity);
+			}
 		}
 		return super.onFlushDirty(entity, id, state, previousState, propertyNames, types);
 	}
@@ -104,15 +119,18 @@ public class ResidentEntityInterceptor extends EmptyInterceptor {
 			List<String> propertyNamesList, Type[] types, T uinEntity) throws ResidentServiceException {
 		int indexOfData = propertyNamesList.indexOf(INDIVIDUAL_ID);
 		if (Objects.nonNull(state[indexOfData])) {
-			String individualId = (String) state[indexOfData];
-			String decodedIndividualId = tryDecryption(individualId, INDIVIDUAL_ID);
-			uinEntity.setIndividualId(decodedIndividualId);
-			state[indexOfData] = decodedIndividualId;
+			// Hibernate sets the loaded state on the entity after this call, so only the
+			// decryptor is set here and the value is decrypted on first use.
+			uinEntity.setEncryptedIndividualId((String) state[indexOfData],
+					individualId -> tryDecryption(individualId, INDIVIDUAL_ID));
 		}
 	}
 
 	private String tryDecryption(String data, String attributeName) {
 		try {
+			if (dataEncryptionKeyHelper.isEncryptedWithDataKey(data)) {
+				return dataEncryptionKeyHelper.decrypt(data);
+			}
 			String decryptedData = objectStoreHelper.encryptDecryptData(data, false, appId, refId);
 			String decodedIndividualId = new String(Base64.decodeBase64(decryptedData));
 			return decodedIndividualId;
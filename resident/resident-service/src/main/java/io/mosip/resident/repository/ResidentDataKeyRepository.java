@@ -0,0 +1,20 @@
+package io.mosip.resident.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.mosip.resident.entity.ResidentDataKeyEntity;
+
+/**
+ * The Interface ResidentDataKeyRepository.
+ * 
+ */
+@Transactional
+@Repository
+public interface ResidentDataKeyRepository extends JpaRepository<ResidentDataKeyEntity, String> {
+
+	Optional<ResidentDataKeyEntity> findFirstByOrderByCrDtimesDesc();
+}
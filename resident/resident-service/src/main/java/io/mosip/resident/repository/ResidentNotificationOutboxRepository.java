@@ -0,0 +1,48 @@
+package io.mosip.resident.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.mosip.resident.entity.ResidentNotificationOutboxEntity;
+
+/**
+ * The Interface ResidentNotificationOutboxRepository.
+ * 
+ */
+@Transactional
+@Repository
+public interface ResidentNotificationOutboxRepository
+		extends JpaRepository<ResidentNotificationOutboxEntity, String> {
+
+	@Query("select id from ResidentNotificationOutboxEntity where status in :statuses and nextAttemptDtimes <= :now order by nextAttemptDtimes")
+	List<String> findDueIds(@Param("statuses") List<String> statuses, @Param("now") LocalDateTime now,
+			Pageable pageable);
+
+	long countByStatusIn(List<String> statuses);
+
+	/**
+	 * Claims a due notification for a worker till claimedUntil. Returns 0 when
+	 * the notification is not due, or has been claimed by another worker.
+	 */
+	@Modifying
+	@Query("update ResidentNotificationOutboxEntity set status = :claimedStatus, nextAttemptDtimes = :claimedUntil where id = :id and status in :statuses and nextAttemptDtimes <= :now")
+	int claim(@Param("id") String id, @Param("statuses") List<String> statuses, @Param("now") LocalDateTime now,
+			@Param("claimedStatus") String claimedStatus, @Param("claimedUntil") LocalDateTime claimedUntil);
+
+	/**
+	 * Deletes the notifications in the status whose last attempt is before the
+	 * given time.
+	 */
+	@Modifying
+	@Query("delete from ResidentNotificationOutboxEntity where status = :status and nextAttemptDtimes < :before")
+	int deleteByStatusAttemptedBefore(@Param("status") String status, @Param("before") LocalDateTime before);
+
+}
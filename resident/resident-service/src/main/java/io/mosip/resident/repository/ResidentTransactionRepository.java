@@ -77,7 +77,38 @@ public interface ResidentTransactionRepository extends JpaRepository<ResidentTra
 			@Param("pageStart") int pageStart, @Param("pageFetch") int pageFetch,
 			@Param("searchText") String searchText);
 
-	public List<ResidentTransactionEntity> findByStatusCodeInAndRequestTypeCodeInOrderByCrDtimesAsc(List<String> statusCodes, List<String> requestTypes);
+	/**
+	 * Locks the next page of transactions after the given (cr_dtimes, event_id)
+	 * position that are not leased by another instance. Rows locked by another
+	 * instance are skipped, so several instances can share the work. The rows
+	 * should be leased with {@link #leaseByEventIdIn} before the calling
+	 * transaction ends.
+	 */
+	@Query(value = "SELECT * FROM resident_transaction WHERE status_code IN (:statusCodes) AND request_type_code IN (:requestTypes)"
+			+ " AND (cr_dtimes > :lastCrDtimes OR (cr_dtimes = :lastCrDtimes AND event_id > :lastEventId))"
+			+ " AND (batch_lease_dtimes IS NULL OR batch_lease_dtimes < (now() AT TIME ZONE 'UTC'))"
+			+ " ORDER BY cr_dtimes ASC, event_id ASC LIMIT :pageSize FOR UPDATE SKIP LOCKED", nativeQuery = true)
+	List<ResidentTransactionEntity> lockNextPageByStatusCodeInAndRequestTypeCodeIn(@Param("statusCodes") List<String> statusCodes,
+			@Param("requestTypes") List<String> requestTypes, @Param("lastCrDtimes") LocalDateTime lastCrDtimes,
+			@Param("lastEventId") String lastEventId, @Param("pageSize") int pageSize);
+
+	/**
+	 * Leases the transactions to the calling instance for the given time, so that
+	 * other instances skip them without the rows being kept locked.
+	 */
+	@Modifying
+	@Query(value = "UPDATE resident_transaction SET batch_lease_dtimes = (now() AT TIME ZONE 'UTC') + :leaseMillis * interval '1 millisecond'"
+			+ " WHERE event_id IN (:eventIds)", nativeQuery = true)
+	int leaseByEventIdIn(@Param("eventIds") List<String> eventIds, @Param("leaseMillis") long leaseMillis);
+
+	@Modifying
+	@Query(value = "UPDATE resident_transaction SET batch_lease_dtimes = NULL WHERE event_id IN (:eventIds)", nativeQuery = true)
+	int releaseLeaseByEventIdIn(@Param("eventIds") List<String> eventIds);
+
+	@Query(value = "SELECT * FROM resident_transaction WHERE event_id IN (:eventIds) FOR UPDATE", nativeQuery = true)
+	List<ResidentTransactionEntity> lockByEventIdIn(@Param("eventIds") List<String> eventIds);
+
+	Long countByStatusCodeInAndRequestTypeCodeIn(List<String> statusCodes, List<String> requestTypes);
 
 	Long countByTokenId(String tokenId);
 
@@ -96,6 +127,13 @@ public interface ResidentTransactionRepository extends JpaRepository<ResidentTra
 	 * AuthTransaction entries only will be expected here. This wouldn't fetch the otp Requested performed in resident service.
 	 */
 	Integer findByrefIdandauthtype(@Param("hashrefid") String hashrefid);
+
+	/**
+	 * Same as findByrefIdandauthtype for several ref ids in one query. Returns
+	 * [refId, count] rows, ref ids without any transaction are left out.
+	 */
+	@Query(value = "SELECT refId, COUNT(*) from ResidentTransactionEntity where refId IN (:hashrefids) AND authTypeCode <> 'OTP_REQUESTED' GROUP BY refId")
+	List<Object[]> countByRefIdsAndAuthType(@Param("hashrefids") List<String> hashrefids);
 	
 	@Modifying
     @Transactional
@@ -156,4 +194,19 @@ public interface ResidentTransactionRepository extends JpaRepository<ResidentTra
 			String tokenId, List<String> requestTypeCodes, String onlineVerificationPartnerId, Pageable pageable);
 
 	Page<ResidentTransactionEntity> findByTokenIdAndStatusCodeInAndOlvPartnerIdIsNullOrOlvPartnerId(String tokenId, List<String> statusCodes, String onlineVerificationPartnerId, Pageable pageable);
+
+	/**
+	 * Creates the missing monthly partitions up to monthsAhead months after the
+	 * current month. See resident_transaction_partition.sql.
+	 */
+	@Query(value = "SELECT resident.create_resident_transaction_partitions(CAST(now() AS date), :monthsAhead)", nativeQuery = true)
+	Integer createMonthlyPartitions(@Param("monthsAhead") int monthsAhead);
+
+	/**
+	 * Detaches the monthly partitions older than retentionMonths and archives or
+	 * drops them. See resident_transaction_partition.sql.
+	 */
+	@Query(value = "SELECT resident.archive_resident_transaction_partitions(:retentionMonths, :dropArchived)", nativeQuery = true)
+	Integer archiveMonthlyPartitions(@Param("retentionMonths") int retentionMonths,
+			@Param("dropArchived") boolean dropArchived);
 }
@@ -5,17 +5,19 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.env.Environment;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
@@ -28,11 +30,16 @@ import io.mosip.kernel.core.http.RequestWrapper;
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.kernel.core.templatemanager.spi.TemplateManager;
+import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.resident.batch.NotificationOutboxJob;
+import io.mosip.resident.batch.NotificationQueuedEvent;
 import io.mosip.resident.config.LoggerConfiguration;
 import io.mosip.resident.constant.ApiName;
 import io.mosip.resident.constant.LoggerFileConstant;
+import io.mosip.resident.constant.NotificationOutboxStatus;
 import io.mosip.resident.constant.NotificationTemplateCode;
 import io.mosip.resident.constant.RequestType;
+import io.mosip.resident.constant.ResidentConstants;
 import io.mosip.resident.constant.ResidentErrorCode;
 import io.mosip.resident.constant.TemplateType;
 import io.mosip.resident.constant.TemplateVariablesConstants;
@@ -41,11 +48,12 @@ import io.mosip.resident.dto.NotificationRequestDtoV2;
 import io.mosip.resident.dto.NotificationResponseDTO;
 import io.mosip.resident.dto.NotificationTemplateVariableDTO;
 import io.mosip.resident.dto.SMSRequestDTO;
-import io.mosip.resident.dto.TemplateDto;
-import io.mosip.resident.dto.TemplateResponseDto;
+import io.mosip.resident.entity.ResidentNotificationOutboxEntity;
 import io.mosip.resident.exception.ApisResourceAccessException;
 import io.mosip.resident.exception.ResidentServiceCheckedException;
 import io.mosip.resident.exception.ResidentServiceException;
+import io.mosip.resident.helper.DataEncryptionKeyHelper;
+import io.mosip.resident.repository.ResidentNotificationOutboxRepository;
 import io.mosip.resident.util.AuditUtil;
 import io.mosip.resident.util.EventEnum;
 import io.mosip.resident.util.JsonUtil;
@@ -81,6 +89,9 @@ public class NotificationService {
 	@Autowired
 	private ResidentServiceRestClient restClient;
 
+	@Autowired
+	private ProxyMasterdataService proxyMasterdataService;
+
 	@Autowired
 	private Utility utility;
 	
@@ -96,6 +107,23 @@ public class NotificationService {
 	@Autowired
 	private TemplateUtil templateUtil;
 
+	@Autowired
+	private ResidentNotificationOutboxRepository outboxRepository;
+
+	@Autowired
+	private DataEncryptionKeyHelper dataEncryptionKeyHelper;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	/**
+	 * Saves the notifications in the outbox to be sent by the
+	 * {@link NotificationOutboxJob}, instead of sending them in the request.
+	 */
+	@Value("${" + ResidentConstants.NOTIFICATION_OUTBOX_ENABLED + ":"
+			+ ResidentConstants.NOTIFICATION_OUTBOX_ENABLED_DEFAULT + "}")
+	private boolean outboxEnabled;
+
 	private static final String LINE_SEPARATOR = new  StringBuilder().append(LINE_BREAK).append(LINE_BREAK).toString();
 	private static final String EMAIL = "_EMAIL";
 	private static final String SMS = "_SMS";
@@ -217,49 +245,21 @@ public class NotificationService {
 	private String getTemplate(String langCode, String templatetypecode) throws ResidentServiceCheckedException {
 		logger.debug(LoggerFileConstant.APPLICATIONID.toString(), TEMPLATE_CODE, templatetypecode,
 				"NotificationService::getTemplate()::entry");
-		List<String> pathSegments = new ArrayList<>();
-		pathSegments.add(langCode);
-		pathSegments.add(templatetypecode);
 		try {
-			ResponseWrapper<TemplateResponseDto> resp = (ResponseWrapper<TemplateResponseDto>) restClient.getApi(
-					ApiName.TEMPLATES, pathSegments, "", null, ResponseWrapper.class);
-			if (resp == null || resp.getErrors() != null && !resp.getErrors().isEmpty()) {
-				audit.setAuditRequestDto(EventEnum.TEMPLATE_EXCEPTION);
-				throw new ResidentServiceException(ResidentErrorCode.TEMPLATE_EXCEPTION.getErrorCode(),
-						ResidentErrorCode.TEMPLATE_EXCEPTION.getErrorMessage()
-								+ (resp != null ? resp.getErrors().get(0) : ""));
-			}
-			TemplateResponseDto templateResponse = JsonUtil.readValue(JsonUtil.writeValueAsString(resp.getResponse()),
-					TemplateResponseDto.class);
-			logger.info(LoggerFileConstant.APPLICATIONID.toString(), TEMPLATE_CODE, templatetypecode,
-					"NotificationService::getTemplate()::getTemplateResponse::" + JsonUtil.writeValueAsString(resp));
-			List<TemplateDto> response = templateResponse.getTemplates();
+			ResponseWrapper<?> proxyResponseWrapper = proxyMasterdataService
+					.getAllTemplateBylangCodeAndTemplateTypeCode(langCode, templatetypecode);
+			Map<String, String> templateResponse = (Map<String, String>) proxyResponseWrapper.getResponse();
 			logger.debug(LoggerFileConstant.APPLICATIONID.toString(), TEMPLATE_CODE, templatetypecode,
 					"NotificationService::getTemplate()::exit");
-			return response.get(0).getFileText().replaceAll("(^\")|(\"$)", "");
-		} catch (IOException e) {
-			audit.setAuditRequestDto(EventEnum.TOKEN_GENERATION_FAILED);
-			throw new ResidentServiceCheckedException(ResidentErrorCode.TOKEN_GENERATION_FAILED.getErrorCode(),
-					ResidentErrorCode.TOKEN_GENERATION_FAILED.getErrorMessage(), e);
-		} catch (ApisResourceAccessException e) {
-			if (e.getCause() instanceof HttpClientErrorException) {
-				HttpClientErrorException httpClientException = (HttpClientErrorException) e.getCause();
-				throw new ResidentServiceCheckedException(
-						ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorCode(),
-						httpClientException.getResponseBodyAsString());
-
-			} else if (e.getCause() instanceof HttpServerErrorException) {
-				HttpServerErrorException httpServerException = (HttpServerErrorException) e.getCause();
-				throw new ResidentServiceCheckedException(
-						ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorCode(),
-						httpServerException.getResponseBodyAsString());
-			} else {
-				throw new ResidentServiceCheckedException(
-						ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorCode(),
-						ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorMessage() + e.getMessage(), e);
+			return templateResponse.get(ResidentConstants.FILE_TEXT).replaceAll("(^\")|(\"$)", "");
+		} catch (ResidentServiceCheckedException e) {
+			if (ResidentErrorCode.TEMPLATE_EXCEPTION.getErrorCode().equals(e.getErrorCode())) {
+				audit.setAuditRequestDto(EventEnum.TEMPLATE_EXCEPTION);
+				throw new ResidentServiceException(ResidentErrorCode.TEMPLATE_EXCEPTION.getErrorCode(),
+						ResidentErrorCode.TEMPLATE_EXCEPTION.getErrorMessage(), e);
 			}
+			throw e;
 		}
-
 	}
 
 	private String templateMerge(String fileText, Map<String, Object> mailingAttributes)
@@ -329,6 +329,21 @@ public class NotificationService {
 		SMSRequestDTO smsRequestDTO = new SMSRequestDTO();
 		smsRequestDTO.setMessage(mergedTemplate);
 		smsRequestDTO.setNumber(phone);
+		if (outboxEnabled) {
+			addToOutbox(NotificationOutboxJob.SMS_CHANNEL, smsRequestDTO);
+			logger.debug(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), " ",
+					"NotificationService::sendSMSNotification()::exit");
+			return true;
+		}
+		return sendSms(smsRequestDTO);
+	}
+
+	/**
+	 * Posts the SMS to the notifier.
+	 *
+	 * @return true if the notifier accepted the SMS
+	 */
+	public boolean sendSms(SMSRequestDTO smsRequestDTO) throws ResidentServiceCheckedException {
 		RequestWrapper<SMSRequestDTO> req = new RequestWrapper<>();
 		req.setRequest(smsRequestDTO);
 		ResponseWrapper<NotificationResponseDTO> resp;
@@ -390,6 +405,29 @@ public class NotificationService {
 
 	}
 
+	/**
+	 * Saves the rendered notification in the outbox, in the transaction of the
+	 * caller if there is one, for the {@link NotificationOutboxJob} to send. The
+	 * notification is always encrypted, since it holds the contact details and
+	 * the OTP of the resident.
+	 */
+	private void addToOutbox(String channel, Object notification) throws ResidentServiceCheckedException {
+		String payload;
+		try {
+			payload = JsonUtil.writeValueAsString(notification);
+		} catch (IOException e) {
+			throw new ResidentServiceCheckedException(ResidentErrorCode.UNABLE_TO_PROCESS.getErrorCode(),
+					ResidentErrorCode.UNABLE_TO_PROCESS.getErrorMessage(), e);
+		}
+		payload = dataEncryptionKeyHelper.encrypt(payload);
+		LocalDateTime now = DateUtils.getUTCCurrentDateTime();
+		ResidentNotificationOutboxEntity outboxEntity = new ResidentNotificationOutboxEntity(
+				UUID.randomUUID().toString(), channel, payload, NotificationOutboxStatus.PENDING.name(), 0, now, null,
+				now);
+		outboxRepository.save(outboxEntity);
+		eventPublisher.publishEvent(new NotificationQueuedEvent(outboxEntity.getId()));
+	}
+
 	private boolean sendEmailNotification(Map<String, Object> mailingAttributes,
 			NotificationTemplateCode notificationTemplate, RequestType requestType, TemplateType templateType, MultipartFile[] attachment, Set<String> templateLangauges, String newEmail)
 			throws ResidentServiceCheckedException {
@@ -462,10 +500,27 @@ public class NotificationService {
 			}
 		}
 
+		params.add("mailSubject", mergedEmailSubject);
+		params.add("mailContent", mergedTemplate);
+		params.add("attachments", attachment);
+		if (outboxEnabled && attachment == null) {
+			addToOutbox(NotificationOutboxJob.EMAIL_CHANNEL, params);
+			logger.debug(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), " ",
+					"NotificationService::sendEmailNotification()::exit");
+			return true;
+		}
+		return sendEmail(params);
+	}
+
+	/**
+	 * Posts the email to the notifier.
+	 *
+	 * @param params the mailTo, mailCc, mailSubject, mailContent and attachments
+	 *               parts of the email
+	 * @return true if the notifier accepted the email
+	 */
+	public boolean sendEmail(LinkedMultiValueMap<String, Object> params) throws ResidentServiceCheckedException {
 		try {
-			params.add("mailSubject", mergedEmailSubject);
-			params.add("mailContent", mergedTemplate);
-			params.add("attachments", attachment);
 			ResponseWrapper<NotificationResponseDTO> response;
 
 			response = restClient.postApi(env.getProperty(ApiName.EMAILNOTIFIER.name()), MediaType.MULTIPART_FORM_DATA, params,
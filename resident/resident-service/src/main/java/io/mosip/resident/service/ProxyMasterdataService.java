@@ -164,5 +164,10 @@ public interface ProxyMasterdataService {
 
 	public ResponseWrapper<GenderCodeResponseDTO> getGenderCodeByGenderTypeAndLangCode(String gendertype, String langCode) throws ResidentServiceCheckedException, IOException;
 
+	/**
+	 * Evicts the cached masterdata responses and templates, so that they are
+	 * loaded again from masterdata.
+	 */
+	public void evictCaches();
 	
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import org.json.simple.JSONObject;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.resident.constant.AuthTypeStatus;
@@ -63,8 +64,28 @@ public interface ResidentService {
 																		  LocalDate fromDateTime, LocalDate toDateTime, String serviceType, String sortType,
 																		  String searchColumn, String searchText, String langCode, int timeZoneOffset) throws ResidentServiceCheckedException, ApisResourceAccessException;
 
+	/**
+	 * Same as the paged service history, but when lastEventId is given the page is
+	 * fetched with keyset pagination, starting right after that event. The total
+	 * is not counted again for such a page: it covers the rows up to this page,
+	 * plus one when there is a next page.
+	 */
+	ResponseWrapper<PageDto<ServiceHistoryResponseDto>> getServiceHistory(Integer pageStart, Integer pageFetch,
+																		  LocalDate fromDateTime, LocalDate toDateTime, String serviceType, String sortType,
+																		  String searchColumn, String searchText, String langCode, int timeZoneOffset, String lastEventId) throws ResidentServiceCheckedException, ApisResourceAccessException;
+
 	byte[] downloadCard(String eventId) throws ResidentServiceCheckedException;
 
+	/**
+	 * Same as downloadCard, but the card is copied from datashare to the response
+	 * while it is read instead of being loaded in memory. The datashare response
+	 * is opened and checked before returning, and closed once the card is copied.
+	 * Returns the card stream with its file name, or null when the card is not
+	 * ready to download.
+	 */
+	Tuple2<StreamingResponseBody, String> downloadCardAsStream(String eventId, int timeZoneOffset)
+			throws ResidentServiceCheckedException;
+
 	AidStatusResponseDTO getAidStatus(AidStatusRequestDTO reqDto, boolean performOtpValidation)
 			throws ResidentServiceCheckedException, ApisResourceAccessException, OtpValidationFailedException;
 
@@ -9,15 +9,12 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 
-import javax.annotation.PostConstruct;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.kernel.core.templatemanager.spi.TemplateManager;
-import io.mosip.kernel.core.templatemanager.spi.TemplateManagerBuilder;
 import io.mosip.resident.config.LoggerConfiguration;
 import io.mosip.resident.constant.RequestType;
 import io.mosip.resident.constant.ResidentConstants;
@@ -48,19 +45,8 @@ public class AcknowledgementServiceImpl implements AcknowledgementService {
     @Autowired
     private TemplateUtil templateUtil;
 
-    private static final String CLASSPATH = "classpath";
-    private static final String ENCODE_TYPE = "UTF-8";
-
-    private TemplateManager templateManager;
-
     @Autowired
-    private TemplateManagerBuilder templateManagerBuilder;
-
-    @PostConstruct
-    public void idTemplateManagerPostConstruct() {
-        templateManager = templateManagerBuilder.encodingType(ENCODE_TYPE).enableCache(false).resourceLoader(CLASSPATH)
-                .build();
-    }
+    private TemplateManager templateManager;
 
     @Autowired
     private Utility utility;
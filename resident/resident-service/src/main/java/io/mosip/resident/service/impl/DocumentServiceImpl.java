@@ -1,15 +1,34 @@
 package io.mosip.resident.service.impl;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.velocity.util.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -18,7 +37,9 @@ import io.mosip.commons.khazana.exception.ObjectStoreAdapterException;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.kernel.core.util.UUIDUtils;
 import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.constant.DocumentScanStatus;
 import io.mosip.resident.constant.LoggerFileConstant;
+import io.mosip.resident.constant.ResidentConstants;
 import io.mosip.resident.constant.ResidentErrorCode;
 import io.mosip.resident.dto.DocumentDTO;
 import io.mosip.resident.dto.DocumentRequestDTO;
@@ -27,7 +48,11 @@ import io.mosip.resident.dto.ResponseDTO;
 import io.mosip.resident.exception.ResidentServiceCheckedException;
 import io.mosip.resident.exception.ResidentServiceException;
 import io.mosip.resident.helper.ObjectStoreHelper;
+import io.mosip.resident.helper.VirusScanHelper;
 import io.mosip.resident.service.DocumentService;
+import io.mosip.resident.util.BoundedCache;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 /**
  * It's a service class that uploads a document to the object store and returns
@@ -44,6 +69,9 @@ public class DocumentServiceImpl implements DocumentService {
 	private static final String DOCUMENT_DELETION_SUCCESS_MESSAGE = "Document deleted successfully";
 	private static final String FAILURE = "FAILURE";
 	private static final String DOCUMENT_DELETION_FAILURE_MESSAGE = "Document deletion failed";
+	private static final String CONTENT_LENGTH = "content-length";
+	private static final String SCAN_STATUS = "scanstatus";
+	private static final String UPLOAD_ID = "uploadid";
 
 	@Autowired
 	private ObjectStoreHelper objectStoreHelper;
@@ -51,6 +79,50 @@ public class DocumentServiceImpl implements DocumentService {
 	@Autowired
 	private Environment environment;
 
+	@Autowired
+	private VirusScanHelper virusScanHelper;
+
+	@Value("${" + ResidentConstants.DOCUMENT_FETCH_THREAD_COUNT + ":"
+			+ ResidentConstants.DOCUMENT_FETCH_THREAD_COUNT_DEFAULT + "}")
+	private int fetchThreadCount;
+
+	@Value("${" + ResidentConstants.DOCUMENT_METADATA_CACHE_TTL + ":"
+			+ ResidentConstants.DOCUMENT_METADATA_CACHE_TTL_DEFAULT + "}")
+	private long metadataCacheTtlMillis;
+
+	@Value("${" + ResidentConstants.DOCUMENT_METADATA_CACHE_MAX_SIZE + ":"
+			+ ResidentConstants.DOCUMENT_METADATA_CACHE_MAX_SIZE_DEFAULT + "}")
+	private int metadataCacheMaxSize;
+
+	@Value("${" + ResidentConstants.DOCUMENT_MAX_COUNT + ":" + ResidentConstants.DOCUMENT_MAX_COUNT_DEFAULT + "}")
+	private int maxDocumentCount;
+
+	@Value("${" + ResidentConstants.DOCUMENT_MAX_TOTAL_SIZE + ":" + ResidentConstants.DOCUMENT_MAX_TOTAL_SIZE_DEFAULT
+			+ "}")
+	private long maxDocumentTotalSize;
+
+	/**
+	 * The object metadata of a transaction by object name, with the last modified
+	 * time of the object it was read for. An object whose last modified time has
+	 * changed is read again. Null when the cache is disabled.
+	 */
+	private BoundedCache<String, Map<String, Tuple2<Date, Map<String, Object>>>> metadataCache;
+
+	private ExecutorService fetchExecutor;
+
+	@PostConstruct
+	public void init() {
+		fetchExecutor = Executors.newFixedThreadPool(Math.max(fetchThreadCount, 1));
+		if (metadataCacheTtlMillis > 0) {
+			metadataCache = new BoundedCache<>(metadataCacheMaxSize, metadataCacheTtlMillis);
+		}
+	}
+
+	@PreDestroy
+	public void destroy() {
+		fetchExecutor.shutdown();
+	}
+
 	/**
 	 * It uploads a file to the object store
 	 * 
@@ -65,10 +137,39 @@ public class DocumentServiceImpl implements DocumentService {
 		try {
 			String docId = UUIDUtils.getUUID(UUIDUtils.NAMESPACE_OID, transactionId + request.getDocCatCode()).toString();
 			String objectNameWithPath = transactionId + "/" + docId;
-			Map<String, Object> metadata = Map.of("doccatcode", request.getDocCatCode(), "doctypcode",
+			checkUploadLimit(transactionId, docId, file.getSize());
+			String uploadId = UUID.randomUUID().toString();
+			Map<String, Object> metadata = new HashMap<>(Map.of("doccatcode", request.getDocCatCode(), "doctypcode",
 					request.getDocTypCode(), "langcode", request.getLangCode(), "docname", file.getOriginalFilename(),
-					"docid", docId,"referenceid",request.getReferenceId(), "content-length", file.getSize());
-			objectStoreHelper.putObject(objectNameWithPath, file.getInputStream(), metadata);
+					"docid", docId,"referenceid",request.getReferenceId(), CONTENT_LENGTH, file.getSize(),
+					UPLOAD_ID, uploadId));
+			File quarantineFile = null;
+			if (virusScanHelper.isAsyncScanEnabled()) {
+				quarantineFile = virusScanHelper.quarantine(file, uploadId + "/" + objectNameWithPath);
+				metadata.put(SCAN_STATUS, DocumentScanStatus.PENDING.name());
+			} else {
+				metadata.put(SCAN_STATUS, virusScanHelper.getSynchronousScanStatus().name());
+			}
+			try (InputStream data = quarantineFile == null ? file.getInputStream()
+					: Files.newInputStream(quarantineFile.toPath())) {
+				objectStoreHelper.putObject(objectNameWithPath, data, metadata);
+			} catch (IOException | RuntimeException e) {
+				if (quarantineFile != null) {
+					virusScanHelper.deleteQuarantineFile(quarantineFile);
+				}
+				throw e;
+			}
+			evictCachedMetadata(transactionId);
+			if (quarantineFile != null) {
+				try {
+					virusScanHelper.scanAsync(quarantineFile,
+							scanStatus -> updateScanStatus(transactionId, objectNameWithPath, uploadId, scanStatus));
+				} catch (ResidentServiceException e) {
+					objectStoreHelper.deleteObject(objectNameWithPath);
+					evictCachedMetadata(transactionId);
+					throw e;
+				}
+			}
 			DocumentResponseDTO response = new DocumentResponseDTO();
 			response.setTransactionId(transactionId);
 			response.setDocId(docId);
@@ -76,6 +177,7 @@ public class DocumentServiceImpl implements DocumentService {
 			response.setDocCatCode(request.getDocCatCode());
 			response.setDocTypCode(request.getDocTypCode());
 			response.setDocFileFormat(StringUtils.split(file.getOriginalFilename(), "\\.")[1]);
+			response.setScanStatus((String) metadata.get(SCAN_STATUS));
 			return response;
 		}
 		catch (IOException e) {
@@ -86,6 +188,44 @@ public class DocumentServiceImpl implements DocumentService {
 		}
 	}
 
+	/**
+	 * Resumes the virus scans of the documents uploaded before a restart that were
+	 * not scanned yet, so that they do not stay pending.
+	 */
+	@Scheduled(initialDelayString = "${" + ResidentConstants.DOCUMENT_VIRUS_SCAN_RESUME_INITIAL_DELAY + ":"
+			+ ResidentConstants.DOCUMENT_VIRUS_SCAN_RESUME_INITIAL_DELAY_DEFAULT + "}", fixedDelayString = "${"
+					+ ResidentConstants.DOCUMENT_VIRUS_SCAN_RESUME_INTERVAL + ":"
+					+ ResidentConstants.DOCUMENT_VIRUS_SCAN_RESUME_INTERVAL_DEFAULT + "}")
+	public void resumePendingScans() {
+		virusScanHelper.resumePendingScans(documentRef -> {
+			String uploadId = documentRef.substring(0, documentRef.indexOf('/'));
+			String objectNameWithPath = documentRef.substring(uploadId.length() + 1);
+			String transactionId = objectNameWithPath.substring(0, objectNameWithPath.lastIndexOf('/'));
+			return scanStatus -> updateScanStatus(transactionId, objectNameWithPath, uploadId, scanStatus);
+		});
+	}
+
+	/**
+	 * Stores the scan status of an uploaded document, unless the document has been
+	 * uploaded again or deleted since.
+	 */
+	private void updateScanStatus(String transactionId, String objectNameWithPath, String uploadId,
+			DocumentScanStatus scanStatus) {
+		Map<String, Object> currentMetadata = objectStoreHelper.getMetadata(objectNameWithPath);
+		if (currentMetadata == null || !Objects.equals(uploadId, currentMetadata.get(UPLOAD_ID))) {
+			return;
+		}
+		Map<String, Object> scannedMetadata = new HashMap<>(currentMetadata);
+		scannedMetadata.put(SCAN_STATUS, scanStatus.name());
+		objectStoreHelper.updateMetadata(objectNameWithPath, scannedMetadata);
+		evictCachedMetadata(transactionId);
+		if (scanStatus != DocumentScanStatus.CLEAN) {
+			logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(),
+					"Virus scan status of document " + objectNameWithPath + " is " + scanStatus);
+		}
+	}
+
 	/**
 	 * It fetches all the documents metadata from the object store
 	 * 
@@ -101,7 +241,8 @@ public class DocumentServiceImpl implements DocumentService {
 			throw new ResidentServiceCheckedException(ResidentErrorCode.NO_DOCUMENT_FOUND_FOR_TRANSACTION_ID.getErrorCode(),
 					ResidentErrorCode.NO_DOCUMENT_FOUND_FOR_TRANSACTION_ID.getErrorMessage()+transactionId);
 		}
-		return allObjects.stream().map(object -> this.fetchDocumentMetadata(transactionId, object.getObjectName()))
+		return getAllMetadata(transactionId, allObjects).values().stream()
+				.map(metadata -> toDocumentResponse(transactionId, metadata))
 				.collect(Collectors.toList());
 	}
 
@@ -143,24 +284,127 @@ public class DocumentServiceImpl implements DocumentService {
 			throw new ResidentServiceCheckedException(ResidentErrorCode.NO_DOCUMENT_FOUND_FOR_TRANSACTION_ID.getErrorCode(),
 					ResidentErrorCode.NO_DOCUMENT_FOUND_FOR_TRANSACTION_ID.getErrorMessage() + transactionId);
 		}
-		return allObjects.stream()
-				.collect(Collectors.toMap(object -> this.fetchDocumentMetadata(transactionId, object.getObjectName()),
-						object -> objectStoreHelper.getObject(transactionId + "/" + object.getObjectName())));
+		checkDocumentLimit(allObjects.size(), 0);
+		Map<String, Map<String, Object>> allMetadata = getAllMetadata(transactionId, allObjects);
+		long totalSize = allMetadata.values().stream().mapToLong(this::getContentLength).sum();
+		checkDocumentLimit(allMetadata.size(), totalSize);
+		Map<String, String> allContent = fetchInParallel(allMetadata.keySet(),
+				objectName -> objectStoreHelper.getObject(transactionId + "/" + objectName));
+		return allMetadata.entrySet().stream()
+				.collect(Collectors.toMap(entry -> toDocumentResponse(transactionId, entry.getValue()),
+						entry -> allContent.get(entry.getKey())));
 	}
 
 	/**
-	 * It fetches the metadata of a document from the object store
-	 * 
-	 * @param transactionId The transaction id of the transaction that the document
-	 *                      belongs to.
-	 * @param objectName    The name of the file that you want to download.
-	 * @return A DocumentResponseDTO object.
+	 * Returns the metadata of the objects by object name, in the listing order.
+	 * The metadata not in the cache is fetched in parallel.
 	 */
-	private DocumentResponseDTO fetchDocumentMetadata(String transactionId, String objectName) {
-		Map<String, Object> metadata = objectStoreHelper.getMetadata(transactionId + "/" + objectName);
+	private Map<String, Map<String, Object>> getAllMetadata(String transactionId, List<ObjectDto> allObjects) {
+		Map<String, Tuple2<Date, Map<String, Object>>> cachedMetadata = getCachedMetadata(transactionId);
+		List<ObjectDto> objectsToFetch = allObjects.stream()
+				.filter(object -> !isCachedMetadataValid(cachedMetadata.get(object.getObjectName()), object))
+				.collect(Collectors.toList());
+		if (!objectsToFetch.isEmpty()) {
+			Map<String, Map<String, Object>> fetchedMetadata = fetchInParallel(
+					objectsToFetch.stream().map(ObjectDto::getObjectName).collect(Collectors.toList()),
+					objectName -> objectStoreHelper.getMetadata(transactionId + "/" + objectName));
+			for (ObjectDto object : objectsToFetch) {
+				cachedMetadata.put(object.getObjectName(),
+						Tuples.of(object.getLastModified() == null ? new Date(0) : object.getLastModified(),
+								fetchedMetadata.get(object.getObjectName())));
+			}
+			if (metadataCache != null) {
+				metadataCache.put(transactionId, cachedMetadata);
+			}
+		}
+		Map<String, Map<String, Object>> allMetadata = new LinkedHashMap<>();
+		allObjects.forEach(object -> allMetadata.put(object.getObjectName(),
+				cachedMetadata.get(object.getObjectName()).getT2()));
+		return allMetadata;
+	}
+
+	private Map<String, Tuple2<Date, Map<String, Object>>> getCachedMetadata(String transactionId) {
+		Map<String, Tuple2<Date, Map<String, Object>>> cached = metadataCache == null ? null
+				: metadataCache.get(transactionId);
+		return cached == null ? new ConcurrentHashMap<>() : cached;
+	}
+
+	private void evictCachedMetadata(String transactionId) {
+		if (metadataCache != null) {
+			metadataCache.remove(transactionId);
+		}
+	}
+
+	private boolean isCachedMetadataValid(Tuple2<Date, Map<String, Object>> cached, ObjectDto object) {
+		return cached != null && object.getLastModified() != null && cached.getT1().equals(object.getLastModified());
+	}
+
+	/**
+	 * Applies the fetch to the keys on the fetch executor, and returns the results
+	 * by key. The runtime exception of a failed fetch is thrown as it is.
+	 */
+	private <T> Map<String, T> fetchInParallel(Iterable<String> keys, Function<String, T> fetch) {
+		Map<String, CompletableFuture<T>> futures = new LinkedHashMap<>();
+		keys.forEach(key -> futures.put(key, CompletableFuture.supplyAsync(() -> fetch.apply(key), fetchExecutor)));
+		Map<String, T> results = new LinkedHashMap<>();
+		try {
+			futures.forEach((key, future) -> results.put(key, future.join()));
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+		return results;
+	}
+
+	/**
+	 * Checks that the transaction stays within the document limits once the
+	 * document is uploaded. An earlier upload of the same document is replaced,
+	 * so it is not counted.
+	 */
+	private void checkUploadLimit(String transactionId, String docId, long fileSize)
+			throws ResidentServiceCheckedException {
+		if (maxDocumentCount <= 0 && maxDocumentTotalSize <= 0) {
+			return;
+		}
+		List<ObjectDto> allObjects = objectStoreHelper.getAllObjects(transactionId);
+		if (allObjects == null || allObjects.isEmpty()) {
+			checkDocumentLimit(1, fileSize);
+			return;
+		}
+		List<ObjectDto> otherObjects = allObjects.stream()
+				.filter(object -> !docId.equals(object.getObjectName()))
+				.collect(Collectors.toList());
+		checkDocumentLimit(otherObjects.size() + 1, fileSize);
+		if (maxDocumentTotalSize > 0) {
+			long totalSize = getAllMetadata(transactionId, otherObjects).values().stream()
+					.mapToLong(this::getContentLength).sum();
+			checkDocumentLimit(otherObjects.size() + 1, totalSize + fileSize);
+		}
+	}
+
+	private void checkDocumentLimit(int count, long totalSize) throws ResidentServiceCheckedException {
+		if ((maxDocumentCount > 0 && count > maxDocumentCount)
+				|| (maxDocumentTotalSize > 0 && totalSize > maxDocumentTotalSize)) {
+			throw new ResidentServiceCheckedException(ResidentErrorCode.DOCUMENT_LIMIT_EXCEEDED.getErrorCode(),
+					String.format(ResidentErrorCode.DOCUMENT_LIMIT_EXCEEDED.getErrorMessage(), count, totalSize));
+		}
+	}
+
+	private long getContentLength(Map<String, Object> metadata) {
+		Object contentLength = metadata.get(CONTENT_LENGTH);
+		try {
+			return Objects.isNull(contentLength) ? 0 : Long.parseLong(String.valueOf(contentLength));
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+
+	private DocumentResponseDTO toDocumentResponse(String transactionId, Map<String, Object> metadata) {
 		return new DocumentResponseDTO(transactionId, (String) metadata.get("docid"), (String) metadata.get("docname"),
 				(String) metadata.get("doccatcode"), (String) metadata.get("doctypcode"),
-				StringUtils.split((String) metadata.get("docname"), "\\.")[1]);
+				StringUtils.split((String) metadata.get("docname"), "\\.")[1], (String) metadata.get(SCAN_STATUS));
 	}
 
 	/**
@@ -176,6 +420,7 @@ public class DocumentServiceImpl implements DocumentService {
 		ResponseDTO response = new ResponseDTO();
 		if(documentDTO != null){
 			boolean status = objectStoreHelper.deleteObject(transactionId + "/" + documentId);
+			evictCachedMetadata(transactionId);
 			if(status) {
 				response.setStatus(SUCCESS);
 				response.setMessage(DOCUMENT_DELETION_SUCCESS_MESSAGE);
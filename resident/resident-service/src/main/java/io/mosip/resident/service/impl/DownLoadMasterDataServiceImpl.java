@@ -8,6 +8,7 @@ import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
@@ -15,13 +16,19 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.IntStream;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
@@ -30,7 +37,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.kernel.core.templatemanager.spi.TemplateManager;
-import io.mosip.kernel.core.templatemanager.spi.TemplateManagerBuilder;
 import io.mosip.resident.config.LoggerConfiguration;
 import io.mosip.resident.constant.ResidentConstants;
 import io.mosip.resident.constant.ResidentErrorCode;
@@ -52,19 +58,14 @@ import io.mosip.resident.util.Utility;
 @Component
 public class DownLoadMasterDataServiceImpl implements DownLoadMasterDataService {
 
-	private static final String CLASSPATH = "classpath";
-	private static final String ENCODE_TYPE = "UTF-8";
-	
 	@Autowired
 	Environment env;
 
 	@Autowired
 	private ProxyMasterdataService proxyMasterdataService;
 
-	private TemplateManager templateManager;
-
 	@Autowired
-	private TemplateManagerBuilder templateManagerBuilder;
+	private TemplateManager templateManager;
 
 	/** The mapper. */
 	@Autowired
@@ -73,12 +74,22 @@ public class DownLoadMasterDataServiceImpl implements DownLoadMasterDataService
 	@Autowired
 	private Utility utility;
 
+	@Value("${" + ResidentConstants.WORKING_DAYS_FETCH_THREAD_COUNT + ":"
+			+ ResidentConstants.WORKING_DAYS_FETCH_THREAD_COUNT_DEFAULT + "}")
+	private int workingDaysFetchThreadCount;
+
+	private ExecutorService workingDaysExecutor;
+
 	private static final Logger logger = LoggerConfiguration.logConfig(ProxyMasterdataServiceImpl.class);
 
 	@PostConstruct
-	public void idTemplateManagerPostConstruct() {
-		templateManager = templateManagerBuilder.encodingType(ENCODE_TYPE).enableCache(false).resourceLoader(CLASSPATH)
-				.build();
+	public void init() {
+		workingDaysExecutor = Executors.newFixedThreadPool(Math.max(workingDaysFetchThreadCount, 1));
+	}
+
+	@PreDestroy
+	public void destroy() {
+		workingDaysExecutor.shutdown();
 	}
 
 	/**
@@ -102,9 +113,13 @@ public class DownLoadMasterDataServiceImpl implements DownLoadMasterDataService
 					RegistrationCenterResponseDto.class);
 			List<RegistrationCenterDto> regCenterIntialList = registrationCentersDtls.getRegistrationCenters();
 			if (regCenterIntialList != null && !regCenterIntialList.isEmpty()) {
+				Map<List<String>, List<WorkingDaysDto>> regCenterWorkingDays = getRegCenterWorkingDays(
+						regCenterIntialList);
 				IntStream.range(0, regCenterIntialList.size()).forEach(i -> {
+					RegistrationCenterDto regCenterDto = regCenterIntialList.get(i);
 					try {
-						addRegistrationCenterDtls(i, regCenterIntialList.get(i));
+						addRegistrationCenterDtls(i, regCenterDto,
+								regCenterWorkingDays.get(getWorkingDaysKey(regCenterDto)));
 					} catch (Exception e) {
 						throw new ResidentServiceException(ResidentErrorCode.UNABLE_TO_PROCESS, e);
 					}
@@ -160,15 +175,13 @@ public class DownLoadMasterDataServiceImpl implements DownLoadMasterDataService
 	/**
 	 * update the registration center details
 	 */
-	private void addRegistrationCenterDtls(int index, RegistrationCenterDto regCenterDto)
-			throws ResidentServiceCheckedException, Exception {
+	private void addRegistrationCenterDtls(int index, RegistrationCenterDto regCenterDto,
+			List<WorkingDaysDto> workingDaysList) throws ResidentServiceCheckedException, Exception {
 		String workingHours = "";
 		String fullAddress = getFullAddress(regCenterDto.getAddressLine1(), regCenterDto.getAddressLine2(),
 				regCenterDto.getAddressLine3());
 		regCenterDto.setSerialNumber(index + 1);
 		regCenterDto.setFullAddress(fullAddress);
-		List<WorkingDaysDto> workingDaysList = getRegCenterWorkingDays(regCenterDto.getId(),
-				regCenterDto.getLangCode());
 		workingHours = workingDaysList.get(0).getName() + "-" + workingDaysList.get(1).getName() + "|"
 				+ getTime(regCenterDto.getCenterStartTime()) + "-" + getTime(regCenterDto.getCenterEndTime());
 		regCenterDto.setWorkingHours(workingHours);
@@ -188,6 +201,41 @@ public class DownLoadMasterDataServiceImpl implements DownLoadMasterDataService
 		return fullAddress.toString();
 	}
 
+	/**
+	 * return the starting and ending working day details of the registration
+	 * centers by center id and language code. The working days of each center are
+	 * fetched once, and the centers are fetched in parallel on the working days
+	 * pool, so that the PDF waits for the slowest center instead of all of them.
+	 * 
+	 * @param regCenters
+	 * @return
+	 */
+	private Map<List<String>, List<WorkingDaysDto>> getRegCenterWorkingDays(List<RegistrationCenterDto> regCenters) {
+		Map<List<String>, CompletableFuture<List<WorkingDaysDto>>> futures = new HashMap<>();
+		regCenters.forEach(regCenterDto -> futures.computeIfAbsent(getWorkingDaysKey(regCenterDto),
+				key -> CompletableFuture.supplyAsync(() -> {
+					try {
+						return getRegCenterWorkingDays(key.get(0), key.get(1));
+					} catch (Exception e) {
+						throw new ResidentServiceException(ResidentErrorCode.UNABLE_TO_PROCESS, e);
+					}
+				}, workingDaysExecutor)));
+		Map<List<String>, List<WorkingDaysDto>> regCenterWorkingDays = new HashMap<>();
+		try {
+			futures.forEach((key, future) -> regCenterWorkingDays.put(key, future.join()));
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+		return regCenterWorkingDays;
+	}
+
+	private List<String> getWorkingDaysKey(RegistrationCenterDto regCenterDto) {
+		return Arrays.asList(regCenterDto.getId(), regCenterDto.getLangCode());
+	}
+
 	/**
 	 * return the starting and ending working day details
 	 * 
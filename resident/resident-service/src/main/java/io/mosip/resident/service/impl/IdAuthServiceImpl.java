@@ -19,6 +19,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -75,6 +76,7 @@ import io.mosip.resident.service.IdAuthService;
 import io.mosip.resident.util.ResidentServiceRestClient;
 import io.mosip.resident.validator.RequestValidator;
 import reactor.util.function.Tuple2;
+import reactor.util.function.Tuple3;
 import reactor.util.function.Tuples;
 
 @Component
@@ -82,6 +84,8 @@ public class IdAuthServiceImpl implements IdAuthService {
 
 	private static final Logger logger = LoggerConfiguration.logConfig(IdAuthServiceImpl.class);
 
+	private static final String IDA_INTERNAL_REFERENCE_ID = "INTERNAL";
+
 	@Value("${auth.internal.id}")
 	private String internalAuthId;
 
@@ -96,6 +100,17 @@ public class IdAuthServiceImpl implements IdAuthService {
 
 	@Value("${mosip.ida.env:Staging}")
 	private String idaEnv;
+
+	@Value("${" + ResidentConstants.IDA_CERTIFICATE_CACHE_TTL + ":"
+			+ ResidentConstants.IDA_CERTIFICATE_CACHE_TTL_DEFAULT + "}")
+	private long idaCertificateCacheTtlMillis;
+
+	@Value("${" + ResidentConstants.IDA_KEY_MISMATCH_ERROR_CODES + ":"
+			+ ResidentConstants.IDA_KEY_MISMATCH_ERROR_CODES_DEFAULT + "}")
+	private String idaKeyMismatchErrorCodes;
+
+	/** Expiry time, public key and thumbprint of the IDA certificate by reference id. */
+	private final Map<String, Tuple3<Long, PublicKey, String>> idaCertificateCache = new ConcurrentHashMap<>();
 	
 	@Autowired
 	ObjectMapper mapper;
@@ -253,6 +268,19 @@ public class IdAuthServiceImpl implements IdAuthService {
 			IOException, JsonProcessingException, CertificateEncodingException {
 		logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.USERID.toString(), individualId,
 				"IdAuthServiceImpl::internelOtpAuth()::entry");
+		AuthResponseDTO response = postInternalOtpAuth(transactionId, individualId, otp);
+		if (isIdaKeyMismatch(response)) {
+			logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.USERID.toString(), individualId,
+					"IdAuthServiceImpl::internelOtpAuth()::IDA key mismatch, refreshing the IDA certificate");
+			idaCertificateCache.remove(IDA_INTERNAL_REFERENCE_ID);
+			response = postInternalOtpAuth(transactionId, individualId, otp);
+		}
+		return response;
+	}
+
+	private AuthResponseDTO postInternalOtpAuth(String transactionId, String individualId, String otp)
+			throws ApisResourceAccessException, NoSuchAlgorithmException, IOException, JsonProcessingException,
+			CertificateEncodingException {
 		String dateTime = DateUtils.formatToISOString(DateUtils.getUTCCurrentDateTime());
 		AuthRequestDTO authRequestDTO = new AuthRequestDTO();
 		authRequestDTO.setId(internalAuthId);
@@ -282,7 +310,7 @@ public class IdAuthServiceImpl implements IdAuthService {
 		// rbase64 encoded for request
 		authRequestDTO.setRequest(CryptoUtil.encodeToURLSafeBase64(encryptedIdentityBlock));
 		// encrypted with MOSIP public key and encoded session key
-		Tuple2<byte[], String> encryptionResult = encryptRSA(secretKey.getEncoded(), "INTERNAL");
+		Tuple2<byte[], String> encryptionResult = encryptRSA(secretKey.getEncoded(), IDA_INTERNAL_REFERENCE_ID);
 		byte[] encryptedSessionKeyByte = encryptionResult.getT1();
 		authRequestDTO.setRequestSessionKey(CryptoUtil.encodeToURLSafeBase64(encryptedSessionKeyByte));
 
@@ -316,10 +344,45 @@ public class IdAuthServiceImpl implements IdAuthService {
 
 	}
 
-	private Tuple2<byte[], String> encryptRSA(final byte[] sessionKey, String refId) throws ApisResourceAccessException,
-			InvalidKeySpecException, java.security.NoSuchAlgorithmException, IOException, JsonProcessingException, CertificateEncodingException {
+	private boolean isIdaKeyMismatch(AuthResponseDTO response) {
+		if (response == null || response.getErrors() == null || idaKeyMismatchErrorCodes == null) {
+			return false;
+		}
+		List<String> keyMismatchErrorCodes = List.of(idaKeyMismatchErrorCodes.split(ResidentConstants.COMMA));
+		return response.getErrors().stream().anyMatch(error -> keyMismatchErrorCodes.contains(error.getErrorCode()));
+	}
 
+	private Tuple2<byte[], String> encryptRSA(final byte[] sessionKey, String refId)
+			throws ApisResourceAccessException, CertificateEncodingException {
 		// encrypt AES Session Key using RSA public key
+		Tuple3<Long, PublicKey, String> idaCertificate = getIdaCertificate(refId);
+		byte[] asymmetricEncrypt = encryptor.asymmetricEncrypt(idaCertificate.getT2(), sessionKey);
+		if(asymmetricEncrypt == null) {
+			asymmetricEncrypt = new byte[0];
+		}
+		return Tuples.of(asymmetricEncrypt, idaCertificate.getT3());
+	}
+
+	/**
+	 * Returns the public key and the thumbprint of the IDA certificate, which are
+	 * cached till the certificate expires or the cache TTL is over, whichever is
+	 * earlier.
+	 */
+	private Tuple3<Long, PublicKey, String> getIdaCertificate(String refId)
+			throws ApisResourceAccessException, CertificateEncodingException {
+		Tuple3<Long, PublicKey, String> idaCertificate = idaCertificateCache.get(refId);
+		if (idaCertificate != null && idaCertificate.getT1() > System.currentTimeMillis()) {
+			return idaCertificate;
+		}
+		idaCertificate = fetchIdaCertificate(refId);
+		if (idaCertificate.getT1() > System.currentTimeMillis()) {
+			idaCertificateCache.put(refId, idaCertificate);
+		}
+		return idaCertificate;
+	}
+
+	private Tuple3<Long, PublicKey, String> fetchIdaCertificate(String refId)
+			throws ApisResourceAccessException, CertificateEncodingException {
 		ResponseWrapper<?> responseWrapper = null;
 		PublicKeyResponseDto publicKeyResponsedto;
 
@@ -340,20 +403,12 @@ public class IdAuthServiceImpl implements IdAuthService {
 							+ ExceptionUtils.getStackTrace(e));
 			throw new ApisResourceAccessException("Could not fetch public key from kernel keymanager", e);
 		}
-		publicKeyResponsedto = mapper.readValue(mapper.writeValueAsString(responseWrapper.getResponse()),
-				PublicKeyResponseDto.class);
+		publicKeyResponsedto = mapper.convertValue(responseWrapper.getResponse(), PublicKeyResponseDto.class);
 		X509Certificate req509 = (X509Certificate) convertToCertificate(publicKeyResponsedto.getCertificate());
 		String thumbprint = CryptoUtil.encodeToURLSafeBase64(getCertificateThumbprint(req509));
-
-		PublicKey publicKey = req509.getPublicKey();
-		if (thumbprint == null) {
-			thumbprint = "";
-		}
-		byte[] asymmetricEncrypt = encryptor.asymmetricEncrypt(publicKey, sessionKey);
-		if(asymmetricEncrypt == null) {
-			asymmetricEncrypt = new byte[0];
-		}
-		return Tuples.of(asymmetricEncrypt, thumbprint);
+		long expiryMillis = Math.min(req509.getNotAfter().getTime(),
+				System.currentTimeMillis() + idaCertificateCacheTtlMillis);
+		return Tuples.of(expiryMillis, req509.getPublicKey(), thumbprint);
 	}
 	
 	@Override
@@ -2,7 +2,11 @@ package io.mosip.resident.service.impl;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.AbstractMap.SimpleEntry;
@@ -20,6 +24,13 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javax.annotation.PostConstruct;
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.json.simple.JSONObject;
@@ -31,6 +42,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -45,6 +58,7 @@ import io.mosip.idrepository.core.util.TokenIDGenerator;
 import io.mosip.kernel.authcodeflowproxy.api.validator.ValidateTokenUtil;
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.util.HMACUtils2;
 import io.mosip.kernel.openid.bridge.api.constants.AuthErrorCode;
 import io.mosip.kernel.openid.bridge.model.AuthUserDetails;
 import io.mosip.resident.config.LoggerConfiguration;
@@ -64,11 +78,15 @@ import io.mosip.resident.helper.ObjectStoreHelper;
 import io.mosip.resident.repository.ResidentSessionRepository;
 import io.mosip.resident.service.IdentityService;
 import io.mosip.resident.service.ResidentVidService;
+import io.mosip.resident.util.BoundedCache;
 import io.mosip.resident.util.JsonUtil;
 import io.mosip.resident.util.ResidentServiceRestClient;
 import io.mosip.resident.util.Utilities;
 import io.mosip.resident.util.Utility;
 import io.mosip.resident.validator.RequestValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 /**
  * Resident identity service implementation class.
@@ -99,6 +117,13 @@ public class IdentityServiceImpl implements IdentityService {
 	private static final String VID = "VID";
 	private static final String AID = "AID";
 	private static final String  PERPETUAL_VID = "perpetualVID";
+	private static final String USER_INFO_REQUEST_ATTRIBUTE = "residentUserInfo_";
+	private static final String USER_INFO_CACHE_METRIC = "resident.userinfo.cache";
+	private static final String INDIVIDUAL_ID_CACHE_METRIC = "resident.individualid.cache";
+	private static final String ID_CACHE_CIPHER = "AES/GCM/NoPadding";
+	private static final String ID_CACHE_HASH_ALGORITHM = "HmacSHA256";
+	private static final int ID_CACHE_IV_SIZE = 12;
+	private static final int ID_CACHE_TAG_LENGTH = 128;
 
 	@Autowired
 	@Qualifier("restClientWithSelfTOkenRestTemplate")
@@ -158,8 +183,67 @@ public class IdentityServiceImpl implements IdentityService {
 	
 	@Autowired
 	private ResidentSessionRepository  residentSessionRepo;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	/**
+	 * Time to keep the userinfo of an access token across requests. Zero keeps it
+	 * only for the current request.
+	 */
+	@Value("${" + ResidentConstants.USER_INFO_CACHE_TTL_MILLISECS + ":0}")
+	private long userInfoCacheTtlMillis;
+
+	@Value("${" + ResidentConstants.USER_INFO_CACHE_MAX_SIZE + ":" + ResidentConstants.USER_INFO_CACHE_MAX_SIZE_DEFAULT
+			+ "}")
+	private int userInfoCacheMaxSize;
+
+	/** Userinfo keyed by the access token hash, null when the TTL is zero. */
+	private BoundedCache<String, Map<String, Object>> userInfoCache;
+
+	/**
+	 * Time to keep the UIN and IDA token of a VID, so that the OTP, event and
+	 * notification steps of a request resolve the VID once. Zero resolves it on
+	 * every call.
+	 */
+	@Value("${" + ResidentConstants.INDIVIDUAL_ID_CACHE_TTL + ":" + ResidentConstants.INDIVIDUAL_ID_CACHE_TTL_DEFAULT
+			+ "}")
+	private long idCacheTtlMillis;
+
+	@Value("${" + ResidentConstants.INDIVIDUAL_ID_CACHE_MAX_SIZE + ":"
+			+ ResidentConstants.INDIVIDUAL_ID_CACHE_MAX_SIZE_DEFAULT + "}")
+	private int idCacheMaxSize;
+
+	/**
+	 * UINs keyed by the individual id hash, with the UIN hash. The UINs are
+	 * encrypted, and the ids hashed, with {@link #idCacheKey}.
+	 */
+	private BoundedCache<String, Tuple2<String, byte[]>> uinCache;
+
+	/** IDA tokens keyed by the individual id hash, like {@link #uinCache}. */
+	private BoundedCache<String, Tuple2<String, byte[]>> idaTokenCache;
+
+	/** Key generated at startup and never stored, for the cached ids only. */
+	private SecretKey idCacheKey;
+
+	private final SecureRandom secureRandom = new SecureRandom();
 	
 	private static final Logger logger = LoggerConfiguration.logConfig(IdentityServiceImpl.class);
+
+	@PostConstruct
+	public void init() throws NoSuchAlgorithmException {
+		KeyGenerator keyGenerator = KeyGenerator.getInstance("AES");
+		keyGenerator.init(256);
+		idCacheKey = keyGenerator.generateKey();
+		if (userInfoCacheTtlMillis > 0) {
+			userInfoCache = new BoundedCache<>(userInfoCacheMaxSize, userInfoCacheTtlMillis);
+		}
+		if (idCacheTtlMillis > 0 && idCacheMaxSize > 0) {
+			uinCache = new BoundedCache<>(idCacheMaxSize, idCacheTtlMillis);
+			idaTokenCache = new BoundedCache<>(idCacheMaxSize, idCacheTtlMillis);
+			meterRegistry.gauge(INDIVIDUAL_ID_CACHE_METRIC + ".size", uinCache, BoundedCache::size);
+		}
+	}
 	
 	@Override
     public IdentityDTO getIdentity(String id) throws ResidentServiceCheckedException{
@@ -176,6 +260,9 @@ public class IdentityServiceImpl implements IdentityService {
 			 * It is assumed that in the UI schema the UIN is added.
 			 */
 			identityDTO.setUIN(getMappingValue(identity, UIN));
+			if (uinCache != null && !id.equals(identityDTO.getUIN()) && requestValidator.validateVid(id)) {
+				cacheId(uinCache, id, identityDTO.getUIN(), identityDTO.getUIN());
+			}
 			identityDTO.setEmail(getMappingValue(identity, EMAIL));
 			identityDTO.setPhone(getMappingValue(identity, PHONE));
 			String dateOfBirth = getMappingValue(identity, DATE_OF_BIRTH);
@@ -307,12 +394,11 @@ public class IdentityServiceImpl implements IdentityService {
 
 	private String getMappingValue(Map<?, ?> identity, String mappingName, String langCode)
 			throws ResidentServiceCheckedException, IOException {
-		String mappingJson = utility.getMappingJson();
-		if (mappingJson == null || mappingJson.trim().isEmpty()) {
+		JSONObject mappingJsonObject = utility.getMappingJsonObject();
+		if (mappingJsonObject == null) {
 			throw new ResidentServiceCheckedException(ResidentErrorCode.JSON_PROCESSING_EXCEPTION.getErrorCode(),
 					ResidentErrorCode.JSON_PROCESSING_EXCEPTION.getErrorMessage());
 		}
-		JSONObject mappingJsonObject = JsonUtil.readValue(mappingJson, JSONObject.class);
 		JSONObject identityMappingJsonObject = JsonUtil.getJSONObject(mappingJsonObject, IDENTITY);
 		String mappingAttributes = getMappingAttribute(identityMappingJsonObject, mappingName);
 		return Stream.of(mappingAttributes.split(MAPPING_ATTRIBUTE_SEPARATOR))
@@ -358,7 +444,12 @@ public class IdentityServiceImpl implements IdentityService {
 			if(getIndividualIdType(idvid).equalsIgnoreCase(UIN)){
 				return idvid;
 			}
-			return utilities.getUinByVid(idvid);
+			String uin = getCachedId(uinCache, idvid);
+			if (uin == null) {
+				uin = utilities.getUinByVid(idvid);
+				cacheId(uinCache, idvid, uin, uin);
+			}
+			return uin;
 		} catch (VidCreationException e) {
 			throw new ResidentServiceCheckedException(ResidentErrorCode.VID_CREATION_EXCEPTION.getErrorCode(),
 					ResidentErrorCode.VID_CREATION_EXCEPTION.getErrorMessage());
@@ -374,7 +465,97 @@ public class IdentityServiceImpl implements IdentityService {
 	
 	@Override
 	public String getIDATokenForIndividualId(String idvid) throws ResidentServiceCheckedException {
-		return getIDAToken(getUinForIndividualId(idvid));
+		String idaToken = getCachedId(idaTokenCache, idvid);
+		if (idaToken == null) {
+			String uin = getUinForIndividualId(idvid);
+			idaToken = getIDAToken(uin);
+			cacheId(idaTokenCache, idvid, uin, idaToken);
+		}
+		return idaToken;
+	}
+
+	/**
+	 * Evicts the cached UINs and IDA tokens of the VIDs of the UIN, after a VID
+	 * of the UIN is revoked.
+	 */
+	public void evictCachedIds(String uin) {
+		if (uinCache != null && uin != null) {
+			String uinHash = getIdHash(uin);
+			uinCache.removeIf(cachedId -> cachedId.getT1().equals(uinHash));
+			idaTokenCache.removeIf(cachedId -> cachedId.getT1().equals(uinHash));
+		}
+	}
+
+	/** Evicts the cached UIN and IDA token of the revoked VID. */
+	public void evictCachedId(String individualId) {
+		if (uinCache != null && individualId != null) {
+			String idHash = getIdHash(individualId);
+			uinCache.remove(idHash);
+			idaTokenCache.remove(idHash);
+		}
+	}
+
+	private String getCachedId(BoundedCache<String, Tuple2<String, byte[]>> idCache, String individualId) {
+		if (idCache == null) {
+			return null;
+		}
+		Tuple2<String, byte[]> cachedId = idCache.get(getIdHash(individualId));
+		if (cachedId == null) {
+			meterRegistry.counter(INDIVIDUAL_ID_CACHE_METRIC, "result", "miss").increment();
+			return null;
+		}
+		meterRegistry.counter(INDIVIDUAL_ID_CACHE_METRIC, "result", "hit").increment();
+		return decryptCachedId(cachedId.getT2());
+	}
+
+	private void cacheId(BoundedCache<String, Tuple2<String, byte[]>> idCache, String individualId, String uin,
+			String id) {
+		if (idCache == null || uin == null || id == null) {
+			return;
+		}
+		idCache.put(getIdHash(individualId), Tuples.of(getIdHash(uin), encryptCachedId(id)));
+	}
+
+	/**
+	 * Returns the HMAC of the id with {@link #idCacheKey}, so that the cached
+	 * hashes cannot be matched against the hashes of guessed ids.
+	 */
+	private String getIdHash(String id) {
+		try {
+			Mac mac = Mac.getInstance(ID_CACHE_HASH_ALGORITHM);
+			mac.init(idCacheKey);
+			return Base64.getEncoder().encodeToString(mac.doFinal(id.getBytes(StandardCharsets.UTF_8)));
+		} catch (GeneralSecurityException e) {
+			throw new ResidentServiceException(ResidentErrorCode.UNABLE_TO_PROCESS.getErrorCode(),
+					ResidentErrorCode.UNABLE_TO_PROCESS.getErrorMessage(), e);
+		}
+	}
+
+	private byte[] encryptCachedId(String id) {
+		try {
+			byte[] iv = new byte[ID_CACHE_IV_SIZE];
+			secureRandom.nextBytes(iv);
+			Cipher cipher = Cipher.getInstance(ID_CACHE_CIPHER);
+			cipher.init(Cipher.ENCRYPT_MODE, idCacheKey, new GCMParameterSpec(ID_CACHE_TAG_LENGTH, iv));
+			byte[] encryptedId = cipher.doFinal(id.getBytes(StandardCharsets.UTF_8));
+			return ByteBuffer.allocate(iv.length + encryptedId.length).put(iv).put(encryptedId).array();
+		} catch (GeneralSecurityException e) {
+			throw new ResidentServiceException(ResidentErrorCode.ENCRYPT_DECRYPT_ERROR.getErrorCode(),
+					ResidentErrorCode.ENCRYPT_DECRYPT_ERROR.getErrorMessage(), e);
+		}
+	}
+
+	private String decryptCachedId(byte[] ivAndEncryptedId) {
+		try {
+			Cipher cipher = Cipher.getInstance(ID_CACHE_CIPHER);
+			cipher.init(Cipher.DECRYPT_MODE, idCacheKey,
+					new GCMParameterSpec(ID_CACHE_TAG_LENGTH, ivAndEncryptedId, 0, ID_CACHE_IV_SIZE));
+			return new String(cipher.doFinal(ivAndEncryptedId, ID_CACHE_IV_SIZE,
+					ivAndEncryptedId.length - ID_CACHE_IV_SIZE), StandardCharsets.UTF_8);
+		} catch (GeneralSecurityException e) {
+			throw new ResidentServiceException(ResidentErrorCode.ENCRYPT_DECRYPT_ERROR.getErrorCode(),
+					ResidentErrorCode.ENCRYPT_DECRYPT_ERROR.getErrorMessage(), e);
+		}
 	}
 	
 	public String getIDAToken(String uin) {
@@ -420,7 +601,51 @@ public class IdentityServiceImpl implements IdentityService {
 		return String.valueOf(claimValue);
 	}
 
+	/**
+	 * Returns the userinfo of the access token, calling the userinfo endpoint only
+	 * once per request, or once per TTL when the cross request cache is enabled.
+	 */
 	private Map<String, Object> getUserInfo(String token) throws ApisResourceAccessException {
+		String tokenHash = getTokenHash(token);
+		String requestAttributeName = USER_INFO_REQUEST_ATTRIBUTE + tokenHash;
+		RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		Map<String, Object> userInfo = null;
+		if (requestAttributes != null) {
+			userInfo = getRequestUserInfo(requestAttributes, requestAttributeName);
+		}
+		if (userInfo == null && userInfoCache != null) {
+			userInfo = userInfoCache.get(tokenHash);
+		}
+		if (userInfo != null) {
+			meterRegistry.counter(USER_INFO_CACHE_METRIC, "result", "hit").increment();
+		} else {
+			meterRegistry.counter(USER_INFO_CACHE_METRIC, "result", "miss").increment();
+			userInfo = fetchUserInfo(token);
+			if (userInfoCache != null) {
+				userInfoCache.put(tokenHash, userInfo);
+			}
+		}
+		if (requestAttributes != null) {
+			requestAttributes.setAttribute(requestAttributeName, userInfo, RequestAttributes.SCOPE_REQUEST);
+		}
+		return userInfo;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> getRequestUserInfo(RequestAttributes requestAttributes, String requestAttributeName) {
+		return (Map<String, Object>) requestAttributes.getAttribute(requestAttributeName,
+				RequestAttributes.SCOPE_REQUEST);
+	}
+
+	private String getTokenHash(String token) throws ApisResourceAccessException {
+		try {
+			return HMACUtils2.digestAsPlainText(token.getBytes(StandardCharsets.UTF_8));
+		} catch (NoSuchAlgorithmException e) {
+			throw new ApisResourceAccessException("Could not hash the access token", e);
+		}
+	}
+
+	private Map<String, Object> fetchUserInfo(String token) throws ApisResourceAccessException {
 		UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(usefInfoEndpointUrl);
 		UriComponents uriComponent = builder.build(false).encode();
 
@@ -8,14 +8,21 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javax.annotation.PostConstruct;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.stereotype.Component;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.resident.config.LoggerConfiguration;
@@ -23,13 +30,16 @@ import io.mosip.resident.constant.ApiName;
 import io.mosip.resident.constant.OrderEnum;
 import io.mosip.resident.constant.ResidentConstants;
 import io.mosip.resident.constant.ResidentErrorCode;
+import io.mosip.resident.dto.CachedResponseWrapper;
 import io.mosip.resident.dto.GenderCodeResponseDTO;
 import io.mosip.resident.dto.GenderTypeListDTO;
+import io.mosip.resident.dto.TemplateDto;
 import io.mosip.resident.dto.TemplateResponseDto;
 import io.mosip.resident.exception.ApisResourceAccessException;
 import io.mosip.resident.exception.ResidentServiceCheckedException;
 import io.mosip.resident.service.ProxyMasterdataService;
 import io.mosip.resident.util.AuditUtil;
+import io.mosip.resident.util.BoundedCache;
 import io.mosip.resident.util.EventEnum;
 import io.mosip.resident.util.JsonUtil;
 import io.mosip.resident.util.ResidentServiceRestClient;
@@ -50,6 +60,10 @@ public class ProxyMasterdataServiceImpl implements ProxyMasterdataService {
 
 	private static final String DOCUMENTCATEGORIES = "documentcategories";
 
+	private static final String TEMPLATE_CACHE_METRIC = "resident.template.cache";
+
+	private static final String RESPONSE_CACHE_METRIC = "resident.masterdata.response.cache";
+
 	@Autowired
 	private ResidentServiceRestClient residentServiceRestClient;
 
@@ -59,8 +73,113 @@ public class ProxyMasterdataServiceImpl implements ProxyMasterdataService {
 	@Autowired
 	Environment env;
 
+	@Autowired
+	private ThreadPoolTaskScheduler taskScheduler;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${" + ResidentConstants.MASTERDATA_TEMPLATE_CACHE_TTL + ":"
+			+ ResidentConstants.MASTERDATA_TEMPLATE_CACHE_TTL_DEFAULT + "}")
+	private long templateCacheTtlMillis;
+
+	/** Templates by template type code, with the time they were loaded, by language code. */
+	private final Map<String, Tuple2<Long, Map<String, String>>> templateCache = new ConcurrentHashMap<>();
+
+	private final Set<String> refreshingLanguages = ConcurrentHashMap.newKeySet();
+
+	/** Time to wait before loading the templates of a language again after a failed load. */
+	@Value("${" + ResidentConstants.MASTERDATA_TEMPLATE_LOAD_RETRY_DELAY + ":"
+			+ ResidentConstants.MASTERDATA_TEMPLATE_LOAD_RETRY_DELAY_DEFAULT + "}")
+	private long templateLoadRetryDelayMillis;
+
+	/** Time of the next bulk load of templates, by the language codes whose load failed. */
+	private final Map<String, Long> templateLoadRetryTimes = new ConcurrentHashMap<>();
+
+	@Value("${" + ResidentConstants.MASTERDATA_RESPONSE_CACHE_TTL + ":"
+			+ ResidentConstants.MASTERDATA_RESPONSE_CACHE_TTL_DEFAULT + "}")
+	private long responseCacheTtlMillis;
+
+	@Value("${" + ResidentConstants.MASTERDATA_RESPONSE_CACHE_MAX_SIZE + ":"
+			+ ResidentConstants.MASTERDATA_RESPONSE_CACHE_MAX_SIZE_DEFAULT + "}")
+	private int responseCacheMaxSize;
+
+	/**
+	 * Masterdata responses by API name and parameters, with the ETag of their
+	 * payload. The cached responses are never handed out, only copies of them.
+	 * Null when the cache is disabled.
+	 */
+	private BoundedCache<List<?>, CachedResponseWrapper<?>> responseCache;
+
 	private static final Logger logger = LoggerConfiguration.logConfig(ProxyMasterdataServiceImpl.class);
 
+	@PostConstruct
+	public void init() {
+		meterRegistry.gauge(TEMPLATE_CACHE_METRIC + ".size", templateCache,
+				cache -> cache.values().stream().mapToInt(languageTemplates -> languageTemplates.getT2().size()).sum());
+		if (responseCacheTtlMillis > 0 && responseCacheMaxSize > 0) {
+			responseCache = new BoundedCache<>(responseCacheMaxSize, responseCacheTtlMillis);
+			meterRegistry.gauge(RESPONSE_CACHE_METRIC + ".size", responseCache, BoundedCache::size);
+		}
+	}
+
+	@Override
+	public void evictCaches() {
+		if (responseCache != null) {
+			responseCache.clear();
+		}
+		templateCache.clear();
+		templateLoadRetryTimes.clear();
+		logger.info("Evicted the cached masterdata responses and templates");
+	}
+
+	/**
+	 * Returns the masterdata response from the response cache till it expires, or
+	 * calls masterdata and caches the response when it has no errors. Every call
+	 * gets its own response wrapper, since the callers change the wrapper, while
+	 * the response payload and its ETag are shared.
+	 */
+	private ResponseWrapper<?> getCachedResponse(List<?> cacheKey, MasterdataCall masterdataCall)
+			throws ApisResourceAccessException {
+		if (responseCache == null) {
+			return masterdataCall.call();
+		}
+		CachedResponseWrapper<?> cachedResponse = responseCache.get(cacheKey);
+		if (cachedResponse != null) {
+			meterRegistry.counter(RESPONSE_CACHE_METRIC, "result", "hit").increment();
+			return copyResponseWrapper(cachedResponse, cachedResponse.getETag());
+		}
+		meterRegistry.counter(RESPONSE_CACHE_METRIC, "result", "miss").increment();
+		ResponseWrapper<?> responseWrapper = masterdataCall.call();
+		if (responseWrapper == null || (responseWrapper.getErrors() != null && !responseWrapper.getErrors().isEmpty())) {
+			return responseWrapper;
+		}
+		String eTag = null;
+		try {
+			eTag = CachedResponseWrapper.computeETag(responseWrapper.getResponse());
+		} catch (IOException e) {
+			logger.debug("Unable to compute the ETag of the masterdata response - " + e.getMessage());
+		}
+		cachedResponse = copyResponseWrapper(responseWrapper, eTag);
+		responseCache.put(cacheKey, cachedResponse);
+		return copyResponseWrapper(cachedResponse, eTag);
+	}
+
+	private CachedResponseWrapper<?> copyResponseWrapper(ResponseWrapper<?> responseWrapper, String eTag) {
+		CachedResponseWrapper<Object> copy = new CachedResponseWrapper<>(eTag);
+		copy.setId(responseWrapper.getId());
+		copy.setVersion(responseWrapper.getVersion());
+		copy.setResponsetime(responseWrapper.getResponsetime());
+		copy.setMetadata(responseWrapper.getMetadata());
+		copy.setResponse(responseWrapper.getResponse());
+		return copy;
+	}
+
+	@FunctionalInterface
+	private interface MasterdataCall {
+		ResponseWrapper<?> call() throws ApisResourceAccessException;
+	}
+
 	@Override
 	public ResponseWrapper<?> getValidDocumentByLangCode(String langCode) throws ResidentServiceCheckedException {
 		logger.debug("ProxyMasterdataServiceImpl::getValidDocumentByLangCode()::entry");
@@ -68,8 +187,9 @@ public class ProxyMasterdataServiceImpl implements ProxyMasterdataService {
 		Map<String, String> pathsegments = new HashMap<String, String>();
 		pathsegments.put("langCode", langCode);
 		try {
-			responseWrapper = residentServiceRestClient.getApi(ApiName.VALID_DOCUMENT_BY_LANGCODE_URL, pathsegments,
-					ResponseWrapper.class);
+			responseWrapper = getCachedResponse(List.of(ApiName.VALID_DOCUMENT_BY_LANGCODE_URL, pathsegments),
+					() -> residentServiceRestClient.getApi(ApiName.VALID_DOCUMENT_BY_LANGCODE_URL, pathsegments,
+							ResponseWrapper.class));
 
 			if (responseWrapper.getErrors() != null && !responseWrapper.getErrors().isEmpty()) {
 				logger.debug(responseWrapper.getErrors().get(0).toString());
@@ -124,8 +244,9 @@ public class ProxyMasterdataServiceImpl implements ProxyMasterdataService {
 		Map<String, String> pathsegments = new HashMap<String, String>();
 		pathsegments.put("langcode", langCode);
 		try {
-			responseWrapper = residentServiceRestClient.getApi(ApiName.LOCATION_HIERARCHY_LEVEL_BY_LANGCODE_URL,
-					pathsegments, ResponseWrapper.class);
+			responseWrapper = getCachedResponse(List.of(ApiName.LOCATION_HIERARCHY_LEVEL_BY_LANGCODE_URL, pathsegments),
+					() -> residentServiceRestClient.getApi(ApiName.LOCATION_HIERARCHY_LEVEL_BY_LANGCODE_URL,
+							pathsegments, ResponseWrapper.class));
 
 			if (responseWrapper.getErrors() != null && !responseWrapper.getErrors().isEmpty()) {
 				logger.debug(responseWrapper.getErrors().get(0).toString());
@@ -151,8 +272,10 @@ public class ProxyMasterdataServiceImpl implements ProxyMasterdataService {
 		pathsegments.put("locationcode", locationCode);
 		pathsegments.put("langcode", langCode);
 		try {
-			responseWrapper = residentServiceRestClient.getApi(
-					ApiName.IMMEDIATE_CHILDREN_BY_LOCATIONCODE_AND_LANGCODE_URL, pathsegments, ResponseWrapper.class);
+			responseWrapper = getCachedResponse(
+					List.of(ApiName.IMMEDIATE_CHILDREN_BY_LOCATIONCODE_AND_LANGCODE_URL, pathsegments),
+					() -> residentServiceRestClient.getApi(ApiName.IMMEDIATE_CHILDREN_BY_LOCATIONCODE_AND_LANGCODE_URL,
+							pathsegments, ResponseWrapper.class));
 
 			if (responseWrapper.getErrors() != null && !responseWrapper.getErrors().isEmpty()) {
 				logger.debug(responseWrapper.getErrors().get(0).toString());
@@ -178,8 +301,9 @@ public class ProxyMasterdataServiceImpl implements ProxyMasterdataService {
 		pathsegments.put("locationcode", locationCode);
 		pathsegments.put("langcode", langCode);
 		try {
-			responseWrapper = residentServiceRestClient.getApi(ApiName.LOCATION_INFO_BY_LOCCODE_AND_LANGCODE_URL,
-					pathsegments, ResponseWrapper.class);
+			responseWrapper = getCachedResponse(List.of(ApiName.LOCATION_INFO_BY_LOCCODE_AND_LANGCODE_URL, pathsegments),
+					() -> residentServiceRestClient.getApi(ApiName.LOCATION_INFO_BY_LOCCODE_AND_LANGCODE_URL,
+							pathsegments, ResponseWrapper.class));
 
 			if (responseWrapper.getErrors() != null && !responseWrapper.getErrors().isEmpty()) {
 				logger.debug(responseWrapper.getErrors().get(0).toString());
@@ -207,8 +331,10 @@ public class ProxyMasterdataServiceImpl implements ProxyMasterdataService {
 		pathsegements.put("latitude", latitude);
 		pathsegements.put("proximitydistance", proximityDistance);
 		try {
-			responseWrapper = residentServiceRestClient.getApi(ApiName.COORDINATE_SPECIFIC_REGISTRATION_CENTERS_URL,
-					pathsegements, ResponseWrapper.class);
+			responseWrapper = getCachedResponse(
+					List.of(ApiName.COORDINATE_SPECIFIC_REGISTRATION_CENTERS_URL, pathsegements),
+					() -> residentServiceRestClient.getApi(ApiName.COORDINATE_SPECIFIC_REGISTRATION_CENTERS_URL,
+							pathsegements, ResponseWrapper.class));
 
 			if (responseWrapper.getErrors() != null && !responseWrapper.getErrors().isEmpty()) {
 				logger.debug(responseWrapper.getErrors().get(0).toString());
@@ -240,9 +366,10 @@ public class ProxyMasterdataServiceImpl implements ProxyMasterdataService {
 		queryParamValue.add(languages.stream().collect(Collectors.joining(",")));
 
 		try {
-			responseWrapper = (ResponseWrapper<?>) residentServiceRestClient.getApi(
-					ApiName.APPLICANT_VALID_DOCUMENT_URL, pathsegements, queryParamName, queryParamValue,
-					ResponseWrapper.class);
+			responseWrapper = getCachedResponse(
+					List.of(ApiName.APPLICANT_VALID_DOCUMENT_URL, pathsegements, queryParamValue),
+					() -> residentServiceRestClient.getApi(ApiName.APPLICANT_VALID_DOCUMENT_URL, pathsegements,
+							queryParamName, queryParamValue, ResponseWrapper.class));
 
 			if (responseWrapper.getErrors() != null && !responseWrapper.getErrors().isEmpty()) {
 				logger.debug(responseWrapper.getErrors().get(0).toString());
@@ -275,8 +402,10 @@ public class ProxyMasterdataServiceImpl implements ProxyMasterdataService {
 		queryParamValue.add(name.stream().collect(Collectors.joining(",")));
 
 		try {
-			responseWrapper = residentServiceRestClient.getApi(ApiName.REGISTRATION_CENTER_FOR_LOCATION_CODE_URL,
-					pathsegements, queryParamName, queryParamValue, ResponseWrapper.class);
+			responseWrapper = getCachedResponse(
+					List.of(ApiName.REGISTRATION_CENTER_FOR_LOCATION_CODE_URL, pathsegements, queryParamValue),
+					() -> residentServiceRestClient.getApi(ApiName.REGISTRATION_CENTER_FOR_LOCATION_CODE_URL,
+							pathsegements, queryParamName, queryParamValue, ResponseWrapper.class));
 
 			if (responseWrapper.getErrors() != null && !responseWrapper.getErrors().isEmpty()) {
 				logger.debug(responseWrapper.getErrors().get(0).toString());
@@ -318,9 +447,12 @@ public class ProxyMasterdataServiceImpl implements ProxyMasterdataService {
 		queryParamValue.add(sortBy);
 
 		try {
-			responseWrapper = residentServiceRestClient.getApi(
-					ApiName.REGISTRATION_CENTER_BY_LOCATION_TYPE_AND_SEARCH_TEXT_PAGINATED_URL, pathsegements,
-					queryParamName, queryParamValue, ResponseWrapper.class);
+			responseWrapper = getCachedResponse(
+					List.of(ApiName.REGISTRATION_CENTER_BY_LOCATION_TYPE_AND_SEARCH_TEXT_PAGINATED_URL, pathsegements,
+							queryParamValue),
+					() -> residentServiceRestClient.getApi(
+							ApiName.REGISTRATION_CENTER_BY_LOCATION_TYPE_AND_SEARCH_TEXT_PAGINATED_URL, pathsegements,
+							queryParamName, queryParamValue, ResponseWrapper.class));
 
 			if (responseWrapper.getErrors() != null && !responseWrapper.getErrors().isEmpty()) {
 				logger.debug(responseWrapper.getErrors().get(0).toString());
@@ -346,8 +478,9 @@ public class ProxyMasterdataServiceImpl implements ProxyMasterdataService {
 		pathsegements.put("registrationCenterID", registrationCenterID);
 		pathsegements.put("langCode", langCode);
 		try {
-			responseWrapper = residentServiceRestClient.getApi(ApiName.WORKING_DAYS_BY_REGISTRATION_ID, pathsegements,
-					ResponseWrapper.class);
+			responseWrapper = getCachedResponse(List.of(ApiName.WORKING_DAYS_BY_REGISTRATION_ID, pathsegements),
+					() -> residentServiceRestClient.getApi(ApiName.WORKING_DAYS_BY_REGISTRATION_ID, pathsegements,
+							ResponseWrapper.class));
 
 			if (responseWrapper.getErrors() != null && !responseWrapper.getErrors().isEmpty()) {
 				logger.debug(responseWrapper.getErrors().get(0).toString());
@@ -383,8 +516,9 @@ public class ProxyMasterdataServiceImpl implements ProxyMasterdataService {
 		queryParamValue.add(type);
 
 		try {
-			responseWrapper = (ResponseWrapper<?>) residentServiceRestClient.getApi(ApiName.LATEST_ID_SCHEMA_URL,
-					pathsegements, queryParamName, queryParamValue, ResponseWrapper.class);
+			responseWrapper = getCachedResponse(List.of(ApiName.LATEST_ID_SCHEMA_URL, queryParamValue),
+					() -> (ResponseWrapper<?>) residentServiceRestClient.getApi(ApiName.LATEST_ID_SCHEMA_URL,
+							pathsegements, queryParamName, queryParamValue, ResponseWrapper.class));
 			if (responseWrapper.getErrors() != null && !responseWrapper.getErrors().isEmpty()) {
 				logger.debug(responseWrapper.getErrors().get(0).toString());
 				throw new ResidentServiceCheckedException(ResidentErrorCode.BAD_REQUEST.getErrorCode(),
@@ -404,6 +538,101 @@ public class ProxyMasterdataServiceImpl implements ProxyMasterdataService {
 	public ResponseWrapper<?> getAllTemplateBylangCodeAndTemplateTypeCode(String langCode, String templateTypeCode)
 			throws ResidentServiceCheckedException {
 		logger.debug("ProxyMasterdataServiceImpl::getAllTemplateBylangCodeAndTemplateTypeCode()::entry");
+		String template = templateCacheTtlMillis > 0 ? getCachedTemplate(langCode, templateTypeCode)
+				: getTemplateFromMasterdata(langCode, templateTypeCode);
+		ResponseWrapper<Map> responseWrapper = new ResponseWrapper<>();
+		Map<String, String> responseMap = new HashMap<>();
+		responseMap.put(ResidentConstants.FILE_TEXT, template);
+		responseWrapper.setResponse(responseMap);
+		logger.debug("ProxyMasterdataServiceImpl::getAllTemplateBylangCodeAndTemplateTypeCode()::exit");
+		return responseWrapper;
+	}
+
+	/**
+	 * Returns the template from the templates of the language, which are loaded in
+	 * bulk on first use. Once the templates are older than the TTL they are
+	 * refreshed in the background and the old ones are served till then, or for as
+	 * long as masterdata can not be reached. After a failed bulk load, the
+	 * templates are fetched one by one till the retry delay has passed.
+	 */
+	private String getCachedTemplate(String langCode, String templateTypeCode) throws ResidentServiceCheckedException {
+		Tuple2<Long, Map<String, String>> languageTemplates = templateCache.get(langCode);
+		if (languageTemplates == null) {
+			languageTemplates = loadLanguageTemplates(langCode);
+		} else if (languageTemplates.getT1() + templateCacheTtlMillis < System.currentTimeMillis()) {
+			refreshLanguageTemplates(langCode);
+		}
+		String template = languageTemplates == null ? null : languageTemplates.getT2().get(templateTypeCode);
+		if (template != null) {
+			meterRegistry.counter(TEMPLATE_CACHE_METRIC, "result", "hit").increment();
+			return template;
+		}
+		meterRegistry.counter(TEMPLATE_CACHE_METRIC, "result", "miss").increment();
+		template = getTemplateFromMasterdata(langCode, templateTypeCode);
+		if (languageTemplates != null && template != null) {
+			languageTemplates.getT2().put(templateTypeCode, template);
+		}
+		return template;
+	}
+
+	private Tuple2<Long, Map<String, String>> loadLanguageTemplates(String langCode) {
+		Long retryTime = templateLoadRetryTimes.get(langCode);
+		if (retryTime != null && retryTime > System.currentTimeMillis()) {
+			return null;
+		}
+		try {
+			Tuple2<Long, Map<String, String>> languageTemplates = Tuples.of(System.currentTimeMillis(),
+					getAllTemplatesFromMasterdata(langCode));
+			templateCache.put(langCode, languageTemplates);
+			templateLoadRetryTimes.remove(langCode);
+			return languageTemplates;
+		} catch (ResidentServiceCheckedException e) {
+			templateLoadRetryTimes.put(langCode, System.currentTimeMillis() + templateLoadRetryDelayMillis);
+			logger.error("Error occured in loading templates of language %s: %s", langCode, e.getMessage());
+			return null;
+		}
+	}
+
+	private void refreshLanguageTemplates(String langCode) {
+		if (refreshingLanguages.add(langCode)) {
+			taskScheduler.execute(() -> {
+				try {
+					loadLanguageTemplates(langCode);
+				} finally {
+					refreshingLanguages.remove(langCode);
+				}
+			});
+		}
+	}
+
+	private Map<String, String> getAllTemplatesFromMasterdata(String langCode) throws ResidentServiceCheckedException {
+		try {
+			ResponseWrapper<?> response = (ResponseWrapper<?>) residentServiceRestClient.getApi(ApiName.TEMPLATES,
+					List.of(langCode), "", null, ResponseWrapper.class);
+			if (response == null || response.getErrors() != null && !response.getErrors().isEmpty()) {
+				throw new ResidentServiceCheckedException(ResidentErrorCode.TEMPLATE_EXCEPTION);
+			}
+			TemplateResponseDto templateResponse = JsonUtil
+					.readValue(JsonUtil.writeValueAsString(response.getResponse()), TemplateResponseDto.class);
+			Map<String, String> templates = new ConcurrentHashMap<>();
+			for (TemplateDto templateDto : templateResponse.getTemplates()) {
+				if (templateDto.getTemplateTypeCode() != null && templateDto.getFileText() != null
+						&& !Boolean.FALSE.equals(templateDto.getIsActive())) {
+					templates.putIfAbsent(templateDto.getTemplateTypeCode(), templateDto.getFileText());
+				}
+			}
+			return templates;
+		} catch (ApisResourceAccessException e) {
+			throw new ResidentServiceCheckedException(ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorCode(),
+					ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorMessage(), e);
+		} catch (IOException e) {
+			throw new ResidentServiceCheckedException(ResidentErrorCode.IO_EXCEPTION.getErrorCode(),
+					ResidentErrorCode.IO_EXCEPTION.getErrorMessage(), e);
+		}
+	}
+
+	private String getTemplateFromMasterdata(String langCode, String templateTypeCode)
+			throws ResidentServiceCheckedException {
 		ResponseWrapper<TemplateResponseDto> response = new ResponseWrapper<>();
 		Map<String, String> pathsegments = new HashMap<String, String>();
 		pathsegments.put("langcode", langCode);
@@ -412,19 +641,13 @@ public class ProxyMasterdataServiceImpl implements ProxyMasterdataService {
 		try {
 			response = residentServiceRestClient.getApi(ApiName.TEMPLATES_BY_LANGCODE_AND_TEMPLATETYPECODE_URL,
 					pathsegments, ResponseWrapper.class);
-			if (response.getErrors() != null && !response.getErrors().isEmpty()) {
-				logger.debug(response.getErrors().get(0).toString());
+			if (response == null || response.getErrors() != null && !response.getErrors().isEmpty()) {
+				logger.debug(response == null ? "Empty template response" : response.getErrors().get(0).toString());
 				throw new ResidentServiceCheckedException(ResidentErrorCode.TEMPLATE_EXCEPTION);
 			}
 			TemplateResponseDto templateResponse = JsonUtil
 					.readValue(JsonUtil.writeValueAsString(response.getResponse()), TemplateResponseDto.class);
-			String template = templateResponse.getTemplates().get(0).getFileText();
-			ResponseWrapper<Map> responseWrapper = new ResponseWrapper<>();
-			Map<String, String> responseMap = new HashMap<>();
-			responseMap.put(ResidentConstants.FILE_TEXT, template);
-			responseWrapper.setResponse(responseMap);
-			logger.debug("ProxyMasterdataServiceImpl::getAllTemplateBylangCodeAndTemplateTypeCode()::exit");
-			return responseWrapper;
+			return templateResponse.getTemplates().get(0).getFileText();
 
 		} catch (ApisResourceAccessException e) {
 			auditUtil.setAuditRequestDto(EventEnum.GET_TEMPLATES_EXCEPTION);
@@ -444,8 +667,9 @@ public class ProxyMasterdataServiceImpl implements ProxyMasterdataService {
 		Map<String, String> pathsegments = new HashMap<String, String>();
 		pathsegments.put("langcode", langCode);
 		try {
-			responseWrapper = residentServiceRestClient.getApi(ApiName.GENDER_TYPE_BY_LANGCODE, pathsegments,
-					ResponseWrapper.class);
+			responseWrapper = getCachedResponse(List.of(ApiName.GENDER_TYPE_BY_LANGCODE, pathsegments),
+					() -> residentServiceRestClient.getApi(ApiName.GENDER_TYPE_BY_LANGCODE, pathsegments,
+							ResponseWrapper.class));
 			if (responseWrapper.getErrors() != null && !responseWrapper.getErrors().isEmpty()) {
 				logger.debug(responseWrapper.getErrors().get(0).toString());
 				throw new ResidentServiceCheckedException(ResidentErrorCode.BAD_REQUEST.getErrorCode(),
@@ -469,7 +693,10 @@ public class ProxyMasterdataServiceImpl implements ProxyMasterdataService {
 		pathsegments.put("documentcategorycode", documentcategorycode);
 		pathsegments.put("langcode", langCode);
 		try {
-			responseWrapper=residentServiceRestClient.getApi(ApiName.DOCUMENT_TYPE_BY_DOCUMENT_CATEGORY_AND_LANG_CODE, pathsegments, ResponseWrapper.class);
+			responseWrapper = getCachedResponse(
+					List.of(ApiName.DOCUMENT_TYPE_BY_DOCUMENT_CATEGORY_AND_LANG_CODE, pathsegments),
+					() -> residentServiceRestClient.getApi(ApiName.DOCUMENT_TYPE_BY_DOCUMENT_CATEGORY_AND_LANG_CODE,
+							pathsegments, ResponseWrapper.class));
 			if (responseWrapper.getErrors() != null && !responseWrapper.getErrors().isEmpty()) {
 				logger.debug(responseWrapper.getErrors().get(0).toString());
 				throw new ResidentServiceCheckedException(ResidentErrorCode.BAD_REQUEST.getErrorCode(),
@@ -6,12 +6,15 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
@@ -65,7 +68,16 @@ public class ResidentConfigServiceImpl implements ResidentConfigService {
 	@Value("${identity-mapping-file-source}")
 	private Resource identityMappingJsonFile;
 	
-	private String identityMapping;
+	private volatile String identityMapping;
+
+	/** The parsed identity mapping, shared by all the requests. */
+	private volatile Map<String, Object> identityMappingMap;
+
+	/** The UI schema by schema type. */
+	private final Map<String, String> uiSchemas = new ConcurrentHashMap<>();
+
+	/** The parsed UI schema by schema type, shared by all the requests. */
+	private final Map<String, Map<String, Object>> uiSchemaMaps = new ConcurrentHashMap<>();
 	
 	@Autowired
 	private ObjectMapper objectMapper;
@@ -109,7 +121,10 @@ public class ResidentConfigServiceImpl implements ResidentConfigService {
 	@Override
 	@Cacheable(value="ui-schema", key="#schemaType")
 	public String getUISchema(String schemaType) {
-		String uiSchema;
+		String uiSchema = uiSchemas.get(schemaType);
+		if (uiSchema != null) {
+			return uiSchema;
+		}
 		Resource residentUiSchemaJsonFileRes = resourceLoader
 				.getResource(String.format("%s-%s-schema.json", residentUiSchemaJsonFilePrefix, schemaType));
 		if (residentUiSchemaJsonFileRes.exists()) {
@@ -117,9 +132,28 @@ public class ResidentConfigServiceImpl implements ResidentConfigService {
 		} else {
 			throw new ResidentServiceException(ResidentErrorCode.API_RESOURCE_UNAVAILABLE);
 		}
+		if (uiSchema != null) {
+			uiSchemas.put(schemaType, uiSchema);
+		}
 		return uiSchema;
 	}
 
+	/**
+	 * Gets the parsed UI schema. It is parsed once per schema type and shared, so
+	 * it must not be modified.
+	 */
+	private Map<String, Object> getUISchemaMap(String schemaType) throws IOException {
+		Map<String, Object> schemaMap = uiSchemaMaps.get(schemaType);
+		if (schemaMap == null) {
+			String uiSchema = getUISchema(schemaType);
+			schemaMap = objectMapper.readValue(uiSchema.getBytes(StandardCharsets.UTF_8), Map.class);
+			if (schemaMap != null) {
+				uiSchemaMaps.put(schemaType, schemaMap);
+			}
+		}
+		return schemaMap;
+	}
+
 	@Override
 	@Cacheable(value="ui-schema-filtered-attributes", key="#schemaType")
 	public List<String> getUiSchemaFilteredInputAttributes(String schemaType) throws JsonParseException, JsonMappingException, IOException {
@@ -127,8 +161,7 @@ public class ResidentConfigServiceImpl implements ResidentConfigService {
 	}
 	
 	private List<String> doGetUiSchemaFilteredInputAttributes(String schemaType) throws JsonParseException, JsonMappingException, IOException {
-		String uiSchema = getUISchema(schemaType);
-		Map<String, Object> schemaMap = objectMapper.readValue(uiSchema.getBytes(StandardCharsets.UTF_8), Map.class);
+		Map<String, Object> schemaMap = getUISchemaMap(schemaType);
 		Object identityObj = schemaMap.get(IDENTITY);
 		if(identityObj instanceof List) {
 			List<Map<String, Object>> identityList = (List<Map<String, Object>>) identityObj;
@@ -156,20 +189,41 @@ public class ResidentConfigServiceImpl implements ResidentConfigService {
 		}
 		return identityMapping;
 	}
+
+	/**
+	 * Gets the parsed identity mapping. It is parsed once and shared, so it must
+	 * not be modified.
+	 */
+	private Map<String, Object> getIdentityMappingMap() throws ResidentServiceCheckedException, IOException {
+		Map<String, Object> mappingMap = identityMappingMap;
+		if (mappingMap == null) {
+			mappingMap = objectMapper.readValue(getIdentityMapping().getBytes(StandardCharsets.UTF_8), Map.class);
+			identityMappingMap = mappingMap;
+		}
+		return mappingMap;
+	}
+
+	/**
+	 * Clears the loaded identity mapping and UI schemas when the configuration is
+	 * refreshed, so that they are read again on the next request.
+	 */
+	@EventListener(RefreshScopeRefreshedEvent.class)
+	public void clearLoadedSchemas() {
+		identityMapping = null;
+		identityMappingMap = null;
+		uiSchemas.clear();
+		uiSchemaMaps.clear();
+	}
 	
 	public List<String> getSharableAttributesList(List<SharableAttributesDTO> sharableAttrList, String schemaType)
 			throws ResidentServiceCheckedException, JsonParseException, JsonMappingException, IOException {
 		
 		// identity mapping json
-		String identityMapping = getIdentityMapping();
-		Map<String, Object> identityMappingMap = objectMapper
-				.readValue(identityMapping.getBytes(StandardCharsets.UTF_8), Map.class);
-		Object identityObj = identityMappingMap.get(IDENTITY);
+		Object identityObj = getIdentityMappingMap().get(IDENTITY);
 		Map<String, Object> identityMap = (Map<String, Object>) identityObj;
 
 		// ui schema share credential json
-		String uiSchema = getUISchema(schemaType);
-		Map<String, Object> schemaMap = objectMapper.readValue(uiSchema.getBytes(StandardCharsets.UTF_8), Map.class);
+		Map<String, Object> schemaMap = getUISchemaMap(schemaType);
 		Object identitySchemaObj = schemaMap.get(IDENTITY);
 		List<Map<String, Object>> identityList = (List<Map<String, Object>>) identitySchemaObj;
 		List<String> idsListFromUISchema = identityList.stream().map(map -> String.valueOf(map.get(env.getProperty(UI_SCHEMA_ATTRIBUTE_NAME))))
@@ -2,12 +2,12 @@ package io.mosip.resident.service.impl;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.mosip.commons.khazana.exception.ObjectStoreAdapterException;
 import io.mosip.kernel.core.exception.BaseCheckedException;
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.kernel.core.templatemanager.spi.TemplateManager;
-import io.mosip.kernel.core.templatemanager.spi.TemplateManagerBuilder;
 import io.mosip.kernel.core.util.CryptoUtil;
 import io.mosip.kernel.core.util.DateUtils;
 import io.mosip.kernel.core.idobjectvalidator.exception.IdObjectValidationFailedException;
@@ -16,6 +16,7 @@ import io.mosip.resident.config.LoggerConfiguration;
 import io.mosip.resident.constant.ApiName;
 import io.mosip.resident.constant.AuthTypeStatus;
 import io.mosip.resident.constant.ConsentStatusType;
+import io.mosip.resident.constant.DocumentScanStatus;
 import io.mosip.resident.constant.EventStatus;
 import io.mosip.resident.constant.EventStatusFailure;
 import io.mosip.resident.constant.EventStatusInProgress;
@@ -73,16 +74,17 @@ import io.mosip.resident.dto.ResidentUpdateResponseDTO;
 import io.mosip.resident.dto.ResidentUpdateResponseDTOV2;
 import io.mosip.resident.dto.ResponseDTO;
 import io.mosip.resident.dto.ServiceHistoryResponseDto;
-import io.mosip.resident.dto.SortType;
 import io.mosip.resident.dto.UnreadNotificationDto;
 import io.mosip.resident.dto.UserInfoDto;
 import io.mosip.resident.entity.ResidentSessionEntity;
 import io.mosip.resident.entity.ResidentTransactionEntity;
 import io.mosip.resident.entity.ResidentUserEntity;
 import io.mosip.resident.exception.ApisResourceAccessException;
+import io.mosip.resident.exception.BaseResidentUncheckedExceptionWithMetadata;
 import io.mosip.resident.exception.CardNotReadyException;
 import io.mosip.resident.exception.EidNotBelongToSessionException;
 import io.mosip.resident.exception.EventIdNotPresentException;
+import io.mosip.resident.exception.InvalidInputException;
 import io.mosip.resident.exception.InvalidRequestTypeCodeException;
 import io.mosip.resident.exception.OtpValidationFailedException;
 import io.mosip.resident.exception.RIDInvalidException;
@@ -106,6 +108,7 @@ import io.mosip.resident.util.AuditUtil;
 import io.mosip.resident.util.EventEnum;
 import io.mosip.resident.util.JsonUtil;
 import io.mosip.resident.util.ResidentServiceRestClient;
+import io.mosip.resident.util.ServiceHistoryQueryBuilder;
 import io.mosip.resident.util.TemplateUtil;
 import io.mosip.resident.util.UINCardDownloadService;
 import io.mosip.resident.util.Utilities;
@@ -115,6 +118,8 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.json.simple.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.env.Environment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -122,20 +127,25 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import reactor.util.function.Tuple2;
+import reactor.util.function.Tuple3;
 import reactor.util.function.Tuples;
 
-import javax.annotation.PostConstruct;
 import javax.persistence.EntityManager;
-import javax.persistence.Query;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
 import java.io.StringWriter;
-import java.math.BigInteger;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
@@ -152,6 +162,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -169,6 +180,7 @@ public class ResidentServiceImpl implements ResidentService {
 	private static final String AUTH_TYPE_LIST_DELIMITER = ", ";
 	private static final String AUTH_TYPE_SEPERATOR = "-";
 	private static final String PROCESSED = "PROCESSED";
+	private static final String MACHINE_CACHE_METRIC = "resident.machine.cache";
 	private static final String DATETIME_PATTERN = "mosip.utc-datetime-pattern";
 	private static final String STATUS_CHECK_ID = "mosip.resident.service.status.check.id";
 	private static final String STATUS_CHECEK_VERSION = "mosip.resident.service.status.check.version";
@@ -188,8 +200,6 @@ public class ResidentServiceImpl implements ResidentService {
 	private static final Integer DEFAULT_PAGE_START = 0;
 	private static final Integer DEFAULT_PAGE_COUNT = 10;
 	private static final String AVAILABLE = "AVAILABLE";
-	private static final String CLASSPATH = "classpath";
-	private static final String ENCODE_TYPE = "UTF-8";
 	private static final String UPDATED = " updated";
 	private static final String ALL = "ALL";
 	private static final String CREATED_DATE_TIME = "crDtimes";
@@ -261,6 +271,15 @@ public class ResidentServiceImpl implements ResidentService {
 	@Value("${resident.update-uin.machine-zone-code}")
 	private String zoneCode;
 
+	@Value("${" + ResidentConstants.RESIDENT_MACHINE_CACHE_TTL + ":" + ResidentConstants.RESIDENT_MACHINE_CACHE_TTL_DEFAULT
+			+ "}")
+	private long residentMachineCacheTtlMillis;
+
+	/** Expiry time, sign public key and id of the machine registered for the UIN update packets. */
+	private volatile Tuple3<Long, String, String> residentMachine;
+
+	private final Object residentMachineLock = new Object();
+
 	@Value("${resident.service.history.id}")
 	private String serviceHistoryId;
 
@@ -305,19 +324,20 @@ public class ResidentServiceImpl implements ResidentService {
 
 	private static String authTypes;
 
+	/** The ID schema json by schema version. A published schema version does not change. */
+	private final Map<Double, String> idSchemaJsonCache = new ConcurrentHashMap<>();
+
 	@Autowired
-	private ProxyMasterdataService proxyMasterdataService;
+	private MeterRegistry meterRegistry;
 
-	private TemplateManager templateManager;
+	@Autowired
+	private ThreadPoolTaskScheduler taskScheduler;
 
 	@Autowired
-	private TemplateManagerBuilder templateManagerBuilder;
+	private ProxyMasterdataService proxyMasterdataService;
 
-	@PostConstruct
-	public void idTemplateManagerPostConstruct() {
-		templateManager = templateManagerBuilder.encodingType(ENCODE_TYPE).enableCache(false).resourceLoader(CLASSPATH)
-				.build();
-	}
+	@Autowired
+	private TemplateManager templateManager;
 
 	@Value("${auth.types.allowed}")
 	public void setAuthTypes(String authType) {
@@ -828,6 +848,7 @@ public class ResidentServiceImpl implements ResidentService {
 	}
 
 	@Override
+	@Transactional(noRollbackFor = BaseResidentUncheckedExceptionWithMetadata.class)
 	public Tuple2<Object, String> reqUinUpdate(ResidentUpdateRequestDto dto) throws ResidentServiceCheckedException {
 		byte[] decodedDemoJson = CryptoUtil.decodeURLSafeBase64(dto.getIdentityJson());
 		JSONObject demographicJsonObject;
@@ -847,6 +868,7 @@ public class ResidentServiceImpl implements ResidentService {
 	}
 
 	@Override
+	@Transactional(noRollbackFor = BaseResidentUncheckedExceptionWithMetadata.class)
 	public Tuple2<Object, String> reqUinUpdate(ResidentUpdateRequestDto dto, JSONObject demographicIdentity, boolean validateIdObject)
 			throws ResidentServiceCheckedException {
 		Object responseDto = null;
@@ -890,14 +912,7 @@ public class ResidentServiceImpl implements ResidentService {
 						dto.getTransactionID(), "Request for UIN update"));
 			}
 
-			final String publicKey = getPublicKeyFromKeyManager();
-			MachineSearchResponseDTO machineSearchResponseDTO = searchMachineInMasterService(residentMachinePrefix,
-					publicKey);
-			String machineId = getMachineId(machineSearchResponseDTO, publicKey);
-			if (machineId == null) {
-				machineId = createNewMachineInMasterService(residentMachinePrefix, machineSpecId, zoneCode, centerId,
-						publicKey);
-			}
+			String machineId = getResidentMachineId();
 
 			ResidentUpdateDto regProcReqUpdateDto = new ResidentUpdateDto();
 			regProcReqUpdateDto.setIdValue(dto.getIndividualId());
@@ -908,16 +923,13 @@ public class ResidentServiceImpl implements ResidentService {
 			jsonObject.put(IDENTITY, demographicIdentity);
 			String encodedIdentityJson = CryptoUtil.encodeToURLSafeBase64(jsonObject.toJSONString().getBytes());
 			regProcReqUpdateDto.setIdentityJson(encodedIdentityJson);
-			String mappingJson = utility.getMappingJson();
+			JSONObject mappingJsonObject = utility.getMappingJsonObject();
 
 			if(validateIdObject) {
 				JSONObject obj = utilities.retrieveIdrepoJson(dto.getIndividualId());
 				String idSchemaVersionStr = String.valueOf(obj.get("IDSchemaVersion"));
 				Double idSchemaVersion = Double.parseDouble(idSchemaVersionStr);
-				ResponseWrapper<?> idSchemaResponse = proxyMasterdataService.getLatestIdSchema(idSchemaVersion, null, null);
-				Object idSchema = idSchemaResponse.getResponse();
-				Map<String, ?> map = objectMapper.convertValue(idSchema, Map.class);
-				String schemaJson = (String) map.get("schemaJson");
+				String schemaJson = getIdSchemaJson(idSchemaVersion);
 				try {
 					idObjectValidator.validateIdObject(schemaJson, jsonObject);
 				} catch (IdObjectValidationFailedException e) {
@@ -931,8 +943,7 @@ public class ResidentServiceImpl implements ResidentService {
 				}
 			}
 			
-			if (demographicIdentity == null || demographicIdentity.isEmpty() || mappingJson == null
-					|| mappingJson.trim().isEmpty()) {
+			if (demographicIdentity == null || demographicIdentity.isEmpty() || mappingJsonObject == null) {
 				audit.setAuditRequestDto(
 						EventEnum.getEventEnumWithValue(EventEnum.JSON_PARSING_EXCEPTION, dto.getTransactionID()));
 				if (Utility.isSecureSession()) {
@@ -943,7 +954,6 @@ public class ResidentServiceImpl implements ResidentService {
 							ResidentErrorCode.JSON_PROCESSING_EXCEPTION.getErrorMessage());
 				}
 			}
-			JSONObject mappingJsonObject = JsonUtil.readValue(mappingJson, JSONObject.class);
 			validateAuthIndividualIdWithUIN(dto.getIndividualId(), dto.getIndividualIdType(), mappingJsonObject,
 					demographicIdentity);
 			JSONObject mappingDocument = JsonUtil.getJSONObject(mappingJsonObject, DOCUMENT);
@@ -1198,6 +1208,13 @@ public class ResidentServiceImpl implements ResidentService {
 		try {
 			Map<DocumentResponseDTO, String> documentsWithMetadata = docService
 					.getDocumentsWithMetadata(dto.getTransactionID());
+			for (DocumentResponseDTO document : documentsWithMetadata.keySet()) {
+				if (!DocumentScanStatus.isCleared(document.getScanStatus())) {
+					throw new ResidentServiceException(ResidentErrorCode.DOCUMENT_NOT_SCANNED.getErrorCode(),
+							String.format(ResidentErrorCode.DOCUMENT_NOT_SCANNED.getErrorMessage(),
+									document.getDocId(), document.getScanStatus()));
+				}
+			}
 			return documentsWithMetadata.entrySet().stream()
 					.map(doc -> new ResidentDocuments(getDocumentName(mappingDocument, doc.getKey().getDocCatCode()),
 							doc.getValue()))
@@ -1209,6 +1226,7 @@ public class ResidentServiceImpl implements ResidentService {
 	}
 
 	@Override
+	@Transactional(noRollbackFor = BaseResidentUncheckedExceptionWithMetadata.class)
 	public Tuple2<ResponseDTO, String> reqAauthTypeStatusUpdateV2(AuthLockOrUnLockRequestDtoV2 authLockOrUnLockRequestDtoV2)
 			throws ResidentServiceCheckedException, ApisResourceAccessException {
 		logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
@@ -1332,6 +1350,21 @@ public class ResidentServiceImpl implements ResidentService {
 		return residentTransactionEntity;
 	}
 
+	// get ID schema json, fetched once per schema version
+	private String getIdSchemaJson(Double idSchemaVersion) throws ResidentServiceCheckedException {
+		String schemaJson = idSchemaJsonCache.get(idSchemaVersion);
+		if (schemaJson == null) {
+			ResponseWrapper<?> idSchemaResponse = proxyMasterdataService.getLatestIdSchema(idSchemaVersion, null, null);
+			Object idSchema = idSchemaResponse.getResponse();
+			Map<String, ?> map = objectMapper.convertValue(idSchema, Map.class);
+			schemaJson = (String) map.get("schemaJson");
+			if (schemaJson != null) {
+				idSchemaJsonCache.put(idSchemaVersion, schemaJson);
+			}
+		}
+		return schemaJson;
+	}
+
 	// get name of document
 	private String getDocumentName(JSONObject identityJson, String name) {
 		JSONObject docJson = JsonUtil.getJSONObject(identityJson, name);
@@ -1366,6 +1399,62 @@ public class ResidentServiceImpl implements ResidentService {
 		return null;
 	}
 
+	/**
+	 * Loads the resident machine when the application starts, so that the first
+	 * UIN update requests do not have to register it.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadResidentMachine() {
+		taskScheduler.execute(() -> {
+			try {
+				getResidentMachineId();
+			} catch (ApisResourceAccessException | RuntimeException e) {
+				logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+						residentMachinePrefix, "ResidentServiceImpl::loadResidentMachine():: " + e.getMessage());
+			}
+		});
+	}
+
+	/**
+	 * Returns the id of the machine registered in masterdata with the packet sign
+	 * key. The machine is cached for the TTL, after which the sign key is fetched
+	 * again and the machine is searched, or created, only if the key was rotated.
+	 * Concurrent requests wait for a single lookup, so that a machine is not
+	 * created twice.
+	 */
+	private String getResidentMachineId() throws ApisResourceAccessException {
+		Tuple3<Long, String, String> machine = residentMachine;
+		if (machine != null && machine.getT1() > System.currentTimeMillis()) {
+			meterRegistry.counter(MACHINE_CACHE_METRIC, "result", "hit").increment();
+			return machine.getT3();
+		}
+		synchronized (residentMachineLock) {
+			machine = residentMachine;
+			if (machine != null && machine.getT1() > System.currentTimeMillis()) {
+				meterRegistry.counter(MACHINE_CACHE_METRIC, "result", "hit").increment();
+				return machine.getT3();
+			}
+			String publicKey = getPublicKeyFromKeyManager();
+			String machineId;
+			if (machine != null && machine.getT2().equals(publicKey)) {
+				meterRegistry.counter(MACHINE_CACHE_METRIC, "result", "revalidated").increment();
+				machineId = machine.getT3();
+			} else {
+				meterRegistry.counter(MACHINE_CACHE_METRIC, "result", "miss").increment();
+				MachineSearchResponseDTO machineSearchResponseDTO = searchMachineInMasterService(residentMachinePrefix,
+						publicKey);
+				machineId = getMachineId(machineSearchResponseDTO, publicKey);
+				if (machineId == null) {
+					machineId = createNewMachineInMasterService(residentMachinePrefix, machineSpecId, zoneCode,
+							centerId, publicKey);
+				}
+			}
+			residentMachine = Tuples.of(System.currentTimeMillis() + residentMachineCacheTtlMillis, publicKey,
+					machineId);
+			return machineId;
+		}
+	}
+
 	private String getPublicKeyFromKeyManager() throws ApisResourceAccessException {
 		PacketSignPublicKeyRequestDTO signKeyRequestDto = PacketSignPublicKeyRequestDTO.builder()
 				.request(PacketSignPublicKeyRequestDTO.PacketSignPublicKeyRequest.builder()
@@ -1572,6 +1661,15 @@ public class ResidentServiceImpl implements ResidentService {
 																				 LocalDate fromDateTime, LocalDate toDateTime, String serviceType, String sortType,
 																				 String statusFilter, String searchText, String langCode, int timeZoneOffset)
 			throws ResidentServiceCheckedException, ApisResourceAccessException {
+		return getServiceHistory(pageStart, pageFetch, fromDateTime, toDateTime, serviceType, sortType, statusFilter,
+				searchText, langCode, timeZoneOffset, null);
+	}
+
+	@Override
+	public ResponseWrapper<PageDto<ServiceHistoryResponseDto>> getServiceHistory(Integer pageStart, Integer pageFetch,
+																				 LocalDate fromDateTime, LocalDate toDateTime, String serviceType, String sortType,
+																				 String statusFilter, String searchText, String langCode, int timeZoneOffset, String lastEventId)
+			throws ResidentServiceCheckedException, ApisResourceAccessException {
 
 		if (pageStart == null) {
 			if (pageFetch == null) {
@@ -1598,7 +1696,7 @@ public class ResidentServiceImpl implements ResidentService {
 
 		ResponseWrapper<PageDto<ServiceHistoryResponseDto>> serviceHistoryResponseDtoList = getServiceHistoryDetails(
 				sortType, pageStart, pageFetch, fromDateTime, toDateTime, serviceType, statusFilter, searchText,
-				langCode, timeZoneOffset);
+				langCode, timeZoneOffset, lastEventId);
 		return serviceHistoryResponseDtoList;
 	}
 
@@ -1615,6 +1713,34 @@ public class ResidentServiceImpl implements ResidentService {
 
 	@Override
 	public byte[] downloadCard(String eventId) {
+		ResidentTransactionEntity residentTransactionEntity = getCardTransaction(eventId);
+		try {
+			return downloadCardFromDataShareUrl(residentTransactionEntity);
+		} catch (Exception e) {
+			throw new ResidentServiceException(ResidentErrorCode.CARD_NOT_FOUND.getErrorCode(),
+					ResidentErrorCode.CARD_NOT_FOUND.getErrorMessage(), e);
+		}
+	}
+
+	@Override
+	public Tuple2<StreamingResponseBody, String> downloadCardAsStream(String eventId, int timeZoneOffset) {
+		ResidentTransactionEntity residentTransactionEntity = getCardTransaction(eventId);
+		try {
+			if (!isCardReadyToDownload(residentTransactionEntity)) {
+				return null;
+			}
+		} catch (Exception e) {
+			throw new ResidentServiceException(ResidentErrorCode.CARD_NOT_FOUND.getErrorCode(),
+					ResidentErrorCode.CARD_NOT_FOUND.getErrorMessage(), e);
+		}
+		String fileName = getFileName(eventId, timeZoneOffset);
+		Tuple2<ClientHttpResponse, InputStream> card = openCardFromDataShareUrl(residentTransactionEntity);
+		StreamingResponseBody cardStream = outputStream -> writeCardFromDataShareUrl(residentTransactionEntity, card,
+				outputStream);
+		return Tuples.of(cardStream, fileName);
+	}
+
+	private ResidentTransactionEntity getCardTransaction(String eventId) {
 		try {
 			Optional<ResidentTransactionEntity> residentTransactionEntity = residentTransactionRepository
 					.findById(eventId);
@@ -1623,11 +1749,11 @@ public class ResidentServiceImpl implements ResidentService {
 				RequestType requestType = RequestType.valueOf(requestTypeCode);
 				if (requestType.name().equalsIgnoreCase(RequestType.UPDATE_MY_UIN.name())) {
 					cardType = IdType.UIN.name();
-					return downloadCardFromDataShareUrl(residentTransactionEntity.get());
+					return residentTransactionEntity.get();
 				} else if (requestType.name().equalsIgnoreCase(RequestType.VID_CARD_DOWNLOAD.toString())
 				|| requestType.name().equalsIgnoreCase(RequestType.GET_MY_ID.name())) {
 					cardType = IdType.VID.name();
-					return downloadCardFromDataShareUrl(residentTransactionEntity.get());
+					return residentTransactionEntity.get();
 				} else {
 					throw new InvalidRequestTypeCodeException(ResidentErrorCode.INVALID_REQUEST_TYPE_CODE.toString(),
 							ResidentErrorCode.INVALID_REQUEST_TYPE_CODE.getErrorMessage());
@@ -1652,20 +1778,13 @@ public class ResidentServiceImpl implements ResidentService {
 
 	public byte[] downloadCardFromDataShareUrl(ResidentTransactionEntity residentTransactionEntity) {
 		try {
-			if (residentTransactionEntity.getReferenceLink() != null
-					&& !residentTransactionEntity.getReferenceLink().isEmpty() && residentTransactionEntity
-							.getStatusCode().equals(EventStatusSuccess.CARD_READY_TO_DOWNLOAD.name())) {
+			if (isCardReadyToDownload(residentTransactionEntity)) {
 				URI dataShareUri = URI.create(residentTransactionEntity.getReferenceLink());
 				byte[] pdfBytes = residentServiceRestClient.getApi(dataShareUri, byte[].class);
 				if (pdfBytes.length == 0) {
 					throw new CardNotReadyException();
 				}
-				residentTransactionEntity.setRequestSummary(ResidentConstants.SUCCESS);
-				residentTransactionEntity.setStatusCode(EventStatusSuccess.CARD_DOWNLOADED.name());
-				residentTransactionEntity.setStatusComment(CARD_DOWNLOADED.name());
-				residentTransactionEntity.setUpdBy(RESIDENT);
-				residentTransactionEntity.setUpdDtimes(DateUtils.getUTCCurrentDateTime());
-				residentTransactionRepository.save(residentTransactionEntity);
+				updateCardDownloadedStatus(residentTransactionEntity);
 				return pdfBytes;
 			}
 		} catch (Exception e) {
@@ -1676,14 +1795,70 @@ public class ResidentServiceImpl implements ResidentService {
 		return new byte[0];
 	}
 
+	/**
+	 * Opens the card in datashare and reads its first byte, so that a datashare
+	 * error or an empty card is reported before the download response is
+	 * committed.
+	 */
+	private Tuple2<ClientHttpResponse, InputStream> openCardFromDataShareUrl(
+			ResidentTransactionEntity residentTransactionEntity) {
+		ClientHttpResponse cardResponse = null;
+		try {
+			URI dataShareUri = URI.create(residentTransactionEntity.getReferenceLink());
+			cardResponse = residentServiceRestClient.getApiAsResponse(dataShareUri);
+			PushbackInputStream cardBody = new PushbackInputStream(cardResponse.getBody());
+			int firstByte = cardBody.read();
+			if (firstByte == -1) {
+				throw new CardNotReadyException();
+			}
+			cardBody.unread(firstByte);
+			return Tuples.of(cardResponse, cardBody);
+		} catch (Exception e) {
+			if (cardResponse != null) {
+				cardResponse.close();
+			}
+			audit.setAuditRequestDto(EventEnum.RID_DIGITAL_CARD_REQ_EXCEPTION);
+			throw new ResidentServiceException(ResidentErrorCode.CARD_NOT_READY.getErrorCode(),
+					ResidentErrorCode.CARD_NOT_READY.getErrorMessage(), e);
+		}
+	}
+
+	private void writeCardFromDataShareUrl(ResidentTransactionEntity residentTransactionEntity,
+			Tuple2<ClientHttpResponse, InputStream> card, OutputStream outputStream) {
+		try (ClientHttpResponse cardResponse = card.getT1()) {
+			StreamUtils.copy(card.getT2(), outputStream);
+			updateCardDownloadedStatus(residentTransactionEntity);
+		} catch (Exception e) {
+			audit.setAuditRequestDto(EventEnum.RID_DIGITAL_CARD_REQ_EXCEPTION);
+			throw new ResidentServiceException(ResidentErrorCode.CARD_NOT_READY.getErrorCode(),
+					ResidentErrorCode.CARD_NOT_READY.getErrorMessage(), e);
+		}
+	}
+
+	private boolean isCardReadyToDownload(ResidentTransactionEntity residentTransactionEntity) {
+		return residentTransactionEntity.getReferenceLink() != null
+				&& !residentTransactionEntity.getReferenceLink().isEmpty() && residentTransactionEntity
+						.getStatusCode().equals(EventStatusSuccess.CARD_READY_TO_DOWNLOAD.name());
+	}
+
+	private void updateCardDownloadedStatus(ResidentTransactionEntity residentTransactionEntity) {
+		residentTransactionEntity.setRequestSummary(ResidentConstants.SUCCESS);
+		residentTransactionEntity.setStatusCode(EventStatusSuccess.CARD_DOWNLOADED.name());
+		residentTransactionEntity.setStatusComment(CARD_DOWNLOADED.name());
+		residentTransactionEntity.setUpdBy(RESIDENT);
+		residentTransactionEntity.setUpdDtimes(DateUtils.getUTCCurrentDateTime());
+		residentTransactionRepository.save(residentTransactionEntity);
+	}
+
 	private ResponseWrapper<PageDto<ServiceHistoryResponseDto>> getServiceHistoryDetails(String sortType,
 																						 Integer pageStart, Integer pageFetch, LocalDate fromDateTime, LocalDate toDateTime,
-																						 String serviceType, String statusFilter, String searchText, String langCode, int timeZoneOffset)
+																						 String serviceType, String statusFilter, String searchText, String langCode, int timeZoneOffset,
+																						 String lastEventId)
 			throws ResidentServiceCheckedException, ApisResourceAccessException {
 		ResponseWrapper<PageDto<ServiceHistoryResponseDto>> responseWrapper = new ResponseWrapper<>();
 		String idaToken = identityServiceImpl.getResidentIdaToken();
 		responseWrapper.setResponse(getServiceHistoryResponse(sortType, pageStart, pageFetch, idaToken, statusFilter,
-				searchText, fromDateTime, toDateTime, serviceType, langCode, timeZoneOffset));
+				searchText, fromDateTime, toDateTime, serviceType, langCode, timeZoneOffset, lastEventId));
 		responseWrapper.setId(serviceHistoryId);
 		responseWrapper.setVersion(serviceHistoryVersion);
 		responseWrapper.setResponsetime(LocalDateTime.now());
@@ -1695,112 +1870,76 @@ public class ResidentServiceImpl implements ResidentService {
 																		Integer pageFetch, String idaToken, String statusFilter, String searchText, LocalDate fromDateTime,
 																		LocalDate toDateTime, String serviceType, String langCode, int timeZoneOffset)
 			throws ResidentServiceCheckedException {
-		String nativeQueryString = getDynamicNativeQueryStringForServiceHistory(sortType, idaToken, pageStart, pageFetch, statusFilter,
+		return getServiceHistoryResponse(sortType, pageStart, pageFetch, idaToken, statusFilter, searchText,
+				fromDateTime, toDateTime, serviceType, langCode, timeZoneOffset, null);
+	}
+
+	public PageDto<ServiceHistoryResponseDto> getServiceHistoryResponse(String sortType, Integer pageStart,
+																		Integer pageFetch, String idaToken, String statusFilter, String searchText, LocalDate fromDateTime,
+																		LocalDate toDateTime, String serviceType, String langCode, int timeZoneOffset, String lastEventId)
+			throws ResidentServiceCheckedException {
+		ServiceHistoryQueryBuilder queryBuilder = getServiceHistoryQueryBuilder(sortType, idaToken, statusFilter,
 				searchText, fromDateTime, toDateTime, serviceType, timeZoneOffset);
-		Query nativeQuery = entityManager.createNativeQuery(nativeQueryString, ResidentTransactionEntity.class);
-		List<ResidentTransactionEntity> residentTransactionEntityList = (List<ResidentTransactionEntity>) nativeQuery
-				.getResultList();
-		String[] split = nativeQueryString.split("order by");
-		String nativeQueryStringWithoutOrderBy = split[0];
-		nativeQueryStringWithoutOrderBy = nativeQueryStringWithoutOrderBy.replace("*", "count(*)");
-		Query nativeQuery2 = entityManager.createNativeQuery(nativeQueryStringWithoutOrderBy);
-		BigInteger count = (BigInteger) nativeQuery2.getSingleResult();
-		int size = count.intValue();
+		List<ResidentTransactionEntity> residentTransactionEntityList;
+		int size;
+		if (lastEventId != null) {
+			Optional<ResidentTransactionEntity> lastEntity = residentTransactionRepository.findById(lastEventId);
+			if (lastEntity.isEmpty() || !idaToken.equals(lastEntity.get().getTokenId())) {
+				audit.setAuditRequestDto(EventEnum.getEventEnumWithValue(EventEnum.INPUT_INVALID, "lastEventId",
+						"Request service history API"));
+				throw new InvalidInputException("lastEventId");
+			}
+			// The count is not repeated for the next pages: one more row than the page
+			// tells whether there is a page after this one
+			queryBuilder.seekAfter(lastEntity.get()).page(pageStart, pageFetch + 1);
+			residentTransactionEntityList = (List<ResidentTransactionEntity>) queryBuilder
+					.buildSelectQuery(entityManager).getResultList();
+			boolean hasNextPage = residentTransactionEntityList.size() > pageFetch;
+			if (hasNextPage) {
+				residentTransactionEntityList = residentTransactionEntityList.subList(0, pageFetch);
+			}
+			size = pageStart * pageFetch + residentTransactionEntityList.size() + (hasNextPage ? 1 : 0);
+		} else {
+			queryBuilder.page(pageStart, pageFetch);
+			residentTransactionEntityList = (List<ResidentTransactionEntity>) queryBuilder
+					.buildSelectQuery(entityManager).getResultList();
+			if (pageStart == 0 && residentTransactionEntityList.size() < pageFetch) {
+				// The first page is not full, so it already holds every matching row
+				size = residentTransactionEntityList.size();
+			} else {
+				size = ((Number) queryBuilder.buildCountQuery(entityManager).getSingleResult()).intValue();
+			}
+		}
 		return new PageDto<>(pageStart, pageFetch, size, (size / pageFetch) + 1,
 				convertResidentEntityListToServiceHistoryDto(residentTransactionEntityList, langCode, timeZoneOffset));
 	}
 
-	public String getDynamicNativeQueryStringForServiceHistory(String sortType, String idaToken, Integer pageStart, Integer pageFetch,
-															   String statusFilter, String searchText, LocalDate fromDateTime, LocalDate toDateTime,
-															   String serviceType, int timeZoneOffset) {
-		String query = "SELECT * FROM resident_transaction  where token_id = '"
-				+ idaToken+"'";
-		String dynamicQuery = "";
-		if (fromDateTime != null && toDateTime != null && serviceType != null && !serviceType.equalsIgnoreCase("ALL")
-				&& statusFilter != null && searchText != null) {
-			dynamicQuery = getDateQuery(fromDateTime, toDateTime, timeZoneOffset) + getServiceQuery(serviceType)
-					+ getStatusFilterQuery(statusFilter) + getSearchQuery(searchText);
-		} else if (fromDateTime != null && toDateTime != null && serviceType != null
-				&& !serviceType.equalsIgnoreCase("ALL") && statusFilter != null) {
-			dynamicQuery = getDateQuery(fromDateTime, toDateTime, timeZoneOffset) + getServiceQuery(serviceType )
-					+ getStatusFilterQuery(statusFilter );
-		} else if (fromDateTime != null && toDateTime != null && serviceType != null
-				&& !serviceType.equalsIgnoreCase("ALL") && searchText != null) {
-			dynamicQuery = getDateQuery(fromDateTime, toDateTime, timeZoneOffset) + getServiceQuery(serviceType )
-					+ getSearchQuery(searchText );
-		} else if (fromDateTime != null && toDateTime != null && statusFilter != null && searchText != null) {
-			dynamicQuery = getDateQuery(fromDateTime, toDateTime, timeZoneOffset) + getStatusFilterQuery(statusFilter )
-					+ getSearchQuery(searchText );
-		} else if (serviceType != null && !serviceType.equalsIgnoreCase("ALL") && statusFilter != null
-				&& searchText != null) {
-			dynamicQuery = getServiceQuery(serviceType ) + getStatusFilterQuery(statusFilter )
-					+ getSearchQuery(searchText );
-		} else if (serviceType != null && !serviceType.equalsIgnoreCase("ALL") && statusFilter != null) {
-			dynamicQuery = getServiceQuery(serviceType ) + getStatusFilterQuery(statusFilter );
-		} else if (serviceType != null && !serviceType.equalsIgnoreCase("ALL") && searchText != null) {
-			dynamicQuery = getServiceQuery(serviceType ) + getSearchQuery(searchText );
-		} else if (statusFilter != null && searchText != null) {
-			dynamicQuery = getStatusFilterQuery(statusFilter ) + getSearchQuery(searchText );
-		} else if (fromDateTime != null && toDateTime != null && searchText != null) {
-			dynamicQuery = getDateQuery(fromDateTime, toDateTime, timeZoneOffset) + getSearchQuery(searchText );
-		} else if (fromDateTime != null && toDateTime != null && statusFilter != null) {
-			dynamicQuery = getDateQuery(fromDateTime, toDateTime, timeZoneOffset) + getStatusFilterQuery(statusFilter );
-		} else if (fromDateTime != null && toDateTime != null && serviceType != null
-				&& !serviceType.equalsIgnoreCase("ALL")) {
-			dynamicQuery = getDateQuery(fromDateTime, toDateTime, timeZoneOffset) + getServiceQuery(serviceType );
-		} else if (fromDateTime != null && toDateTime != null) {
-			dynamicQuery = getDateQuery(fromDateTime, toDateTime, timeZoneOffset);
-		} else if (serviceType != null && !serviceType.equalsIgnoreCase("ALL")) {
-			dynamicQuery = getServiceQuery(serviceType );
-		} else if (statusFilter != null) {
-			dynamicQuery = getStatusFilterQuery(statusFilter );
-		} else if (searchText != null) {
-			dynamicQuery = getSearchQuery(searchText );
+	public ServiceHistoryQueryBuilder getServiceHistoryQueryBuilder(String sortType, String idaToken,
+			String statusFilter, String searchText, LocalDate fromDateTime, LocalDate toDateTime, String serviceType,
+			int timeZoneOffset) {
+		ServiceHistoryQueryBuilder queryBuilder = new ServiceHistoryQueryBuilder(idaToken);
+		if (fromDateTime != null && toDateTime != null) {
+			//Converting local time to UTC before using in db query
+			queryBuilder.createdBetween(fromDateTime.atStartOfDay().plusMinutes(timeZoneOffset),
+					toDateTime.plusDays(1).atStartOfDay().plusMinutes(timeZoneOffset));
 		}
-		if(serviceType == null){
-			dynamicQuery = dynamicQuery + getServiceQueryForNullServiceType();
+		if (serviceType == null) {
+			queryBuilder.requestTypeIn(convertListOfRequestTypeToListOfString(ServiceType.ALL.getRequestType()));
+		} else if (!serviceType.equalsIgnoreCase(ALL)) {
+			queryBuilder.requestTypeIn(convertServiceTypeToResidentTransactionType(serviceType));
 		}
-		dynamicQuery = dynamicQuery + getOlvPartnerIdQuery();
-		if (sortType == null) {
-			sortType = SortType.DESC.toString();
+		if (statusFilter != null) {
+			queryBuilder.statusCodeIn(getStatusCodesForStatusFilter(statusFilter));
 		}
-
-		String orderByQuery = " order by pinned_status desc, " + "cr_dtimes " + sortType + " limit " + pageFetch
-				+ " offset " + (pageStart) * pageFetch;
-		return query + dynamicQuery + orderByQuery;
-	}
-	private String getOlvPartnerIdQuery() {
-		return " AND (olv_partner_id is null OR olv_partner_id='" + onlineVerificationPartnerId + "')";
-	}
-
-	private String getServiceQueryForNullServiceType() {
-		return " and request_type_code in (" + convertServiceTypeListToString(
-				(List<String>) convertListOfRequestTypeToListOfString(ServiceType.ALL.getRequestType())) +")";
-	}
-
-	private String getServiceQuery(String serviceType) {
-		List<String> requestTypeList = convertServiceTypeToResidentTransactionType(serviceType);
-		String requestTypeListString = convertServiceTypeListToString(requestTypeList);
-		return " and request_type_code in (" + requestTypeListString + ")";
-	}
-
-	private String getDateQuery(LocalDate fromDate, LocalDate toDate, int timeZoneOffset) {
-		//Converting local time to UTC before using in db query
-		LocalDateTime fromDateTime = fromDate.atStartOfDay().plusMinutes(timeZoneOffset);
-		LocalDateTime toDateTime = toDate.plusDays(1).atStartOfDay().plusMinutes(timeZoneOffset);
-		return " and cr_dtimes between '" +  fromDateTime + "' and '" +
-				toDateTime+ "'";
-	}
-
-	private String getSearchQuery(String searchText) {
-		String text= "%" + searchText.replace(AUTH_TYPE_SEPERATOR, "") + "%";
-		return " and Replace(event_id,'-','') like '"+text+ "'";
+		if (searchText != null) {
+			queryBuilder.eventIdLike(MODULO_OPERATOR + searchText.replace(AUTH_TYPE_SEPERATOR, "") + MODULO_OPERATOR);
+		}
+		return queryBuilder.olvPartnerIdIsNullOr(onlineVerificationPartnerId).sortType(sortType);
 	}
 
-	public String getStatusFilterQuery(String statusFilter) {
+	public List<String> getStatusCodesForStatusFilter(String statusFilter) {
 		List<String> statusFilterList = List.of(statusFilter.split(",")).stream().map(String::trim)
 				.collect(Collectors.toList());
-		String statusFilterListString = "";
 		List<String> statusFilterListContainingALlStatus = new ArrayList<>();
 		for (String status : statusFilterList) {
 			if (status.equalsIgnoreCase(EventStatus.SUCCESS.getStatus())) {
@@ -1814,24 +1953,7 @@ public class ResidentServiceImpl implements ResidentService {
 						.map(Enum::toString).collect(Collectors.toList()));
 			}
 		}
-		statusFilterListString = convertStatusFilterListToString(statusFilterListContainingALlStatus);
-		return " and status_code in (" + statusFilterListString + ")";
-	}
-
-	public String convertStatusFilterListToString(List<String> statusFilterListContainingALlStatus) {
-		String statusFilterListString = "";
-		for (String status : statusFilterListContainingALlStatus) {
-			statusFilterListString = statusFilterListString + "'" + status + "',";
-		}
-		return statusFilterListString.substring(0, statusFilterListString.length() - 1);
-	}
-
-	public String convertServiceTypeListToString(List<String> serviceTypeList) {
-		String serviceTypeListString = "";
-		for (String serviceType : serviceTypeList) {
-			serviceTypeListString = serviceTypeListString + "'" + serviceType + "',";
-		}
-		return serviceTypeListString.substring(0, serviceTypeListString.length() - 1);
+		return statusFilterListContainingALlStatus;
 	}
 
 	private List<String> convertServiceTypeToResidentTransactionType(String serviceType) {
@@ -24,6 +24,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -69,6 +70,7 @@ import io.mosip.resident.dto.VidRevokeRequestDTOV2;
 import io.mosip.resident.dto.VidRevokeResponseDTO;
 import io.mosip.resident.entity.ResidentTransactionEntity;
 import io.mosip.resident.exception.ApisResourceAccessException;
+import io.mosip.resident.exception.BaseResidentUncheckedExceptionWithMetadata;
 import io.mosip.resident.exception.OtpValidationFailedException;
 import io.mosip.resident.exception.ResidentServiceCheckedException;
 import io.mosip.resident.exception.ResidentServiceException;
@@ -80,6 +82,7 @@ import io.mosip.resident.service.IdAuthService;
 import io.mosip.resident.service.NotificationService;
 import io.mosip.resident.service.ResidentVidService;
 import io.mosip.resident.util.AuditUtil;
+import io.mosip.resident.util.BoundedCache;
 import io.mosip.resident.util.EventEnum;
 import io.mosip.resident.util.ResidentServiceRestClient;
 import io.mosip.resident.util.Utility;
@@ -172,14 +175,31 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 
 	@Value("${perpatual.vid-type:PERPETUAL}")
 	private String perpatualVidType;
+
+	/**
+	 * Time to keep the VIDs of a UIN for the perpetual VID lookups. Zero fetches
+	 * them from ID repository every time.
+	 */
+	@Value("${" + ResidentConstants.VID_LIST_CACHE_TTL_MILLISECS + ":"
+			+ ResidentConstants.VID_LIST_CACHE_TTL_MILLISECS_DEFAULT + "}")
+	private long vidListCacheTtlMillis;
+
+	@Value("${" + ResidentConstants.VID_LIST_CACHE_MAX_SIZE + ":" + ResidentConstants.VID_LIST_CACHE_MAX_SIZE_DEFAULT
+			+ "}")
+	private int vidListCacheMaxSize;
+
+	/** VIDs keyed by the UIN hash, created on first use. */
+	private volatile BoundedCache<String, List<Map<String, ?>>> vidListCache;
 	
 	@Override
+	@Transactional(noRollbackFor = BaseResidentUncheckedExceptionWithMetadata.class)
 	public ResponseWrapper<VidResponseDto> generateVid(BaseVidRequestDto requestDto,
 			String individualId) throws OtpValidationFailedException, ResidentServiceCheckedException {
 		return generateVidV2(requestDto, individualId).getT1();
 	}
 	
 	@Override
+	@Transactional(noRollbackFor = BaseResidentUncheckedExceptionWithMetadata.class)
 	public Tuple2<ResponseWrapper<VidResponseDto>, String> generateVidV2(BaseVidRequestDto requestDto,
 			String individualId) throws OtpValidationFailedException, ResidentServiceCheckedException {
 		boolean isV2Request = requestDto instanceof VidRequestDtoV2;
@@ -223,6 +243,9 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 			String uin = identityDTO.getUIN();
 			// generate vid
 			VidGeneratorResponseDto vidResponse = vidGenerator(requestDto, uin);
+			evictCachedVids(uin);
+			// Generating a VID may revoke an older VID of the same type.
+			identityServiceImpl.evictCachedIds(uin);
 			audit.setAuditRequestDto(
 					EventEnum.getEventEnumWithValue(EventEnum.VID_GENERATED, requestDto.getTransactionID()));
 			// send notification
@@ -455,12 +478,14 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 	}
 
 	@Override
+	@Transactional(noRollbackFor = BaseResidentUncheckedExceptionWithMetadata.class)
 	public ResponseWrapper<VidRevokeResponseDTO> revokeVid(BaseVidRevokeRequestDTO requestDto, String vid, String indivudalId)
 			throws OtpValidationFailedException, ResidentServiceCheckedException, ApisResourceAccessException {
 		return revokeVidV2(requestDto, vid, indivudalId).getT1();
 	}
 
 	@Override
+	@Transactional(noRollbackFor = BaseResidentUncheckedExceptionWithMetadata.class)
 	public Tuple2<ResponseWrapper<VidRevokeResponseDTO>, String> revokeVidV2(BaseVidRevokeRequestDTO requestDto, String vid, String indivudalId)
 			throws OtpValidationFailedException, ResidentServiceCheckedException, ApisResourceAccessException {
 		boolean isV2Request = requestDto instanceof VidRevokeRequestDTOV2;
@@ -541,6 +566,9 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 		try {
 			// revoke vid
 			VidGeneratorResponseDto vidResponse = vidDeactivator(requestDto, uin, vid);
+			evictCachedVids(uin);
+			identityServiceImpl.evictCachedId(vid);
+			identityServiceImpl.evictCachedIds(uin);
 			audit.setAuditRequestDto(
 					EventEnum.getEventEnumWithValue(EventEnum.DEACTIVATED_VID, requestDto.getTransactionID()));
 			// send notification
@@ -795,22 +823,13 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 
 	@Override
 	public ResponseWrapper<List<Map<String,?>>> retrieveVidsfromUin(String uin, int timeZoneOffset) throws ResidentServiceCheckedException, ApisResourceAccessException {
-		ResponseWrapper response;
-		try {
-			response = (ResponseWrapper) residentServiceRestClient.getApi(
-					env.getProperty(ApiName.RETRIEVE_VIDS.name()) + uin, ResponseWrapper.class);
-		} catch (Exception e) {
-			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.REGISTRATIONID.toString(),
-					uin, ResidentErrorCode.API_RESOURCE_UNAVAILABLE.getErrorCode()
-							+ e.getMessage() + ExceptionUtils.getStackTrace(e));
-			throw new ApisResourceAccessException("Unable to retrieve VID : " + e.getMessage());
-		}
-		
-		List<Map<String, ?>> filteredList = ((List<Map<String, ?>>) response.getResponse()).stream()
+		List<Map<String, ?>> vids = getVidsFromIdRepo(uin);
+		Map<String, Integer> transactionCounts = getTransactionCounts(vids);
+		List<Map<String, ?>> filteredList = vids.stream()
 				.map(map -> {
 					LinkedHashMap<String, Object> lhm = new LinkedHashMap<String, Object>(map);
 					getMaskedVid(lhm);
-					getRefIdHash(lhm);
+					getTransactionsLeftCount(lhm, transactionCounts);
 					normalizeTime(EXPIRY_TIMESTAMP, lhm, timeZoneOffset);
 					normalizeTime(GENRATED_ON_TIMESTAMP, lhm, timeZoneOffset);
 					return lhm;
@@ -845,10 +864,52 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 		return map;
 	}
 
-	private Map<String, Object> getRefIdHash(Map<String, Object> map) {
+	private List<Map<String, ?>> getVidsFromIdRepo(String uin) throws ApisResourceAccessException {
+		ResponseWrapper response;
+		try {
+			response = (ResponseWrapper) residentServiceRestClient.getApi(
+					env.getProperty(ApiName.RETRIEVE_VIDS.name()) + uin, ResponseWrapper.class);
+		} catch (Exception e) {
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.REGISTRATIONID.toString(),
+					uin, ResidentErrorCode.API_RESOURCE_UNAVAILABLE.getErrorCode()
+							+ e.getMessage() + ExceptionUtils.getStackTrace(e));
+			throw new ApisResourceAccessException("Unable to retrieve VID : " + e.getMessage());
+		}
+		return (List<Map<String, ?>>) response.getResponse();
+	}
+
+	/**
+	 * Counts the auth transactions of all the VIDs with a single query, keyed by
+	 * the VID hash.
+	 */
+	private Map<String, Integer> getTransactionCounts(List<Map<String, ?>> vids) {
+		Map<String, Integer> transactionCounts = new HashMap<>();
 		try {
-			String hashrefid = HMACUtils2.digestAsPlainText(map.get(VID).toString().getBytes());
-			int countdb = residentTransactionRepository.findByrefIdandauthtype(hashrefid);
+			for (Map<String, ?> map : vids) {
+				transactionCounts.put(getVidHash(map), 0);
+			}
+		} catch (NoSuchAlgorithmException e) {
+			logger.error("NoSuchAlgorithmException", ExceptionUtils.getStackTrace(e));
+			logger.error("In getTransactionCounts method of ResidentVidServiceImpl class", e.getMessage());
+			return transactionCounts;
+		}
+		if (!transactionCounts.isEmpty()) {
+			List<Object[]> counts = residentTransactionRepository
+					.countByRefIdsAndAuthType(List.copyOf(transactionCounts.keySet()));
+			for (Object[] count : counts) {
+				transactionCounts.put((String) count[0], ((Number) count[1]).intValue());
+			}
+		}
+		return transactionCounts;
+	}
+
+	private String getVidHash(Map<String, ?> map) throws NoSuchAlgorithmException {
+		return HMACUtils2.digestAsPlainText(map.get(VID).toString().getBytes());
+	}
+
+	private Map<String, Object> getTransactionsLeftCount(Map<String, Object> map, Map<String, Integer> transactionCounts) {
+		try {
+			int countdb = transactionCounts.getOrDefault(getVidHash(map), 0);
 			if(map.get(TRANSACTION_LIMIT) != null) {
 				int limitCount =  (int) map.get(TRANSACTION_LIMIT);
 				int leftcount = limitCount - countdb;
@@ -862,14 +923,13 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 			map.remove(HASH_ATTRIBUTES);
 		} catch (NoSuchAlgorithmException e) {
 			logger.error("NoSuchAlgorithmException", ExceptionUtils.getStackTrace(e));
-			logger.error("In getRefIdHash method of ResidentVidServiceImpl class", e.getMessage());
+			logger.error("In getTransactionsLeftCount method of ResidentVidServiceImpl class", e.getMessage());
 		}
 		return map;
 	}	
 	
 	public Optional<String> getPerpatualVid(String uin) throws ResidentServiceCheckedException, ApisResourceAccessException {
-		ResponseWrapper<List<Map<String, ?>>> vidResp = retrieveVidsfromUin(uin, ResidentConstants.UTC_TIMEZONE_OFFSET);
-		List<Map<String, ?>> vids = vidResp.getResponse();
+		List<Map<String, ?>> vids = getCachedVids(uin);
 		if(vids != null && !vids.isEmpty()) {
 			return vids.stream()
 				.filter(map -> map.containsKey(VID_TYPE) && 
@@ -879,5 +939,55 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 		}
 		return Optional.empty();
 	}
+
+	/**
+	 * Returns the VIDs of the UIN without the transaction counts, which the
+	 * perpetual VID lookup does not need. They are kept for the configured time
+	 * as the identity attribute APIs look them up on every call.
+	 */
+	private List<Map<String, ?>> getCachedVids(String uin) throws ApisResourceAccessException {
+		if (vidListCacheTtlMillis <= 0) {
+			return getVidsFromIdRepo(uin);
+		}
+		String uinHash = getUinHash(uin);
+		List<Map<String, ?>> vids = getVidListCache().get(uinHash);
+		if (vids != null) {
+			return vids;
+		}
+		vids = getVidsFromIdRepo(uin);
+		if (vids != null) {
+			getVidListCache().put(uinHash, vids);
+		}
+		return vids;
+	}
+
+	private BoundedCache<String, List<Map<String, ?>>> getVidListCache() {
+		if (vidListCache == null) {
+			synchronized (this) {
+				if (vidListCache == null) {
+					vidListCache = new BoundedCache<>(vidListCacheMaxSize, vidListCacheTtlMillis);
+				}
+			}
+		}
+		return vidListCache;
+	}
+
+	private void evictCachedVids(String uin) {
+		if (vidListCacheTtlMillis > 0 && uin != null) {
+			try {
+				getVidListCache().remove(getUinHash(uin));
+			} catch (ApisResourceAccessException e) {
+				logger.error("Could not evict the cached VIDs", e.getMessage());
+			}
+		}
+	}
+
+	private String getUinHash(String uin) throws ApisResourceAccessException {
+		try {
+			return HMACUtils2.digestAsPlainText(uin.getBytes());
+		} catch (NoSuchAlgorithmException e) {
+			throw new ApisResourceAccessException("Could not hash the UIN", e);
+		}
+	}
 	
 }
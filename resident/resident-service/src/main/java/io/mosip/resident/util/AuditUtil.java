@@ -1,11 +1,36 @@
 package io.mosip.resident.util;
 
+import static io.mosip.resident.constant.ResidentConstants.AUDIT_ASYNC_ENABLED;
+import static io.mosip.resident.constant.ResidentConstants.AUDIT_BATCH_SIZE;
+import static io.mosip.resident.constant.ResidentConstants.AUDIT_BATCH_SIZE_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.AUDIT_QUEUE_BLOCK_TIMEOUT;
+import static io.mosip.resident.constant.ResidentConstants.AUDIT_QUEUE_BLOCK_TIMEOUT_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.AUDIT_QUEUE_CAPACITY;
+import static io.mosip.resident.constant.ResidentConstants.AUDIT_QUEUE_CAPACITY_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.AUDIT_QUEUE_FULL_POLICY;
+import static io.mosip.resident.constant.ResidentConstants.AUDIT_SHUTDOWN_TIMEOUT;
+import static io.mosip.resident.constant.ResidentConstants.AUDIT_SHUTDOWN_TIMEOUT_DEFAULT;
+import static io.mosip.resident.constant.ResidentConstants.AUDIT_SPILL_FILE;
+
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -14,6 +39,7 @@ import org.springframework.core.env.Environment;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -22,6 +48,7 @@ import org.springframework.web.client.RestTemplate;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.mosip.kernel.core.exception.ExceptionUtils;
 import io.mosip.kernel.core.exception.ServiceError;
 import io.mosip.kernel.core.http.RequestWrapper;
@@ -42,7 +69,7 @@ public class AuditUtil {
 	private static final Logger logger = LoggerConfiguration.logConfig(AuditUtil.class);
 
 	@Autowired
-	@Qualifier("selfTokenRestTemplate")
+	@Qualifier("pooledSelfTokenRestTemplate")
 	RestTemplate restTemplate;
 	
 	@Value("${mosip.kernel.masterdata.audit-url}")
@@ -56,11 +83,67 @@ public class AuditUtil {
 
 	@Autowired
 	private Environment environment;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	/**
+	 * When enabled the audits are queued and posted to the audit manager by a
+	 * background worker instead of on the request thread.
+	 */
+	@Value("${" + AUDIT_ASYNC_ENABLED + ":true}")
+	private boolean asyncEnabled;
+
+	@Value("${" + AUDIT_QUEUE_CAPACITY + ":" + AUDIT_QUEUE_CAPACITY_DEFAULT + "}")
+	private int queueCapacity;
+
+	@Value("${" + AUDIT_BATCH_SIZE + ":" + AUDIT_BATCH_SIZE_DEFAULT + "}")
+	private int batchSize;
+
+	/**
+	 * What to do with an audit when the queue is full. BLOCK waits for the block
+	 * timeout for space in the queue, DROP does not wait. If the audit still can not
+	 * be queued it is written to the spill file, or dropped when there is none.
+	 */
+	@Value("${" + AUDIT_QUEUE_FULL_POLICY + ":BLOCK}")
+	private String queueFullPolicy;
+
+	@Value("${" + AUDIT_QUEUE_BLOCK_TIMEOUT + ":" + AUDIT_QUEUE_BLOCK_TIMEOUT_DEFAULT + "}")
+	private long blockTimeoutMillis;
+
+	/**
+	 * File the audits are written to when they can not be queued, are not accepted
+	 * by the audit manager, or are not posted before shutdown.
+	 */
+	@Value("${" + AUDIT_SPILL_FILE + ":}")
+	private String spillFile;
+
+	@Value("${" + AUDIT_SHUTDOWN_TIMEOUT + ":" + AUDIT_SHUTDOWN_TIMEOUT_DEFAULT + "}")
+	private long shutdownTimeoutMillis;
 	
   
 	/** The Constant UNKNOWN_HOST. */
 	private static final String UNKNOWN_HOST = "Unknown Host";
 
+	private static final String DROP_POLICY = "DROP";
+
+	private static final long POLL_TIMEOUT_MILLIS = 1000;
+
+	private static final long SPILL_RETRY_INTERVAL_MILLIS = 30000;
+
+	private static final String METRIC_PREFIX = "resident.audit";
+
+	private BlockingQueue<AuditRequestDTO> auditQueue;
+
+	private ExecutorService auditExecutor;
+
+	private volatile boolean running;
+
+	private final Object spillLock = new Object();
+
+	/** Time before which the spilled audits are not posted, after a failed post. */
+	private long nextSpillRetryTime;
+
 	private String hostIpAddress = null;
 
 	private String hostName = null;
@@ -82,6 +165,43 @@ public class AuditUtil {
 	}
 	
 	@PostConstruct
+	public void init() {
+		getHostDetails();
+		if (asyncEnabled) {
+			auditQueue = new LinkedBlockingQueue<>(queueCapacity);
+			meterRegistry.gauge(METRIC_PREFIX + ".queue.depth", auditQueue, BlockingQueue::size);
+			running = true;
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("resident-audit-");
+			threadFactory.setDaemon(true);
+			auditExecutor = Executors.newSingleThreadExecutor(threadFactory);
+			auditExecutor.execute(this::processAuditQueue);
+		}
+	}
+
+	/**
+	 * Stops the worker after it has posted the queued audits. Audits that could not
+	 * be posted within the shutdown timeout are written to the spill file.
+	 */
+	@PreDestroy
+	public void destroy() {
+		if (auditExecutor == null) {
+			return;
+		}
+		running = false;
+		auditExecutor.shutdown();
+		try {
+			if (!auditExecutor.awaitTermination(shutdownTimeoutMillis, TimeUnit.MILLISECONDS)) {
+				auditExecutor.shutdownNow();
+			}
+		} catch (InterruptedException e) {
+			auditExecutor.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+		List<AuditRequestDTO> remainingAudits = new ArrayList<>();
+		auditQueue.drainTo(remainingAudits);
+		remainingAudits.forEach(this::spillAudit);
+	}
+
 	public void getHostDetails() {
 		hostIpAddress = getServerIp();
 		hostName = getServerName();
@@ -127,6 +247,159 @@ public class AuditUtil {
 	}
 	
 	public void callAuditManager(AuditRequestDTO auditRequestDto) {
+		if (running) {
+			queueAudit(auditRequestDto);
+		} else {
+			postAudit(auditRequestDto);
+		}
+	}
+
+	private void queueAudit(AuditRequestDTO auditRequestDto) {
+		boolean queued;
+		try {
+			queued = DROP_POLICY.equalsIgnoreCase(queueFullPolicy) ? auditQueue.offer(auditRequestDto)
+					: auditQueue.offer(auditRequestDto, blockTimeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			queued = false;
+		}
+		if (!queued) {
+			spillAudit(auditRequestDto);
+		}
+	}
+
+	private void processAuditQueue() {
+		List<AuditRequestDTO> batch = new ArrayList<>(batchSize);
+		while (running || !auditQueue.isEmpty()) {
+			try {
+				AuditRequestDTO auditRequestDto = auditQueue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+				if (auditRequestDto == null) {
+					postSpilledAudits();
+					continue;
+				}
+				batch.add(auditRequestDto);
+				auditQueue.drainTo(batch, batchSize - 1);
+				batch.forEach(this::postQueuedAudit);
+				batch.clear();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (RuntimeException e) {
+				batch.clear();
+				logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+						LoggerFileConstant.APPLICATIONID.toString(), "Error in posting audits: " + e.getMessage());
+			}
+		}
+	}
+
+	private void postQueuedAudit(AuditRequestDTO auditRequestDto) {
+		if (auditRequestDto.getActionTimeStamp() != null) {
+			meterRegistry.timer(METRIC_PREFIX + ".lag")
+					.record(Duration.between(auditRequestDto.getActionTimeStamp(), DateUtils.getUTCCurrentDateTime()));
+		}
+		if (!postAudit(auditRequestDto)) {
+			// Kept in the spill file, to be posted again once the audit manager is back
+			spillAudit(auditRequestDto);
+		}
+	}
+
+	private void spillAudit(AuditRequestDTO auditRequestDto) {
+		if (spillFile == null || spillFile.isEmpty()) {
+			meterRegistry.counter(METRIC_PREFIX + ".overflow", "action", "dropped").increment();
+			logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(),
+					"Audit could not be queued or posted, dropped audit: " + auditRequestDto.getEventId());
+			return;
+		}
+		try {
+			String auditJson = objectMapper.writeValueAsString(auditRequestDto) + System.lineSeparator();
+			synchronized (spillLock) {
+				Files.write(Paths.get(spillFile), auditJson.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+						StandardOpenOption.APPEND);
+			}
+			meterRegistry.counter(METRIC_PREFIX + ".overflow", "action", "spilled").increment();
+		} catch (IOException e) {
+			meterRegistry.counter(METRIC_PREFIX + ".overflow", "action", "dropped").increment();
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), "Error in writing audit to spill file: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Posts the audits in the spill file once the queue is idle. The posting stops
+	 * at the first audit that is not accepted, and only the posted audits are
+	 * removed from the file. The rest are retried after
+	 * {@link #SPILL_RETRY_INTERVAL_MILLIS}.
+	 */
+	private void postSpilledAudits() {
+		if (spillFile == null || spillFile.isEmpty() || System.currentTimeMillis() < nextSpillRetryTime) {
+			return;
+		}
+		Path spillPath = Paths.get(spillFile);
+		List<String> spilledAudits;
+		synchronized (spillLock) {
+			if (!Files.exists(spillPath)) {
+				return;
+			}
+			try {
+				spilledAudits = Files.readAllLines(spillPath, StandardCharsets.UTF_8);
+			} catch (IOException e) {
+				logSpillFileError("Error in reading audits from spill file: ", e);
+				return;
+			}
+		}
+		int handledCount = 0;
+		for (String spilledAudit : spilledAudits) {
+			AuditRequestDTO auditRequestDto;
+			try {
+				auditRequestDto = objectMapper.readValue(spilledAudit, AuditRequestDTO.class);
+			} catch (IOException e) {
+				logSpillFileError("Error in reading audit from spill file, skipped it: ", e);
+				handledCount++;
+				continue;
+			}
+			if (!postAudit(auditRequestDto)) {
+				nextSpillRetryTime = System.currentTimeMillis() + SPILL_RETRY_INTERVAL_MILLIS;
+				break;
+			}
+			handledCount++;
+		}
+		if (handledCount > 0) {
+			removeSpilledAudits(spillPath, handledCount);
+		}
+	}
+
+	/**
+	 * Removes the first audits of the spill file. Audits are only appended to the
+	 * file meanwhile, so the first lines are still the ones that were posted.
+	 */
+	private void removeSpilledAudits(Path spillPath, int count) {
+		synchronized (spillLock) {
+			try {
+				List<String> spilledAudits = Files.readAllLines(spillPath, StandardCharsets.UTF_8);
+				List<String> remainingAudits = spilledAudits.subList(Math.min(count, spilledAudits.size()),
+						spilledAudits.size());
+				if (remainingAudits.isEmpty()) {
+					Files.delete(spillPath);
+				} else {
+					Files.write(spillPath, remainingAudits, StandardCharsets.UTF_8,
+							StandardOpenOption.TRUNCATE_EXISTING);
+				}
+			} catch (IOException e) {
+				logSpillFileError("Error in removing posted audits from spill file: ", e);
+			}
+		}
+	}
+
+	private void logSpillFileError(String message, IOException e) {
+		logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+				LoggerFileConstant.APPLICATIONID.toString(), message + e.getMessage());
+	}
+
+	/**
+	 * Posts the audit to the audit manager and returns whether it was accepted.
+	 */
+	private boolean postAudit(AuditRequestDTO auditRequestDto) {
 
 		RequestWrapper<AuditRequestDTO> auditReuestWrapper = new RequestWrapper<>();
 		auditReuestWrapper.setRequest(auditRequestDto);
@@ -138,9 +411,11 @@ public class AuditUtil {
 			String responseBody = response.getBody();
 
 			getAuditDetailsFromResponse(responseBody);
+			return true;
 		} catch (Exception ex) {
 			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
 					LoggerFileConstant.APPLICATIONID.toString(), ex.getMessage() + org.apache.commons.lang3.exception.ExceptionUtils.getStackTrace(ex));
+			return false;
 		}
 		
 
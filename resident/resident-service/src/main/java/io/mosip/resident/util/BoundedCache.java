@@ -0,0 +1,93 @@
+package io.mosip.resident.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * In memory cache with a maximum size and a time to live for its entries. The
+ * least recently used entry is evicted when the cache is full, and an expired
+ * entry is removed when it is read, so no operation scans the whole cache
+ * except {@link #removeIf(Predicate)}.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class BoundedCache<K, V> {
+
+	private final int maxSize;
+
+	private final long ttlMillis;
+
+	private final Map<K, CacheEntry<V>> entries;
+
+	/**
+	 * @param maxSize   the maximum number of entries
+	 * @param ttlMillis the time to keep an entry
+	 */
+	public BoundedCache(int maxSize, long ttlMillis) {
+		this.maxSize = Math.max(maxSize, 1);
+		this.ttlMillis = ttlMillis;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+				return size() > BoundedCache.this.maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Returns the value of the key, or null if it is not cached or has expired.
+	 */
+	public synchronized V get(K key) {
+		CacheEntry<V> entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.expiryTime <= System.currentTimeMillis()) {
+			entries.remove(key);
+			return null;
+		}
+		return entry.value;
+	}
+
+	public synchronized void put(K key, V value) {
+		entries.put(key, new CacheEntry<>(System.currentTimeMillis() + ttlMillis, value));
+	}
+
+	public synchronized void remove(K key) {
+		entries.remove(key);
+	}
+
+	/**
+	 * Removes the entries whose value matches the predicate. This scans the whole
+	 * cache, so it is meant for evictions on rare events only.
+	 */
+	public synchronized void removeIf(Predicate<V> predicate) {
+		entries.values().removeIf(entry -> predicate.test(entry.value));
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	/** Returns the number of entries, including the expired ones not yet removed. */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	private static final class CacheEntry<V> {
+
+		private final long expiryTime;
+
+		private final V value;
+
+		private CacheEntry(long expiryTime, V value) {
+			this.expiryTime = expiryTime;
+			this.value = value;
+		}
+	}
+
+}
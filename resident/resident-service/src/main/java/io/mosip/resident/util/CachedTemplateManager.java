@@ -0,0 +1,128 @@
+package io.mosip.resident.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.velocity.Template;
+import org.apache.velocity.VelocityContext;
+import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.exception.MethodInvocationException;
+import org.apache.velocity.exception.ParseErrorException;
+import org.apache.velocity.exception.ResourceNotFoundException;
+import org.apache.velocity.exception.TemplateInitException;
+import org.apache.velocity.runtime.RuntimeServices;
+import org.apache.velocity.runtime.parser.ParseException;
+
+import io.mosip.kernel.core.templatemanager.exception.TemplateMethodInvocationException;
+import io.mosip.kernel.core.templatemanager.exception.TemplateParsingException;
+import io.mosip.kernel.core.templatemanager.exception.TemplateResourceNotFoundException;
+import io.mosip.kernel.core.util.HMACUtils2;
+import io.mosip.kernel.templatemanager.velocity.constant.TemplateManagerConstant;
+import io.mosip.kernel.templatemanager.velocity.constant.TemplateManagerExceptionCodeConstant;
+import io.mosip.kernel.templatemanager.velocity.impl.TemplateManagerImpl;
+import io.mosip.kernel.templatemanager.velocity.util.TemplateManagerUtil;
+
+/**
+ * Template manager that keeps the parsed velocity templates of the merged
+ * template text, so that a notification, acknowledgement or PDF template is
+ * parsed only once and not on every merge. The templates are keyed by the hash
+ * of their content, so a template changed in masterdata gets a new entry and
+ * the old one is evicted once it is the least recently used entry of the
+ * bounded cache.
+ */
+public class CachedTemplateManager extends TemplateManagerImpl {
+
+	private static final String TEMPLATE_NAME_PREFIX = "templateManager-";
+
+	private final RuntimeServices runtimeServices;
+
+	private final Map<String, Template> templateCache;
+
+	public CachedTemplateManager(VelocityEngine velocityEngine, RuntimeServices runtimeServices, int cacheSize) {
+		super(velocityEngine);
+		this.runtimeServices = runtimeServices;
+		this.templateCache = Collections.synchronizedMap(new LinkedHashMap<String, Template>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Template> eldest) {
+				return size() > cacheSize;
+			}
+		});
+	}
+
+	@Override
+	public InputStream merge(InputStream template, Map<String, Object> values) throws IOException {
+		Objects.requireNonNull(template, TemplateManagerConstant.TEMPLATE_INPUT_STREAM_NULL.getMessage());
+		Objects.requireNonNull(values, TemplateManagerConstant.TEMPLATE_VALUES_NULL.getMessage());
+		VelocityContext context = TemplateManagerUtil.bindInputToContext(values);
+		if (context == null) {
+			return null;
+		}
+		try {
+			StringWriter writer = new StringWriter();
+			getTemplate(IOUtils.toString(template, StandardCharsets.UTF_8)).merge(context, writer);
+			return IOUtils.toInputStream(writer.toString(), StandardCharsets.UTF_8);
+		} catch (ResourceNotFoundException e) {
+			throw new TemplateResourceNotFoundException(TemplateManagerExceptionCodeConstant.TEMPLATE_NOT_FOUND.getErrorCode(),
+					TemplateManagerExceptionCodeConstant.TEMPLATE_NOT_FOUND.getErrorMessage(), e);
+		} catch (ParseErrorException | TemplateInitException e) {
+			throw new TemplateParsingException(TemplateManagerExceptionCodeConstant.TEMPLATE_PARSING.getErrorCode(),
+					TemplateManagerExceptionCodeConstant.TEMPLATE_PARSING.getErrorMessage(), e);
+		} catch (MethodInvocationException e) {
+			throw new TemplateMethodInvocationException(
+					TemplateManagerExceptionCodeConstant.TEMPLATE_INVALID_REFERENCE.getErrorCode(),
+					TemplateManagerExceptionCodeConstant.TEMPLATE_INVALID_REFERENCE.getErrorMessage(), e);
+		}
+	}
+
+	public int getCacheSize() {
+		return templateCache.size();
+	}
+
+	public void clearCache() {
+		templateCache.clear();
+	}
+
+	private Template getTemplate(String templateText) {
+		String templateKey = getTemplateKey(templateText);
+		Template template = templateCache.get(templateKey);
+		if (template == null) {
+			template = parseTemplate(TEMPLATE_NAME_PREFIX + templateKey, templateText);
+			templateCache.put(templateKey, template);
+		}
+		return template;
+	}
+
+	private Template parseTemplate(String templateName, String templateText) {
+		try {
+			Template template = new Template();
+			template.setRuntimeServices(runtimeServices);
+			template.setName(templateName);
+			template.setData(runtimeServices.parse(new StringReader(templateText), templateName));
+			template.initDocument();
+			return template;
+		} catch (ParseException e) {
+			throw new ParseErrorException(e, templateName);
+		}
+	}
+
+	private String getTemplateKey(String templateText) {
+		try {
+			return HMACUtils2.digestAsPlainText(templateText.getBytes(StandardCharsets.UTF_8));
+		} catch (NoSuchAlgorithmException e) {
+			throw new TemplateParsingException(TemplateManagerExceptionCodeConstant.TEMPLATE_PARSING.getErrorCode(),
+					TemplateManagerExceptionCodeConstant.TEMPLATE_PARSING.getErrorMessage(), e);
+		}
+	}
+
+}
@@ -15,6 +15,9 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
@@ -47,7 +50,7 @@ public class ResidentServiceRestClient {
 	Environment environment;
 	
 	public ResidentServiceRestClient() {
-		this(new RestTemplate());
+		this(new RestTemplate(new HttpComponentsClientHttpRequestFactory()));
 	}
 	
 	
@@ -94,6 +97,36 @@ public class ResidentServiceRestClient {
 
 	}
 
+	/**
+	 * Gets the api and returns the open response, so that its body can be copied
+	 * while it is read instead of being loaded in memory. An error status is
+	 * reported here, before anything is read from the body. The caller must close
+	 * the response.
+	 *
+	 * @param uri the uri
+	 * @return the open response
+	 * @throws ApisResourceAccessException
+	 */
+	public ClientHttpResponse getApiAsResponse(URI uri) throws ApisResourceAccessException {
+		ClientHttpResponse response = null;
+		try {
+			ClientHttpRequest request = residentRestTemplate.getRequestFactory().createRequest(uri, HttpMethod.GET);
+			request.getHeaders().putAll(setRequestHeader(null, null).getHeaders());
+			response = request.execute();
+			if (residentRestTemplate.getErrorHandler().hasError(response)) {
+				residentRestTemplate.getErrorHandler().handleError(response);
+			}
+			return response;
+		} catch (Exception e) {
+			if (response != null) {
+				response.close();
+			}
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), e.getMessage() + ExceptionUtils.getStackTrace(e));
+			throw new ApisResourceAccessException("Exception occurred while accessing " + uri, e);
+		}
+	}
+
 	public Object getApi(ApiName apiName, List<String> pathsegments, String queryParamName, String queryParamValue,
 			Class<?> responseType) throws ApisResourceAccessException {
 
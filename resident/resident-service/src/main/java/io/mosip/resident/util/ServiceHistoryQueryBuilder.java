@@ -0,0 +1,134 @@
+package io.mosip.resident.util;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+
+import io.mosip.resident.dto.SortType;
+import io.mosip.resident.entity.ResidentTransactionEntity;
+
+/**
+ * Builds the native service history query on resident_transaction. All the
+ * filter values are passed as bind parameters, so the SQL text only depends on
+ * which filters are present and the database can reuse the prepared plan.
+ * Supports keyset (seek) pagination on (pinned_status, cr_dtimes, event_id) in
+ * addition to limit/offset pagination.
+ */
+public class ServiceHistoryQueryBuilder {
+
+	private static final String SELECT_QUERY = "SELECT * FROM resident_transaction WHERE token_id = :tokenId";
+	private static final String COUNT_QUERY = "SELECT count(*) FROM resident_transaction WHERE token_id = :tokenId";
+
+	private final StringBuilder whereClause = new StringBuilder();
+	private final Map<String, Object> parameters = new LinkedHashMap<>();
+	private SortType sortType = SortType.DESC;
+	private String seekClause = "";
+	private final Map<String, Object> seekParameters = new LinkedHashMap<>();
+	private int limit;
+	private int offset;
+
+	public ServiceHistoryQueryBuilder(String tokenId) {
+		parameters.put("tokenId", tokenId);
+	}
+
+	public ServiceHistoryQueryBuilder createdBetween(LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+		whereClause.append(" AND cr_dtimes BETWEEN :fromDateTime AND :toDateTime");
+		parameters.put("fromDateTime", fromDateTime);
+		parameters.put("toDateTime", toDateTime);
+		return this;
+	}
+
+	public ServiceHistoryQueryBuilder requestTypeIn(Collection<String> requestTypes) {
+		whereClause.append(" AND request_type_code IN (:requestTypes)");
+		parameters.put("requestTypes", requestTypes);
+		return this;
+	}
+
+	public ServiceHistoryQueryBuilder statusCodeIn(Collection<String> statusCodes) {
+		whereClause.append(" AND status_code IN (:statusCodes)");
+		parameters.put("statusCodes", statusCodes);
+		return this;
+	}
+
+	public ServiceHistoryQueryBuilder eventIdLike(String searchText) {
+		whereClause.append(" AND replace(event_id, '-', '') LIKE :searchText");
+		parameters.put("searchText", searchText);
+		return this;
+	}
+
+	public ServiceHistoryQueryBuilder olvPartnerIdIsNullOr(String olvPartnerId) {
+		whereClause.append(" AND (olv_partner_id IS NULL OR olv_partner_id = :olvPartnerId)");
+		parameters.put("olvPartnerId", olvPartnerId);
+		return this;
+	}
+
+	public ServiceHistoryQueryBuilder sortType(String sortType) {
+		if (sortType != null) {
+			this.sortType = SortType.valueOf(sortType.toUpperCase());
+		}
+		return this;
+	}
+
+	/**
+	 * Restricts the page to the rows that come after the given row in the
+	 * service history order. pinned_status is always sorted descending while
+	 * cr_dtimes and event_id follow the requested sort type.
+	 */
+	public ServiceHistoryQueryBuilder seekAfter(ResidentTransactionEntity lastEntity) {
+		String operator = sortType == SortType.ASC ? ">" : "<";
+		seekClause = " AND (pinned_status < :seekPinnedStatus OR (pinned_status = :seekPinnedStatus AND (cr_dtimes "
+				+ operator + " :seekCrDtimes OR (cr_dtimes = :seekCrDtimes AND event_id " + operator
+				+ " :seekEventId))))";
+		seekParameters.put("seekPinnedStatus", lastEntity.getPinnedStatus());
+		seekParameters.put("seekCrDtimes", lastEntity.getCrDtimes());
+		seekParameters.put("seekEventId", lastEntity.getEventId());
+		return this;
+	}
+
+	public ServiceHistoryQueryBuilder page(int pageStart, int pageFetch) {
+		this.limit = pageFetch;
+		this.offset = seekClause.isEmpty() ? pageStart * pageFetch : 0;
+		return this;
+	}
+
+	public String getSelectQueryString() {
+		return SELECT_QUERY + whereClause + seekClause + " ORDER BY pinned_status DESC, cr_dtimes " + sortType
+				+ ", event_id " + sortType + " LIMIT :limit OFFSET :offset";
+	}
+
+	public String getCountQueryString() {
+		return COUNT_QUERY + whereClause;
+	}
+
+	public Query buildSelectQuery(EntityManager entityManager) {
+		Query query = entityManager.createNativeQuery(getSelectQueryString(), ResidentTransactionEntity.class);
+		setParameters(query, parameters);
+		setParameters(query, seekParameters);
+		query.setParameter("limit", limit);
+		query.setParameter("offset", offset);
+		return query;
+	}
+
+	public Query buildCountQuery(EntityManager entityManager) {
+		Query query = entityManager.createNativeQuery(getCountQueryString());
+		setParameters(query, parameters);
+		return query;
+	}
+
+	public Map<String, Object> getParameters() {
+		Map<String, Object> allParameters = new LinkedHashMap<>(parameters);
+		allParameters.putAll(seekParameters);
+		return allParameters;
+	}
+
+	private void setParameters(Query query, Map<String, Object> queryParameters) {
+		for (Map.Entry<String, Object> parameter : queryParameters.entrySet()) {
+			query.setParameter(parameter.getKey(), parameter.getValue());
+		}
+	}
+
+}
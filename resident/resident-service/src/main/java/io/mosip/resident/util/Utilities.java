@@ -93,7 +93,7 @@ public class Utilities {
 	private String provider;
 
 	@Autowired
-	@Qualifier("selfTokenRestTemplate")
+	@Qualifier("pooledSelfTokenRestTemplate")
 	private RestTemplate residentRestTemplate;
 
 	@Autowired
@@ -39,6 +39,8 @@ import org.mvel2.integration.impl.MapVariableResolverFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
@@ -49,6 +51,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -82,6 +85,8 @@ import io.mosip.resident.exception.ResidentServiceCheckedException;
 import io.mosip.resident.exception.ResidentServiceException;
 import io.mosip.resident.repository.ResidentTransactionRepository;
 import io.mosip.resident.service.impl.IdentityServiceImpl;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 /**
  * @author Girish Yarru
@@ -105,7 +110,7 @@ public class Utility {
 	private String residentIdentityJson;
 
 	@Autowired
-	@Qualifier("selfTokenRestTemplate")
+	@Qualifier("pooledSelfTokenRestTemplate")
 	private RestTemplate residentRestTemplate;
 
 	@Autowired
@@ -124,6 +129,9 @@ public class Utility {
 	private static final String VALUE = "value";
 	private static String regProcessorIdentityJson = "";
 
+	/** The parsed mapping json, with the mapping json text it was parsed from. */
+	private volatile Tuple2<String, JSONObject> parsedMappingJson;
+
 	private static String ANONYMOUS_USER = "anonymousUser";
 	
 	@Autowired(required = true)
@@ -158,6 +166,21 @@ public class Utility {
                 LoggerFileConstant.APPLICATIONID.toString(), "loadRegProcessorIdentityJson completed successfully");
     }
 
+	/**
+	 * Reloads the mapping json when the configuration is refreshed, so that the
+	 * changes in the config server are used without a restart.
+	 */
+	@EventListener(RefreshScopeRefreshedEvent.class)
+	public void reloadRegProcessorIdentityJson() {
+		try {
+			loadRegProcessorIdentityJson();
+		} catch (RestClientException e) {
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(),
+					"Could not reload the mapping json, using the loaded one: " + ExceptionUtils.getStackTrace(e));
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	public JSONObject retrieveIdrepoJson(String id) throws ResidentServiceCheckedException {
 		logger.debug(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), id,
@@ -227,15 +250,13 @@ public class Utility {
 		}
 		
 		Map<String, Object> attributes = new HashMap<>();
-		String mappingJsonString = getMappingJson();
-		if(mappingJsonString==null || mappingJsonString.trim().isEmpty()) {
-			throw new ResidentServiceException(ResidentErrorCode.JSON_PROCESSING_EXCEPTION.getErrorCode(),
-					ResidentErrorCode.JSON_PROCESSING_EXCEPTION.getErrorMessage() );
-		}
-		JSONObject mappingJsonObject;
 		try {
+			JSONObject mappingJsonObject = getMappingJsonObject();
+			if(mappingJsonObject==null) {
+				throw new ResidentServiceException(ResidentErrorCode.JSON_PROCESSING_EXCEPTION.getErrorCode(),
+						ResidentErrorCode.JSON_PROCESSING_EXCEPTION.getErrorMessage() );
+			}
 			JSONObject demographicIdentity = retrieveIdrepoJson(id);
-			mappingJsonObject = JsonUtil.readValue(mappingJsonString, JSONObject.class);
 			JSONObject mapperIdentity = JsonUtil.getJSONObject(mappingJsonObject, IDENTITY);
 			List<String> mapperJsonKeys = new ArrayList<>(mapperIdentity.keySet());
 
@@ -337,6 +358,24 @@ public class Utility {
         }
         return regProcessorIdentityJson;
     }
+
+	/**
+	 * Returns the mapping json parsed once and shared by all the callers, so it
+	 * must not be modified. It is parsed again only when the mapping json text
+	 * changes. Returns null if the mapping json is not available.
+	 */
+	public JSONObject getMappingJsonObject() throws IOException {
+		String mappingJson = getMappingJson();
+		if (mappingJson == null || mappingJson.trim().isEmpty()) {
+			return null;
+		}
+		Tuple2<String, JSONObject> mappingJsonObject = parsedMappingJson;
+		if (mappingJsonObject == null || !mappingJsonObject.getT1().equals(mappingJson)) {
+			mappingJsonObject = Tuples.of(mappingJson, JsonUtil.readValue(mappingJson, JSONObject.class));
+			parsedMappingJson = mappingJsonObject;
+		}
+		return mappingJsonObject.getT2();
+	}
     
     /**
 	 * Read resource content.
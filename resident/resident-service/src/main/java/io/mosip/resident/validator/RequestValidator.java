@@ -14,6 +14,7 @@ import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
@@ -21,6 +22,8 @@ import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
@@ -166,12 +169,6 @@ public class RequestValidator {
 		this.authUnLockId = authUnLockId;
 	}
 
-	@Value("${mosip.id.validation.identity.phone}")
-	private String phoneRegex;
-
-	@Value("${mosip.id.validation.identity.email}")
-	private String emailRegex;
-
 	@Value("${resident.checkstatus.id}")
 	private String checkStatusID;
 
@@ -226,24 +223,9 @@ public class RequestValidator {
 	
 	@Value("${mosip.kernel.otp.default-length}")  
 	private int otpLength;
-	
-	@Value("${resident.message.allowed.special.char.regex}") 
-	private String messageAllowedSpecialCharRegex;
-	
-	@Value("${resident.purpose.allowed.special.char.regex}") 
-	private String purposeAllowedSpecialCharRegex;
-	
-	@Value("${resident.id.allowed.special.char.regex}") 
-	private String idAllowedSpecialCharRegex;
-
-	@Value("${resident.validation.is-numeric.regex}")
-	private String numericDataRegex;
 
-	@Value("${resident.otp.validation.transaction-id.regex}")
-	private String transactionIdRegex;
-
-	@Value("${resident.validation.event-id.regex}")
-	private String eventIdRegex;
+	/** Replaced as a whole when the configuration is refreshed. */
+	private volatile ValidationPatterns patterns;
 
 	@PostConstruct
 	public void setMap() {
@@ -257,6 +239,28 @@ public class RequestValidator {
 		map.put(RequestIdType.CHECK_STATUS, checkStatusID);
 		map.put(RequestIdType.SHARE_CREDENTIAL, shareCredentialId);
 		map.put(RequestIdType.AUTH_LOCK_UNLOCK, authLockStatusUpdateV2Id);
+		compilePatterns();
+	}
+
+	/**
+	 * Compiles the validation regexes once, instead of on every String.matches
+	 * call, and again when the configuration is refreshed. A refresh with an
+	 * invalid regex fails and keeps the compiled patterns.
+	 */
+	@EventListener(RefreshScopeRefreshedEvent.class)
+	public void compilePatterns() {
+		patterns = new ValidationPatterns(compilePattern(ResidentConstants.PHONE_REGEX),
+				compilePattern(ResidentConstants.EMAIL_REGEX),
+				compilePattern(ResidentConstants.MESSAGE_ALLOWED_SPECIAL_CHAR_REGEX),
+				compilePattern(ResidentConstants.PURPOSE_ALLOWED_SPECIAL_CHAR_REGEX),
+				compilePattern(ResidentConstants.ID_ALLOWED_SPECIAL_CHAR_REGEX),
+				compilePattern(ResidentConstants.NUMERIC_DATA_REGEX),
+				compilePattern(ResidentConstants.TRANSACTION_ID_REGEX),
+				compilePattern(ResidentConstants.EVENT_ID_REGEX));
+	}
+
+	private Pattern compilePattern(String regexProperty) {
+		return Pattern.compile(environment.getRequiredProperty(regexProperty));
 	}
 
 	public void validateVidCreateRequest(IVidRequestDto<? extends BaseVidRequestDto> requestDto, boolean otpValidationRequired, String individualId) {
@@ -581,11 +585,11 @@ public class RequestValidator {
 	}
 
 	public boolean phoneValidator(String phone) {
-		return phone.matches(phoneRegex);
+		return patterns.phonePattern.matcher(phone).matches();
 	}
 
 	public boolean emailValidator(String email) {
-		return email.matches(emailRegex);
+		return patterns.emailPattern.matcher(email).matches();
 	}
 	
 	public void emailCharsValidator(String email) {
@@ -771,7 +775,7 @@ public class RequestValidator {
 	}
 
 	public boolean isNumeric(String strNum) {
-		return strNum.matches(numericDataRegex);
+		return patterns.numericDataPattern.matcher(strNum).matches();
 	}
 
 	public void validateReprintRequest(RequestWrapper<ResidentReprintRequestDto> requestDTO) {
@@ -950,7 +954,7 @@ public class RequestValidator {
 					EventEnum.getEventEnumWithValue(EventEnum.INPUT_INVALID, "individualId", "Request channel verification API"));
 			throw new InvalidInputException("individualId");
 		}
-		if (!individualId.matches(idAllowedSpecialCharRegex)) {
+		if (!patterns.idAllowedSpecialCharPattern.matcher(individualId).matches()) {
 			throw new ResidentServiceException(ResidentErrorCode.CONTAINS_SPECIAL_CHAR.getErrorCode(),
 					String.format(ResidentErrorCode.CONTAINS_SPECIAL_CHAR.getErrorMessage(),individualId));
 		}
@@ -1051,7 +1055,7 @@ public class RequestValidator {
 
 	public void validateEventId(String eventId) {
 		validateMissingInputParameter(eventId, TemplateVariablesConstants.EVENT_ID, VALIDATE_EVENT_ID);
-		if (!isDataValidWithRegex(eventId, eventIdRegex)) {
+		if (!isDataValidWithRegex(eventId, patterns.eventIdPattern)) {
 			audit.setAuditRequestDto(EventEnum.getEventEnumWithValue(EventEnum.INPUT_INVALID,
 					TemplateVariablesConstants.EVENT_ID, VALIDATE_EVENT_ID));
 			throw new InvalidInputException(TemplateVariablesConstants.EVENT_ID);
@@ -1117,15 +1121,15 @@ public class RequestValidator {
 			audit.setAuditRequestDto(EventEnum.getEventEnumWithValue(EventEnum.INPUT_INVALID,
 					"transactionId", "transactionId must not be null"));
 			throw new InvalidInputException("transactionId");
-		} else if(!isDataValidWithRegex(transactionID, transactionIdRegex)){
+		} else if(!isDataValidWithRegex(transactionID, patterns.transactionIdPattern)){
 			audit.setAuditRequestDto(EventEnum.getEventEnumWithValue(EventEnum.INPUT_INVALID,
 					"transactionId", "transactionId must be 10 digit containing numbers"));
 			throw new InvalidInputException("transactionId");
 		}
 	}
 
-	private boolean isDataValidWithRegex(String inputData, String regex) {
-		return inputData.matches(regex);
+	private boolean isDataValidWithRegex(String inputData, Pattern pattern) {
+		return pattern.matcher(inputData).matches();
 	}
 
 	public void validateProxySendOtpRequest(MainRequestDTO<OtpRequestDTOV2> userOtpRequest) {
@@ -1304,7 +1308,7 @@ public class RequestValidator {
 			throw new ResidentServiceException(ResidentErrorCode.CHAR_LIMIT_EXCEEDS.getErrorCode(),
 					String.format(ResidentErrorCode.CHAR_LIMIT_EXCEEDS.getErrorMessage(),messageCharsLimit,message));
 		}
-		if (!message.matches(messageAllowedSpecialCharRegex)) {
+		if (!patterns.messageAllowedSpecialCharPattern.matcher(message).matches()) {
 			throw new ResidentServiceException(ResidentErrorCode.CONTAINS_SPECIAL_CHAR.getErrorCode(),
 					String.format(ResidentErrorCode.CONTAINS_SPECIAL_CHAR.getErrorMessage(),message));
 		}
@@ -1352,7 +1356,7 @@ public class RequestValidator {
 			throw new ResidentServiceException(ResidentErrorCode.CHAR_LIMIT_EXCEEDS.getErrorCode(),
 					ResidentErrorCode.CHAR_LIMIT_EXCEEDS.getErrorMessage());
 		}
-		if (!purpose.matches(purposeAllowedSpecialCharRegex)) {
+		if (!patterns.purposeAllowedSpecialCharPattern.matcher(purpose).matches()) {
 			throw new ResidentServiceException(ResidentErrorCode.CONTAINS_SPECIAL_CHAR.getErrorCode(),
 					String.format(ResidentErrorCode.CONTAINS_SPECIAL_CHAR.getErrorMessage(), purpose));
 		}
@@ -1373,4 +1377,39 @@ public class RequestValidator {
 		}
 		
 	}
-}
\ No newline at end of file
+
+	/** The compiled validation regexes of one configuration. */
+	private static final class ValidationPatterns {
+
+		private final Pattern phonePattern;
+
+		private final Pattern emailPattern;
+
+		private final Pattern messageAllowedSpecialCharPattern;
+
+		private final Pattern purposeAllowedSpecialCharPattern;
+
+		private final Pattern idAllowedSpecialCharPattern;
+
+		private final Pattern numericDataPattern;
+
+		private final Pattern transactionIdPattern;
+
+		private final Pattern eventIdPattern;
+
+		private ValidationPatterns(Pattern phonePattern, Pattern emailPattern,
+				Pattern messageAllowedSpecialCharPattern, Pattern purposeAllowedSpecialCharPattern,
+				Pattern idAllowedSpecialCharPattern, Pattern numericDataPattern, Pattern transactionIdPattern,
+				Pattern eventIdPattern) {
+			this.phonePattern = phonePattern;
+			this.emailPattern = emailPattern;
+			this.messageAllowedSpecialCharPattern = messageAllowedSpecialCharPattern;
+			this.purposeAllowedSpecialCharPattern = purposeAllowedSpecialCharPattern;
+			this.idAllowedSpecialCharPattern = idAllowedSpecialCharPattern;
+			this.numericDataPattern = numericDataPattern;
+			this.transactionIdPattern = transactionIdPattern;
+			this.eventIdPattern = eventIdPattern;
+		}
+	}
+
+}
@@ -6,21 +6,33 @@ import static io.mosip.resident.constant.EventStatusInProgress.ISSUED;
 import static io.mosip.resident.constant.EventStatusInProgress.NEW;
 import static io.mosip.resident.constant.EventStatusInProgress.PAYMENT_CONFIRMED;
 import static io.mosip.resident.constant.EventStatusInProgress.PRINTING;
+import static io.mosip.resident.constant.EventStatusSuccess.CARD_READY_TO_DOWNLOAD;
+import static io.mosip.resident.constant.EventStatusSuccess.RECEIVED;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.core.env.Environment;
@@ -28,10 +40,13 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestContext;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.context.WebApplicationContext;
 
 import io.mosip.kernel.core.exception.ServiceError;
 import io.mosip.kernel.core.http.ResponseWrapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.mosip.resident.constant.RequestType;
 import io.mosip.resident.constant.ResidentErrorCode;
 import io.mosip.resident.controller.ResidentController;
@@ -79,8 +94,18 @@ public class CredentialStatusUpdateBatchJobTest {
 	@Mock
 	private ResidentService residentService;
 
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
 	@Before
 	public void init() {
+		ReflectionTestUtils.setField(job, "pageSize", 100);
+		ReflectionTestUtils.setField(job, "threadCount", 2);
+		ReflectionTestUtils.setField(job, "leaseMillis", 300000L);
+		job.init();
 		ReflectionTestUtils.setField(job, "publicUrl", "http://localhost");
 		ReflectionTestUtils.setField(job, "statusCodes", "NEW,ISSUED,RECEIVED,PRINTING,FAILED,CARD_DELIVERED");
 		ReflectionTestUtils.setField(job, "requestTypeCodes", "VID_CARD_DOWNLOAD,ORDER_PHYSICAL_CARD");
@@ -99,7 +124,7 @@ public class CredentialStatusUpdateBatchJobTest {
 		ResponseWrapper<Map<String, String>> responseWrapper = new ResponseWrapper<>();
 		responseWrapper.setResponse(Map.of("requestId", "requestId", "id", "id", "statusCode", "statusCode", "url", "url"));
 		when(residentServiceRestClient.getApi(any(), anyList(), anyList(), anyList(), any())).thenReturn(responseWrapper);
-		when(repo.findByStatusCodeInAndRequestTypeCodeInOrderByCrDtimesAsc(anyList(), anyList())).thenReturn(List.of(txn));
+		claim(txn);
 		job.scheduleCredentialStatusUpdateJob();
 	}
 
@@ -116,7 +141,7 @@ public class CredentialStatusUpdateBatchJobTest {
 		ResponseWrapper<Map<String, String>> responseWrapper = new ResponseWrapper<>();
 		responseWrapper.setResponse(Map.of("requestId", "requestId", "id", "id", "statusCode", "statusCode", "url", "url"));
 		when(residentServiceRestClient.getApi(any(), anyList(), anyList(), anyList(), any())).thenThrow(new ApisResourceAccessException());
-		when(repo.findByStatusCodeInAndRequestTypeCodeInOrderByCrDtimesAsc(anyList(), anyList())).thenReturn(List.of(txn));
+		claim(txn);
 		job.scheduleCredentialStatusUpdateJob();
 	}
 
@@ -132,7 +157,7 @@ public class CredentialStatusUpdateBatchJobTest {
 		ResponseWrapper<Map<String, String>> responseWrapper = new ResponseWrapper<>();
 		responseWrapper.setResponse(Map.of("requestId", "requestId", "id", "id", "statusCode", "statusCode", "url", "url"));
 		when(residentServiceRestClient.getApi(any(), anyList(), anyList(), anyList(), any())).thenReturn(responseWrapper);
-		when(repo.findByStatusCodeInAndRequestTypeCodeInOrderByCrDtimesAsc(anyList(), anyList())).thenReturn(List.of(txn));
+		claim(txn);
 		job.scheduleCredentialStatusUpdateJob();
     }
 
@@ -149,7 +174,7 @@ public class CredentialStatusUpdateBatchJobTest {
 		responseWrapper.setErrors(List.of(new ServiceError(ResidentErrorCode.UNKNOWN_EXCEPTION.getErrorCode(),
 				ResidentErrorCode.UNKNOWN_EXCEPTION.getErrorMessage())));
 		when(residentServiceRestClient.getApi(any(), anyList(), anyList(), anyList(), any())).thenReturn(responseWrapper);
-		when(repo.findByStatusCodeInAndRequestTypeCodeInOrderByCrDtimesAsc(anyList(), anyList())).thenReturn(List.of(txn));
+		claim(txn);
 		job.scheduleCredentialStatusUpdateJob();
 	}
 
@@ -165,7 +190,7 @@ public class CredentialStatusUpdateBatchJobTest {
 		ResponseWrapper<Map<String, String>> responseWrapper = new ResponseWrapper<>();
 		responseWrapper.setResponse(Map.of("requestId", "requestId", "id", "id", "statusCode", "statusCode", "url", "url"));
 		when(residentServiceRestClient.getApi(any(), anyList(), anyList(), anyList(), any())).thenThrow(new ApisResourceAccessException());
-		when(repo.findByStatusCodeInAndRequestTypeCodeInOrderByCrDtimesAsc(anyList(), anyList())).thenReturn(List.of(txn));
+		claim(txn);
 		job.scheduleCredentialStatusUpdateJob();
 	}
 
@@ -181,7 +206,7 @@ public class CredentialStatusUpdateBatchJobTest {
 		ResponseWrapper<Map<String, String>> responseWrapper = new ResponseWrapper<>();
 		responseWrapper.setResponse(Map.of("requestId", "requestId", "id", "id", "statusCode", "statusCode", "url", "url"));
 		when(residentServiceRestClient.getApi(any(), anyList(), anyList(), anyList(), any())).thenReturn(responseWrapper);
-		when(repo.findByStatusCodeInAndRequestTypeCodeInOrderByCrDtimesAsc(anyList(), anyList())).thenReturn(List.of(txn));
+		claim(txn);
 		job.scheduleCredentialStatusUpdateJob();
 	}
 
@@ -199,7 +224,7 @@ public class CredentialStatusUpdateBatchJobTest {
 		ResponseWrapper<Map<String, String>> responseWrapper = new ResponseWrapper<>();
 		responseWrapper.setResponse(Map.of("requestId", "requestId", "id", "id", "statusCode", "statusCode", "url", "url"));
 		when(residentServiceRestClient.getApi(any(), anyList(), anyList(), anyList(), any())).thenReturn(responseWrapper);
-		when(repo.findByStatusCodeInAndRequestTypeCodeInOrderByCrDtimesAsc(anyList(), anyList())).thenReturn(List.of(txn));
+		claim(txn);
 		job.scheduleCredentialStatusUpdateJob();
 	}
 
@@ -217,7 +242,7 @@ public class CredentialStatusUpdateBatchJobTest {
 		ResponseWrapper<Map<String, String>> responseWrapper = new ResponseWrapper<>();
 		responseWrapper.setResponse(Map.of("requestId", "requestId", "id", "id", "statusCode", FAILED.name(), "url", "url"));
 		when(residentServiceRestClient.getApi(any(), anyList(), anyList(), anyList(), any())).thenReturn(responseWrapper);
-		when(repo.findByStatusCodeInAndRequestTypeCodeInOrderByCrDtimesAsc(anyList(), anyList())).thenReturn(List.of(txn));
+		claim(txn);
 		job.scheduleCredentialStatusUpdateJob();
 	}
 
@@ -235,7 +260,7 @@ public class CredentialStatusUpdateBatchJobTest {
 		ResponseWrapper<Map<String, String>> responseWrapper = new ResponseWrapper<>();
 		responseWrapper.setResponse(Map.of("requestId", "requestId", "id", "id", "statusCode", FAILED.name(), "url", "url"));
 		when(residentServiceRestClient.getApi(any(), anyList(), anyList(), anyList(), any())).thenThrow(new ApisResourceAccessException());
-		when(repo.findByStatusCodeInAndRequestTypeCodeInOrderByCrDtimesAsc(anyList(), anyList())).thenReturn(List.of(txn));
+		claim(txn);
 		job.scheduleCredentialStatusUpdateJob();
 	}
 
@@ -254,7 +279,7 @@ public class CredentialStatusUpdateBatchJobTest {
 		responseWrapper.setErrors(List.of(new ServiceError(ResidentErrorCode.UNKNOWN_EXCEPTION.getErrorCode(),
 				ResidentErrorCode.UNKNOWN_EXCEPTION.getErrorMessage())));
 		when(residentServiceRestClient.getApi(any(), anyList(), anyList(), anyList(), any())).thenReturn(responseWrapper);
-		when(repo.findByStatusCodeInAndRequestTypeCodeInOrderByCrDtimesAsc(anyList(), anyList())).thenReturn(List.of(txn));
+		claim(txn);
 		job.scheduleCredentialStatusUpdateJob();
 	}
 
@@ -272,7 +297,7 @@ public class CredentialStatusUpdateBatchJobTest {
 		ResponseWrapper<Map<String, String>> responseWrapper = new ResponseWrapper<>();
 		responseWrapper.setResponse(Map.of("requestId", "requestId", "id", "id", "statusCode", "statusCode", "url", "url"));
 		when(residentServiceRestClient.getApi(any(), anyList(), anyList(), anyList(), any())).thenReturn(responseWrapper);
-		when(repo.findByStatusCodeInAndRequestTypeCodeInOrderByCrDtimesAsc(anyList(), anyList())).thenReturn(List.of(txn));
+		claim(txn);
 		job.scheduleCredentialStatusUpdateJob();
 	}
 
@@ -290,7 +315,7 @@ public class CredentialStatusUpdateBatchJobTest {
 		ResponseWrapper<Map<String, String>> responseWrapper = new ResponseWrapper<>();
 		responseWrapper.setResponse(Map.of("requestId", "requestId", "id", "id", "statusCode", FAILED.name(), "url", "url"));
 		when(residentServiceRestClient.getApi(any(), anyList(), anyList(), anyList(), any())).thenReturn(responseWrapper);
-		when(repo.findByStatusCodeInAndRequestTypeCodeInOrderByCrDtimesAsc(anyList(), anyList())).thenReturn(List.of(txn));
+		claim(txn);
 		job.scheduleCredentialStatusUpdateJob();
 	}
 
@@ -308,7 +333,7 @@ public class CredentialStatusUpdateBatchJobTest {
 		ResponseWrapper<Map<String, String>> responseWrapper = new ResponseWrapper<>();
 		responseWrapper.setResponse(Map.of("requestId", "requestId", "id", "id", "statusCode", FAILED.name(), "url", "url"));
 		when(residentServiceRestClient.getApi(any(), anyList(), anyList(), anyList(), any())).thenThrow(new ApisResourceAccessException());
-		when(repo.findByStatusCodeInAndRequestTypeCodeInOrderByCrDtimesAsc(anyList(), anyList())).thenReturn(List.of(txn));
+		claim(txn);
 		job.scheduleCredentialStatusUpdateJob();
 	}
 
@@ -330,7 +355,7 @@ public class CredentialStatusUpdateBatchJobTest {
 		IdentityDTO identityDTO = new IdentityDTO();
 		identityDTO.setFullName("kamesh");
 		when(identityService.getIdentity(Mockito.anyString())).thenReturn(identityDTO);
-		when(repo.findByStatusCodeInAndRequestTypeCodeInOrderByCrDtimesAsc(anyList(), anyList())).thenReturn(List.of(txn));
+		claim(txn);
 		job.scheduleCredentialStatusUpdateJob();
 	}
 
@@ -355,7 +380,101 @@ public class CredentialStatusUpdateBatchJobTest {
 		RegStatusCheckResponseDTO regStatusCheckResponseDTO = new RegStatusCheckResponseDTO();
 		regStatusCheckResponseDTO.setRidStatus("123");
 		when(residentService.getRidStatus(Mockito.anyString())).thenReturn(regStatusCheckResponseDTO);
-		when(repo.findByStatusCodeInAndRequestTypeCodeInOrderByCrDtimesAsc(anyList(), anyList())).thenReturn(List.of(txn));
+		claim(txn);
+		job.scheduleCredentialStatusUpdateJob();
+	}
+
+	@Test
+	public void testScheduleCredentialStatusUpdateJobSavesOnceAndNotifiesAfterSave()
+			throws ApisResourceAccessException, ResidentServiceCheckedException {
+		ResidentTransactionEntity txn = new ResidentTransactionEntity();
+		txn.setEventId("eventId");
+		txn.setIndividualId("123");
+		txn.setStatusCode(ISSUED.name());
+		txn.setRequestTypeCode(RequestType.VID_CARD_DOWNLOAD.name());
+		txn.setCredentialRequestId(UUID.randomUUID().toString());
+		ResponseWrapper<Map<String, String>> responseWrapper = new ResponseWrapper<>();
+		responseWrapper.setResponse(Map.of("requestId", "requestId", "id", "id", "statusCode", PRINTING.name(), "url", "url"));
+		when(residentServiceRestClient.getApi(any(), anyList(), anyList(), anyList(), any())).thenReturn(responseWrapper);
+		when(repo.countByStatusCodeInAndRequestTypeCodeIn(anyList(), anyList())).thenReturn(1L);
+		claim(txn);
 		job.scheduleCredentialStatusUpdateJob();
+		InOrder inOrder = Mockito.inOrder(repo, residentServiceRestClient, notificationService);
+		inOrder.verify(repo).leaseByEventIdIn(List.of("eventId"), 300000L);
+		inOrder.verify(residentServiceRestClient).getApi(any(), anyList(), anyList(), anyList(), any());
+		inOrder.verify(repo).lockByEventIdIn(List.of("eventId"));
+		inOrder.verify(repo).saveAll(List.of(txn));
+		inOrder.verify(repo).releaseLeaseByEventIdIn(List.of("eventId"));
+		inOrder.verify(notificationService).sendNotification(any());
+		verify(repo, never()).save(any());
+		assertEquals(CARD_READY_TO_DOWNLOAD.name(), txn.getStatusCode());
+		assertEquals("url", txn.getReferenceLink());
+		assertEquals(1.0, meterRegistry.get("resident.credential.status.job.backlog").gauge().value(), 0);
+		assertEquals(1.0, meterRegistry.get("resident.credential.status.job.rows").counter().count(), 0);
+	}
+
+	@Test
+	public void testScheduleCredentialStatusUpdateJobFetchesNextPageAfterFullPage() throws ResidentServiceCheckedException {
+		ReflectionTestUtils.setField(job, "pageSize", 1);
+		ResidentTransactionEntity txn = new ResidentTransactionEntity();
+		txn.setEventId("eventId");
+		txn.setIndividualId("123");
+		txn.setStatusCode(RECEIVED.name());
+		txn.setRequestTypeCode(RequestType.VID_CARD_DOWNLOAD.name());
+		txn.setCrDtimes(LocalDateTime.of(2022, 1, 1, 0, 0));
+		when(repo.lockNextPageByStatusCodeInAndRequestTypeCodeIn(anyList(), anyList(), any(), any(), anyInt()))
+				.thenReturn(List.of(txn)).thenReturn(List.of());
+		job.scheduleCredentialStatusUpdateJob();
+		verify(repo).lockNextPageByStatusCodeInAndRequestTypeCodeIn(anyList(), anyList(), eq(txn.getCrDtimes()),
+				eq("eventId"), eq(1));
+	}
+
+	@Test
+	public void testScheduleCredentialStatusUpdateJobSkipsRowChangedWhileTracking()
+			throws ApisResourceAccessException, ResidentServiceCheckedException {
+		ResidentTransactionEntity txn = new ResidentTransactionEntity();
+		txn.setEventId("eventId");
+		txn.setIndividualId("123");
+		txn.setStatusCode(ISSUED.name());
+		txn.setRequestTypeCode(RequestType.VID_CARD_DOWNLOAD.name());
+		txn.setCredentialRequestId(UUID.randomUUID().toString());
+		ResponseWrapper<Map<String, String>> responseWrapper = new ResponseWrapper<>();
+		responseWrapper.setResponse(Map.of("requestId", "requestId", "id", "id", "statusCode", PRINTING.name(), "url", "url"));
+		when(residentServiceRestClient.getApi(any(), anyList(), anyList(), anyList(), any())).thenReturn(responseWrapper);
+		when(repo.lockNextPageByStatusCodeInAndRequestTypeCodeIn(anyList(), anyList(), any(), any(), anyInt())).thenReturn(List.of(txn));
+		ResidentTransactionEntity current = new ResidentTransactionEntity();
+		current.setEventId("eventId");
+		current.setStatusCode(CARD_READY_TO_DOWNLOAD.name());
+		current.setUpdDtimes(LocalDateTime.of(2022, 1, 1, 0, 0));
+		when(repo.lockByEventIdIn(List.of("eventId"))).thenReturn(List.of(current));
+		job.scheduleCredentialStatusUpdateJob();
+		verify(repo).saveAll(List.of());
+		verify(repo).releaseLeaseByEventIdIn(List.of("eventId"));
+		verify(notificationService, never()).sendNotification(any());
+	}
+
+	@Test
+	public void testScheduleCredentialStatusUpdateJobWithoutPendingRows() throws ResidentServiceCheckedException {
+		job.scheduleCredentialStatusUpdateJob();
+		verify(repo, never()).leaseByEventIdIn(anyList(), anyLong());
+		verify(repo, never()).lockByEventIdIn(anyList());
+	}
+
+	/**
+	 * Stubs the claim of the transaction, and the row read back before the save
+	 * as it was when claimed.
+	 */
+	private void claim(ResidentTransactionEntity txn) {
+		ResidentTransactionEntity current = new ResidentTransactionEntity();
+		current.setEventId(txn.getEventId());
+		current.setStatusCode(txn.getStatusCode());
+		current.setUpdDtimes(txn.getUpdDtimes());
+		when(repo.lockNextPageByStatusCodeInAndRequestTypeCodeIn(anyList(), anyList(), any(), any(), anyInt())).thenReturn(List.of(txn));
+		when(repo.lockByEventIdIn(anyList())).thenReturn(List.of(current));
+	}
+
+	@After
+	public void destroy() {
+		job.destroy();
 	}
 }
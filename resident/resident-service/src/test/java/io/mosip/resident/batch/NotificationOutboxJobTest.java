@@ -0,0 +1,231 @@
+package io.mosip.resident.batch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.LinkedMultiValueMap;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.resident.constant.NotificationOutboxStatus;
+import io.mosip.resident.constant.ResidentErrorCode;
+import io.mosip.resident.dto.SMSRequestDTO;
+import io.mosip.resident.entity.ResidentNotificationOutboxEntity;
+import io.mosip.resident.exception.ResidentServiceCheckedException;
+import io.mosip.resident.helper.DataEncryptionKeyHelper;
+import io.mosip.resident.repository.ResidentNotificationOutboxRepository;
+import io.mosip.resident.service.NotificationService;
+
+/**
+ * This class is used to test the notification outbox job.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class NotificationOutboxJobTest {
+
+	private static final String ID = "8b0e5c3e-6f0a-4c8e-9d55-0c4f7f1f2a10";
+
+	private static final String SMS_PAYLOAD = "{\"number\":\"9876543210\",\"message\":\"Your OTP is 111111\"}";
+
+	private static final String EMAIL_PAYLOAD = "{\"mailTo\":[\"test@test.com\"],\"mailCc\":[\"cc@test.com\"],"
+			+ "\"mailSubject\":[\"OTP\"],\"mailContent\":[\"Your OTP is 111111\"],\"attachments\":[null]}";
+
+	@InjectMocks
+	private NotificationOutboxJob job;
+
+	@Mock
+	private ResidentNotificationOutboxRepository outboxRepository;
+
+	@Mock
+	private NotificationService notificationService;
+
+	@Mock
+	private DataEncryptionKeyHelper dataEncryptionKeyHelper;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	@Before
+	public void init() {
+		meterRegistry = new SimpleMeterRegistry();
+		ReflectionTestUtils.setField(job, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(job, "threadCount", 1);
+		ReflectionTestUtils.setField(job, "batchSize", 10);
+		ReflectionTestUtils.setField(job, "maxAttempts", 3);
+		ReflectionTestUtils.setField(job, "retryDelayMillis", 1000L);
+		ReflectionTestUtils.setField(job, "retryMaxDelayMillis", 3000L);
+		ReflectionTestUtils.setField(job, "claimTimeoutMillis", 60000L);
+		ReflectionTestUtils.setField(job, "failedRetentionMillis", 86400000L);
+		job.init();
+	}
+
+	@After
+	public void destroy() {
+		job.destroy();
+	}
+
+	@Test
+	public void testSendSms() throws Exception {
+		ResidentNotificationOutboxEntity outboxEntity = claim(NotificationOutboxJob.SMS_CHANNEL, SMS_PAYLOAD, 0);
+		when(notificationService.sendSms(any())).thenReturn(true);
+		job.send(ID);
+
+		ArgumentCaptor<SMSRequestDTO> smsCaptor = ArgumentCaptor.forClass(SMSRequestDTO.class);
+		verify(notificationService).sendSms(smsCaptor.capture());
+		assertEquals("9876543210", smsCaptor.getValue().getNumber());
+		assertEquals("Your OTP is 111111", smsCaptor.getValue().getMessage());
+		verify(outboxRepository).deleteById(ID);
+		verify(outboxRepository, never()).save(outboxEntity);
+		assertEquals(1, meterRegistry.get("resident.notification.delivery").tag("channel", "SMS")
+				.tag("result", "sent").timer().count());
+	}
+
+	@Test
+	public void testSendEmail() throws Exception {
+		claim(NotificationOutboxJob.EMAIL_CHANNEL, EMAIL_PAYLOAD, 0);
+		when(notificationService.sendEmail(any())).thenReturn(true);
+		job.send(ID);
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<LinkedMultiValueMap<String, Object>> emailCaptor = ArgumentCaptor
+				.forClass(LinkedMultiValueMap.class);
+		verify(notificationService).sendEmail(emailCaptor.capture());
+		LinkedMultiValueMap<String, Object> params = emailCaptor.getValue();
+		assertEquals(List.of("test@test.com"), params.get("mailTo"));
+		assertEquals(List.of("cc@test.com"), params.get("mailCc"));
+		assertEquals("OTP", params.getFirst("mailSubject"));
+		assertEquals("Your OTP is 111111", params.getFirst("mailContent"));
+		verify(outboxRepository).deleteById(ID);
+	}
+
+	@Test
+	public void testNotSentWhenClaimedByAnotherWorker() {
+		when(outboxRepository.claim(eq(ID), any(), any(), eq(NotificationOutboxStatus.SENDING.name()), any()))
+				.thenReturn(0);
+		job.send(ID);
+		verify(outboxRepository, never()).findById(anyString());
+		verifyZeroInteractions(notificationService);
+	}
+
+	@Test
+	public void testRetryWithBackoff() throws Exception {
+		ResidentNotificationOutboxEntity outboxEntity = claim(NotificationOutboxJob.SMS_CHANNEL, SMS_PAYLOAD, 1);
+		when(notificationService.sendSms(any()))
+				.thenThrow(new ResidentServiceCheckedException(ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION));
+		LocalDateTime start = DateUtils.getUTCCurrentDateTime();
+		job.send(ID);
+
+		verify(outboxRepository).save(outboxEntity);
+		verify(outboxRepository, never()).deleteById(anyString());
+		assertEquals(NotificationOutboxStatus.PENDING.name(), outboxEntity.getStatus());
+		assertEquals(2, outboxEntity.getAttempts());
+		assertTrue(outboxEntity.getLastError().startsWith("ResidentServiceCheckedException"));
+		assertFalse(outboxEntity.getNextAttemptDtimes().isBefore(start.plusSeconds(2)));
+		assertTrue(outboxEntity.getNextAttemptDtimes().isBefore(start.plusSeconds(3)));
+	}
+
+	@Test
+	public void testRetryDelayCapped() throws Exception {
+		ReflectionTestUtils.setField(job, "maxAttempts", 10);
+		ResidentNotificationOutboxEntity outboxEntity = claim(NotificationOutboxJob.SMS_CHANNEL, SMS_PAYLOAD, 4);
+		when(notificationService.sendSms(any())).thenReturn(false);
+		LocalDateTime start = DateUtils.getUTCCurrentDateTime();
+		job.send(ID);
+
+		assertEquals(NotificationOutboxStatus.PENDING.name(), outboxEntity.getStatus());
+		assertFalse(outboxEntity.getNextAttemptDtimes().isBefore(start.plusSeconds(3)));
+		assertTrue(outboxEntity.getNextAttemptDtimes().isBefore(start.plusSeconds(4)));
+	}
+
+	@Test
+	public void testFailedAfterMaxAttempts() throws Exception {
+		ResidentNotificationOutboxEntity outboxEntity = claim(NotificationOutboxJob.SMS_CHANNEL, SMS_PAYLOAD, 2);
+		when(notificationService.sendSms(any())).thenReturn(false);
+		LocalDateTime start = DateUtils.getUTCCurrentDateTime();
+		job.send(ID);
+
+		verify(outboxRepository).save(outboxEntity);
+		assertEquals(NotificationOutboxStatus.FAILED.name(), outboxEntity.getStatus());
+		assertEquals(3, outboxEntity.getAttempts());
+		assertFalse(outboxEntity.getNextAttemptDtimes().isBefore(start));
+		assertTrue(outboxEntity.getNextAttemptDtimes().isBefore(start.plusSeconds(1)));
+		assertEquals(1, meterRegistry.get("resident.notification.delivery").tag("channel", "SMS")
+				.tag("result", "failed").timer().count());
+	}
+
+	@Test
+	public void testQueuedNotificationSent() throws Exception {
+		claim(NotificationOutboxJob.SMS_CHANNEL, SMS_PAYLOAD, 0);
+		when(notificationService.sendSms(any())).thenReturn(true);
+		job.onNotificationQueued(new NotificationQueuedEvent(ID));
+		verify(outboxRepository, timeout(5000)).deleteById(ID);
+	}
+
+	@Test
+	public void testPollSubmitsDueNotifications() {
+		when(outboxRepository.countByStatusIn(any())).thenReturn(2L);
+		when(outboxRepository.findDueIds(any(), any(), any())).thenReturn(List.of(ID));
+		when(outboxRepository.claim(eq(ID), any(), any(), any(), any())).thenReturn(0);
+		job.scheduleNotificationOutboxJob();
+		verify(outboxRepository, timeout(5000)).claim(eq(ID), any(), any(), any(), any());
+		assertEquals(2, meterRegistry.get("resident.notification.outbox.depth").gauge().value(), 0);
+	}
+
+	@Test
+	public void testPollFailure() {
+		when(outboxRepository.countByStatusIn(any())).thenThrow(new IllegalStateException("database down"));
+		job.scheduleNotificationOutboxJob();
+		verify(outboxRepository, never()).findDueIds(any(), any(), any());
+	}
+
+	@Test
+	public void testPurgeFailedNotifications() {
+		LocalDateTime start = DateUtils.getUTCCurrentDateTime();
+		job.purgeFailedNotifications();
+
+		ArgumentCaptor<LocalDateTime> beforeCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+		verify(outboxRepository).deleteByStatusAttemptedBefore(eq(NotificationOutboxStatus.FAILED.name()),
+				beforeCaptor.capture());
+		assertFalse(beforeCaptor.getValue().isBefore(start.minusDays(1)));
+		assertTrue(beforeCaptor.getValue().isBefore(start.minusDays(1).plusSeconds(1)));
+	}
+
+	@Test
+	public void testPurgeFailure() {
+		when(outboxRepository.deleteByStatusAttemptedBefore(any(), any()))
+				.thenThrow(new IllegalStateException("database down"));
+		job.purgeFailedNotifications();
+	}
+
+	private ResidentNotificationOutboxEntity claim(String channel, String payload, int attempts) {
+		LocalDateTime now = DateUtils.getUTCCurrentDateTime();
+		ResidentNotificationOutboxEntity outboxEntity = new ResidentNotificationOutboxEntity(ID, channel, "encrypted",
+				NotificationOutboxStatus.SENDING.name(), attempts, now.plusMinutes(1), null, now);
+		when(dataEncryptionKeyHelper.decrypt("encrypted")).thenReturn(payload);
+		when(outboxRepository.claim(eq(ID), any(), any(), eq(NotificationOutboxStatus.SENDING.name()), any()))
+				.thenReturn(1);
+		when(outboxRepository.findById(ID)).thenReturn(Optional.of(outboxEntity));
+		return outboxEntity;
+	}
+
+}
@@ -0,0 +1,82 @@
+package io.mosip.resident.batch;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.resident.repository.ResidentTransactionRepository;
+
+/**
+ * This class is used to test the resident_transaction partition job.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ResidentTransactionPartitionJobTest {
+
+	@InjectMocks
+	private ResidentTransactionPartitionJob job;
+
+	@Mock
+	private ResidentTransactionRepository repo;
+
+	@Before
+	public void init() {
+		ReflectionTestUtils.setField(job, "monthsAhead", 3);
+	}
+
+	@Test
+	public void testCreatePartitionsWithoutRetention() {
+		when(repo.createMonthlyPartitions(3)).thenReturn(1);
+		job.scheduleTransactionPartitionJob();
+		verify(repo).createMonthlyPartitions(3);
+		verify(repo, never()).archiveMonthlyPartitions(anyInt(), anyBoolean());
+	}
+
+	@Test
+	public void testArchivePartitionsWithRetention() {
+		ReflectionTestUtils.setField(job, "retentionMonths", 24);
+		ReflectionTestUtils.setField(job, "dropArchived", true);
+		job.scheduleTransactionPartitionJob();
+		verify(repo).archiveMonthlyPartitions(24, true);
+	}
+
+	@Test
+	public void testJobEnabledByDefault() {
+		jobContextRunner().run(context -> assertEquals(1,
+				context.getBeanNamesForType(ResidentTransactionPartitionJob.class).length));
+	}
+
+	@Test
+	public void testJobDisabled() {
+		jobContextRunner().withPropertyValues("mosip.resident.transaction.partition.job.enabled=false")
+				.run(context -> assertEquals(0,
+						context.getBeanNamesForType(ResidentTransactionPartitionJob.class).length));
+	}
+
+	@Test
+	public void testPartitionJobFailure() {
+		when(repo.createMonthlyPartitions(anyInt())).thenThrow(new IllegalStateException("no partition function"));
+		job.scheduleTransactionPartitionJob();
+		verify(repo, never()).archiveMonthlyPartitions(anyInt(), anyBoolean());
+	}
+
+	private ApplicationContextRunner jobContextRunner() {
+		return new ApplicationContextRunner()
+				.withInitializer(context -> context.getBeanFactory().registerSingleton("residentTransactionRepository",
+						mock(ResidentTransactionRepository.class)))
+				.withUserConfiguration(ResidentTransactionPartitionJob.class);
+	}
+
+}
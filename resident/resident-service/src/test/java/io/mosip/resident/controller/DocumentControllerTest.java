@@ -22,6 +22,7 @@ import io.mosip.resident.dto.DocumentDTO;
 import io.mosip.resident.dto.DocumentResponseDTO;
 import io.mosip.resident.dto.ResponseDTO;
 import io.mosip.resident.exception.ResidentServiceCheckedException;
+import io.mosip.resident.helper.VirusScanHelper;
 import io.mosip.resident.service.DocumentService;
 import io.mosip.resident.util.AuditUtil;
 import io.mosip.resident.validator.DocumentValidator;
@@ -47,6 +48,9 @@ public class DocumentControllerTest {
 	
 	@Mock
 	private AuditUtil audit;
+
+	@Mock
+	private VirusScanHelper virusScanHelper;
 	
 	@Test
 	public void testUploadDocumentsSuccess() throws ResidentServiceCheckedException, IOException {
@@ -56,6 +60,14 @@ public class DocumentControllerTest {
 		assertEquals(response, uploadDocuments.getResponse());
 	}
 	
+	@Test
+	public void testUploadDocumentsWithAsyncScan() throws ResidentServiceCheckedException, IOException {
+		when(virusScanHelper.isAsyncScanEnabled()).thenReturn(true);
+		when(service.uploadDocument(any(), any(), any())).thenReturn(new DocumentResponseDTO());
+		controller.uploadDocuments("", new MockMultipartFile("name", "abc".getBytes()), "poi", "proof", "eng", "abc123");
+		Mockito.verify(validator, Mockito.never()).scanForViruses(any());
+	}
+	
 	@Test
 	public void testUploadDocumentsFailed() throws ResidentServiceCheckedException, IOException {
 		when(service.uploadDocument(any(), any(), any())).thenThrow(new ResidentServiceCheckedException("", ""));
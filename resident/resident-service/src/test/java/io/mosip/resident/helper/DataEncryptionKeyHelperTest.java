@@ -0,0 +1,121 @@
+package io.mosip.resident.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.resident.entity.ResidentDataKeyEntity;
+import io.mosip.resident.exception.ResidentServiceException;
+import io.mosip.resident.repository.ResidentDataKeyRepository;
+
+/**
+ * This class is used to test the local data encryption key helper.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DataEncryptionKeyHelperTest {
+
+	@InjectMocks
+	private DataEncryptionKeyHelper helper;
+
+	@Mock
+	private ObjectStoreHelper objectStoreHelper;
+
+	@Mock
+	private ResidentDataKeyRepository dataKeyRepository;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@Before
+	public void setup() {
+		ReflectionTestUtils.setField(helper, "rotationIntervalMillis", 60000L);
+		ReflectionTestUtils.setField(helper, "appId", "RESIDENT");
+		ReflectionTestUtils.setField(helper, "refId", "resident_data_key");
+		helper.init();
+		// The keymanager is simulated by wrapping the key as is.
+		when(objectStoreHelper.encryptDecryptData(anyString(), eq(true), anyString(), anyString()))
+				.thenAnswer(invocation -> invocation.getArgument(0));
+		when(dataKeyRepository.findFirstByOrderByCrDtimesDesc()).thenReturn(Optional.empty());
+	}
+
+	@Test
+	public void testEncryptDecrypt() {
+		String encryptedData = helper.encrypt("1234567890");
+		assertTrue(helper.isEncryptedWithDataKey(encryptedData));
+		assertEquals("1234567890", helper.decrypt(encryptedData));
+		assertNotEquals(encryptedData, helper.encrypt("1234567890"));
+		verify(objectStoreHelper, times(1)).encryptDecryptData(anyString(), eq(true), anyString(), anyString());
+		verify(dataKeyRepository, times(1)).save(any());
+	}
+
+	@Test
+	public void testDecryptWithSavedKey() {
+		ArgumentCaptor<ResidentDataKeyEntity> keyCaptor = ArgumentCaptor.forClass(ResidentDataKeyEntity.class);
+		String encryptedData = helper.encrypt("1234567890");
+		verify(dataKeyRepository).save(keyCaptor.capture());
+		ResidentDataKeyEntity dataKey = keyCaptor.getValue();
+
+		DataEncryptionKeyHelper otherInstance = new DataEncryptionKeyHelper();
+		ReflectionTestUtils.setField(otherInstance, "objectStoreHelper", objectStoreHelper);
+		ReflectionTestUtils.setField(otherInstance, "dataKeyRepository", dataKeyRepository);
+		ReflectionTestUtils.setField(otherInstance, "transactionManager", transactionManager);
+		otherInstance.init();
+		when(dataKeyRepository.findById(dataKey.getKeyId())).thenReturn(Optional.of(dataKey));
+		when(objectStoreHelper.encryptDecryptData(eq(dataKey.getWrappedKey()), eq(false), any(), any()))
+				.thenReturn(dataKey.getWrappedKey());
+		assertEquals("1234567890", otherInstance.decrypt(encryptedData));
+		assertEquals("1234567890", otherInstance.decrypt(encryptedData));
+		verify(objectStoreHelper, times(1)).encryptDecryptData(eq(dataKey.getWrappedKey()), eq(false), any(), any());
+	}
+
+	@Test
+	public void testReuseLatestKeyWithinRotationInterval() {
+		ResidentDataKeyEntity latestKey = new ResidentDataKeyEntity("key-1", "wrapped", DateUtils.getUTCCurrentDateTime());
+		when(dataKeyRepository.findFirstByOrderByCrDtimesDesc()).thenReturn(Optional.of(latestKey));
+		when(dataKeyRepository.findById("key-1")).thenReturn(Optional.of(latestKey));
+		when(objectStoreHelper.encryptDecryptData(eq("wrapped"), eq(false), any(), any()))
+				.thenReturn("AAECAwQFBgcICQoLDA0ODxAREhMUFRYXGBkaGxwdHh8");
+		String encryptedData = helper.encrypt("1234567890");
+		assertTrue(encryptedData.startsWith("DEK#key-1#"));
+		assertEquals("1234567890", helper.decrypt(encryptedData));
+		verify(dataKeyRepository, never()).save(any());
+	}
+
+	@Test
+	public void testRotateExpiredKey() {
+		ResidentDataKeyEntity latestKey = new ResidentDataKeyEntity("key-1", "wrapped",
+				LocalDateTime.of(2020, 1, 1, 0, 0));
+		when(dataKeyRepository.findFirstByOrderByCrDtimesDesc()).thenReturn(Optional.of(latestKey));
+		String encryptedData = helper.encrypt("1234567890");
+		assertTrue(!encryptedData.startsWith("DEK#key-1#"));
+		verify(dataKeyRepository, times(1)).save(any());
+	}
+
+	@Test(expected = ResidentServiceException.class)
+	public void testDecryptTamperedData() {
+		String encryptedData = helper.encrypt("1234567890");
+		helper.decrypt(encryptedData.substring(0, encryptedData.length() - 2) + "AA");
+	}
+
+}
@@ -0,0 +1,86 @@
+package io.mosip.resident.helper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.mosip.kernel.core.virusscanner.exception.VirusScannerException;
+import io.mosip.kernel.core.virusscanner.spi.VirusScanner;
+
+/**
+ * Stand-in for the ClamAV scanner in tests. Like ClamAV it reports the EICAR
+ * test file as infected, and it fails the scan of a document containing
+ * {@link #SCAN_ERROR}. The scans can be held with {@link #hold()} to fill the
+ * scan queue.
+ */
+public class LocalVirusScanner implements VirusScanner<Boolean, InputStream> {
+
+	public static final String EICAR = "X5O!P%@AP[4\\PZX54(P^)7CC)7}$EICAR-STANDARD-ANTIVIRUS-TEST-FILE!$H+H*";
+
+	public static final String SCAN_ERROR = "SCAN-ERROR";
+
+	private volatile CountDownLatch release = new CountDownLatch(0);
+
+	private final CountDownLatch started = new CountDownLatch(1);
+
+	/** Holds the scans till {@link #release()} is called. */
+	public void hold() {
+		release = new CountDownLatch(1);
+	}
+
+	public void release() {
+		release.countDown();
+	}
+
+	public boolean awaitScanStarted() throws InterruptedException {
+		return started.await(5, TimeUnit.SECONDS);
+	}
+
+	@Override
+	public Boolean scanFile(InputStream data) {
+		started.countDown();
+		try {
+			release.await(5, TimeUnit.SECONDS);
+			return scanDocument(data.readAllBytes());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new VirusScannerException("RES-TEST-001", "Scan interrupted", e);
+		}
+	}
+
+	@Override
+	public Boolean scanFile(String fileName) {
+		return scanDocument(new File(fileName));
+	}
+
+	@Override
+	public Boolean scanFolder(String folderName) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Boolean scanDocument(byte[] data) {
+		String content = new String(data, StandardCharsets.ISO_8859_1);
+		if (content.contains(SCAN_ERROR)) {
+			throw new VirusScannerException("RES-TEST-002", "Unable to scan the document");
+		}
+		return !content.contains(EICAR);
+	}
+
+	@Override
+	public Boolean scanDocument(File file) {
+		try {
+			return scanDocument(Files.readAllBytes(file.toPath()));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+}
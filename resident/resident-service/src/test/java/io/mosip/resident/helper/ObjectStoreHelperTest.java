@@ -1,9 +1,13 @@
 package io.mosip.resident.helper;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -11,8 +15,11 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import org.apache.commons.io.IOUtils;
 import org.junit.Before;
@@ -29,7 +36,11 @@ import org.springframework.test.util.ReflectionTestUtils;
 import io.mosip.commons.khazana.exception.ObjectStoreAdapterException;
 import io.mosip.commons.khazana.spi.ObjectStoreAdapter;
 import io.mosip.kernel.core.exception.ServiceError;
+import io.mosip.kernel.core.http.RequestWrapper;
 import io.mosip.kernel.core.http.ResponseWrapper;
+import io.mosip.kernel.core.util.CryptoUtil;
+import io.mosip.kernel.cryptomanager.dto.CryptomanagerRequestDto;
+import io.mosip.resident.constant.ResidentErrorCode;
 import io.mosip.resident.exception.ApisResourceAccessException;
 import io.mosip.resident.exception.ResidentServiceException;
 import io.mosip.resident.util.ResidentServiceRestClient;
@@ -177,6 +188,70 @@ public class ObjectStoreHelperTest {
 		assertNull(process.getValue());
 	}
 	
+	@Test
+	public void testPutAndGetChunkedObject() throws Exception {
+		byte[] document = new byte[1000];
+		new Random().nextBytes(document);
+		byte[] storedObject = putChunkedObject(document);
+		assertFalse(new String(storedObject, StandardCharsets.ISO_8859_1)
+				.contains(new String(document, 0, 16, StandardCharsets.ISO_8859_1)));
+
+		when(adapter.getObject(any(), any(), any(), any(), any())).thenReturn(new ByteArrayInputStream(storedObject));
+		assertArrayEquals(document, CryptoUtil.decodeURLSafeBase64(helper.getObject("name")));
+		ArgumentCaptor<RequestWrapper<CryptomanagerRequestDto>> cryptoRequest = ArgumentCaptor
+				.forClass(RequestWrapper.class);
+		verify(restClient, times(2)).postApi(any(), any(), cryptoRequest.capture(), any());
+		assertTrue(cryptoRequest.getAllValues().stream().allMatch(request -> request.getRequest().getData().length() < 100));
+	}
+
+	@Test
+	public void testGetChunkedObjectTampered() throws Exception {
+		byte[] storedObject = putChunkedObject(new byte[100]);
+		storedObject[storedObject.length - 1] ^= 1;
+		when(adapter.getObject(any(), any(), any(), any(), any())).thenReturn(new ByteArrayInputStream(storedObject));
+		try {
+			helper.getObject("name");
+			fail();
+		} catch (ResidentServiceException e) {
+			assertEquals(ResidentErrorCode.FAILED_TO_RETRIEVE_DOC.getErrorCode(), e.getErrorCode());
+		}
+	}
+
+	@Test
+	public void testGetChunkedObjectTruncated() throws Exception {
+		byte[] storedObject = putChunkedObject(new byte[100]);
+		when(adapter.getObject(any(), any(), any(), any(), any()))
+				.thenReturn(new ByteArrayInputStream(Arrays.copyOf(storedObject, storedObject.length - 40)));
+		try {
+			helper.getObject("name");
+			fail();
+		} catch (ResidentServiceException e) {
+			assertEquals(ResidentErrorCode.FAILED_TO_RETRIEVE_DOC.getErrorCode(), e.getErrorCode());
+		}
+	}
+
+	/**
+	 * Puts the document with chunked encryption, with a keymanager stub that wraps
+	 * the data key by prefixing it, and returns the stored object.
+	 */
+	@SuppressWarnings("unchecked")
+	private byte[] putChunkedObject(byte[] document) throws Exception {
+		ReflectionTestUtils.setField(helper, "chunkedEncryptionEnabled", true);
+		ReflectionTestUtils.setField(helper, "encryptionChunkSize", 32);
+		when(restClient.postApi(any(), any(), any(), any())).thenAnswer(invocation -> {
+			String data = ((RequestWrapper<CryptomanagerRequestDto>) invocation.getArgument(2)).getRequest().getData();
+			ResponseWrapper<Map<String, Object>> responseWrapper = new ResponseWrapper<>();
+			responseWrapper.setResponse(Map.of("data", "encryptUri".equals(invocation.getArgument(0))
+					? "wrapped." + data
+					: data.substring("wrapped.".length())));
+			return responseWrapper;
+		});
+		ArgumentCaptor<InputStream> data = ArgumentCaptor.forClass(InputStream.class);
+		helper.putObject("name", new ByteArrayInputStream(document));
+		verify(adapter).putObject(any(), any(), any(), any(), any(), data.capture());
+		return IOUtils.toByteArray(data.getValue());
+	}
+
 	@Test(expected = ResidentServiceException.class)
 	public void testGetObjectException() throws IOException {
 		when(adapter.getObject(any(), any(), any(), any(), any())).thenThrow(new ObjectStoreAdapterException("", ""));
@@ -0,0 +1,202 @@
+package io.mosip.resident.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.resident.constant.DocumentScanStatus;
+import io.mosip.resident.constant.ResidentConstants;
+import io.mosip.resident.constant.ResidentErrorCode;
+import io.mosip.resident.exception.ResidentServiceException;
+
+/**
+ * Scans quarantined documents with the {@link LocalVirusScanner} stand-in.
+ */
+public class VirusScanHelperTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private VirusScanHelper helper;
+
+	private LocalVirusScanner virusScanner;
+
+	private MockEnvironment env;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	@Before
+	public void setup() throws Exception {
+		virusScanner = new LocalVirusScanner();
+		env = new MockEnvironment();
+		meterRegistry = new SimpleMeterRegistry();
+		helper = createHelper();
+	}
+
+	private VirusScanHelper createHelper() throws Exception {
+		VirusScanHelper virusScanHelper = new VirusScanHelper();
+		ReflectionTestUtils.setField(virusScanHelper, "virusScanner", virusScanner);
+		ReflectionTestUtils.setField(virusScanHelper, "env", env);
+		ReflectionTestUtils.setField(virusScanHelper, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(virusScanHelper, "asyncScanEnabled", true);
+		ReflectionTestUtils.setField(virusScanHelper, "scanThreadCount", 1);
+		ReflectionTestUtils.setField(virusScanHelper, "scanQueueCapacity", 1);
+		ReflectionTestUtils.setField(virusScanHelper, "quarantineDir", temporaryFolder.getRoot().getPath());
+		virusScanHelper.init();
+		return virusScanHelper;
+	}
+
+	@After
+	public void destroy() {
+		virusScanner.release();
+		helper.destroy();
+	}
+
+	@Test
+	public void testScanCleanDocument() throws Exception {
+		assertEquals(DocumentScanStatus.CLEAN, scan("document"));
+		assertEquals(1, meterRegistry.get("resident.document.scan").tag("status", "CLEAN").timer().count());
+		assertQuarantineEmpty();
+	}
+
+	@Test
+	public void testScanInfectedDocument() throws Exception {
+		assertEquals(DocumentScanStatus.INFECTED, scan("document " + LocalVirusScanner.EICAR));
+		assertEquals(1, meterRegistry.get("resident.document.scan").tag("status", "INFECTED").timer().count());
+		assertQuarantineEmpty();
+	}
+
+	@Test
+	public void testScanFailed() throws Exception {
+		assertEquals(DocumentScanStatus.FAILED, scan("document " + LocalVirusScanner.SCAN_ERROR));
+		assertQuarantineEmpty();
+	}
+
+	@Test
+	public void testScanSkippedWhenScannerDisabled() throws Exception {
+		env.setProperty(ResidentConstants.VIRUS_SCANNER_ENABLED, "false");
+		assertEquals(DocumentScanStatus.SKIPPED, scan("document " + LocalVirusScanner.EICAR));
+		assertEquals(DocumentScanStatus.SKIPPED, helper.getSynchronousScanStatus());
+	}
+
+	@Test
+	public void testScanRejectedWhenQueueFull() throws Exception {
+		virusScanner.hold();
+		CompletableFuture<DocumentScanStatus> runningScan = new CompletableFuture<>();
+		helper.scanAsync(quarantine("running"), runningScan::complete);
+		assertTrue(virusScanner.awaitScanStarted());
+		CompletableFuture<DocumentScanStatus> queuedScan = new CompletableFuture<>();
+		helper.scanAsync(quarantine("queued"), queuedScan::complete);
+		assertEquals(1, meterRegistry.get("resident.document.scan.queue.depth").gauge().value(), 0);
+
+		File rejectedFile = quarantine("rejected");
+		try {
+			helper.scanAsync(rejectedFile, scanStatus -> fail());
+			fail();
+		} catch (ResidentServiceException e) {
+			assertEquals(ResidentErrorCode.VIRUS_SCAN_QUEUE_FULL.getErrorCode(), e.getErrorCode());
+		}
+		assertFalse(rejectedFile.exists());
+
+		virusScanner.release();
+		assertEquals(DocumentScanStatus.CLEAN, runningScan.get(5, TimeUnit.SECONDS));
+		assertEquals(DocumentScanStatus.CLEAN, queuedScan.get(5, TimeUnit.SECONDS));
+		assertQuarantineEmpty();
+	}
+
+	@Test
+	public void testPendingScanResumedAfterRestart() throws Exception {
+		quarantine("document");
+		File orphanFile = temporaryFolder.newFile("document-orphan.quarantine");
+		helper.destroy();
+		helper = createHelper();
+
+		CompletableFuture<DocumentScanStatus> resumedScan = new CompletableFuture<>();
+		helper.resumePendingScans(documentRef -> {
+			assertEquals("documentRef", documentRef);
+			return resumedScan::complete;
+		});
+		assertEquals(DocumentScanStatus.CLEAN, resumedScan.get(5, TimeUnit.SECONDS));
+		assertFalse(orphanFile.exists());
+		assertQuarantineEmpty();
+	}
+
+	@Test
+	public void testQuarantineFileKeptWhenScanStatusNotStored() throws Exception {
+		File quarantineFile = quarantine("document");
+		helper.scanAsync(quarantineFile, scanStatus -> {
+			throw new IllegalStateException("database unavailable");
+		});
+		ThreadPoolExecutor scanExecutor = (ThreadPoolExecutor) ReflectionTestUtils.getField(helper, "scanExecutor");
+		scanExecutor.shutdown();
+		assertTrue(scanExecutor.awaitTermination(5, TimeUnit.SECONDS));
+		assertTrue(quarantineFile.exists());
+		assertTrue(new File(quarantineFile.getPath() + ".ref").exists());
+
+		helper = createHelper();
+		CompletableFuture<DocumentScanStatus> resumedScan = new CompletableFuture<>();
+		helper.resumePendingScans(documentRef -> resumedScan::complete);
+		assertEquals(DocumentScanStatus.CLEAN, resumedScan.get(5, TimeUnit.SECONDS));
+		assertQuarantineEmpty();
+	}
+
+	@Test
+	public void testQueuedScanNotResumedTwice() throws Exception {
+		virusScanner.hold();
+		CompletableFuture<DocumentScanStatus> runningScan = new CompletableFuture<>();
+		helper.scanAsync(quarantine("running"), runningScan::complete);
+		assertTrue(virusScanner.awaitScanStarted());
+		AtomicInteger resumedScans = new AtomicInteger();
+		helper.resumePendingScans(documentRef -> {
+			resumedScans.incrementAndGet();
+			return scanStatus -> {
+			};
+		});
+		assertEquals(0, resumedScans.get());
+		virusScanner.release();
+		assertEquals(DocumentScanStatus.CLEAN, runningScan.get(5, TimeUnit.SECONDS));
+		assertQuarantineEmpty();
+	}
+
+	private DocumentScanStatus scan(String document) throws Exception {
+		CompletableFuture<DocumentScanStatus> scanStatus = new CompletableFuture<>();
+		helper.scanAsync(quarantine(document), scanStatus::complete);
+		return scanStatus.get(5, TimeUnit.SECONDS);
+	}
+
+	private File quarantine(String document) throws Exception {
+		File quarantineFile = helper.quarantine(
+				new MockMultipartFile("file", "file.pdf", null, document.getBytes(StandardCharsets.UTF_8)),
+				"documentRef");
+		assertTrue(quarantineFile.exists());
+		return quarantineFile;
+	}
+
+	/** Waits for the workers to delete the quarantine files after the scan. */
+	private void assertQuarantineEmpty() throws InterruptedException {
+		long endTime = System.currentTimeMillis() + 5000;
+		while (temporaryFolder.getRoot().list().length > 0 && System.currentTimeMillis() < endTime) {
+			Thread.sleep(10);
+		}
+		assertEquals(0, temporaryFolder.getRoot().list().length);
+	}
+
+}
@@ -1,6 +1,13 @@
 package io.mosip.resident.interceptor;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -13,6 +20,7 @@ import org.springframework.test.context.ContextConfiguration;
 
 import io.mosip.resident.entity.ResidentSessionEntity;
 import io.mosip.resident.entity.ResidentTransactionEntity;
+import io.mosip.resident.helper.DataEncryptionKeyHelper;
 import io.mosip.resident.helper.ObjectStoreHelper;
 
 /**
@@ -29,6 +37,9 @@ public class ResidentEntityinterceptorTest {
     @Mock
     private ObjectStoreHelper objectStoreHelper;
 
+    @Mock
+    private DataEncryptionKeyHelper dataEncryptionKeyHelper;
+
     private ResidentTransactionEntity residentTransactionEntity;
     private Object[] state;
     private  String[] propertyName;
@@ -59,4 +70,46 @@ public class ResidentEntityinterceptorTest {
     public void testOnFlushDirty(){
         assertFalse(residentEntityInterceptor.onFlushDirty(residentTransactionEntity, null, state, null, propertyName, null));
     }
+
+    @Test
+    public void testOnSaveWithDataKey(){
+        when(dataEncryptionKeyHelper.isEnabled()).thenReturn(true);
+        when(dataEncryptionKeyHelper.encrypt("1234567890")).thenReturn("DEK#key#data");
+        propertyName[0] = "individualId";
+        residentEntityInterceptor.onSave(residentTransactionEntity, null, state, propertyName, null);
+        assertEquals("DEK#key#data", state[0]);
+        assertEquals("1234567890", residentTransactionEntity.getIndividualId());
+        verify(objectStoreHelper, never()).encryptDecryptData(anyString(), anyBoolean(), any(), any());
+    }
+
+    @Test
+    public void testOnLoadDecryptsOnFirstUse(){
+        when(dataEncryptionKeyHelper.isEncryptedWithDataKey("DEK#key#data")).thenReturn(true);
+        when(dataEncryptionKeyHelper.decrypt("DEK#key#data")).thenReturn("1234567890");
+        ResidentTransactionEntity entity = new ResidentTransactionEntity();
+        state[0] = "DEK#key#data";
+        residentEntityInterceptor.onLoad(entity, null, state, propertyName, null);
+        assertEquals("DEK#key#data", state[0]);
+        verify(dataEncryptionKeyHelper, never()).decrypt(anyString());
+        assertEquals("1234567890", entity.getIndividualId());
+        assertEquals("1234567890", entity.getIndividualId());
+        verify(dataEncryptionKeyHelper).decrypt("DEK#key#data");
+    }
+
+    @Test
+    public void testOnLoadWithRemoteEncryptedData(){
+        when(objectStoreHelper.encryptDecryptData("encrypted", false, null, null)).thenReturn("MTIzNDU2Nzg5MA==");
+        ResidentTransactionEntity entity = new ResidentTransactionEntity();
+        state[0] = "encrypted";
+        residentEntityInterceptor.onLoad(entity, null, state, propertyName, null);
+        assertEquals("1234567890", entity.getIndividualId());
+    }
+
+    @Test
+    public void testOnFlushDirtyUnchangedIndividualId(){
+        Object[] previousState = new Object[] { "k" };
+        residentEntityInterceptor.onFlushDirty(residentTransactionEntity, null, state, previousState, propertyName, null);
+        assertEquals("k", state[0]);
+        verify(objectStoreHelper, never()).encryptDecryptData(anyString(), anyBoolean(), any(), any());
+    }
 }
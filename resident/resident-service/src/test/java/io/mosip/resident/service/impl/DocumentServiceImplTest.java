@@ -1,15 +1,25 @@
 package io.mosip.resident.service.impl;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
 
+import java.io.File;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
+import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -18,11 +28,16 @@ import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.core.env.Environment;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import io.mosip.commons.khazana.dto.ObjectDto;
+import io.mosip.resident.constant.DocumentScanStatus;
+import io.mosip.resident.constant.ResidentErrorCode;
 import io.mosip.resident.dto.DocumentRequestDTO;
 import io.mosip.resident.exception.ResidentServiceCheckedException;
+import io.mosip.resident.exception.ResidentServiceException;
 import io.mosip.resident.helper.ObjectStoreHelper;
+import io.mosip.resident.helper.VirusScanHelper;
 
 /**
  * 
@@ -43,8 +58,20 @@ public class DocumentServiceImplTest {
 	@Mock
 	private Environment environment;
 
+	@Mock
+	private VirusScanHelper virusScanHelper;
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 	@Before
 	public void setUp() throws Exception {
+		documentServiceImpl.init();
+	}
+
+	@After
+	public void tearDown() {
+		documentServiceImpl.destroy();
 	}
 
 	@Test
@@ -56,9 +83,89 @@ public class DocumentServiceImplTest {
 		request.setLangCode("eng");
 		request.setDocCatCode("poi");
 		request.setReferenceId("abc123");
+		Mockito.when(virusScanHelper.getSynchronousScanStatus()).thenReturn(DocumentScanStatus.CLEAN);
 		assertNotNull(documentServiceImpl.uploadDocument("transactionId", file, request));
 	}
 
+	@Test
+	public void testUploadDocumentScansAsync() throws Exception {
+		Map<String, Object> uploadedMetadata = uploadDocumentForAsyncScan();
+		assertEquals(DocumentScanStatus.PENDING.name(), uploadedMetadata.get("scanstatus"));
+		Mockito.when(objectStoreHelper.getMetadata(Mockito.anyString())).thenReturn(uploadedMetadata);
+		getScanCallback().accept(DocumentScanStatus.INFECTED);
+
+		ArgumentCaptor<Map<String, Object>> scannedMetadata = ArgumentCaptor.forClass(Map.class);
+		Mockito.verify(objectStoreHelper).updateMetadata(Mockito.anyString(), scannedMetadata.capture());
+		assertEquals(DocumentScanStatus.INFECTED.name(), scannedMetadata.getValue().get("scanstatus"));
+		assertEquals(uploadedMetadata.get("docid"), scannedMetadata.getValue().get("docid"));
+	}
+
+	@Test
+	public void testScanStatusOfReuploadedDocumentIgnored() throws Exception {
+		Map<String, Object> reuploadedMetadata = new HashMap<>(uploadDocumentForAsyncScan());
+		reuploadedMetadata.put("uploadid", "reuploaded");
+		Mockito.when(objectStoreHelper.getMetadata(Mockito.anyString())).thenReturn(reuploadedMetadata);
+		getScanCallback().accept(DocumentScanStatus.CLEAN);
+		Mockito.verify(objectStoreHelper, Mockito.never()).updateMetadata(Mockito.anyString(), Mockito.any());
+	}
+
+	@Test
+	public void testUploadDocumentScanQueueFull() throws Exception {
+		Mockito.doThrow(new ResidentServiceException(ResidentErrorCode.VIRUS_SCAN_QUEUE_FULL.getErrorCode(),
+				ResidentErrorCode.VIRUS_SCAN_QUEUE_FULL.getErrorMessage())).when(virusScanHelper)
+				.scanAsync(Mockito.any(), Mockito.any());
+		try {
+			uploadDocumentForAsyncScan();
+			fail();
+		} catch (ResidentServiceException e) {
+			assertEquals(ResidentErrorCode.VIRUS_SCAN_QUEUE_FULL.getErrorCode(), e.getErrorCode());
+		}
+		Mockito.verify(objectStoreHelper).deleteObject(Mockito.anyString());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testResumePendingScans() throws Exception {
+		documentServiceImpl.resumePendingScans();
+		ArgumentCaptor<Function<String, Consumer<DocumentScanStatus>>> onScannedByDocumentRef = ArgumentCaptor
+				.forClass(Function.class);
+		Mockito.verify(virusScanHelper).resumePendingScans(onScannedByDocumentRef.capture());
+		Map<String, Object> metadata = getMetaData();
+		metadata.put("uploadid", "uploadId");
+		Mockito.when(objectStoreHelper.getMetadata("transactionId/docId")).thenReturn(metadata);
+		onScannedByDocumentRef.getValue().apply("uploadId/transactionId/docId").accept(DocumentScanStatus.CLEAN);
+
+		ArgumentCaptor<Map<String, Object>> scannedMetadata = ArgumentCaptor.forClass(Map.class);
+		Mockito.verify(objectStoreHelper).updateMetadata(Mockito.eq("transactionId/docId"), scannedMetadata.capture());
+		assertEquals(DocumentScanStatus.CLEAN.name(), scannedMetadata.getValue().get("scanstatus"));
+	}
+
+	/**
+	 * Uploads a document with the asynchronous scan enabled, and returns the
+	 * metadata it was stored with.
+	 */
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> uploadDocumentForAsyncScan() throws Exception {
+		File quarantineFile = temporaryFolder.newFile();
+		Mockito.when(virusScanHelper.isAsyncScanEnabled()).thenReturn(true);
+		Mockito.when(virusScanHelper.quarantine(Mockito.any(), Mockito.anyString())).thenReturn(quarantineFile);
+		DocumentRequestDTO request = getDocumentRqtDto();
+		request.setReferenceId("abc123");
+		MockMultipartFile file = new MockMultipartFile("test.pdf", "test.pdf", null, new byte[1100]);
+		assertEquals(DocumentScanStatus.PENDING.name(),
+				documentServiceImpl.uploadDocument("transactionId", file, request).getScanStatus());
+		ArgumentCaptor<Map<String, Object>> metadata = ArgumentCaptor.forClass(Map.class);
+		Mockito.verify(objectStoreHelper).putObject(Mockito.anyString(), Mockito.any(), metadata.capture());
+		return metadata.getValue();
+	}
+
+	@SuppressWarnings("unchecked")
+	private Consumer<DocumentScanStatus> getScanCallback() {
+		ArgumentCaptor<Consumer<DocumentScanStatus>> onScanned = ArgumentCaptor.forClass(Consumer.class);
+		Mockito.verify(virusScanHelper).scanAsync(Mockito.any(), onScanned.capture());
+		return onScanned.getValue();
+	}
+
 	@Test
 	public void fetchAllDocumentsMetadataTest() throws Exception {
 		List<ObjectDto> allObjects = getAllObjects();
@@ -85,6 +192,105 @@ public class DocumentServiceImplTest {
 		assertNotNull(documentServiceImpl.getDocumentsWithMetadata("transactionId"));
 	}
 
+	@Test
+	public void testFetchAllDocumentsMetadataUsesCache() throws Exception {
+		ReflectionTestUtils.setField(documentServiceImpl, "metadataCacheTtlMillis", 60000L);
+		ReflectionTestUtils.setField(documentServiceImpl, "metadataCacheMaxSize", 10);
+		documentServiceImpl.destroy();
+		documentServiceImpl.init();
+		List<ObjectDto> allObjects = getAllObjects();
+		allObjects.get(0).setLastModified(new Date(1000));
+		Mockito.when(objectStoreHelper.getAllObjects("transactionId")).thenReturn(allObjects);
+		Mockito.when(objectStoreHelper.getMetadata("transactionId/objectName")).thenReturn(getMetaData());
+		documentServiceImpl.fetchAllDocumentsMetadata("transactionId");
+		assertEquals("12345", documentServiceImpl.fetchAllDocumentsMetadata("transactionId").get(0).getDocId());
+		Mockito.verify(objectStoreHelper, Mockito.times(1)).getMetadata(Mockito.anyString());
+
+		allObjects.get(0).setLastModified(new Date(2000));
+		documentServiceImpl.fetchAllDocumentsMetadata("transactionId");
+		Mockito.verify(objectStoreHelper, Mockito.times(2)).getMetadata(Mockito.anyString());
+	}
+
+	@Test
+	public void testGetDocumentsWithMetadataCountLimit() throws Exception {
+		ReflectionTestUtils.setField(documentServiceImpl, "maxDocumentCount", 1);
+		List<ObjectDto> allObjects = getAllObjects();
+		ObjectDto objectDto = new ObjectDto();
+		objectDto.setObjectName("objectName2");
+		allObjects.add(objectDto);
+		Mockito.when(objectStoreHelper.getAllObjects("transactionId")).thenReturn(allObjects);
+		try {
+			documentServiceImpl.getDocumentsWithMetadata("transactionId");
+			fail();
+		} catch (ResidentServiceCheckedException e) {
+			assertEquals(ResidentErrorCode.DOCUMENT_LIMIT_EXCEEDED.getErrorCode(), e.getErrorCode());
+		}
+		Mockito.verify(objectStoreHelper, Mockito.never()).getMetadata(Mockito.anyString());
+	}
+
+	@Test
+	public void testFetchAllDocumentsMetadataIgnoresCountLimit() throws Exception {
+		ReflectionTestUtils.setField(documentServiceImpl, "maxDocumentCount", 1);
+		List<ObjectDto> allObjects = getAllObjects();
+		ObjectDto objectDto = new ObjectDto();
+		objectDto.setObjectName("objectName2");
+		allObjects.add(objectDto);
+		Mockito.when(objectStoreHelper.getAllObjects("transactionId")).thenReturn(allObjects);
+		Mockito.when(objectStoreHelper.getMetadata(Mockito.anyString())).thenReturn(getMetaData());
+		assertEquals(2, documentServiceImpl.fetchAllDocumentsMetadata("transactionId").size());
+	}
+
+	@Test
+	public void testUploadDocumentCountLimit() throws Exception {
+		ReflectionTestUtils.setField(documentServiceImpl, "maxDocumentCount", 1);
+		Mockito.when(objectStoreHelper.getAllObjects("transactionId")).thenReturn(getAllObjects());
+		DocumentRequestDTO request = getDocumentRqtDto();
+		request.setReferenceId("abc123");
+		MockMultipartFile file = new MockMultipartFile("test.pdf", "test.pdf", null, new byte[1100]);
+		try {
+			documentServiceImpl.uploadDocument("transactionId", file, request);
+			fail();
+		} catch (ResidentServiceCheckedException e) {
+			assertEquals(ResidentErrorCode.DOCUMENT_LIMIT_EXCEEDED.getErrorCode(), e.getErrorCode());
+		}
+		Mockito.verify(objectStoreHelper, Mockito.never()).putObject(Mockito.anyString(), Mockito.any(), Mockito.any());
+	}
+
+	@Test
+	public void testUploadDocumentSizeLimit() throws Exception {
+		ReflectionTestUtils.setField(documentServiceImpl, "maxDocumentTotalSize", 2000L);
+		Map<String, Object> metaData = getMetaData();
+		metaData.put("content-length", 1000L);
+		Mockito.when(objectStoreHelper.getAllObjects("transactionId")).thenReturn(getAllObjects());
+		Mockito.when(objectStoreHelper.getMetadata(Mockito.anyString())).thenReturn(metaData);
+		DocumentRequestDTO request = getDocumentRqtDto();
+		request.setReferenceId("abc123");
+		MockMultipartFile file = new MockMultipartFile("test.pdf", "test.pdf", null, new byte[1100]);
+		try {
+			documentServiceImpl.uploadDocument("transactionId", file, request);
+			fail();
+		} catch (ResidentServiceCheckedException e) {
+			assertEquals(ResidentErrorCode.DOCUMENT_LIMIT_EXCEEDED.getErrorCode(), e.getErrorCode());
+		}
+		Mockito.verify(objectStoreHelper, Mockito.never()).putObject(Mockito.anyString(), Mockito.any(), Mockito.any());
+	}
+
+	@Test
+	public void testGetDocumentsWithMetadataSizeLimit() throws Exception {
+		ReflectionTestUtils.setField(documentServiceImpl, "maxDocumentTotalSize", 1000L);
+		Map<String, Object> metaData = getMetaData();
+		metaData.put("content-length", 1100L);
+		Mockito.when(objectStoreHelper.getAllObjects("transactionId")).thenReturn(getAllObjects());
+		Mockito.when(objectStoreHelper.getMetadata(Mockito.anyString())).thenReturn(metaData);
+		try {
+			documentServiceImpl.getDocumentsWithMetadata("transactionId");
+			fail();
+		} catch (ResidentServiceCheckedException e) {
+			assertEquals(ResidentErrorCode.DOCUMENT_LIMIT_EXCEEDED.getErrorCode(), e.getErrorCode());
+		}
+		Mockito.verify(objectStoreHelper, Mockito.never()).getObject(Mockito.anyString());
+	}
+
 	@Test
 	public void testFetchDocumentByDocId() throws Exception {
 		Mockito.when(objectStoreHelper.getObject(Mockito.anyString())).thenReturn("value");
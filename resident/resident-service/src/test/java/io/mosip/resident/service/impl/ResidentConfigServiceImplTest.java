@@ -3,6 +3,8 @@ package io.mosip.resident.service.impl;
 import static junit.framework.TestCase.assertNull;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
@@ -168,4 +170,22 @@ public class ResidentConfigServiceImplTest {
 		result = testSubject.getUiSchemaFilteredInputAttributes("update-demographics");
 		assertNull(result);
 	}
+
+	@Test
+	public void testGetUiSchemaFilteredInputAttributesParsedOnce() throws Exception{
+		Map<String, Object> uiSchema = new HashMap<>();
+		uiSchema.put("identity", null);
+		byte[] src = "{\"name\":\"ui-schema\"}".getBytes();
+		Mockito.when(objectMapper.readValue(src, Map.class)).thenReturn(uiSchema);
+		ResidentConfigServiceImpl testSubject = createTestSubject();
+		testSubject.getUiSchemaFilteredInputAttributes("update-demographics");
+		testSubject.getUiSchemaFilteredInputAttributes("update-demographics");
+		verify(resource, times(1)).getInputStream();
+		verify(objectMapper, times(1)).readValue(src, Map.class);
+
+		when(resource.getInputStream()).thenReturn(new ByteArrayInputStream(src));
+		testSubject.clearLoadedSchemas();
+		testSubject.getUiSchemaFilteredInputAttributes("update-demographics");
+		verify(objectMapper, times(2)).readValue(src, Map.class);
+	}
 }
@@ -0,0 +1,223 @@
+package io.mosip.resident.test.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.resident.config.HttpClientResilienceInterceptor;
+import io.mosip.resident.config.ResidentHttpRequestFactory;
+
+/**
+ * Injects faults with a stub http server to check that a hanging or failing
+ * dependency does not hold the calling threads.
+ */
+public class HttpClientResilienceInterceptorTest {
+
+	private static final long HANG_MILLIS = 2000;
+
+	private HttpServer server;
+
+	private ExecutorService serverExecutor;
+
+	private ResidentHttpRequestFactory requestFactory;
+
+	private RestTemplate restTemplate;
+
+	private String baseUrl;
+
+	private final AtomicInteger hangCalls = new AtomicInteger();
+
+	private final CountDownLatch hangArrivals = new CountDownLatch(2);
+
+	private final AtomicInteger flakyCalls = new AtomicInteger();
+
+	@Before
+	public void setup() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/hang", exchange -> {
+			hangCalls.incrementAndGet();
+			hangArrivals.countDown();
+			try {
+				Thread.sleep(HANG_MILLIS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			respond(exchange, 200);
+		});
+		server.createContext("/flaky", exchange -> respond(exchange, flakyCalls.incrementAndGet() == 1 ? 503 : 200));
+		server.createContext("/ok", exchange -> respond(exchange, 200));
+		serverExecutor = Executors.newCachedThreadPool();
+		server.setExecutor(serverExecutor);
+		server.start();
+		baseUrl = "http://localhost:" + server.getAddress().getPort();
+
+		MockEnvironment environment = new MockEnvironment();
+		environment.setProperty("IDAUTHCREATEVID", baseUrl + "/hang");
+		environment.setProperty("IDREPOGETIDBYUIN", baseUrl + "/flaky");
+		environment.setProperty("IDREPOGETIDBYRID", baseUrl + "/ok");
+		environment.setProperty("mosip.resident.http.client.read-timeout.millisecs", "300");
+		environment.setProperty("mosip.resident.http.client.circuit-breaker.failure-threshold", "3");
+		environment.setProperty("mosip.resident.http.client.circuit-breaker.open-duration.millisecs", "60000");
+		environment.setProperty("mosip.resident.http.client.bulkhead.max-concurrent-calls", "2");
+		environment.setProperty("mosip.resident.http.client.bulkhead.max-wait.millisecs", "0");
+		environment.setProperty("mosip.resident.http.client.retry.backoff.millisecs", "1");
+		environment.setProperty("mosip.resident.http.client.read-timeout.millisecs.IDAUTHCREATEVID", "1000");
+		requestFactory = ResidentHttpRequestFactory.create(environment);
+		restTemplate = new RestTemplate(requestFactory);
+		restTemplate.setInterceptors(Collections.singletonList(
+				new HttpClientResilienceInterceptor(new SimpleMeterRegistry(), requestFactory, environment)));
+	}
+
+	@After
+	public void destroy() throws Exception {
+		requestFactory.destroy();
+		server.stop(0);
+		serverExecutor.shutdownNow();
+	}
+
+	@Test
+	public void testCircuitOpensWhenDependencyHangs() {
+		for (int i = 0; i < 3; i++) {
+			assertResourceAccessError(() -> restTemplate.postForObject(baseUrl + "/hang", "", String.class), "Read timed out");
+		}
+		long startTime = System.currentTimeMillis();
+		assertResourceAccessError(() -> restTemplate.postForObject(baseUrl + "/hang", "", String.class),
+				"Circuit breaker is open");
+		assertTrue(System.currentTimeMillis() - startTime < 200);
+		assertEquals(3, hangCalls.get());
+	}
+
+	@Test
+	public void testBulkheadRejectsCallsBeyondLimit() throws Exception {
+		ExecutorService callers = Executors.newFixedThreadPool(2);
+		try {
+			List<Future<?>> hangingCalls = new ArrayList<>();
+			for (int i = 0; i < 2; i++) {
+				hangingCalls.add(callers.submit(() -> {
+					try {
+						restTemplate.postForObject(baseUrl + "/hang", "", String.class);
+					} catch (ResourceAccessException e) {
+						// the read times out
+					}
+				}));
+			}
+			assertTrue(hangArrivals.await(5, TimeUnit.SECONDS));
+			long startTime = System.currentTimeMillis();
+			assertResourceAccessError(() -> restTemplate.postForObject(baseUrl + "/hang", "", String.class),
+					"Too many concurrent calls");
+			assertTrue(System.currentTimeMillis() - startTime < 200);
+			for (Future<?> hangingCall : hangingCalls) {
+				hangingCall.get(5, TimeUnit.SECONDS);
+			}
+			assertEquals(2, hangCalls.get());
+		} finally {
+			callers.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testIdempotentCallIsRetriedOnUnavailable() {
+		assertEquals(HttpStatus.OK, restTemplate.getForEntity(baseUrl + "/flaky", String.class).getStatusCode());
+		assertEquals(2, flakyCalls.get());
+	}
+
+	@Test
+	public void testNonIdempotentCallIsNotRetried() {
+		try {
+			restTemplate.postForObject(baseUrl + "/flaky", "", String.class);
+			fail();
+		} catch (HttpServerErrorException e) {
+			assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+		}
+		assertEquals(1, flakyCalls.get());
+	}
+
+	@Test
+	public void testBulkheadPermitHeldUntilResponseClosed() throws Exception {
+		URI uri = URI.create(baseUrl + "/ok");
+		ClientHttpResponse firstResponse = restTemplate.getRequestFactory().createRequest(uri, HttpMethod.GET).execute();
+		ClientHttpResponse secondResponse = restTemplate.getRequestFactory().createRequest(uri, HttpMethod.GET).execute();
+		assertResourceAccessError(() -> restTemplate.getForObject(uri, String.class), "Too many concurrent calls");
+		firstResponse.close();
+		assertEquals("{}", restTemplate.getForObject(uri, String.class));
+		secondResponse.close();
+	}
+
+	@Test
+	public void testTrialCallWithRuntimeErrorDoesNotKeepCircuitOpen() throws Exception {
+		MockEnvironment environment = new MockEnvironment();
+		environment.setProperty("mosip.resident.http.client.circuit-breaker.failure-threshold", "1");
+		environment.setProperty("mosip.resident.http.client.circuit-breaker.open-duration.millisecs", "50");
+		HttpClientResilienceInterceptor interceptor = new HttpClientResilienceInterceptor(new SimpleMeterRegistry(),
+				requestFactory, environment);
+		MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.POST, URI.create(baseUrl + "/ok"));
+		ClientHttpRequestExecution failingExecution = (httpRequest, body) -> {
+			throw new IllegalStateException("trial failed");
+		};
+		for (int i = 0; i < 2; i++) {
+			try {
+				interceptor.intercept(request, new byte[0], failingExecution);
+				fail();
+			} catch (IllegalStateException e) {
+				// the first call opens the circuit, the second is the trial call
+			}
+			Thread.sleep(100);
+		}
+		ClientHttpResponse response = interceptor.intercept(request, new byte[0],
+				(httpRequest, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		response.close();
+	}
+
+	private void assertResourceAccessError(Runnable call, String message) {
+		try {
+			call.run();
+			fail();
+		} catch (ResourceAccessException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains(message));
+		}
+	}
+
+	private static void respond(HttpExchange exchange, int status) throws IOException {
+		byte[] response = "{}".getBytes();
+		exchange.sendResponseHeaders(status, response.length);
+		try (OutputStream outputStream = exchange.getResponseBody()) {
+			outputStream.write(response);
+		} catch (IOException e) {
+			// the client may have timed out and closed the connection
+		}
+	}
+
+}
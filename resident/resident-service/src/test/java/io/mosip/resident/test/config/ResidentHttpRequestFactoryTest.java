@@ -0,0 +1,90 @@
+package io.mosip.resident.test.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.URI;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.protocol.HttpContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.resident.config.HttpClientMetricsInterceptor;
+import io.mosip.resident.config.ResidentHttpRequestFactory;
+import io.mosip.resident.constant.ApiName;
+
+public class ResidentHttpRequestFactoryTest {
+
+	private ResidentHttpRequestFactory requestFactory;
+
+	@Before
+	public void setup() {
+		MockEnvironment environment = new MockEnvironment();
+		environment.setProperty("IDREPOGETIDBYUIN", "https://qa.mosip.net/idrepository/v1/identity/idvid/{uin}");
+		environment.setProperty("IDAUTHCREATEVID", "https://qa.mosip.net/idrepository/v1/vid");
+		environment.setProperty("CREDENTIAL_STATUS_URL", "${unresolved.placeholder}");
+		environment.setProperty("mosip.resident.http.client.read-timeout.millisecs", "20000");
+		environment.setProperty("mosip.resident.http.client.read-timeout.millisecs.IDREPOGETIDBYUIN", "3000");
+		requestFactory = ResidentHttpRequestFactory.create(environment);
+	}
+
+	@After
+	public void destroy() throws Exception {
+		requestFactory.destroy();
+	}
+
+	@Test
+	public void testGetApiNameMatchesLongestConfiguredUrl() {
+		assertEquals(ApiName.IDREPOGETIDBYUIN,
+				requestFactory.getApiName(URI.create("https://qa.mosip.net/idrepository/v1/identity/idvid/123")));
+		assertEquals(ApiName.IDAUTHCREATEVID,
+				requestFactory.getApiName(URI.create("https://qa.mosip.net/idrepository/v1/vid/123")));
+		assertNull(requestFactory.getApiName(URI.create("https://datashare.mosip.net/v1/datashare/get/1")));
+	}
+
+	@Test
+	public void testCreateHttpContextUsesApiReadTimeout() {
+		HttpContext context = ReflectionTestUtils.invokeMethod(requestFactory, "createHttpContext", HttpMethod.GET,
+				URI.create("https://qa.mosip.net/idrepository/v1/identity/idvid/123"));
+		RequestConfig requestConfig = HttpClientContext.adapt(context).getRequestConfig();
+		assertEquals(3000, requestConfig.getSocketTimeout());
+		assertNull(ReflectionTestUtils.invokeMethod(requestFactory, "createHttpContext", HttpMethod.GET,
+				URI.create("https://qa.mosip.net/idrepository/v1/vid/123")));
+	}
+
+	@Test
+	public void testMetricsInterceptorRecordsTimerByApiAndStatus() throws IOException {
+		MeterRegistry meterRegistry = new SimpleMeterRegistry();
+		HttpClientMetricsInterceptor interceptor = new HttpClientMetricsInterceptor(meterRegistry, requestFactory);
+		HttpRequest request = mock(HttpRequest.class);
+		when(request.getURI()).thenReturn(URI.create("https://qa.mosip.net/idrepository/v1/vid/123"));
+		when(request.getMethod()).thenReturn(HttpMethod.POST);
+		ClientHttpResponse response = mock(ClientHttpResponse.class);
+		when(response.getRawStatusCode()).thenReturn(200);
+		ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+		when(execution.execute(any(), any())).thenReturn(response);
+
+		interceptor.intercept(request, new byte[0], execution);
+
+		Timer timer = meterRegistry.find("resident.http.client.requests").tags("api", "IDAUTHCREATEVID", "method", "POST",
+				"status", "200").timer();
+		assertEquals(1, timer.count());
+	}
+
+}
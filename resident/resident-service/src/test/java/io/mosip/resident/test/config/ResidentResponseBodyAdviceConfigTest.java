@@ -0,0 +1,88 @@
+package io.mosip.resident.test.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import io.mosip.kernel.core.exception.ServiceError;
+import io.mosip.kernel.core.http.RequestWrapper;
+import io.mosip.kernel.core.http.ResponseWrapper;
+import io.mosip.resident.config.ResidentRequestBodyAdviceConfig;
+import io.mosip.resident.config.ResidentResponseBodyAdviceConfig;
+import io.mosip.resident.dto.MainRequestDTO;
+
+public class ResidentResponseBodyAdviceConfigTest {
+
+	private MockHttpServletRequest request;
+
+	private ResidentRequestBodyAdviceConfig requestBodyAdvice = new ResidentRequestBodyAdviceConfig();
+
+	private ResidentResponseBodyAdviceConfig responseBodyAdvice = new ResidentResponseBodyAdviceConfig();
+
+	@Before
+	public void setup() {
+		request = new MockHttpServletRequest();
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+	}
+
+	@After
+	public void destroy() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	public void testIdAndVersionCopiedFromRequestWrapper() throws IOException {
+		RequestWrapper<Object> body = new RequestWrapper<>();
+		body.setId("mosip.resident.euin");
+		body.setVersion("v1");
+		readBody(body);
+		ResponseWrapper<?> response = writeResponse();
+		assertEquals("mosip.resident.euin", response.getId());
+		assertEquals("v1", response.getVersion());
+		assertNull(response.getErrors());
+	}
+
+	@Test
+	public void testIdAndVersionCopiedFromOtherRequestBody() throws IOException {
+		MainRequestDTO<Object> body = new MainRequestDTO<>();
+		body.setId("mosip.resident.grievance.ticket.request");
+		body.setVersion("1.0");
+		readBody(body);
+		ResponseWrapper<?> response = writeResponse();
+		assertEquals("mosip.resident.grievance.ticket.request", response.getId());
+		assertEquals("1.0", response.getVersion());
+	}
+
+	@Test
+	public void testIdAndVersionKeptWithoutRequestBody() {
+		ResponseWrapper<?> response = writeResponse();
+		assertEquals("responseId", response.getId());
+		assertEquals("responseVersion", response.getVersion());
+	}
+
+	private void readBody(Object body) throws IOException {
+		requestBodyAdvice.beforeBodyRead(null, null, body.getClass(), null);
+		requestBodyAdvice.afterBodyRead(body, null, null, body.getClass(), null);
+	}
+
+	private ResponseWrapper<?> writeResponse() {
+		ResponseWrapper<Object> response = new ResponseWrapper<>();
+		response.setId("responseId");
+		response.setVersion("responseVersion");
+		response.setErrors(List.of(new ServiceError()));
+		return responseBodyAdvice.beforeBodyWrite(response, null, MediaType.APPLICATION_JSON, null,
+				new ServletServerHttpRequest(request), null);
+	}
+
+}
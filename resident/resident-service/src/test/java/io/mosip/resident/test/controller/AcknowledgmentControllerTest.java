@@ -66,7 +66,7 @@ public class AcknowledgmentControllerTest {
     private TemplateUtil templateUtil;
 
     @MockBean
-    @Qualifier("selfTokenRestTemplate")
+    @Qualifier("pooledSelfTokenRestTemplate")
     private RestTemplate residentRestTemplate;
 
     @Mock
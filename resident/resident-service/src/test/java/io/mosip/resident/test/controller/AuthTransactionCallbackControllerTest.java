@@ -51,7 +51,7 @@ import io.mosip.resident.util.AuditUtil;
 public class AuthTransactionCallbackControllerTest {
 
     @MockBean
-    @Qualifier("selfTokenRestTemplate")
+    @Qualifier("pooledSelfTokenRestTemplate")
     private RestTemplate residentRestTemplate;
 
     @Mock
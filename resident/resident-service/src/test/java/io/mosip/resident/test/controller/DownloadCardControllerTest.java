@@ -77,7 +77,7 @@ public class DownloadCardControllerTest {
 
 
     @MockBean
-    @Qualifier("selfTokenRestTemplate")
+    @Qualifier("pooledSelfTokenRestTemplate")
     private RestTemplate residentRestTemplate;
 
     @InjectMocks
@@ -66,7 +66,7 @@ public class DownloadMasterdataControllerTest {
 
 
     @MockBean
-    @Qualifier("selfTokenRestTemplate")
+    @Qualifier("pooledSelfTokenRestTemplate")
     private RestTemplate residentRestTemplate;
 
     @InjectMocks
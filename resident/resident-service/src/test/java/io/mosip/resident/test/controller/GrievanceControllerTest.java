@@ -73,7 +73,7 @@ public class GrievanceControllerTest {
 
 
     @MockBean
-    @Qualifier("selfTokenRestTemplate")
+    @Qualifier("pooledSelfTokenRestTemplate")
     private RestTemplate residentRestTemplate;
 
     @InjectMocks
@@ -76,7 +76,7 @@ public class IdentityControllerTest {
 	private RequestValidator validator;
 
 	@MockBean
-	@Qualifier("selfTokenRestTemplate")
+	@Qualifier("pooledSelfTokenRestTemplate")
 	private RestTemplate residentRestTemplate;
 
 	@MockBean
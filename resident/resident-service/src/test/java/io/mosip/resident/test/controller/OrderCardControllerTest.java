@@ -74,7 +74,7 @@ public class OrderCardControllerTest {
 	private AuditUtil auditUtil;
 
 	@MockBean
-	@Qualifier("selfTokenRestTemplate")
+	@Qualifier("pooledSelfTokenRestTemplate")
 	private RestTemplate residentRestTemplate;
 
 	@MockBean
@@ -73,7 +73,7 @@ public class ProxyAuditControllerTest {
     private ResidentServiceImpl residentService;
 
 	@MockBean
-	@Qualifier("selfTokenRestTemplate")
+	@Qualifier("pooledSelfTokenRestTemplate")
 	private RestTemplate residentRestTemplate;
 
 	@MockBean
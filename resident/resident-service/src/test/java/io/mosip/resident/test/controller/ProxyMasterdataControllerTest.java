@@ -1,9 +1,14 @@
 package io.mosip.resident.test.controller;
 
+import static org.junit.Assert.assertNotNull;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.util.List;
+import java.util.Map;
 
 import javax.crypto.SecretKey;
 
@@ -19,6 +24,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -29,6 +35,7 @@ import io.mosip.kernel.core.crypto.spi.CryptoCoreSpec;
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.resident.controller.AcknowledgementController;
 import io.mosip.resident.controller.ProxyMasterdataController;
+import io.mosip.resident.dto.CachedResponseWrapper;
 import io.mosip.resident.helper.ObjectStoreHelper;
 import io.mosip.resident.service.DocumentService;
 import io.mosip.resident.service.ProxyIdRepoService;
@@ -59,7 +66,7 @@ public class ProxyMasterdataControllerTest {
 	private AuditUtil auditUtil;
 
 	@MockBean
-	@Qualifier("selfTokenRestTemplate")
+	@Qualifier("pooledSelfTokenRestTemplate")
 	private RestTemplate residentRestTemplate;
 
 	@MockBean
@@ -109,6 +116,34 @@ public class ProxyMasterdataControllerTest {
 				.andExpect(status().isOk());
 	}
 
+	@Test
+	public void testGetValidDocumentByLangCodeNotModified() throws Exception {
+		responseWrapper.setResponse(Map.of("documentcategories", List.of(Map.of("code", "POA"))));
+		Mockito.when(proxyMasterdataService.getValidDocumentByLangCode(Mockito.anyString()))
+				.thenReturn(responseWrapper);
+		String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/proxy/masterdata/validdocuments/eng"))
+				.andExpect(status().isOk()).andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotNull(eTag);
+		mockMvc.perform(MockMvcRequestBuilders.get("/proxy/masterdata/validdocuments/eng")
+				.header(HttpHeaders.IF_NONE_MATCH, eTag)).andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+		responseWrapper.setResponse(Map.of("documentcategories", List.of(Map.of("code", "POI"))));
+		mockMvc.perform(MockMvcRequestBuilders.get("/proxy/masterdata/validdocuments/eng")
+				.header(HttpHeaders.IF_NONE_MATCH, eTag)).andExpect(status().isOk());
+	}
+
+	@Test
+	public void testGetCachedResponseNotModified() throws Exception {
+		CachedResponseWrapper<Object> cachedResponse = new CachedResponseWrapper<>("cached-etag");
+		cachedResponse.setResponse(Map.of("documentcategories", List.of(Map.of("code", "POA"))));
+		Mockito.doReturn(cachedResponse).when(proxyMasterdataService).getValidDocumentByLangCode(Mockito.anyString());
+		mockMvc.perform(MockMvcRequestBuilders.get("/proxy/masterdata/validdocuments/eng"))
+				.andExpect(status().isOk()).andExpect(header().string(HttpHeaders.ETAG, "\"cached-etag\""));
+		mockMvc.perform(MockMvcRequestBuilders.get("/proxy/masterdata/validdocuments/eng")
+				.header(HttpHeaders.IF_NONE_MATCH, "\"cached-etag\"")).andExpect(status().isNotModified());
+	}
+
 	@Test
 	public void testGetLocationHierarchyLevelByLangCode() throws Exception {
 		Mockito.when(proxyMasterdataService.getLocationHierarchyLevelByLangCode(Mockito.anyString()))
@@ -57,7 +57,7 @@ public class ProxyPartnerManagementControllerTest {
 	private AuditUtil auditUtil;
 
 	@MockBean
-	@Qualifier("selfTokenRestTemplate")
+	@Qualifier("pooledSelfTokenRestTemplate")
 	private RestTemplate residentRestTemplate;
 
 	@InjectMocks
@@ -11,6 +11,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.security.PrivateKey;
 import java.security.PublicKey;
@@ -44,6 +45,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -144,7 +146,7 @@ public class ResidentControllerTest {
 	private CryptoCoreSpec<byte[], byte[], SecretKey, PublicKey, PrivateKey, String> encryptor;
 
 	@MockBean
-	@Qualifier("selfTokenRestTemplate")
+	@Qualifier("pooledSelfTokenRestTemplate")
 	private RestTemplate residentRestTemplate;
 
 	@InjectMocks
@@ -353,10 +355,10 @@ public class ResidentControllerTest {
 	public void testGetServiceHistorySuccess() throws Exception {
 		ResponseWrapper<PageDto<ServiceHistoryResponseDto>> response = new ResponseWrapper<>();
 		Mockito.when(residentService.getServiceHistory(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyInt())).thenReturn(response);
+				Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyInt(), Mockito.any())).thenReturn(response);
 		residentController.getServiceHistory("eng", 1, 12, LocalDate.parse("2022-06-10"),
 				LocalDate.parse("2022-06-10"), SortType.ASC.toString(),
-				ServiceType.AUTHENTICATION_REQUEST.name(), null, null, 0);
+				ServiceType.AUTHENTICATION_REQUEST.name(), null, null, null, 0);
 		mockMvc.perform(MockMvcRequestBuilders.get("/service-history/eng").contentType(MediaType.APPLICATION_JSON_VALUE))
 				.andExpect(status().isOk());
 	}
@@ -492,10 +494,15 @@ public class ResidentControllerTest {
 		resultResponseWrapper.setResponse(list);
 		resultResponseWrapper.setResponsetime(null);
 		byte[] bytes = "abc".getBytes(StandardCharsets.UTF_8);
-		when(residentService.downloadCard(Mockito.anyString())).thenReturn(bytes);
-		ResponseEntity<?> resultRequestWrapper = residentController
+		StreamingResponseBody cardStream = outputStream -> outputStream.write(bytes);
+		when(residentService.downloadCardAsStream(Mockito.anyString(), Mockito.anyInt()))
+				.thenReturn(Tuples.of(cardStream, "card"));
+		ResponseEntity<StreamingResponseBody> resultRequestWrapper = residentController
 				.downloadCard("9876543210", 0);
 		assertEquals(responseEntity.getStatusCode(), resultRequestWrapper.getStatusCode());
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		resultRequestWrapper.getBody().writeTo(outputStream);
+		assertEquals("abc", outputStream.toString(StandardCharsets.UTF_8));
 	}
 
 	@Test
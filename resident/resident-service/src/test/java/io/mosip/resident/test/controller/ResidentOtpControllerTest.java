@@ -93,7 +93,7 @@ public class ResidentOtpControllerTest {
 	private Utilities utilities;
 
 	@MockBean
-	@Qualifier("selfTokenRestTemplate")
+	@Qualifier("pooledSelfTokenRestTemplate")
 	private RestTemplate residentRestTemplate;
 	
 	@MockBean
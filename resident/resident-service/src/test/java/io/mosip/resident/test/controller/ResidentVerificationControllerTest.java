@@ -72,7 +72,7 @@ public class ResidentVerificationControllerTest {
     private RequestValidator requestValidator;
 
     @MockBean
-    @Qualifier("selfTokenRestTemplate")
+    @Qualifier("pooledSelfTokenRestTemplate")
     private RestTemplate residentRestTemplate;
     
     @MockBean
@@ -91,7 +91,7 @@ public class ResidentVidControllerTest {
 	private ObjectStoreHelper objectStore;
 
 	@MockBean
-	@Qualifier("selfTokenRestTemplate")
+	@Qualifier("pooledSelfTokenRestTemplate")
 	private RestTemplate residentRestTemplate;
 
 	@Mock
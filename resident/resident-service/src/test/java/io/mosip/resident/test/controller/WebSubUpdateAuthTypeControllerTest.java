@@ -54,7 +54,7 @@ public class WebSubUpdateAuthTypeControllerTest {
     private ProxyIdRepoService proxyIdRepoService;
 
     @MockBean
-    @Qualifier("selfTokenRestTemplate")
+    @Qualifier("pooledSelfTokenRestTemplate")
     private RestTemplate residentRestTemplate;
 
     @Mock
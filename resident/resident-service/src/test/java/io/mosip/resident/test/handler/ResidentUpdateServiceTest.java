@@ -147,7 +147,7 @@ public class ResidentUpdateServiceTest {
         Mockito.doNothing().when(audit).setAuditRequestDto(Mockito.any());
     }
 
-    @Test(expected = BaseCheckedException.class)
+    @Test
     public void testCreatePacket() throws IOException, BaseCheckedException {
 
         PacketGeneratorResDto result = residentUpdateService.createPacket(residentUpdateDto);
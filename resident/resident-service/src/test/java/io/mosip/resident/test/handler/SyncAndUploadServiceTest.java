@@ -1,16 +1,23 @@
 package io.mosip.resident.test.handler;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 
+import java.io.File;
+import java.nio.file.Files;
+
+import org.junit.After;
 import org.assertj.core.util.Lists;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
@@ -20,11 +27,16 @@ import org.springframework.core.env.Environment;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.mosip.kernel.core.exception.BaseCheckedException;
 import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.kernel.core.util.HMACUtils2;
 import io.mosip.kernel.core.util.JsonUtils;
 import io.mosip.kernel.core.util.exception.JsonProcessingException;
 import io.mosip.resident.dto.PacketGeneratorResDto;
@@ -67,10 +79,14 @@ public class SyncAndUploadServiceTest {
 	@Mock
 	private AuditUtil audit;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     String registartionId;
     String creationTime;
     String regType;
     byte[] packetZipBytes;
+    File packetZipFile;
     private static final String status = "PROCESSING";
     private static final String FAILURE = "FAILURE";
 
@@ -80,6 +96,8 @@ public class SyncAndUploadServiceTest {
         creationTime = DateUtils.getCurrentDateTimeString();
         regType = RegistrationType.NEW.name();
         packetZipBytes = "packet".getBytes();
+        packetZipFile = File.createTempFile(registartionId, ".zip");
+        Files.write(packetZipFile.toPath(), packetZipBytes);
 
         PowerMockito.mockStatic(DateUtils.class);
         PowerMockito.when(DateUtils.getUTCCurrentDateTimeString(any())).thenReturn("datetime");
@@ -112,13 +130,30 @@ public class SyncAndUploadServiceTest {
         Mockito.doNothing().when(audit).setAuditRequestDto(Mockito.any());
     }
 
+    @After
+    public void destroy() {
+        packetZipFile.delete();
+    }
+
     @Test
     public void testSyncAndUpload() throws BaseCheckedException {
-        PacketGeneratorResDto response = syncAndUploadService.uploadUinPacket(registartionId, creationTime, regType, packetZipBytes);
+        PacketGeneratorResDto response = syncAndUploadService.uploadUinPacket(registartionId, creationTime, regType, packetZipFile);
 
         assertTrue(response.getStatus().equals(status));
     }
 
+    @Test
+    public void testSyncUsesHashAndSizeOfPacketFile() throws Exception {
+        syncAndUploadService.uploadUinPacket(registartionId, creationTime, regType, packetZipFile);
+
+        ArgumentCaptor<byte[]> syncRequestCaptor = ArgumentCaptor.forClass(byte[].class);
+        Mockito.verify(encryptorUtil).encrypt(syncRequestCaptor.capture(), any());
+        JsonNode syncDto = new ObjectMapper().readTree(syncRequestCaptor.getValue()).path("request").path(0);
+        assertEquals(HMACUtils2.digestAsPlainText(packetZipBytes), syncDto.path("packetHashValue").asText());
+        assertEquals(packetZipBytes.length, syncDto.path("packetSize").asLong());
+        assertEquals(1, meterRegistry.timer("resident.packet.stage", "stage", "upload").count());
+    }
+
     @Test
     public void testSyncFail() throws BaseCheckedException {
         SyncResponseDto syncResponseDto = new SyncResponseDto();
@@ -127,7 +162,7 @@ public class SyncAndUploadServiceTest {
         regSyncResponseDTO.setErrors(null);
         regSyncResponseDTO.setResponse(Lists.newArrayList(syncResponseDto));
         Mockito.when(gson.fromJson(anyString(), any(Class.class))).thenReturn(regSyncResponseDTO);
-        PacketGeneratorResDto response = syncAndUploadService.uploadUinPacket(registartionId, creationTime, regType, packetZipBytes);
+        PacketGeneratorResDto response = syncAndUploadService.uploadUinPacket(registartionId, creationTime, regType, packetZipFile);
 
         assertTrue(response.getStatus().equals(FAILURE));
     }
@@ -136,7 +171,7 @@ public class SyncAndUploadServiceTest {
     public void testApisResourceAccessException() throws BaseCheckedException {
         Mockito.when(restClientService.postApi(any(), any(), any(), any(Class.class))).thenThrow(new ApisResourceAccessException("ApisResourceAccessException"));
 
-        PacketGeneratorResDto response = syncAndUploadService.uploadUinPacket(registartionId, creationTime, regType, packetZipBytes);
+        PacketGeneratorResDto response = syncAndUploadService.uploadUinPacket(registartionId, creationTime, regType, packetZipFile);
     }
 
     @Test(expected = BaseCheckedException.class)
@@ -144,6 +179,6 @@ public class SyncAndUploadServiceTest {
         PowerMockito.mockStatic(JsonUtils.class);
         PowerMockito.when(JsonUtils.javaObjectToJsonString(any())).thenThrow(new JsonProcessingException("io exception"));
 
-        PacketGeneratorResDto response = syncAndUploadService.uploadUinPacket(registartionId, creationTime, regType, packetZipBytes);
+        PacketGeneratorResDto response = syncAndUploadService.uploadUinPacket(registartionId, creationTime, regType, packetZipFile);
     }
 }
@@ -8,7 +8,6 @@ import static org.mockito.ArgumentMatchers.anyString;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
 
@@ -164,7 +163,7 @@ public class UinCardRePrintServiceTest {
         Mockito.doNothing().when(audit).setAuditRequestDto(Mockito.any());
     }
 
-    @Test(expected = FileNotFoundException.class)
+    @Test
     public void testCreatePacket() throws IOException, BaseCheckedException {
 
         PacketGeneratorResDto result = uinCardRePrintService.createPacket(regProcRePrintRequestDto);
@@ -190,7 +189,7 @@ public class UinCardRePrintServiceTest {
         PacketGeneratorResDto result = uinCardRePrintService.createPacket(regProcRePrintRequestDto);
     }
 
-    @Test(expected = FileNotFoundException.class)
+    @Test
     public void testVid() throws IOException, BaseCheckedException {
         regProcRePrintRequestDto.setCardType(CardType.MASKED_UIN.name());
         /*regProcRePrintRequestDto.setIdType("VID");
@@ -209,7 +208,7 @@ public class UinCardRePrintServiceTest {
         assertTrue(result.getRegistrationId().equalsIgnoreCase(rid));
     }
 
-    @Test(expected = FileNotFoundException.class)
+    @Test
     public void testVidWithNoUin() throws IOException, BaseCheckedException {
         regProcRePrintRequestDto.setCardType(CardType.MASKED_UIN.name());
         regProcRePrintRequestDto.setIdType("VID");
@@ -23,7 +23,6 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.core.env.Environment;
 import org.springframework.test.context.ContextConfiguration;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -31,7 +30,6 @@ import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.kernel.core.pdfgenerator.spi.PDFGenerator;
 import io.mosip.kernel.core.templatemanager.spi.TemplateManager;
 import io.mosip.kernel.signature.dto.SignatureResponseDto;
-import io.mosip.kernel.templatemanager.velocity.builder.TemplateManagerBuilderImpl;
 import io.mosip.resident.constant.RequestType;
 import io.mosip.resident.constant.ResidentConstants;
 import io.mosip.resident.entity.ResidentTransactionEntity;
@@ -66,9 +64,6 @@ public class AcknowledgmentServiceTest {
     @Mock
     private TemplateUtil templateUtil;
 
-    @InjectMocks
-    private TemplateManagerBuilderImpl templateManagerBuilder;
-
     @Mock
     private PDFGenerator pdfGenerator;
 
@@ -94,8 +89,6 @@ public class AcknowledgmentServiceTest {
 
     @Mock
     private TemplateManager templateManager;
-    private static final String CLASSPATH = "classpath";
-    private static final String ENCODE_TYPE = "UTF-8";
     private Map<String, Object> values;
 
     @Before
@@ -118,8 +111,6 @@ public class AcknowledgmentServiceTest {
         Mockito.when(proxyMasterdataServiceImpl.getAllTemplateBylangCodeAndTemplateTypeCode(Mockito.anyString(), Mockito.anyString())).thenReturn(responseWrapper);
         Mockito.when(RequestType.SHARE_CRED_WITH_PARTNER.getAckTemplateVariables(templateUtil, eventId, languageCode, 0)).
                 thenReturn(Tuples.of(templateVariables, "acknowledgement-order-a-physical-card"));
-        ReflectionTestUtils.setField(acknowledgementService, "templateManagerBuilder", templateManagerBuilder);
-        templateManagerBuilder.encodingType(ENCODE_TYPE).enableCache(false).resourceLoader(CLASSPATH).build();
         InputStream stream = new ByteArrayInputStream("test".getBytes(StandardCharsets.UTF_8));
         Mockito.when(templateManager.merge(any(), Mockito.anyMap())).thenReturn(stream);
         OutputStream outputStream = new ByteArrayOutputStream(1024);
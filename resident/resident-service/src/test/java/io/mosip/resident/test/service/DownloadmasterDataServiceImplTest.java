@@ -1,6 +1,8 @@
 package io.mosip.resident.test.service;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 
 import java.io.ByteArrayInputStream;
@@ -14,10 +16,13 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -33,9 +38,9 @@ import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.kernel.core.pdfgenerator.spi.PDFGenerator;
 import io.mosip.kernel.core.templatemanager.spi.TemplateManager;
 import io.mosip.kernel.signature.dto.SignatureResponseDto;
-import io.mosip.kernel.templatemanager.velocity.builder.TemplateManagerBuilderImpl;
 import io.mosip.resident.constant.ResidentConstants;
 import io.mosip.resident.dto.RegistrationCenterDto;
+import io.mosip.resident.dto.RegistrationCenterResponseDto;
 import io.mosip.resident.dto.WorkingDaysDto;
 import io.mosip.resident.dto.WorkingDaysResponseDto;
 import io.mosip.resident.entity.ResidentTransactionEntity;
@@ -67,9 +72,6 @@ public class DownloadmasterDataServiceImplTest {
     @Mock
     private ProxyMasterdataService proxyMasterdataService;
 
-    @InjectMocks
-    private TemplateManagerBuilderImpl templateManagerBuilder;
-
     @Mock
     private PDFGenerator pdfGenerator;
 
@@ -95,8 +97,6 @@ public class DownloadmasterDataServiceImplTest {
 
     @Mock
     private TemplateManager templateManager;
-    private static final String CLASSPATH = "classpath";
-    private static final String ENCODE_TYPE = "UTF-8";
     private Map<String, Object> values;
 
     private String langCode;
@@ -119,8 +119,6 @@ public class DownloadmasterDataServiceImplTest {
 
         Mockito.when(proxyMasterdataService.getAllTemplateBylangCodeAndTemplateTypeCode(Mockito.anyString(), Mockito.anyString())).
                 thenReturn(responseWrapper);
-        ReflectionTestUtils.setField(downLoadMasterDataService, "templateManagerBuilder", templateManagerBuilder);
-        templateManagerBuilder.encodingType(ENCODE_TYPE).enableCache(false).resourceLoader(CLASSPATH).build();
         InputStream stream = new ByteArrayInputStream("test".getBytes(StandardCharsets.UTF_8));
         Mockito.when(templateManager.merge(any(), Mockito.anyMap())).thenReturn(stream);
         OutputStream outputStream = new ByteArrayOutputStream(1024);
@@ -149,6 +147,59 @@ public class DownloadmasterDataServiceImplTest {
         assertNotNull(actualResult);
     }
 
+    @Test
+    public void testGetRegistrationCentrePdfFetchesWorkingDaysInParallel() throws Exception {
+        ReflectionTestUtils.setField(downLoadMasterDataService, "mapper", new ObjectMapper());
+        ReflectionTestUtils.setField(downLoadMasterDataService, "workingDaysFetchThreadCount", 4);
+        downLoadMasterDataService.init();
+        try {
+            WorkingDaysResponseDto workingDaysResponseDto = new WorkingDaysResponseDto();
+            workingDaysResponseDto.setWorkingdays(List.of(workingDay("FRI", 5), workingDay("MON", 1)));
+            ResponseWrapper<WorkingDaysResponseDto> workingDaysResponse = new ResponseWrapper<>();
+            workingDaysResponse.setResponse(workingDaysResponseDto);
+            CountDownLatch lookups = new CountDownLatch(2);
+            Mockito.when(proxyMasterdataService.getRegistrationCenterWorkingDays(Mockito.anyString(), Mockito.anyString()))
+                    .thenAnswer(invocation -> {
+                        lookups.countDown();
+                        // returns only once the other center is being looked up as well
+                        assertTrue(lookups.await(5, TimeUnit.SECONDS));
+                        return workingDaysResponse;
+                    });
+            ResponseWrapper<RegistrationCenterResponseDto> regCentResponseWrapper = new ResponseWrapper<>();
+            regCentResponseWrapper.setResponse(new RegistrationCenterResponseDto(
+                    List.of(registrationCenter("10001"), registrationCenter("10002"), registrationCenter("10001"))));
+
+            downLoadMasterDataService.getRegistrationCentrePdf(langCode, regCentResponseWrapper);
+
+            Mockito.verify(proxyMasterdataService, Mockito.times(2)).getRegistrationCenterWorkingDays(Mockito.anyString(),
+                    Mockito.eq(langCode));
+            ArgumentCaptor<Map<String, Object>> templateValues = ArgumentCaptor.forClass(Map.class);
+            Mockito.verify(templateManager).merge(any(), templateValues.capture());
+            List<RegistrationCenterDto> regCenters = (List<RegistrationCenterDto>) templateValues.getValue()
+                    .get("regCenterIntialList");
+            assertEquals(3, regCenters.size());
+            regCenters.forEach(regCenter -> assertTrue(regCenter.getWorkingHours().startsWith("MON-FRI|")));
+        } finally {
+            downLoadMasterDataService.destroy();
+        }
+    }
+
+    private WorkingDaysDto workingDay(String name, int order) {
+        WorkingDaysDto workingDaysDto = new WorkingDaysDto();
+        workingDaysDto.setName(name);
+        workingDaysDto.setOrder(order);
+        return workingDaysDto;
+    }
+
+    private RegistrationCenterDto registrationCenter(String id) {
+        RegistrationCenterDto registrationCenterDto = new RegistrationCenterDto();
+        registrationCenterDto.setId(id);
+        registrationCenterDto.setLangCode(langCode);
+        registrationCenterDto.setCenterStartTime("09:00:00");
+        registrationCenterDto.setCenterEndTime("17:00:00");
+        return registrationCenterDto;
+    }
+
     @Test
     public void testDownloadSupportingDocsByLanguage() throws Exception {
         byte[] actualResult = downLoadMasterDataService.downloadSupportingDocsByLanguage(langCode).readAllBytes();
@@ -7,6 +7,8 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
@@ -34,6 +36,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.core.env.Environment;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -68,6 +71,27 @@ import io.mosip.resident.util.ResidentServiceRestClient;
 @RefreshScope
 @ContextConfiguration
 public class IdAuthServiceTest {
+
+    private static final String CERTIFICATE_VALID_TILL_2126 = "-----BEGIN CERTIFICATE-----\n" +
+            "MIIDSzCCAjOgAwIBAgIUCQDQjK6K5akuxCGSHz3ZnM+yKbcwDQYJKoZIhvcNAQEL\n" +
+            "BQAwNDELMAkGA1UEBhMCSU4xDjAMBgNVBAoMBU1PU0lQMRUwEwYDVQQDDAxJREEt\n" +
+            "SU5URVJOQUwwIBcNMjYxMDE4MTI0MjIwWhgPMjEyNjA5MjQxMjQyMjBaMDQxCzAJ\n" +
+            "BgNVBAYTAklOMQ4wDAYDVQQKDAVNT1NJUDEVMBMGA1UEAwwMSURBLUlOVEVSTkFM\n" +
+            "MIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIBCgKCAQEAqlAAeOCzARZL6/+yXv3P\n" +
+            "nfORx1YwX6ZQ1hH+mt3vyULAgHLqoSsI14unI0BH4nwHvFNh57yQOl4FQ5H5KnEn\n" +
+            "JCRbThNMX6bLHQWyzxYOKXZKOzBu49nTZZ1gbac57ldqxpeYBJUAr7pa9ggmJ+zO\n" +
+            "eHK6hJNkAxfzXwsB2JhwMM4kEiueySrIh+PrRmQE1MAP0N7L92Z7W+xuSvo2iBg9\n" +
+            "3A56ns2p1qmbHvRmzYQeYl0U5F1sGj9ZLdh/J6tGgLaveHWkUCaA2BG2uhsVZFfe\n" +
+            "lxsO8DeBcjS8MWLgHnwhmdIw3VRjWF1/fJDVPnxLbLYvUiwTJND7IzZDos4ADFRU\n" +
+            "bQIDAQABo1MwUTAdBgNVHQ4EFgQUdHWDZb45Yll+dzLYxaD93waS00QwHwYDVR0j\n" +
+            "BBgwFoAUdHWDZb45Yll+dzLYxaD93waS00QwDwYDVR0TAQH/BAUwAwEB/zANBgkq\n" +
+            "hkiG9w0BAQsFAAOCAQEAdc0GkYAIuEqxTapvxRbCKXKxtymISPbrktpxcwmYK/hG\n" +
+            "h74QsWjSjKxW7x3VetydWj+FyDfQf++tieo68e7UJTicfWJngR532F3m93/WLBEE\n" +
+            "NMkiD59ilos+76DaNkQlTpPvjba95r9u2lHwb5Naqpuq7Ev4SYvzM44mKcLLvCjW\n" +
+            "MGfE9wFo2PSg5vGvKDyIPJhflPhoP8vBHMrTXHO+DuRa31AkqTZ7hFugL8oi1Gdx\n" +
+            "i1yPAk74clpcANO70GGXRF6XWoIQK7Q9AJWMdeceoEKKHIbdFunut1hVlKb9vwrD\n" +
+            "oXFwBp9gA+2C5D5aAHqaevWSpOEUS+7KR0LOCWertw==\n" +
+            "-----END CERTIFICATE-----";
 	
     @MockBean
     private ProxyIdRepoService proxyIdRepoService;
@@ -160,7 +184,7 @@ public class IdAuthServiceTest {
         when(environment.getProperty(anyString())).thenReturn("dummy url");
 
         doReturn(objectMapper.writeValueAsString(responseDto)).when(mapper).writeValueAsString(any());
-        doReturn(responseDto).when(mapper).readValue(anyString(), any(Class.class));
+        doReturn(responseDto).when(mapper).convertValue(any(), any(Class.class));
 
         idAuthService.validateOtp(transactionID, individualId, otp);
     }
@@ -217,7 +241,7 @@ public class IdAuthServiceTest {
         when(environment.getProperty(anyString())).thenReturn("dummy url");
 
         doReturn(objectMapper.writeValueAsString(responseDto)).when(mapper).writeValueAsString(any());
-        doReturn(responseDto).when(mapper).readValue(anyString(), any(Class.class));
+        doReturn(responseDto).when(mapper).convertValue(any(), any(Class.class));
 
         when(encryptor.asymmetricEncrypt(any(), any())).thenReturn(request.getBytes());
 
@@ -285,7 +309,7 @@ public class IdAuthServiceTest {
         when(environment.getProperty(anyString())).thenReturn("dummy url");
 
         doReturn(objectMapper.writeValueAsString(responseDto)).when(mapper).writeValueAsString(any());
-        doReturn(responseDto).when(mapper).readValue(anyString(), any(Class.class));
+        doReturn(responseDto).when(mapper).convertValue(any(), any(Class.class));
         when(restClient.postApi(any(), any(), any(), any(Class.class))).thenReturn(response);
 
         idAuthService.validateOtp(transactionID, individualId, otp);
@@ -382,4 +406,48 @@ public class IdAuthServiceTest {
                 2L);
         assertTrue(isUpdated);
     }
+
+    @Test
+    public void testInternalOtpAuthCachesIdaCertificate() throws Exception {
+        ReflectionTestUtils.setField(idAuthService, "idaCertificateCacheTtlMillis", 60000L);
+        AuthResponseDTO response = new AuthResponseDTO();
+        mockInternalOtpAuth();
+        when(restClient.postApi(any(), any(), any(), any(Class.class))).thenReturn(response);
+
+        ((IdAuthServiceImpl) idAuthService).internelOtpAuth("12345", "individual", "111111");
+        ((IdAuthServiceImpl) idAuthService).internelOtpAuth("12346", "individual", "111111");
+
+        verify(restClient, times(1)).getApi((URI) any(), any(Class.class));
+        verify(restClient, times(2)).postApi(any(), any(), any(), any(Class.class));
+    }
+
+    @Test
+    public void testInternalOtpAuthRefreshesIdaCertificateOnKeyMismatch() throws Exception {
+        ReflectionTestUtils.setField(idAuthService, "idaCertificateCacheTtlMillis", 60000L);
+        ReflectionTestUtils.setField(idAuthService, "idaKeyMismatchErrorCodes", "IDA-MPA-001");
+        AuthResponseDTO keyMismatchResponse = new AuthResponseDTO();
+        keyMismatchResponse.setErrors(Lists.newArrayList(new ErrorDTO("IDA-MPA-001", "Error while decrypting")));
+        AuthResponseDTO response = new AuthResponseDTO();
+        mockInternalOtpAuth();
+        when(restClient.postApi(any(), any(), any(), any(Class.class))).thenReturn(keyMismatchResponse, response);
+
+        AuthResponseDTO result = ((IdAuthServiceImpl) idAuthService).internelOtpAuth("12345", "individual", "111111");
+
+        assertEquals(response, result);
+        verify(restClient, times(2)).getApi((URI) any(), any(Class.class));
+    }
+
+    private void mockInternalOtpAuth() throws Exception {
+        PublicKeyResponseDto responseDto = new PublicKeyResponseDto();
+        responseDto.setCertificate(CERTIFICATE_VALID_TILL_2126);
+        ResponseWrapper<PublicKeyResponseDto> responseWrapper = new ResponseWrapper<>();
+        responseWrapper.setResponse(responseDto);
+        when(keyGenerator.getSymmetricKey()).thenReturn(secretKey);
+        when(encryptor.symmetricEncrypt(any(), any(), any())).thenReturn("request".getBytes());
+        when(encryptor.asymmetricEncrypt(any(), any())).thenReturn("request".getBytes());
+        when(restClient.getApi((URI) any(), any(Class.class))).thenReturn(responseWrapper);
+        when(environment.getProperty(anyString())).thenReturn("dummy url");
+        doReturn("{}").when(mapper).writeValueAsString(any());
+        doReturn(responseDto).when(mapper).convertValue(any(), any(Class.class));
+    }
 }
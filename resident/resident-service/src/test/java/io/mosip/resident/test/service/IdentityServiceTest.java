@@ -1,12 +1,16 @@
 package io.mosip.resident.test.service;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
@@ -14,6 +18,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -23,15 +28,18 @@ import java.util.Optional;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.json.simple.JSONObject;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.core.env.Environment;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -39,6 +47,8 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -48,6 +58,7 @@ import io.mosip.kernel.biometrics.spi.CbeffUtil;
 import io.mosip.kernel.core.exception.ServiceError;
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.kernel.core.util.CryptoUtil;
+import io.mosip.kernel.core.util.HMACUtils2;
 import io.mosip.kernel.openid.bridge.api.constants.AuthErrorCode;
 import io.mosip.kernel.openid.bridge.model.AuthUserDetails;
 import io.mosip.kernel.openid.bridge.model.MosipUserDto;
@@ -64,10 +75,15 @@ import io.mosip.resident.service.IdentityService;
 import io.mosip.resident.service.ResidentVidService;
 import io.mosip.resident.service.impl.IdentityServiceImpl;
 import io.mosip.resident.util.AuditUtil;
+import io.mosip.resident.util.BoundedCache;
+import io.mosip.resident.util.JsonUtil;
 import io.mosip.resident.util.ResidentServiceRestClient;
 import io.mosip.resident.util.Utilities;
 import io.mosip.resident.util.Utility;
 import io.mosip.resident.validator.RequestValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.util.function.Tuple2;
 import reactor.util.function.Tuple3;
 import reactor.util.function.Tuples;
 
@@ -118,6 +134,9 @@ public class IdentityServiceTest {
 	@Mock
 	private ValidateTokenUtil tokenValidationHelper;
 
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
 	private ResponseWrapper responseWrapper;
 
 	private Map responseMap;
@@ -127,6 +146,10 @@ public class IdentityServiceTest {
 	private ObjectMapper objectMapper = new ObjectMapper();
 
 	private static String token;
+
+	private static final String VID = "2186705746111935";
+
+	private static final String UIN = "2476302389";
 	
 	
 	@Before
@@ -217,7 +240,7 @@ public class IdentityServiceTest {
 		File idJson = new File(classLoader.getResource("IdentityMapping.json").getFile());
 		InputStream is = new FileInputStream(idJson);
 		String mappingJson = IOUtils.toString(is, "UTF-8");
-		when(utility.getMappingJson()).thenReturn(mappingJson);
+		when(utility.getMappingJsonObject()).thenReturn(JsonUtil.readValue(mappingJson, JSONObject.class));
 	}
 
 	@Test
@@ -314,6 +337,121 @@ public class IdentityServiceTest {
 		assertEquals("value", result.get("claim"));
 	}
 
+	@Test
+	public void testGetUserInfoCachedForRequest() throws Exception {
+		Tuple3<URI, MultiValueMap<String, String>, Map<String, Object>> tuple3 = loadUserInfoMethod();
+		when(restClientWithPlainRestTemplate.getApi(tuple3.getT1(), String.class, tuple3.getT2()))
+				.thenReturn(objectMapper.writeValueAsString(tuple3.getT3()));
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+		try {
+			ReflectionTestUtils.invokeMethod(identityService, "getUserInfo", token);
+			Map<String, Object> result = ReflectionTestUtils.invokeMethod(identityService, "getUserInfo", token);
+			assertEquals("value", result.get("claim"));
+		} finally {
+			RequestContextHolder.resetRequestAttributes();
+		}
+		verify(restClientWithPlainRestTemplate, times(1)).getApi(tuple3.getT1(), String.class, tuple3.getT2());
+		assertEquals(1.0, meterRegistry.get("resident.userinfo.cache").tag("result", "hit").counter().count(), 0);
+		assertEquals(1.0, meterRegistry.get("resident.userinfo.cache").tag("result", "miss").counter().count(), 0);
+	}
+
+	@Test
+	public void testGetUserInfoCachedWithTtl() throws Exception {
+		Tuple3<URI, MultiValueMap<String, String>, Map<String, Object>> tuple3 = loadUserInfoMethod();
+		when(restClientWithPlainRestTemplate.getApi(tuple3.getT1(), String.class, tuple3.getT2()))
+				.thenReturn(objectMapper.writeValueAsString(tuple3.getT3()));
+		ReflectionTestUtils.setField(identityService, "userInfoCacheTtlMillis", 60000L);
+		ReflectionTestUtils.setField(identityService, "userInfoCacheMaxSize", 10);
+		((IdentityServiceImpl) identityService).init();
+		ReflectionTestUtils.invokeMethod(identityService, "getUserInfo", token);
+		Map<String, Object> result = ReflectionTestUtils.invokeMethod(identityService, "getUserInfo", token);
+		assertEquals("value", result.get("claim"));
+		verify(restClientWithPlainRestTemplate, times(1)).getApi(tuple3.getT1(), String.class, tuple3.getT2());
+	}
+
+	@Test
+	public void testGetUserInfoNotCachedWithoutRequestOrTtl() throws Exception {
+		Tuple3<URI, MultiValueMap<String, String>, Map<String, Object>> tuple3 = loadUserInfoMethod();
+		when(restClientWithPlainRestTemplate.getApi(tuple3.getT1(), String.class, tuple3.getT2()))
+				.thenReturn(objectMapper.writeValueAsString(tuple3.getT3()));
+		ReflectionTestUtils.invokeMethod(identityService, "getUserInfo", token);
+		ReflectionTestUtils.invokeMethod(identityService, "getUserInfo", token);
+		verify(restClientWithPlainRestTemplate, times(2)).getApi(tuple3.getT1(), String.class, tuple3.getT2());
+	}
+
+	@Test
+	public void testGetUinForVidCached() throws Exception {
+		enableIdCache(10);
+		assertEquals(UIN, identityService.getUinForIndividualId(VID));
+		assertEquals(UIN, identityService.getUinForIndividualId(VID));
+		verify(utilities, times(1)).getUinByVid(VID);
+		assertEquals(1.0, meterRegistry.get("resident.individualid.cache").tag("result", "hit").counter().count(), 0);
+		assertEquals(1.0, meterRegistry.get("resident.individualid.cache").tag("result", "miss").counter().count(), 0);
+	}
+
+	@Test
+	public void testGetIDATokenForVidCached() throws Exception {
+		enableIdCache(10);
+		ReflectionTestUtils.setField(identityService, "onlineVerificationPartnerId", "m-partner-default-auth");
+		when(tokenIDGenerator.generateTokenID(UIN, "m-partner-default-auth")).thenReturn("1234");
+		assertEquals("1234", identityService.getIDATokenForIndividualId(VID));
+		assertEquals("1234", identityService.getIDATokenForIndividualId(VID));
+		assertEquals(UIN, identityService.getUinForIndividualId(VID));
+		verify(utilities, times(1)).getUinByVid(VID);
+		verify(tokenIDGenerator, times(1)).generateTokenID(UIN, "m-partner-default-auth");
+	}
+
+	@Test
+	public void testCachedIdsEvicted() throws Exception {
+		enableIdCache(10);
+		IdentityServiceImpl identityServiceImpl = (IdentityServiceImpl) identityService;
+		identityService.getUinForIndividualId(VID);
+		identityServiceImpl.evictCachedId(VID);
+		identityService.getUinForIndividualId(VID);
+		identityServiceImpl.evictCachedIds(UIN);
+		identityService.getUinForIndividualId(VID);
+		verify(utilities, times(3)).getUinByVid(VID);
+	}
+
+	@Test
+	public void testCachedIdEncryptedAndBounded() throws Exception {
+		enableIdCache(1);
+		when(requestValidator.validateUin("4530217839127345")).thenReturn(false);
+		when(requestValidator.validateVid("4530217839127345")).thenReturn(true);
+		when(utilities.getUinByVid("4530217839127345")).thenReturn("7891237890");
+		identityService.getUinForIndividualId(VID);
+		identityService.getUinForIndividualId("4530217839127345");
+		BoundedCache<String, Tuple2<String, byte[]>> uinCache = (BoundedCache<String, Tuple2<String, byte[]>>) ReflectionTestUtils
+				.getField(identityService, "uinCache");
+		assertEquals(1, uinCache.size());
+		String idHash = ReflectionTestUtils.invokeMethod(identityService, "getIdHash", "4530217839127345");
+		assertNotEquals(HMACUtils2.digestAsPlainText("4530217839127345".getBytes(StandardCharsets.UTF_8)), idHash);
+		Tuple2<String, byte[]> cachedUin = uinCache.get(idHash);
+		assertNotEquals(HMACUtils2.digestAsPlainText("7891237890".getBytes(StandardCharsets.UTF_8)), cachedUin.getT1());
+		assertFalse(new String(cachedUin.getT2(), StandardCharsets.ISO_8859_1).contains("7891237890"));
+		assertEquals("7891237890", identityService.getUinForIndividualId("4530217839127345"));
+		verify(utilities, times(1)).getUinByVid("4530217839127345");
+	}
+
+	@Test
+	public void testGetUinForVidNotCachedWithoutTtl() throws Exception {
+		when(requestValidator.validateUin(VID)).thenReturn(false);
+		when(requestValidator.validateVid(VID)).thenReturn(true);
+		when(utilities.getUinByVid(VID)).thenReturn(UIN);
+		identityService.getUinForIndividualId(VID);
+		identityService.getUinForIndividualId(VID);
+		verify(utilities, times(2)).getUinByVid(VID);
+	}
+
+	private void enableIdCache(int maxSize) throws Exception {
+		ReflectionTestUtils.setField(identityService, "idCacheTtlMillis", 60000L);
+		ReflectionTestUtils.setField(identityService, "idCacheMaxSize", maxSize);
+		((IdentityServiceImpl) identityService).init();
+		when(requestValidator.validateUin(VID)).thenReturn(false);
+		when(requestValidator.validateVid(VID)).thenReturn(true);
+		when(utilities.getUinByVid(VID)).thenReturn(UIN);
+	}
+
 	@Test
 	public void testGetIndividualIdForAid() throws Exception{
 		Tuple3<URI, MultiValueMap<String, String>, Map<String, Object>> tuple3 = loadUserInfoMethod();
@@ -405,8 +543,7 @@ public class IdentityServiceTest {
 		tuple3.getT3().put("photo", "NGFjNzk1OTYyYWRkIiwiYWNyIjoiMSIsInJlYWxtX2FjY2VzcyI6eyJyb2xlcyI6WyJ");
 		when(restClientWithPlainRestTemplate.getApi(tuple3.getT1(), String.class, tuple3.getT2()))
 				.thenReturn(objectMapper.writeValueAsString(tuple3.getT3()));
-		String mappingJson = "mappingJson";
-		when(utility.getMappingJson()).thenReturn(mappingJson);
+		when(utility.getMappingJsonObject()).thenThrow(new IOException("mappingJson"));
 		IdentityDTO result = identityService.getIdentity("6", false, "eng");
 		assertNotNull(result);
 		assertEquals("6", result.getUIN());
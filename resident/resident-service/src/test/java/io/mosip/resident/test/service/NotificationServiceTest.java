@@ -6,7 +6,6 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -18,6 +17,7 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -25,6 +25,7 @@ import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -33,17 +34,24 @@ import org.springframework.web.client.HttpServerErrorException;
 
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.kernel.core.templatemanager.spi.TemplateManager;
+import io.mosip.resident.batch.NotificationOutboxJob;
+import io.mosip.resident.batch.NotificationQueuedEvent;
 import io.mosip.resident.constant.ApiName;
+import io.mosip.resident.constant.NotificationOutboxStatus;
 import io.mosip.resident.constant.NotificationTemplateCode;
+import io.mosip.resident.constant.ResidentConstants;
+import io.mosip.resident.constant.ResidentErrorCode;
 import io.mosip.resident.dto.NotificationRequestDto;
 import io.mosip.resident.dto.NotificationRequestDtoV2;
 import io.mosip.resident.dto.NotificationResponseDTO;
-import io.mosip.resident.dto.TemplateDto;
-import io.mosip.resident.dto.TemplateResponseDto;
+import io.mosip.resident.entity.ResidentNotificationOutboxEntity;
 import io.mosip.resident.exception.ApisResourceAccessException;
 import io.mosip.resident.exception.ResidentServiceCheckedException;
 import io.mosip.resident.exception.ResidentServiceException;
+import io.mosip.resident.helper.DataEncryptionKeyHelper;
+import io.mosip.resident.repository.ResidentNotificationOutboxRepository;
 import io.mosip.resident.service.NotificationService;
+import io.mosip.resident.service.ProxyMasterdataService;
 import io.mosip.resident.service.ProxyIdRepoService;
 import io.mosip.resident.util.AuditUtil;
 import io.mosip.resident.util.JsonUtil;
@@ -75,6 +83,9 @@ public class NotificationServiceTest {
 	@Mock
 	private ResidentServiceRestClient restClient;
 
+	@Mock
+	private ProxyMasterdataService proxyMasterdataService;
+
 	@Mock
 	private TemplateManager templateManager;
 	
@@ -83,6 +94,15 @@ public class NotificationServiceTest {
 
 	@Mock
 	private RequestValidator requestValidator;
+
+	@Mock
+	private ResidentNotificationOutboxRepository outboxRepository;
+
+	@Mock
+	private DataEncryptionKeyHelper dataEncryptionKeyHelper;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
 	private Map<String, Object> mailingAttributes;
 	private NotificationRequestDto reqDto;
 	private ResponseWrapper<NotificationResponseDTO> smsNotificationResponse;
@@ -118,18 +138,13 @@ public class NotificationServiceTest {
 		reqDto.setId("3527812406");
 		reqDto.setTemplateTypeCode(NotificationTemplateCode.RS_UIN_RPR_SUCCESS);
 		reqDto.setAdditionalAttributes(additionalAttributes);
-		ResponseWrapper<TemplateResponseDto> primaryLangResp = new ResponseWrapper<>();
-		TemplateResponseDto primaryTemplateResp = new TemplateResponseDto();
-		TemplateDto primaryTemplateDto = new TemplateDto();
-		primaryTemplateDto.setDescription("re print uin");
-		primaryTemplateDto.setFileText(
+		ResponseWrapper primaryLangResp = new ResponseWrapper<>();
+		Map<String, String> primaryTemplateResp = new HashMap<>();
+		primaryTemplateResp.put(ResidentConstants.FILE_TEXT,
 				"Hi $name_eng,Your request for \"Reprint Of UIN\" has been successfully placed. Your RID (Req Number) is $RID.");
-		List<TemplateDto> primaryTemplateList = new ArrayList<>();
-		primaryTemplateList.add(primaryTemplateDto);
-		primaryTemplateResp.setTemplates(primaryTemplateList);
 		primaryLangResp.setResponse(primaryTemplateResp);
-		Mockito.when(restClient.getApi(Mockito.any(), Mockito.any(), Mockito.anyString(), Mockito.any(),
-				Mockito.any(Class.class))).thenReturn(primaryLangResp);
+		Mockito.when(proxyMasterdataService.getAllTemplateBylangCodeAndTemplateTypeCode(Mockito.anyString(),
+				Mockito.anyString())).thenReturn(primaryLangResp);
 
 		String primaryTemplatetext = "Hi Test,Your request for \"Reprint Of UIN\" has been successfully placed. Your RID (Req Number) is 10008200070004420191203104356.";
 		InputStream primaryIs = new ByteArrayInputStream(primaryTemplatetext.getBytes(StandardCharsets.UTF_8));
@@ -171,6 +186,28 @@ public class NotificationServiceTest {
 
 	}
 
+	@Test
+	public void sendNotificationToOutboxTest() throws Exception {
+		ReflectionTestUtils.setField(notificationService, "outboxEnabled", true);
+		Mockito.when(dataEncryptionKeyHelper.encrypt(Mockito.anyString())).thenReturn("encrypted");
+		Mockito.when(utility.getMailingAttributes(Mockito.any(), Mockito.any())).thenReturn(mailingAttributes);
+		NotificationResponseDTO response = notificationService.sendNotification(reqDto);
+		assertEquals(SMS_EMAIL_SUCCESS, response.getMessage());
+
+		ArgumentCaptor<ResidentNotificationOutboxEntity> outboxCaptor = ArgumentCaptor
+				.forClass(ResidentNotificationOutboxEntity.class);
+		Mockito.verify(outboxRepository, Mockito.times(2)).save(outboxCaptor.capture());
+		List<ResidentNotificationOutboxEntity> outboxEntities = outboxCaptor.getAllValues();
+		assertEquals(NotificationOutboxJob.SMS_CHANNEL, outboxEntities.get(0).getChannel());
+		assertEquals("encrypted", outboxEntities.get(0).getPayload());
+		assertEquals(NotificationOutboxJob.EMAIL_CHANNEL, outboxEntities.get(1).getChannel());
+		assertEquals("encrypted", outboxEntities.get(1).getPayload());
+		assertEquals(NotificationOutboxStatus.PENDING.name(), outboxEntities.get(1).getStatus());
+		Mockito.verify(eventPublisher, Mockito.times(2)).publishEvent(Mockito.any(NotificationQueuedEvent.class));
+		Mockito.verify(restClient, Mockito.never()).postApi(Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any(Class.class));
+	}
+
 	@Test(expected = ResidentServiceException.class)
 	public void testNotificationFailure() throws Exception {
 		ResponseWrapper<NotificationResponseDTO> smsNotificationResponse = new ResponseWrapper<>();
@@ -191,8 +228,8 @@ public class NotificationServiceTest {
 		reqDto.setId("3527812406");
 		reqDto.setTemplateTypeCode(NotificationTemplateCode.RS_UIN_RPR_SUCCESS);
 		reqDto.setAdditionalAttributes(mailingAttributes);
-		Mockito.when(restClient.getApi(Mockito.any(), Mockito.any(), Mockito.anyString(), Mockito.any(),
-				Mockito.any(Class.class))).thenReturn(null);
+		Mockito.when(proxyMasterdataService.getAllTemplateBylangCodeAndTemplateTypeCode(Mockito.anyString(),
+				Mockito.anyString())).thenThrow(new ResidentServiceCheckedException(ResidentErrorCode.TEMPLATE_EXCEPTION));
 		Mockito.when(requestValidator.emailValidator(Mockito.anyString())).thenReturn(false);
 		Mockito.when(requestValidator.phoneValidator(Mockito.anyString())).thenReturn(false);
 		notificationService.sendNotification(reqDto);
@@ -408,9 +445,9 @@ public class NotificationServiceTest {
 	}
 
 	@Test(expected = ResidentServiceException.class)
-	public void testGetTemplateFailed() throws ApisResourceAccessException {
-		Mockito.when(restClient.getApi(Mockito.any(), Mockito.any(), Mockito.anyString(), Mockito.any(),
-				Mockito.any(Class.class))).thenReturn(null);
+	public void testGetTemplateFailed() throws ResidentServiceCheckedException {
+		Mockito.when(proxyMasterdataService.getAllTemplateBylangCodeAndTemplateTypeCode(Mockito.anyString(),
+				Mockito.anyString())).thenThrow(new ResidentServiceCheckedException(ResidentErrorCode.TEMPLATE_EXCEPTION));
 		ReflectionTestUtils.invokeMethod(notificationService, "getTemplate",
 						"eng", "ack-download-personalized-card");
 
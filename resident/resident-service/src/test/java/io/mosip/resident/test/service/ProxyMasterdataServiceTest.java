@@ -2,7 +2,18 @@ package io.mosip.resident.test.service;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
@@ -15,15 +26,22 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.mosip.kernel.core.exception.ServiceError;
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.resident.constant.ApiName;
 import io.mosip.resident.constant.OrderEnum;
+import io.mosip.resident.constant.ResidentConstants;
+import io.mosip.resident.dto.CachedResponseWrapper;
 import io.mosip.resident.dto.GenderCodeResponseDTO;
 import io.mosip.resident.dto.GenderTypeDTO;
 import io.mosip.resident.dto.GenderTypeListDTO;
@@ -56,6 +74,12 @@ public class ProxyMasterdataServiceTest {
 	@Mock
 	private ResidentServiceRestClient residentServiceRestClient;
 
+	@Mock
+	private ThreadPoolTaskScheduler taskScheduler;
+
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
 	@InjectMocks
 	private ProxyMasterdataService proxyMasterdataService = new ProxyMasterdataServiceImpl();
 
@@ -72,6 +96,7 @@ public class ProxyMasterdataServiceTest {
 		TemplateResponseDto templateResp = new TemplateResponseDto();
 		TemplateDto templateDto = new TemplateDto();
 		templateDto.setDescription("re print uin");
+		templateDto.setTemplateTypeCode("otp-template");
 		templateDto.setFileText(
 				"Hi $name_eng,Your request for \"Reprint Of UIN\" has been successfully placed. Your RID (Req Number) is $RID.");
 		List<TemplateDto> templateList = new ArrayList<>();
@@ -556,6 +581,160 @@ public class ProxyMasterdataServiceTest {
 		proxyMasterdataService.getAllTemplateBylangCodeAndTemplateTypeCode("eng", "otp-template");
 	}
 	
+	@Test
+	public void testGetAllTemplateBylangCodeAndTemplateTypeCodeFromCache()
+			throws ApisResourceAccessException, ResidentServiceCheckedException {
+		ReflectionTestUtils.setField(proxyMasterdataService, "templateCacheTtlMillis", 60000L);
+		when(residentServiceRestClient.getApi(eq(ApiName.TEMPLATES), anyList(), anyString(), isNull(), any()))
+				.thenReturn(templateWrapper);
+		proxyMasterdataService.getAllTemplateBylangCodeAndTemplateTypeCode("eng", "otp-template");
+		ResponseWrapper<?> result = proxyMasterdataService.getAllTemplateBylangCodeAndTemplateTypeCode("eng",
+				"otp-template");
+		assertEquals(templateWrapper.getResponse().getTemplates().get(0).getFileText(),
+				((Map<String, String>) result.getResponse()).get(ResidentConstants.FILE_TEXT));
+		verify(residentServiceRestClient, times(1)).getApi(eq(ApiName.TEMPLATES), anyList(), anyString(), isNull(),
+				any());
+		verify(residentServiceRestClient, never()).getApi((ApiName) any(), (Map) any(), any());
+		assertEquals(2, meterRegistry.counter("resident.template.cache", "result", "hit").count(), 0);
+	}
+
+	@Test
+	public void testGetAllTemplateBylangCodeAndTemplateTypeCodeCacheMiss()
+			throws ApisResourceAccessException, ResidentServiceCheckedException {
+		ReflectionTestUtils.setField(proxyMasterdataService, "templateCacheTtlMillis", 60000L);
+		when(residentServiceRestClient.getApi(eq(ApiName.TEMPLATES), anyList(), anyString(), isNull(), any()))
+				.thenReturn(templateWrapper);
+		when(residentServiceRestClient.getApi((ApiName) any(), (Map) any(), any())).thenReturn(templateWrapper);
+		proxyMasterdataService.getAllTemplateBylangCodeAndTemplateTypeCode("eng", "new-template");
+		ResponseWrapper<?> result = proxyMasterdataService.getAllTemplateBylangCodeAndTemplateTypeCode("eng",
+				"new-template");
+		assertNotNull(((Map<String, String>) result.getResponse()).get(ResidentConstants.FILE_TEXT));
+		verify(residentServiceRestClient, times(1)).getApi((ApiName) any(), (Map) any(), any());
+		assertEquals(1, meterRegistry.counter("resident.template.cache", "result", "miss").count(), 0);
+	}
+
+	@Test
+	public void testGetAllTemplateBylangCodeAndTemplateTypeCodeStaleOnRefreshFailure()
+			throws ApisResourceAccessException, ResidentServiceCheckedException, InterruptedException {
+		ReflectionTestUtils.setField(proxyMasterdataService, "templateCacheTtlMillis", 1L);
+		doAnswer(invocation -> {
+			((Runnable) invocation.getArgument(0)).run();
+			return null;
+		}).when(taskScheduler).execute(any(Runnable.class));
+		when(residentServiceRestClient.getApi(eq(ApiName.TEMPLATES), anyList(), anyString(), isNull(), any()))
+				.thenReturn(templateWrapper).thenThrow(new ApisResourceAccessException());
+		proxyMasterdataService.getAllTemplateBylangCodeAndTemplateTypeCode("eng", "otp-template");
+		Thread.sleep(5);
+		ResponseWrapper<?> result = proxyMasterdataService.getAllTemplateBylangCodeAndTemplateTypeCode("eng",
+				"otp-template");
+		assertNotNull(((Map<String, String>) result.getResponse()).get(ResidentConstants.FILE_TEXT));
+		verify(residentServiceRestClient, times(2)).getApi(eq(ApiName.TEMPLATES), anyList(), anyString(), isNull(),
+				any());
+	}
+
+	@Test
+	public void testGetAllTemplateBylangCodeAndTemplateTypeCodeBulkLoadFailure()
+			throws ApisResourceAccessException, ResidentServiceCheckedException {
+		ReflectionTestUtils.setField(proxyMasterdataService, "templateCacheTtlMillis", 60000L);
+		when(residentServiceRestClient.getApi(eq(ApiName.TEMPLATES), anyList(), anyString(), isNull(), any()))
+				.thenThrow(new ApisResourceAccessException());
+		when(residentServiceRestClient.getApi((ApiName) any(), (Map) any(), any())).thenReturn(templateWrapper);
+		ResponseWrapper<?> result = proxyMasterdataService.getAllTemplateBylangCodeAndTemplateTypeCode("eng",
+				"otp-template");
+		assertNotNull(((Map<String, String>) result.getResponse()).get(ResidentConstants.FILE_TEXT));
+	}
+
+	@Test
+	public void testGetAllTemplateBylangCodeAndTemplateTypeCodeBulkLoadNotRetriedAfterFailure()
+			throws ApisResourceAccessException, ResidentServiceCheckedException {
+		ReflectionTestUtils.setField(proxyMasterdataService, "templateCacheTtlMillis", 60000L);
+		ReflectionTestUtils.setField(proxyMasterdataService, "templateLoadRetryDelayMillis", 60000L);
+		when(residentServiceRestClient.getApi(eq(ApiName.TEMPLATES), anyList(), anyString(), isNull(), any()))
+				.thenThrow(new ApisResourceAccessException());
+		when(residentServiceRestClient.getApi((ApiName) any(), (Map) any(), any())).thenReturn(templateWrapper);
+		proxyMasterdataService.getAllTemplateBylangCodeAndTemplateTypeCode("eng", "otp-template");
+		ResponseWrapper<?> result = proxyMasterdataService.getAllTemplateBylangCodeAndTemplateTypeCode("eng",
+				"otp-template");
+		assertNotNull(((Map<String, String>) result.getResponse()).get(ResidentConstants.FILE_TEXT));
+		verify(residentServiceRestClient, times(1)).getApi(eq(ApiName.TEMPLATES), anyList(), anyString(), isNull(),
+				any());
+		verify(residentServiceRestClient, times(2)).getApi((ApiName) any(), (Map) any(), any());
+	}
+
+	@Test
+	public void testGetResponseFromCache() throws ApisResourceAccessException, ResidentServiceCheckedException {
+		enableResponseCache(10);
+		when(residentServiceRestClient.getApi((ApiName) any(), any(), any())).thenReturn(responseWrapper);
+		ResponseWrapper<?> result = proxyMasterdataService.getGenderTypesByLangCode("eng");
+		ResponseWrapper<?> cachedResult = proxyMasterdataService.getGenderTypesByLangCode("eng");
+		assertNotSame(result, cachedResult);
+		assertSame(result.getResponse(), cachedResult.getResponse());
+		assertNotNull(((CachedResponseWrapper<?>) result).getETag());
+		assertEquals(((CachedResponseWrapper<?>) result).getETag(), ((CachedResponseWrapper<?>) cachedResult).getETag());
+		proxyMasterdataService.getGenderTypesByLangCode("fra");
+		verify(residentServiceRestClient, times(2)).getApi((ApiName) any(), any(), any());
+		assertEquals(1, meterRegistry.counter("resident.masterdata.response.cache", "result", "hit").count(), 0);
+		assertEquals(2, meterRegistry.counter("resident.masterdata.response.cache", "result", "miss").count(), 0);
+	}
+
+	@Test
+	public void testCachedResponseNotChangedByCaller() throws ApisResourceAccessException, ResidentServiceCheckedException {
+		enableResponseCache(10);
+		responseWrapper.setId("masterdata");
+		when(residentServiceRestClient.getApi((ApiName) any(), any(), any())).thenReturn(responseWrapper);
+		proxyMasterdataService.getGenderTypesByLangCode("eng").setId("resident");
+		ResponseWrapper<?> cachedResult = proxyMasterdataService.getGenderTypesByLangCode("eng");
+		assertEquals("masterdata", cachedResult.getId());
+		cachedResult.setId("resident");
+		assertEquals("masterdata", proxyMasterdataService.getGenderTypesByLangCode("eng").getId());
+	}
+
+	@Test
+	public void testGetResponseWithErrorsNotCached() throws ApisResourceAccessException {
+		enableResponseCache(10);
+		ServiceError error = new ServiceError();
+		error.setErrorCode("101");
+		error.setMessage("errors");
+		responseWrapper.setErrors(List.of(error));
+		when(residentServiceRestClient.getApi((ApiName) any(), any(), any())).thenReturn(responseWrapper);
+		for (int i = 0; i < 2; i++) {
+			try {
+				proxyMasterdataService.getGenderTypesByLangCode("eng");
+				fail();
+			} catch (ResidentServiceCheckedException e) {
+				assertEquals("errors", e.getErrorText());
+			}
+		}
+		verify(residentServiceRestClient, times(2)).getApi((ApiName) any(), any(), any());
+	}
+
+	@Test
+	public void testResponseCacheBounded() throws ApisResourceAccessException, ResidentServiceCheckedException {
+		enableResponseCache(1);
+		when(residentServiceRestClient.getApi((ApiName) any(), any(), any())).thenReturn(responseWrapper);
+		proxyMasterdataService.getGenderTypesByLangCode("eng");
+		proxyMasterdataService.getGenderTypesByLangCode("fra");
+		proxyMasterdataService.getGenderTypesByLangCode("eng");
+		verify(residentServiceRestClient, times(3)).getApi((ApiName) any(), any(), any());
+		assertEquals(1, meterRegistry.get("resident.masterdata.response.cache.size").gauge().value(), 0);
+	}
+
+	@Test
+	public void testEvictCaches() throws ApisResourceAccessException, ResidentServiceCheckedException {
+		enableResponseCache(10);
+		when(residentServiceRestClient.getApi((ApiName) any(), any(), any())).thenReturn(responseWrapper);
+		proxyMasterdataService.getGenderTypesByLangCode("eng");
+		proxyMasterdataService.evictCaches();
+		proxyMasterdataService.getGenderTypesByLangCode("eng");
+		verify(residentServiceRestClient, times(2)).getApi((ApiName) any(), any(), any());
+	}
+
+	private void enableResponseCache(int maxSize) {
+		ReflectionTestUtils.setField(proxyMasterdataService, "responseCacheTtlMillis", 60000L);
+		ReflectionTestUtils.setField(proxyMasterdataService, "responseCacheMaxSize", maxSize);
+		((ProxyMasterdataServiceImpl) proxyMasterdataService).init();
+	}
+
 	@Test
 	public void testGetGenderTypesByLangCode() throws ApisResourceAccessException, ResidentServiceCheckedException {
 		when(residentServiceRestClient.getApi((ApiName) any(), any(), any())).thenReturn(responseWrapper);
@@ -2,10 +2,13 @@ package io.mosip.resident.test.service;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.net.URI;
@@ -30,11 +33,14 @@ import org.springframework.core.env.Environment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.kernel.core.templatemanager.spi.TemplateManager;
 import io.mosip.resident.constant.ApiName;
+import io.mosip.resident.constant.EventStatusSuccess;
 import io.mosip.resident.constant.RequestType;
 import io.mosip.resident.constant.ResidentConstants;
 import io.mosip.resident.dto.BellNotificationDto;
@@ -63,6 +69,7 @@ import io.mosip.resident.util.AuditUtil;
 import io.mosip.resident.util.ResidentServiceRestClient;
 import io.mosip.resident.util.TemplateUtil;
 import io.mosip.resident.util.Utility;
+import reactor.util.function.Tuple2;
 
 /**
  * @author Kamesh Shekhar Prasad
@@ -197,6 +204,60 @@ public class ResidentServiceDownloadCardTest {
         assertEquals(response, result);
     }
 
+    @Test
+    public void testDownloadCardAsStream() throws Exception {
+        residentTransactionEntity.get().setStatusCode(EventStatusSuccess.CARD_READY_TO_DOWNLOAD.name());
+        residentTransactionEntity.get().setReferenceLink("http://datashare.datashare/123");
+        ClientHttpResponse cardResponse = mockCardResponse(result);
+        Mockito.when(utility.getFileName(Mockito.anyString(), Mockito.anyString(), Mockito.anyInt())).thenReturn("card");
+        Tuple2<StreamingResponseBody, String> card = residentServiceImpl.downloadCardAsStream(eventId, 0);
+        assertEquals("card", card.getT2());
+        Mockito.verify(residentTransactionRepository, Mockito.never()).save(residentTransactionEntity.get());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        card.getT1().writeTo(outputStream);
+        assertEquals("data", outputStream.toString());
+        assertEquals(EventStatusSuccess.CARD_DOWNLOADED.name(), residentTransactionEntity.get().getStatusCode());
+        Mockito.verify(residentTransactionRepository).save(residentTransactionEntity.get());
+        Mockito.verify(cardResponse).close();
+    }
+
+    @Test
+    public void testDownloadCardAsStreamNotReady() throws Exception {
+        residentTransactionEntity.get().setStatusCode(EventStatusSuccess.CARD_DOWNLOADED.name());
+        residentTransactionEntity.get().setReferenceLink("http://datashare.datashare/123");
+        assertNull(residentServiceImpl.downloadCardAsStream(eventId, 0));
+    }
+
+    @Test
+    public void testDownloadCardAsStreamEmptyCard() throws Exception {
+        residentTransactionEntity.get().setStatusCode(EventStatusSuccess.CARD_READY_TO_DOWNLOAD.name());
+        residentTransactionEntity.get().setReferenceLink("http://datashare.datashare/123");
+        ClientHttpResponse cardResponse = mockCardResponse(new byte[0]);
+        try {
+            residentServiceImpl.downloadCardAsStream(eventId, 0);
+            fail();
+        } catch (ResidentServiceException e) {
+            Mockito.verify(cardResponse).close();
+            Mockito.verify(residentTransactionRepository, Mockito.never()).save(residentTransactionEntity.get());
+        }
+    }
+
+    @Test(expected = ResidentServiceException.class)
+    public void testDownloadCardAsStreamDataShareError() throws Exception {
+        residentTransactionEntity.get().setStatusCode(EventStatusSuccess.CARD_READY_TO_DOWNLOAD.name());
+        residentTransactionEntity.get().setReferenceLink("http://datashare.datashare/123");
+        Mockito.when(residentServiceRestClient.getApiAsResponse(any(URI.class)))
+                .thenThrow(new ApisResourceAccessException("datashare error"));
+        residentServiceImpl.downloadCardAsStream(eventId, 0);
+    }
+
+    private ClientHttpResponse mockCardResponse(byte[] card) throws Exception {
+        ClientHttpResponse cardResponse = Mockito.mock(ClientHttpResponse.class);
+        Mockito.when(cardResponse.getBody()).thenReturn(new ByteArrayInputStream(card));
+        Mockito.when(residentServiceRestClient.getApiAsResponse(any(URI.class))).thenReturn(cardResponse);
+        return cardResponse;
+    }
+
     @Test
     public void testGetUserInfo() throws ApisResourceAccessException{
         Mockito.when(identityServiceImpl.getClaimFromIdToken(Mockito.anyString())).thenReturn("claim");
@@ -12,6 +12,7 @@ import io.mosip.resident.dto.ServiceHistoryResponseDto;
 import io.mosip.resident.entity.ResidentSessionEntity;
 import io.mosip.resident.entity.ResidentTransactionEntity;
 import io.mosip.resident.exception.ApisResourceAccessException;
+import io.mosip.resident.exception.InvalidInputException;
 import io.mosip.resident.exception.OtpValidationFailedException;
 import io.mosip.resident.exception.ResidentServiceCheckedException;
 import io.mosip.resident.exception.ResidentServiceException;
@@ -24,6 +25,7 @@ import io.mosip.resident.service.impl.IdentityServiceImpl;
 import io.mosip.resident.service.impl.PartnerServiceImpl;
 import io.mosip.resident.service.impl.ResidentServiceImpl;
 import io.mosip.resident.util.AuditUtil;
+import io.mosip.resident.util.ServiceHistoryQueryBuilder;
 import io.mosip.resident.util.TemplateUtil;
 import io.mosip.resident.util.Utilities;
 import io.mosip.resident.util.Utility;
@@ -49,8 +51,11 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * This class is used to test the get service history service
@@ -362,6 +367,66 @@ public class ResidentServiceGetServiceHistoryTest {
                 null, "123", "eng", 0).getResponse().getPageSize());
 
     }
+    @Test
+    public void testGetServiceHistoryQueryUsesBindParameters() {
+        ServiceHistoryQueryBuilder queryBuilder = residentServiceImpl.getServiceHistoryQueryBuilder("DESC", "1234",
+                "SUCCESS", "12-34", LocalDate.now(), LocalDate.now(), serviceType, 0);
+        String selectQuery = queryBuilder.getSelectQueryString();
+        assertFalse(selectQuery.contains("1234"));
+        assertTrue(selectQuery.contains("token_id = :tokenId"));
+        assertTrue(selectQuery.endsWith("ORDER BY pinned_status DESC, cr_dtimes DESC, event_id DESC LIMIT :limit OFFSET :offset"));
+        assertEquals("1234", queryBuilder.getParameters().get("tokenId"));
+        assertEquals("%1234%", queryBuilder.getParameters().get("searchText"));
+    }
+
+    @Test
+    public void testGetServiceHistoryWithLastEventId() throws ResidentServiceCheckedException, ApisResourceAccessException {
+        residentTransactionEntity.setTokenId("1234");
+        Mockito.when(residentTransactionRepository.findById(Mockito.anyString())).thenReturn(Optional.of(residentTransactionEntity));
+        assertEquals(10, residentServiceImpl.getServiceHistory(0, 10, null, null, null, sortType, null, null,
+                "eng", 0, "eventId").getResponse().getPageSize());
+        Mockito.verify(entityManager).createNativeQuery(Mockito.contains("event_id > :seekEventId"), (Class) Mockito.any());
+        Mockito.verify(query).setParameter("offset", 0);
+        Mockito.verify(query).setParameter("limit", 11);
+        Mockito.verify(query, Mockito.never()).getSingleResult();
+    }
+
+    @Test
+    public void testGetServiceHistoryWithLastEventIdHasNextPage() throws ResidentServiceCheckedException, ApisResourceAccessException {
+        residentTransactionEntity.setTokenId("1234");
+        residentTransactionEntity.setRequestTypeCode(RequestType.AUTHENTICATION_REQUEST.name());
+        Mockito.when(residentTransactionRepository.findById(Mockito.anyString())).thenReturn(Optional.of(residentTransactionEntity));
+        Mockito.when(query.getResultList()).thenReturn(new ArrayList<>(List.of(residentTransactionEntity,
+                residentTransactionEntity, residentTransactionEntity)));
+        PageDto<ServiceHistoryResponseDto> page = residentServiceImpl.getServiceHistory(1, 2, null, null, null, sortType,
+                null, null, "eng", 0, "eventId").getResponse();
+        assertEquals(2, page.getData().size());
+        assertEquals(5, page.getTotalItems());
+        Mockito.verify(query, Mockito.never()).getSingleResult();
+    }
+
+    @Test(expected = InvalidInputException.class)
+    public void testGetServiceHistoryWithUnknownLastEventId() throws ResidentServiceCheckedException, ApisResourceAccessException {
+        Mockito.when(residentTransactionRepository.findById(Mockito.anyString())).thenReturn(Optional.empty());
+        residentServiceImpl.getServiceHistory(0, 10, null, null, null, sortType, null, null, "eng", 0, "eventId");
+    }
+
+    @Test(expected = InvalidInputException.class)
+    public void testGetServiceHistoryWithLastEventIdOfAnotherToken() throws ResidentServiceCheckedException, ApisResourceAccessException {
+        residentTransactionEntity.setTokenId("5678");
+        Mockito.when(residentTransactionRepository.findById(Mockito.anyString())).thenReturn(Optional.of(residentTransactionEntity));
+        residentServiceImpl.getServiceHistory(0, 10, null, null, null, sortType, null, null, "eng", 0, "eventId");
+    }
+
+    @Test
+    public void testGetServiceHistorySkipsCountForPartialFirstPage() throws ResidentServiceCheckedException, ApisResourceAccessException {
+        residentTransactionEntity.setRequestTypeCode(RequestType.AUTHENTICATION_REQUEST.name());
+        Mockito.when(query.getResultList()).thenReturn(residentTransactionEntityList);
+        assertEquals(1, residentServiceImpl.getServiceHistory(0, 10, null, null, null, sortType, null, null,
+                "eng", 0).getResponse().getTotalItems());
+        Mockito.verify(query, Mockito.never()).getSingleResult();
+    }
+
     @Test
     public void testGetAidStatus() throws OtpValidationFailedException, ResidentServiceCheckedException, ApisResourceAccessException {
         AidStatusRequestDTO aidStatusRequestDTO = new AidStatusRequestDTO();
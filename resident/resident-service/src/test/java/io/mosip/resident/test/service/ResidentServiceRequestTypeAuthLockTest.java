@@ -2,11 +2,14 @@ package io.mosip.resident.test.service;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.json.simple.JSONObject;
 import org.junit.Before;
@@ -26,9 +29,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.mosip.kernel.core.idvalidator.spi.RidValidator;
 import io.mosip.kernel.core.idvalidator.spi.UinValidator;
 import io.mosip.kernel.core.idvalidator.spi.VidValidator;
+import io.mosip.resident.constant.DocumentScanStatus;
+import io.mosip.resident.constant.ResidentErrorCode;
 import io.mosip.resident.dto.AuthLockOrUnLockRequestDtoV2;
 import io.mosip.resident.dto.AuthTypeStatusDto;
 import io.mosip.resident.dto.AuthTypeStatusDtoV2;
+import io.mosip.resident.dto.DocumentResponseDTO;
 import io.mosip.resident.dto.NotificationResponseDTO;
 import io.mosip.resident.dto.PacketGeneratorResDto;
 import io.mosip.resident.dto.ResidentDocuments;
@@ -322,5 +328,46 @@ public class ResidentServiceRequestTypeAuthLockTest {
 				"getResidentDocuments", residentUpdateRequestDto, null);
 	}
 
+	@Test
+	public void testGetResidentDocumentsNotScanned() throws ResidentServiceCheckedException {
+		ResidentUpdateRequestDto residentUpdateRequestDto = new ResidentUpdateRequestDto();
+		residentUpdateRequestDto.setTransactionID("123");
+		Mockito.when(docService.getDocumentsWithMetadata("123")).thenReturn(
+				Map.of(getDocument("poi", DocumentScanStatus.PENDING.name()), "content"));
+		try {
+			ReflectionTestUtils.invokeMethod(residentService, "getResidentDocuments", residentUpdateRequestDto,
+					getMappingDocument());
+			fail();
+		} catch (ResidentServiceException e) {
+			assertEquals(ResidentErrorCode.DOCUMENT_NOT_SCANNED.getErrorCode(), e.getErrorCode());
+		}
+	}
+
+	@Test
+	public void testGetResidentDocumentsScanned() throws ResidentServiceCheckedException {
+		ResidentUpdateRequestDto residentUpdateRequestDto = new ResidentUpdateRequestDto();
+		residentUpdateRequestDto.setTransactionID("123");
+		Mockito.when(docService.getDocumentsWithMetadata("123")).thenReturn(
+				Map.of(getDocument("poi", DocumentScanStatus.CLEAN.name()), "content", getDocument("poa", null),
+						"content"));
+		List<ResidentDocuments> documents = ReflectionTestUtils.invokeMethod(residentService,
+				"getResidentDocuments", residentUpdateRequestDto, getMappingDocument());
+		assertEquals(2, documents.size());
+	}
+
+	private DocumentResponseDTO getDocument(String docCatCode, String scanStatus) {
+		DocumentResponseDTO document = new DocumentResponseDTO();
+		document.setDocId(docCatCode + "Id");
+		document.setDocCatCode(docCatCode);
+		document.setScanStatus(scanStatus);
+		return document;
+	}
+
+	private JSONObject getMappingDocument() {
+		JSONObject mappingDocument = new JSONObject();
+		mappingDocument.put("poi", new LinkedHashMap<>(Map.of("value", "proofOfIdentity")));
+		mappingDocument.put("poa", new LinkedHashMap<>(Map.of("value", "proofOfAddress")));
+		return mappingDocument;
+	}
 
 }
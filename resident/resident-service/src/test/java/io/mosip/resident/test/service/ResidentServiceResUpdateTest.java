@@ -5,6 +5,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -27,6 +28,7 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpEntity;
@@ -39,6 +41,8 @@ import org.springframework.web.client.HttpServerErrorException;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.mosip.kernel.core.exception.BaseCheckedException;
 import io.mosip.kernel.core.exception.FileNotFoundException;
 import io.mosip.kernel.core.http.ResponseWrapper;
@@ -75,6 +79,7 @@ import io.mosip.resident.service.ProxyMasterdataService;
 import io.mosip.resident.service.impl.IdentityServiceImpl;
 import io.mosip.resident.service.impl.ResidentServiceImpl;
 import io.mosip.resident.util.AuditUtil;
+import io.mosip.resident.util.JsonUtil;
 import io.mosip.resident.util.ResidentServiceRestClient;
 import io.mosip.resident.util.Utilities;
 import io.mosip.resident.util.Utility;
@@ -132,6 +137,9 @@ public class ResidentServiceResUpdateTest {
 	@Mock
 	private IdObjectValidator idObjectValidator;
 
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
 	ResidentUpdateRequestDto dto;
 
 	PacketGeneratorResDto updateDto;
@@ -188,7 +196,7 @@ public class ResidentServiceResUpdateTest {
 		File idJson = new File(classLoader.getResource("IdentityMapping.json").getFile());
 		InputStream is = new FileInputStream(idJson);
 		String mappingJson = IOUtils.toString(is, "UTF-8");
-		Mockito.when(utility.getMappingJson()).thenReturn(mappingJson);
+		Mockito.when(utility.getMappingJsonObject()).thenReturn(JsonUtil.readValue(mappingJson, JSONObject.class));
 
 		Mockito.when(idAuthService.validateOtp(Mockito.anyString(), Mockito.anyString(), Mockito.anyString()))
 				.thenReturn(true);
@@ -323,7 +331,7 @@ public class ResidentServiceResUpdateTest {
 	@Test(expected = ResidentServiceException.class)
 	public void reqUinUpdateGetMachineIdTestWithSecureSessionDemographicEntityFailed() throws BaseCheckedException, IOException {
 		IdentityServiceTest.getAuthUserDetailsFromAuthentication();
-		Mockito.when(utility.getMappingJson()).thenReturn(null);
+		Mockito.when(utility.getMappingJsonObject()).thenReturn(null);
 		Tuple2<Object, String> residentUpdateResponseDTO = residentServiceImpl.reqUinUpdate(dto);
 		assertEquals(((ResidentUpdateResponseDTO) residentUpdateResponseDTO.getT1()).getRegistrationId(), updateDto.getRegistrationId());
 	}
@@ -383,6 +391,25 @@ public class ResidentServiceResUpdateTest {
 		verify(residentServiceRestClient, atLeast(2)).postApi(any(), any(), any(), any(Class.class));
 	}
 
+	@Test
+	public void reqUinUpdateUsesCachedResidentMachineTest() throws BaseCheckedException, IOException {
+		ReflectionTestUtils.setField(residentServiceImpl, "residentMachineCacheTtlMillis", 60000L);
+		residentServiceImpl.reqUinUpdate(dto);
+		residentServiceImpl.reqUinUpdate(dto);
+		verify(residentServiceRestClient, times(1)).postApi(eq("PACKETSIGNPUBLICKEY"), any(), any(), any(Class.class));
+		verify(residentServiceRestClient, times(1)).postApi(eq("MACHINESEARCH"), any(), any(), any(Class.class));
+		assertEquals(1, meterRegistry.counter("resident.machine.cache", "result", "hit").count(), 0);
+	}
+
+	@Test
+	public void reqUinUpdateRevalidatesExpiredResidentMachineTest() throws BaseCheckedException, IOException {
+		residentServiceImpl.reqUinUpdate(dto);
+		residentServiceImpl.reqUinUpdate(dto);
+		verify(residentServiceRestClient, times(2)).postApi(eq("PACKETSIGNPUBLICKEY"), any(), any(), any(Class.class));
+		verify(residentServiceRestClient, times(1)).postApi(eq("MACHINESEARCH"), any(), any(), any(Class.class));
+		assertEquals(1, meterRegistry.counter("resident.machine.cache", "result", "revalidated").count(), 0);
+	}
+
 	@Test(expected = ResidentServiceException.class)
 	public void validateOtpException()
 			throws OtpValidationFailedException, IOException, ResidentServiceCheckedException {
@@ -403,8 +430,8 @@ public class ResidentServiceResUpdateTest {
 	}
 
 	@Test(expected = ResidentServiceException.class)
-	public void JsonParsingException() throws ResidentServiceCheckedException {
-		Mockito.when(utility.getMappingJson()).thenReturn(null);
+	public void JsonParsingException() throws ResidentServiceCheckedException, IOException {
+		Mockito.when(utility.getMappingJsonObject()).thenReturn(null);
 		residentServiceImpl.reqUinUpdate(dto);
 
 	}
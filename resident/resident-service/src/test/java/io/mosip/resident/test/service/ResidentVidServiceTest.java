@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.mosip.kernel.core.exception.ServiceError;
 import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.kernel.core.util.HMACUtils2;
 import io.mosip.resident.constant.ResidentConstants;
 import io.mosip.resident.dto.IdentityDTO;
 import io.mosip.resident.dto.NotificationRequestDto;
@@ -51,11 +52,13 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
@@ -63,6 +66,9 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -415,4 +421,46 @@ public class ResidentVidServiceTest {
                 residentVidService.retrieveVids(vid, ResidentConstants.UTC_TIMEZONE_OFFSET).getResponse().size());
     }
 
+    @Test
+    public void testRetrieveVidsCountsTransactionsInOneQuery() throws ResidentServiceCheckedException,
+            ApisResourceAccessException, NoSuchAlgorithmException {
+        Map<String, Object> otherVidDetails = new HashMap<>(vidDetails);
+        otherVidDetails.put("vid", "456");
+        vidList.add(otherVidDetails);
+        vidResponse.setResponse(vidList);
+        String vidHash = HMACUtils2.digestAsPlainText("123".getBytes());
+        List<Object[]> transactionCounts = new ArrayList<>();
+        transactionCounts.add(new Object[] { vidHash, 1L });
+        when(residentTransactionRepository.countByRefIdsAndAuthType(Mockito.anyList())).thenReturn(transactionCounts);
+        when(mapper.convertValue((Object) any(), (Class<Object>) any())).thenReturn(
+                LocalDateTime.of(10000, 12, 1, 12, 12, 12));
+        when(residentServiceRestClient.getApi(Mockito.anyString(), Mockito.any())).thenReturn(vidResponse);
+        List<Map<String, ?>> vids = residentVidService.retrieveVids(vid, ResidentConstants.UTC_TIMEZONE_OFFSET)
+                .getResponse();
+        assertEquals(1, vids.get(0).get("transactionsLeftCount"));
+        assertEquals(2, vids.get(1).get("transactionsLeftCount"));
+        verify(residentTransactionRepository, times(1)).countByRefIdsAndAuthType(Mockito.anyList());
+        verify(residentTransactionRepository, never()).findByrefIdandauthtype(Mockito.anyString());
+    }
+
+    @Test
+    public void testGetPerpatualVidFromCache() throws ResidentServiceCheckedException, ApisResourceAccessException {
+        ReflectionTestUtils.setField(residentVidService, "perpatualVidType", "PERPETUAL");
+        ReflectionTestUtils.setField(residentVidService, "vidListCacheTtlMillis", 60000L);
+        when(residentServiceRestClient.getApi(Mockito.anyString(), Mockito.any())).thenReturn(vidResponse);
+        assertEquals(Optional.of("123"), residentVidService.getPerpatualVid("1234567890"));
+        assertEquals(Optional.of("123"), residentVidService.getPerpatualVid("1234567890"));
+        verify(residentServiceRestClient, times(1)).getApi(Mockito.anyString(), Mockito.any());
+        verify(residentTransactionRepository, never()).countByRefIdsAndAuthType(Mockito.anyList());
+    }
+
+    @Test
+    public void testGetPerpatualVidWithoutCache() throws ResidentServiceCheckedException, ApisResourceAccessException {
+        ReflectionTestUtils.setField(residentVidService, "perpatualVidType", "PERPETUAL");
+        when(residentServiceRestClient.getApi(Mockito.anyString(), Mockito.any())).thenReturn(vidResponse);
+        assertEquals(Optional.of("123"), residentVidService.getPerpatualVid("1234567890"));
+        assertEquals(Optional.of("123"), residentVidService.getPerpatualVid("1234567890"));
+        verify(residentServiceRestClient, times(2)).getApi(Mockito.anyString(), Mockito.any());
+    }
+
 }
@@ -1,13 +1,19 @@
 package io.mosip.resident.test.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.powermock.api.mockito.PowerMockito.when;
 
 import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -17,6 +23,7 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
@@ -28,11 +35,14 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextImpl;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.mosip.kernel.core.http.RequestWrapper;
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.kernel.core.util.DateUtils;
@@ -65,6 +75,9 @@ public class AuditUtilTest {
     @Mock
     private IdentityServiceImpl identityService;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @Captor
     ArgumentCaptor<HttpEntity> httpEntityCaptor;
 
@@ -144,4 +157,102 @@ public class AuditUtilTest {
 
     }
 
+    @Test
+    public void setAuditRequestDtoAsyncTest() throws Exception {
+        ReflectionTestUtils.setField(auditUtil, "asyncEnabled", true);
+        ReflectionTestUtils.setField(auditUtil, "queueCapacity", 10);
+        ReflectionTestUtils.setField(auditUtil, "batchSize", 5);
+        ReflectionTestUtils.setField(auditUtil, "shutdownTimeoutMillis", 10000L);
+        when(restTemplate.exchange(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(Class.class), Mockito.any(Object.class)))
+                .thenReturn(ResponseEntity.ok("Response String"));
+        auditUtil.init();
+        auditUtil.setAuditRequestDto(EventEnum.getEventEnumWithValue(EventEnum.VALIDATE_REQUEST, "get Rid status API"));
+        auditUtil.setAuditRequestDto(EventEnum.getEventEnumWithValue(EventEnum.VALIDATE_REQUEST, "get Rid status API"));
+        auditUtil.destroy();
+
+        verify(restTemplate, times(2)).exchange(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(Class.class), Mockito.any(Object.class));
+        assertNotNull(meterRegistry.find("resident.audit.queue.depth").gauge());
+    }
+
+    @Test
+    public void callAuditManagerQueueFullSpillTest() throws Exception {
+        Path spillFile = Files.createTempFile("audit", ".spill");
+        Files.delete(spillFile);
+        ReflectionTestUtils.setField(auditUtil, "spillFile", spillFile.toString());
+        ReflectionTestUtils.setField(auditUtil, "queueFullPolicy", "DROP");
+        BlockingQueue<AuditRequestDTO> auditQueue = new LinkedBlockingQueue<>(1);
+        auditQueue.add(new AuditRequestDTO());
+        ReflectionTestUtils.setField(auditUtil, "auditQueue", auditQueue);
+        ReflectionTestUtils.setField(auditUtil, "running", true);
+        when(objectMapper.writeValueAsString(Mockito.any())).thenReturn("{}");
+        when(objectMapper.readValue(Mockito.anyString(), Mockito.eq(AuditRequestDTO.class))).thenReturn(new AuditRequestDTO());
+        mockAuditAccepted();
+
+        auditUtil.callAuditManager(new AuditRequestDTO());
+        assertEquals(1, Files.readAllLines(spillFile).size());
+        assertEquals(1, meterRegistry.counter("resident.audit.overflow", "action", "spilled").count(), 0);
+
+        ReflectionTestUtils.invokeMethod(auditUtil, "postSpilledAudits");
+        assertFalse(Files.exists(spillFile));
+        verify(restTemplate, times(1)).exchange(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(Class.class), Mockito.any(Object.class));
+    }
+
+    @Test
+    public void postSpilledAuditsKeepsNotPostedAuditsTest() throws Exception {
+        Path spillFile = Files.createTempFile("audit", ".spill");
+        Files.write(spillFile, List.of("{\"eventId\":\"1\"}", "{\"eventId\":\"2\"}", "{\"eventId\":\"3\"}"));
+        ReflectionTestUtils.setField(auditUtil, "spillFile", spillFile.toString());
+        when(objectMapper.readValue(Mockito.anyString(), Mockito.eq(AuditRequestDTO.class))).thenReturn(new AuditRequestDTO());
+        mockAuditAccepted();
+        when(restTemplate.exchange(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(Class.class), Mockito.any(Object.class)))
+                .thenReturn(ResponseEntity.ok("Response String"))
+                .thenThrow(new ResourceAccessException("audit manager is down"));
+
+        ReflectionTestUtils.invokeMethod(auditUtil, "postSpilledAudits");
+        assertEquals(List.of("{\"eventId\":\"2\"}", "{\"eventId\":\"3\"}"), Files.readAllLines(spillFile));
+
+        // Not retried before the retry interval.
+        ReflectionTestUtils.invokeMethod(auditUtil, "postSpilledAudits");
+        verify(restTemplate, times(2)).exchange(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(Class.class), Mockito.any(Object.class));
+        Files.delete(spillFile);
+    }
+
+    @Test
+    public void postQueuedAuditSpillsNotPostedAuditTest() throws Exception {
+        Path spillFile = Files.createTempFile("audit", ".spill");
+        Files.delete(spillFile);
+        ReflectionTestUtils.setField(auditUtil, "spillFile", spillFile.toString());
+        when(objectMapper.writeValueAsString(Mockito.any())).thenReturn("{}");
+        when(restTemplate.exchange(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(Class.class), Mockito.any(Object.class)))
+                .thenThrow(new ResourceAccessException("audit manager is down"));
+
+        ReflectionTestUtils.invokeMethod(auditUtil, "postQueuedAudit", new AuditRequestDTO());
+        assertEquals(List.of("{}"), Files.readAllLines(spillFile));
+        assertEquals(1, meterRegistry.counter("resident.audit.overflow", "action", "spilled").count(), 0);
+        Files.delete(spillFile);
+    }
+
+    @Test
+    public void callAuditManagerQueueFullDropTest() {
+        ReflectionTestUtils.setField(auditUtil, "queueFullPolicy", "DROP");
+        BlockingQueue<AuditRequestDTO> auditQueue = new LinkedBlockingQueue<>(1);
+        auditQueue.add(new AuditRequestDTO());
+        ReflectionTestUtils.setField(auditUtil, "auditQueue", auditQueue);
+        ReflectionTestUtils.setField(auditUtil, "running", true);
+
+        auditUtil.callAuditManager(new AuditRequestDTO());
+        assertEquals(1, auditQueue.size());
+        assertEquals(1, meterRegistry.counter("resident.audit.overflow", "action", "dropped").count(), 0);
+    }
+
+    private void mockAuditAccepted() throws Exception {
+        AuditResponseDto auditResponseDto = new AuditResponseDto();
+        auditResponseDto.setStatus(true);
+        ResponseWrapper<AuditResponseDto> responseWrapper = new ResponseWrapper<>();
+        responseWrapper.setResponse(auditResponseDto);
+        when(restTemplate.exchange(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(Class.class), Mockito.any(Object.class)))
+                .thenReturn(ResponseEntity.ok("Response String"));
+        when(objectMapper.readValue(Mockito.anyString(), Mockito.any(TypeReference.class))).thenReturn(responseWrapper);
+    }
+
 }
@@ -0,0 +1,56 @@
+package io.mosip.resident.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import io.mosip.resident.util.BoundedCache;
+
+public class BoundedCacheTest {
+
+	@Test
+	public void testGetCachedValue() {
+		BoundedCache<String, String> cache = new BoundedCache<>(2, 60000);
+		cache.put("key", "value");
+		assertEquals("value", cache.get("key"));
+		assertNull(cache.get("other"));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEvictedWhenFull() {
+		BoundedCache<String, String> cache = new BoundedCache<>(2, 60000);
+		cache.put("first", "1");
+		cache.put("second", "2");
+		cache.get("first");
+		cache.put("third", "3");
+		assertEquals(2, cache.size());
+		assertEquals("1", cache.get("first"));
+		assertNull(cache.get("second"));
+		assertEquals("3", cache.get("third"));
+	}
+
+	@Test
+	public void testExpiredValueRemoved() {
+		BoundedCache<String, String> cache = new BoundedCache<>(2, 0);
+		cache.put("key", "value");
+		assertNull(cache.get("key"));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testRemove() {
+		BoundedCache<String, String> cache = new BoundedCache<>(3, 60000);
+		cache.put("first", "1");
+		cache.put("second", "2");
+		cache.put("third", "2");
+		cache.remove("first");
+		assertNull(cache.get("first"));
+		cache.removeIf("2"::equals);
+		assertEquals(0, cache.size());
+		cache.put("first", "1");
+		cache.clear();
+		assertNull(cache.get("first"));
+	}
+
+}
@@ -0,0 +1,94 @@
+package io.mosip.resident.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.RuntimeInstance;
+import org.apache.velocity.runtime.log.NullLogChute;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.mosip.kernel.core.templatemanager.exception.TemplateParsingException;
+import io.mosip.resident.util.CachedTemplateManager;
+
+public class CachedTemplateManagerTest {
+
+	private CachedTemplateManager templateManager;
+
+	private Map<String, Object> values;
+
+	@Before
+	public void setUp() {
+		Properties properties = new Properties();
+		properties.put(RuntimeConstants.RUNTIME_LOG_LOGSYSTEM_CLASS, NullLogChute.class.getName());
+		VelocityEngine engine = new VelocityEngine(properties);
+		engine.init();
+		RuntimeInstance runtimeInstance = new RuntimeInstance();
+		runtimeInstance.setProperties(properties);
+		runtimeInstance.init();
+		templateManager = new CachedTemplateManager(engine, runtimeInstance, 2);
+		values = new HashMap<>();
+		values.put("name", "Kamal");
+	}
+
+	@Test
+	public void testMergeReusesParsedTemplate() throws IOException {
+		assertEquals("Hello Kamal", merge("Hello $name"));
+		values.put("name", "Sarah");
+		assertEquals("Hello Sarah", merge("Hello $name"));
+		assertEquals(1, templateManager.getCacheSize());
+	}
+
+	@Test
+	public void testMergeChangedTemplate() throws IOException {
+		assertEquals("Hello Kamal", merge("Hello $name"));
+		assertEquals("Hi Kamal", merge("Hi $name"));
+		assertEquals(2, templateManager.getCacheSize());
+	}
+
+	@Test
+	public void testMergeEvictsLeastRecentlyUsedTemplate() throws IOException {
+		merge("Hello $name");
+		merge("Hi $name");
+		merge("Welcome $name");
+		assertEquals(2, templateManager.getCacheSize());
+		templateManager.clearCache();
+		assertEquals(0, templateManager.getCacheSize());
+	}
+
+	@Test
+	public void testMergeWithMacro() throws IOException {
+		values.put("items", new String[] { "a", "b" });
+		assertEquals("ab", merge("#foreach($item in $items)$item#end"));
+		assertEquals("ab", merge("#foreach($item in $items)$item#end"));
+	}
+
+	@Test
+	public void testMergeEmptyValues() throws IOException {
+		assertNull(templateManager.merge(toStream("Hello $name"), new HashMap<>()));
+	}
+
+	@Test(expected = TemplateParsingException.class)
+	public void testMergeInvalidTemplate() throws IOException {
+		merge("Hello #if($name");
+	}
+
+	private String merge(String template) throws IOException {
+		return IOUtils.toString(templateManager.merge(toStream(template), values), StandardCharsets.UTF_8);
+	}
+
+	private InputStream toStream(String template) {
+		return new ByteArrayInputStream(template.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -74,7 +74,7 @@ public class UtilitiesTest {
     private ResidentServiceRestClient residentServiceRestClient;
 
     @Mock
-    @Qualifier("selfTokenRestTemplate")
+    @Qualifier("pooledSelfTokenRestTemplate")
     private RestTemplate residentRestTemplate;
 
     JSONObject identity;
@@ -2,6 +2,9 @@ package io.mosip.resident.test.util;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.never;
@@ -88,7 +91,7 @@ public class UtilityTest {
 	private ResidentTransactionRepository residentTransactionRepository;
 
 	@Mock
-	@Qualifier("selfTokenRestTemplate")
+	@Qualifier("pooledSelfTokenRestTemplate")
 	private RestTemplate residentRestTemplate;
 
 	@Before
@@ -236,6 +239,29 @@ public class UtilityTest {
 		utility.getMappingJson();
 	}
 
+	@Test
+	public void testGetMappingJsonObjectParsedOnce() throws Exception {
+		try {
+			ReflectionTestUtils.setField(utility, "regProcessorIdentityJson",
+					"{\"identity\":{\"UIN\":{\"value\":\"UIN\"}}}");
+			JSONObject mappingJsonObject = utility.getMappingJsonObject();
+			assertEquals("UIN", ((Map) ((Map) mappingJsonObject.get("identity")).get("UIN")).get("value"));
+			assertSame(mappingJsonObject, utility.getMappingJsonObject());
+
+			ReflectionTestUtils.setField(utility, "regProcessorIdentityJson", "{\"identity\":{}}");
+			assertNotSame(mappingJsonObject, utility.getMappingJsonObject());
+		} finally {
+			ReflectionTestUtils.setField(utility, "regProcessorIdentityJson", "");
+		}
+	}
+
+	@Test
+	public void testGetMappingJsonObjectEmpty() throws Exception {
+		Utility utilitySpy = Mockito.spy(utility);
+		Mockito.doReturn("").when(utilitySpy).getMappingJson();
+		assertNull(utilitySpy.getMappingJsonObject());
+	}
+
 	@Test
 	public void testGetPreferredLanguage() throws Exception {
 		ClassLoader classLoader = getClass().getClassLoader();
@@ -1,6 +1,7 @@
 package io.mosip.resident.test.validator;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -12,6 +13,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.regex.PatternSyntaxException;
 
 import org.joda.time.DateTime;
 import org.junit.Before;
@@ -137,12 +139,15 @@ public class RequestValidatorTest {
 		ReflectionTestUtils.setField(requestValidator, "phoneCharsLimit", 64);
 		ReflectionTestUtils.setField(requestValidator, "messageCharsLimit", 1024);
 		ReflectionTestUtils.setField(requestValidator, "purposeCharsLimit", 1024);
-		ReflectionTestUtils.setField(requestValidator, "messageAllowedSpecialCharRegex", "[A-Za-z0-9 .,-]+");
-		ReflectionTestUtils.setField(requestValidator, "purposeAllowedSpecialCharRegex", "[A-Za-z0-9 .,-]+");
-		ReflectionTestUtils.setField(requestValidator, "idAllowedSpecialCharRegex", "[A-Za-z0-9 -]+");
-		ReflectionTestUtils.setField(requestValidator, "numericDataRegex", "^[0-9]+$");
-		ReflectionTestUtils.setField(requestValidator, "transactionIdRegex", "^[0-9]{10}$");
-		ReflectionTestUtils.setField(requestValidator, "eventIdRegex", "^[0-9]{16}$");
+		Mockito.when(environment.getRequiredProperty(ResidentConstants.PHONE_REGEX)).thenReturn("^([6-9]{1})([0-9]{9})$");
+		Mockito.when(environment.getRequiredProperty(ResidentConstants.EMAIL_REGEX)).thenReturn("^[a-zA-Z0-9_\\-\\.]+@[a-zA-Z0-9_\\-]+\\.[a-zA-Z]{2,4}$");
+		Mockito.when(environment.getRequiredProperty(ResidentConstants.MESSAGE_ALLOWED_SPECIAL_CHAR_REGEX)).thenReturn("[A-Za-z0-9 .,-]+");
+		Mockito.when(environment.getRequiredProperty(ResidentConstants.PURPOSE_ALLOWED_SPECIAL_CHAR_REGEX)).thenReturn("[A-Za-z0-9 .,-]+");
+		Mockito.when(environment.getRequiredProperty(ResidentConstants.ID_ALLOWED_SPECIAL_CHAR_REGEX)).thenReturn("[A-Za-z0-9 -]+");
+		Mockito.when(environment.getRequiredProperty(ResidentConstants.NUMERIC_DATA_REGEX)).thenReturn("^[0-9]+$");
+		Mockito.when(environment.getRequiredProperty(ResidentConstants.TRANSACTION_ID_REGEX)).thenReturn("^[0-9]{10}$");
+		Mockito.when(environment.getRequiredProperty(ResidentConstants.EVENT_ID_REGEX)).thenReturn("^[0-9]{16}$");
+		requestValidator.compilePatterns();
 		Mockito.when(uinValidator.validateId(Mockito.anyString())).thenReturn(true);
 		Mockito.when(vidValidator.validateId(Mockito.anyString())).thenReturn(true);
 		Mockito.when(ridValidator.validateId(Mockito.anyString())).thenReturn(true);
@@ -1583,18 +1588,39 @@ public class RequestValidatorTest {
 
 	@Test
 	public void testPhoneValidator() throws Exception{
-		ReflectionTestUtils.setField(requestValidator, "phoneRegex", "^([6-9]{1})([0-9]{9})$");
+		setPattern(ResidentConstants.PHONE_REGEX, "^([6-9]{1})([0-9]{9})$");
 		String phone = "1234567890";
 		requestValidator.phoneValidator(phone);
 	}
 
 	@Test
 	public void testEmailValidator() throws Exception{
-		ReflectionTestUtils.setField(requestValidator, "emailRegex", "^[a-zA-Z0-9_\\-\\.]+@[a-zA-Z0-9_\\-]+\\.[a-zA-Z]{2,4}$");
+		setPattern(ResidentConstants.EMAIL_REGEX, "^[a-zA-Z0-9_\\-\\.]+@[a-zA-Z0-9_\\-]+\\.[a-zA-Z]{2,4}$");
 		String email = "abc@gmail.com";
 		requestValidator.emailValidator(email);
 	}
 
+	@Test
+	public void testCompilePatternsOnRefresh() {
+		Mockito.when(environment.getRequiredProperty(Mockito.anyString())).thenReturn("^[0-9]+$");
+		Mockito.when(environment.getRequiredProperty(ResidentConstants.PHONE_REGEX)).thenReturn("^([6-9]{1})([0-9]{9})$");
+		requestValidator.compilePatterns();
+		assertTrue(requestValidator.phoneValidator("9876543210"));
+		assertFalse(requestValidator.phoneValidator("1234567890"));
+
+		Mockito.when(environment.getRequiredProperty(ResidentConstants.PHONE_REGEX)).thenReturn("^[0-9]{10}$");
+		requestValidator.compilePatterns();
+		assertTrue(requestValidator.phoneValidator("1234567890"));
+
+		Mockito.when(environment.getRequiredProperty(ResidentConstants.PHONE_REGEX)).thenReturn("^[0-9");
+		try {
+			requestValidator.compilePatterns();
+			fail();
+		} catch (PatternSyntaxException e) {
+			assertTrue(requestValidator.phoneValidator("1234567890"));
+		}
+	}
+
 	@Test(expected = InvalidInputException.class)
 	public void testValidateRevokeVidRequestWrapperRevokeVidNull() throws Exception{
 		BaseVidRevokeRequestDTO baseVidRevokeRequestDTO = new BaseVidRevokeRequestDTO();
@@ -1830,8 +1856,8 @@ public class RequestValidatorTest {
 	
 	@Test
 	public void testValidateProxySendOtpRequestCorrectPhoneUserId() throws Exception{
-		ReflectionTestUtils.setField(requestValidator, "emailRegex", "^[a-zA-Z0-9_\\-\\.]+@[a-zA-Z0-9_\\-]+\\.[a-zA-Z]{2,4}$");
-		ReflectionTestUtils.setField(requestValidator, "phoneRegex", "^([6-9]{1})([0-9]{9})$");
+		setPattern(ResidentConstants.EMAIL_REGEX, "^[a-zA-Z0-9_\\-\\.]+@[a-zA-Z0-9_\\-]+\\.[a-zA-Z]{2,4}$");
+		setPattern(ResidentConstants.PHONE_REGEX, "^([6-9]{1})([0-9]{9})$");
 		io.mosip.resident.dto.MainRequestDTO<OtpRequestDTOV2> userIdOtpRequest =
 				new io.mosip.resident.dto.MainRequestDTO<>();
 		OtpRequestDTOV2 otpRequestDTOV2 = new OtpRequestDTOV2();
@@ -1859,8 +1885,8 @@ public class RequestValidatorTest {
 
 	@Test(expected = InvalidInputException.class)
 	public void testValidateUpdateDataRequestInvalidPhoneUserId() throws Exception{
-		ReflectionTestUtils.setField(requestValidator, "emailRegex", "^[a-zA-Z0-9_\\-\\.]+@[a-zA-Z0-9_\\-]+\\.[a-zA-Z]{2,4}$");
-		ReflectionTestUtils.setField(requestValidator, "phoneRegex", "^([6-9]{1})([0-9]{9})$");
+		setPattern(ResidentConstants.EMAIL_REGEX, "^[a-zA-Z0-9_\\-\\.]+@[a-zA-Z0-9_\\-]+\\.[a-zA-Z]{2,4}$");
+		setPattern(ResidentConstants.PHONE_REGEX, "^([6-9]{1})([0-9]{9})$");
 		io.mosip.resident.dto.MainRequestDTO<OtpRequestDTOV3> userIdOtpRequest =
 				new io.mosip.resident.dto.MainRequestDTO<>();
 		OtpRequestDTOV3 otpRequestDTOV3 = new OtpRequestDTOV3();
@@ -1875,8 +1901,8 @@ public class RequestValidatorTest {
 
 	@Test
 	public void testValidateUpdateDataRequestCorrectPhoneUserId() throws Exception{
-		ReflectionTestUtils.setField(requestValidator, "emailRegex", "^[a-zA-Z0-9_\\-\\.]+@[a-zA-Z0-9_\\-]+\\.[a-zA-Z]{2,4}$");
-		ReflectionTestUtils.setField(requestValidator, "phoneRegex", "^([6-9]{1})([0-9]{9})$");
+		setPattern(ResidentConstants.EMAIL_REGEX, "^[a-zA-Z0-9_\\-\\.]+@[a-zA-Z0-9_\\-]+\\.[a-zA-Z]{2,4}$");
+		setPattern(ResidentConstants.PHONE_REGEX, "^([6-9]{1})([0-9]{9})$");
 		io.mosip.resident.dto.MainRequestDTO<OtpRequestDTOV3> userIdOtpRequest =
 				new io.mosip.resident.dto.MainRequestDTO<>();
 		OtpRequestDTOV3 otpRequestDTOV3 = new OtpRequestDTOV3();
@@ -1892,8 +1918,8 @@ public class RequestValidatorTest {
 
 	@Test
 	public void testValidateUpdateDataRequestCorrectEmailId() throws Exception{
-		ReflectionTestUtils.setField(requestValidator, "emailRegex", "^[a-zA-Z0-9_\\-\\.]+@[a-zA-Z0-9_\\-]+\\.[a-zA-Z]{2,4}$");
-		ReflectionTestUtils.setField(requestValidator, "phoneRegex", "^([6-9]{1})([0-9]{9})$");
+		setPattern(ResidentConstants.EMAIL_REGEX, "^[a-zA-Z0-9_\\-\\.]+@[a-zA-Z0-9_\\-]+\\.[a-zA-Z]{2,4}$");
+		setPattern(ResidentConstants.PHONE_REGEX, "^([6-9]{1})([0-9]{9})$");
 		io.mosip.resident.dto.MainRequestDTO<OtpRequestDTOV3> userIdOtpRequest =
 				new io.mosip.resident.dto.MainRequestDTO<>();
 		OtpRequestDTOV3 otpRequestDTOV3 = new OtpRequestDTOV3();
@@ -2039,8 +2065,8 @@ public class RequestValidatorTest {
 	
 	@Test(expected = InvalidInputException.class)
 	public void testInvalidUserId(){
-		ReflectionTestUtils.setField(requestValidator, "emailRegex", "^[a-zA-Z0-9_\\-\\.]+@[a-zA-Z0-9_\\-]+\\.[a-zA-Z]{2,4}$");
-		ReflectionTestUtils.setField(requestValidator, "phoneRegex", "^([6-9]{1})([0-9]{9})$");
+		setPattern(ResidentConstants.EMAIL_REGEX, "^[a-zA-Z0-9_\\-\\.]+@[a-zA-Z0-9_\\-]+\\.[a-zA-Z]{2,4}$");
+		setPattern(ResidentConstants.PHONE_REGEX, "^([6-9]{1})([0-9]{9})$");
 		requestValidator.validateUserIdAndTransactionId("shgasbieh", "3232323232");
 	}
 
@@ -2456,7 +2482,7 @@ public class RequestValidatorTest {
 	public void testValidateGrievanceRequestDtoInvalidAllowedChars() throws ResidentServiceCheckedException, ApisResourceAccessException {
 		Mockito.when(environment.getProperty(ResidentConstants.MESSAGE_CODE_MAXIMUM_LENGTH)).thenReturn(String.valueOf(1024));
 		Mockito.when(environment.getProperty(ResidentConstants.GRIEVANCE_REQUEST_ID)).thenReturn("id");
-		ReflectionTestUtils.setField(requestValidator, "messageAllowedSpecialCharRegex", "[A-Za-z .,-]+");
+		setPattern(ResidentConstants.MESSAGE_ALLOWED_SPECIAL_CHAR_REGEX, "[A-Za-z .,-]+");
 		Mockito.when(environment.getProperty(ResidentConstants.GRIEVANCE_REQUEST_VERSION)).thenReturn("version");
 		io.mosip.resident.dto.MainRequestDTO<GrievanceRequestDTO> grievanceRequestDTOMainRequestDTO =
 				new io.mosip.resident.dto.MainRequestDTO<>();
@@ -2492,13 +2518,13 @@ public class RequestValidatorTest {
 
 	@Test(expected = InvalidInputException.class)
 	public void testValidateEmailId() throws ResidentServiceCheckedException, ApisResourceAccessException {
-		ReflectionTestUtils.setField(requestValidator, "emailRegex", "^[a-zA-Z0-9_\\-\\.]+@[a-zA-Z0-9_\\-]+\\.[a-zA-Z]{2,4}$");
+		setPattern(ResidentConstants.EMAIL_REGEX, "^[a-zA-Z0-9_\\-\\.]+@[a-zA-Z0-9_\\-]+\\.[a-zA-Z]{2,4}$");
 		ReflectionTestUtils.invokeMethod(requestValidator, "validateEmailId", "123");
 	}
 
 	@Test(expected = InvalidInputException.class)
 	public void testValidatePhone() throws ResidentServiceCheckedException, ApisResourceAccessException {
-		ReflectionTestUtils.setField(requestValidator, "phoneRegex", "^([6-9]{1})([0-9]{9})$");
+		setPattern(ResidentConstants.PHONE_REGEX, "^([6-9]{1})([0-9]{9})$");
 		ReflectionTestUtils.invokeMethod(requestValidator, "validatePhoneNumber", "w");
 	}
 
@@ -2531,14 +2557,14 @@ public class RequestValidatorTest {
 	@Test(expected = ResidentServiceException.class)
 	public void testValidatePurposeWithAllowedRegex() {
 		ReflectionTestUtils.setField(requestValidator, "purposeCharsLimit", 10);
-		ReflectionTestUtils.setField(requestValidator, "purposeAllowedSpecialCharRegex", "^[A-Za-z .,-]+$");
+		setPattern(ResidentConstants.PURPOSE_ALLOWED_SPECIAL_CHAR_REGEX, "^[A-Za-z .,-]+$");
 		requestValidator.validatePurpose("H2R");
 	}
 
 	@Test
 	public void testValidatePurposeSuccess() {
 		ReflectionTestUtils.setField(requestValidator, "purposeCharsLimit", 10);
-		ReflectionTestUtils.setField(requestValidator, "purposeAllowedSpecialCharRegex", "^[A-Za-z .,-]+$");
+		setPattern(ResidentConstants.PURPOSE_ALLOWED_SPECIAL_CHAR_REGEX, "^[A-Za-z .,-]+$");
 		requestValidator.validatePurpose("HR");
 	}
 
@@ -2550,4 +2576,9 @@ public class RequestValidatorTest {
 		requestValidator.validateReqOtp(individualIdOtpRequestDTO);
 	}
 
+	private void setPattern(String regexProperty, String regex) {
+		Mockito.when(environment.getRequiredProperty(regexProperty)).thenReturn(regex);
+		requestValidator.compilePatterns();
+	}
+
 }